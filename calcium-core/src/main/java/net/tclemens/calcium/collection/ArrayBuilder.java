@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * This class is responsible for accumulating elements into an array which is handed off without being copied
+ *
+ * <p>Each call to {@link #build()} gives the accumulated array to the new list and starts a new array, so a list
+ * never changes after it is built. A validated builder rejects null elements as they are added; an unvalidated
+ * builder trusts its caller and performs no checks.</p>
+ *
+ * @param <E> The type of the elements
+ *
+ * @author Tim Clemens
+ */
+public final class ArrayBuilder<E> {
+
+    /** The empty array used before the first element is added */
+    private static final Object[] EMPTY = new Object[0];
+
+    /** The minimum capacity of the array once an element is added */
+    private static final int CAPACITY = 8;
+
+    /** Whether null elements are rejected */
+    private final boolean isValidated;
+
+    /** The accumulated elements */
+    private Object[] elements;
+
+    /** The number of accumulated elements */
+    private int size;
+
+    /**
+     * @param capacity The initial capacity of the array
+     * @param isValidated Whether null elements are rejected
+     */
+    ArrayBuilder(int capacity, boolean isValidated) {
+
+        this.elements = capacity > 0 ? new Object[capacity] : EMPTY;
+        this.isValidated = isValidated;
+    }
+
+    /**
+     * Get whether null elements are rejected
+     *
+     * @return Whether null elements are rejected
+     */
+    public final boolean isValidated() {
+
+        return isValidated;
+    }
+
+    /**
+     * Get the number of accumulated elements
+     *
+     * @return The number of accumulated elements
+     */
+    public final int size() {
+
+        return size;
+    }
+
+    /**
+     * Add an element
+     *
+     * @param element The element to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the element is null
+     */
+    @NonNull
+    public final ArrayBuilder<E> add(@NonNull E element) {
+
+        if (isValidated && element == null) {
+
+            throw new IllegalArgumentException("Unable to add a null element to a builder");
+        }
+
+        if (size == elements.length) {
+
+            elements = Arrays.copyOf(elements, Math.max(CAPACITY, size * 2));
+        }
+
+        elements[size++] = element;
+
+        return this;
+    }
+
+    /**
+     * Add each element of a collection
+     *
+     * @param elements The elements to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the collection or any element is null
+     */
+    @NonNull
+    public final ArrayBuilder<E> addAll(@NonNull Collection<? extends E> elements) {
+
+        if (isValidated && elements == null) {
+
+            throw new IllegalArgumentException("Unable to add a null element collection to a builder");
+        }
+
+        int required = size + elements.size();
+
+        if (required > this.elements.length) {
+
+            this.elements = Arrays.copyOf(this.elements, Math.max(required, size * 2));
+        }
+
+        for (E element : elements) {
+
+            add(element);
+        }
+
+        return this;
+    }
+
+    /**
+     * Hand off the accumulated elements to a new list and start a new array
+     *
+     * @return The list of accumulated elements
+     */
+    @NonNull
+    public final ArrayView<E> build() {
+
+        ArrayView<E> view = new ArrayView<>(elements, size, isValidated);
+
+        elements = EMPTY;
+        size = 0;
+
+        return view;
+    }
+}
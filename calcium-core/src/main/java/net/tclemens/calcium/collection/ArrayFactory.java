@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+import android.support.annotation.NonNull;
+
+/**
+ * This class is responsible for creating array builders
+ *
+ * @author Tim Clemens
+ */
+public final class ArrayFactory {
+
+    private ArrayFactory() {
+    }
+
+    /**
+     * Create a validated array builder
+     *
+     * @return The new array builder
+     */
+    @NonNull
+    public static <E> ArrayBuilder<E> createBuilder() {
+
+        return buildBuilder(0, true);
+    }
+
+    /**
+     * Create an array builder
+     *
+     * @param capacity The initial capacity of the array
+     * @param isValidated Whether null elements are rejected, which may be disabled in release builds
+     *
+     * @return The new array builder
+     *
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    @NonNull
+    public static <E> ArrayBuilder<E> createBuilder(int capacity, boolean isValidated) {
+
+        if (capacity < 0) {
+
+            throw new IllegalArgumentException("Unable to create a builder with a negative capacity");
+        }
+
+        return buildBuilder(capacity, isValidated);
+    }
+
+    /**
+     * Create an array builder
+     *
+     * @param capacity The initial capacity of the array
+     * @param isValidated Whether null elements are rejected
+     *
+     * @return The new array builder
+     */
+    static <E> ArrayBuilder<E> buildBuilder(int capacity, boolean isValidated) {
+
+        return new ArrayBuilder<>(capacity, isValidated);
+    }
+}
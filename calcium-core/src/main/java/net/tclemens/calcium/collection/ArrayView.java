@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * This class represents an immutable list over an array handed off by an array builder
+ *
+ * <p>The builder gives up the array when the list is created, so the list owns it and never copies it. Every
+ * mutating method inherited from {@link java.util.List} throws {@link UnsupportedOperationException}.</p>
+ *
+ * @param <E> The type of the elements
+ *
+ * @author Tim Clemens
+ */
+public final class ArrayView<E> extends AbstractList<E> implements RandomAccess, Immutable {
+
+    /** The elements of the list */
+    private final Object[] elements;
+
+    /** The number of elements */
+    private final int size;
+
+    /** Whether every element was checked to be non-null */
+    private final boolean isChecked;
+
+    /**
+     * @param elements The elements of the list
+     * @param size The number of elements
+     * @param isChecked Whether every element was checked to be non-null
+     */
+    ArrayView(Object[] elements, int size, boolean isChecked) {
+
+        this.elements = elements;
+        this.size = size;
+        this.isChecked = isChecked;
+    }
+
+    @Override
+    public final int size() {
+
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final E get(int index) {
+
+        if (index < 0 || index >= size) {
+
+            throw new IndexOutOfBoundsException("Unable to get an element with an invalid index");
+        }
+
+        return (E) elements[index];
+    }
+
+    @Override
+    public final boolean contains(Object element) {
+
+        return (element != null || !isChecked) && super.contains(element);
+    }
+}
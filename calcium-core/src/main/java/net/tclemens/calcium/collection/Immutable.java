@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+/**
+ * This interface marks a collection of the library which never changes once it is created, so it can be shared by
+ * the engine without a defensive copy
+ *
+ * <p>The interface is package-private so that only the collections of this package can be marked, and other packages
+ * check a collection with {@link Immutables#isImmutable(Object)}.</p>
+ *
+ * @author Tim Clemens
+ * @since  1.0
+ */
+interface Immutable {
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.collection;
+
+/**
+ * This class is responsible for recognising the immutable collections of the library
+ *
+ * @author Tim Clemens
+ */
+public final class Immutables {
+
+    private Immutables() {
+    }
+
+    /**
+     * Check whether a collection is one of the immutable collections of the library, such as an array view or a
+     * persistent collection, which can be shared by the engine without a defensive copy
+     *
+     * <p>Only collections created by the library are recognised, so a caller is unable to mark its own mutable
+     * collection as immutable.</p>
+     *
+     * @param collection The collection to check
+     *
+     * @return Whether the collection is an immutable collection of the library
+     */
+    public static boolean isImmutable(Object collection) {
+
+        return collection instanceof Immutable;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This class is responsible for creating persistent collections
+ *
+ * <p>Persistent collections, like every collection recognised by {@link Immutables}, can be passed to the engine
+ * factories, such as the scene and batch factories, without being copied.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class PersistentFactory {
+
+    private PersistentFactory() {
+    }
+
+    /**
+     * Create an empty persistent vector
+     *
+     * @return The empty vector
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> createVector() {
+
+        return (PersistentVector<E>) PersistentVector.EMPTY;
+    }
+
+    /**
+     * Create a persistent vector containing each element of a collection, in iteration order
+     *
+     * <p>A persistent vector is returned without being copied.</p>
+     *
+     * @param elements The elements of the vector
+     *
+     * @return The new vector
+     *
+     * @throws IllegalArgumentException If the elements are invalid
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> createVector(@NonNull Collection<? extends E> elements) {
+
+        if (elements == null) {
+
+            throw new IllegalArgumentException("Unable to create a vector with a null element collection");
+        }
+
+        if (elements instanceof PersistentVector) {
+
+            return (PersistentVector<E>) elements;
+        }
+
+        if (elements.contains(null)) {
+
+            throw new IllegalArgumentException("Unable to create a vector with null elements");
+        }
+
+        return buildVector(elements);
+    }
+
+    /**
+     * Create an empty persistent map
+     *
+     * @return The empty map
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> createMap() {
+
+        return (PersistentMap<K, V>) PersistentMap.EMPTY;
+    }
+
+    /**
+     * Create a persistent map containing each entry of a map
+     *
+     * <p>A persistent map is returned without being copied.</p>
+     *
+     * @param entries The entries of the map
+     *
+     * @return The new map
+     *
+     * @throws IllegalArgumentException If the entries are invalid
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentMap<K, V> createMap(@NonNull Map<? extends K, ? extends V> entries) {
+
+        if (entries == null) {
+
+            throw new IllegalArgumentException("Unable to create a map with a null entry map");
+        }
+
+        if (entries instanceof PersistentMap) {
+
+            return (PersistentMap<K, V>) entries;
+        }
+
+        PersistentMap<K, V> map = createMap();
+
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+
+            map = map.plus(entry.getKey(), entry.getValue());
+        }
+
+        return map;
+    }
+
+    /**
+     * Create a persistent vector containing each element of a collection, in iteration order
+     *
+     * @param elements The elements of the vector
+     *
+     * @return The new vector
+     */
+    static <E> PersistentVector<E> buildVector(Collection<? extends E> elements) {
+
+        return PersistentVector.build(elements.toArray());
+    }
+}
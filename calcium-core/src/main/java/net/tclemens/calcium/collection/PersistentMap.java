@@ -0,0 +1,694 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This class represents an immutable map which shares its structure with every map derived from it
+ *
+ * <p>Entries are stored in a hash array mapped trie, where each node holds up to 32 entries or child nodes in a
+ * compact array indexed by a bitmap. Adding or removing an entry copies only the path to that entry, so each derived
+ * map costs O(log32 n) instead of a full copy. The map does not contain null keys or values, and every mutating
+ * method inherited from {@link java.util.Map} throws {@link UnsupportedOperationException}.</p>
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ *
+ * @author Tim Clemens
+ */
+public final class PersistentMap<K, V> extends AbstractMap<K, V> implements Immutable {
+
+    /**
+     * This class represents a single immutable entry of the map
+     */
+    private static final class Entry<K, V> extends SimpleImmutableEntry<K, V> {
+
+        /** The serialization version of the entry */
+        private static final long serialVersionUID = 1L;
+
+        /** The hash of the key */
+        private final int hash;
+
+        /**
+         * @param hash The hash of the key
+         * @param key The key
+         * @param value The value
+         */
+        private Entry(int hash, K key, V value) {
+
+            super(key, value);
+
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * This class represents a node of the trie
+     */
+    private abstract static class Node {
+
+        /** The entries and child nodes of the node */
+        final Object[] slots;
+
+        /**
+         * @param slots The entries and child nodes of the node
+         */
+        Node(Object[] slots) {
+
+            this.slots = slots;
+        }
+
+        /**
+         * Find the entry for a key
+         *
+         * @param shift The number of bits the hash is shifted at this node
+         * @param hash The hash of the key
+         * @param key The key
+         *
+         * @return The entry, or null if the key is not in the node
+         */
+        abstract Entry<?, ?> find(int shift, int hash, Object key);
+
+        /**
+         * Copy the path to an entry and add or replace the entry
+         *
+         * @param shift The number of bits the hash is shifted at this node
+         * @param entry The entry to add
+         * @param added A flag set if the entry was added instead of replaced
+         *
+         * @return The copied node, or this node if the entry was already present
+         */
+        abstract Node plus(int shift, Entry<?, ?> entry, boolean[] added);
+
+        /**
+         * Copy the path to an entry without the entry
+         *
+         * @param shift The number of bits the hash is shifted at this node
+         * @param hash The hash of the key
+         * @param key The key
+         *
+         * @return The copied node, this node if the key is not in the node, or null if the node is empty
+         */
+        abstract Node minus(int shift, int hash, Object key);
+    }
+
+    /**
+     * This class represents a node holding entries and child nodes for the hashes present in its bitmap
+     */
+    private static final class BitmapNode extends Node {
+
+        /** The bit of each 5-bit hash fragment present in the node */
+        private final int bitmap;
+
+        /**
+         * @param bitmap The bit of each 5-bit hash fragment present in the node
+         * @param slots The entries and child nodes of the node
+         */
+        private BitmapNode(int bitmap, Object[] slots) {
+
+            super(slots);
+
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Entry<?, ?> find(int shift, int hash, Object key) {
+
+            int bit = bitFor(shift, hash);
+
+            if ((bitmap & bit) == 0) {
+
+                return null;
+            }
+
+            Object slot = slots[indexFor(bit)];
+
+            if (slot instanceof Node) {
+
+                return ((Node) slot).find(shift + BITS, hash, key);
+            }
+
+            Entry<?, ?> entry = (Entry<?, ?>) slot;
+
+            return entry.hash == hash && entry.getKey().equals(key) ? entry : null;
+        }
+
+        @Override
+        Node plus(int shift, Entry<?, ?> entry, boolean[] added) {
+
+            int bit = bitFor(shift, entry.hash);
+            int index = indexFor(bit);
+
+            if ((bitmap & bit) == 0) {
+
+                Object[] next = new Object[slots.length + 1];
+
+                System.arraycopy(slots, 0, next, 0, index);
+                System.arraycopy(slots, index, next, index + 1, slots.length - index);
+
+                next[index] = entry;
+                added[0] = true;
+
+                return new BitmapNode(bitmap | bit, next);
+            }
+
+            Object slot = slots[index];
+            Object replacement;
+
+            if (slot instanceof Node) {
+
+                Node child = ((Node) slot).plus(shift + BITS, entry, added);
+
+                if (child == slot) {
+
+                    return this;
+                }
+
+                replacement = child;
+            }
+            else {
+
+                Entry<?, ?> existing = (Entry<?, ?>) slot;
+
+                if (existing.hash == entry.hash && existing.getKey().equals(entry.getKey())) {
+
+                    if (existing.getValue() == entry.getValue()) {
+
+                        return this;
+                    }
+
+                    replacement = entry;
+                }
+                else {
+
+                    replacement = createNode(shift + BITS, existing, entry);
+                    added[0] = true;
+                }
+            }
+
+            Object[] next = slots.clone();
+
+            next[index] = replacement;
+
+            return new BitmapNode(bitmap, next);
+        }
+
+        @Override
+        Node minus(int shift, int hash, Object key) {
+
+            int bit = bitFor(shift, hash);
+
+            if ((bitmap & bit) == 0) {
+
+                return this;
+            }
+
+            int index = indexFor(bit);
+            Object slot = slots[index];
+
+            if (slot instanceof Node) {
+
+                Node child = ((Node) slot).minus(shift + BITS, hash, key);
+
+                if (child == slot) {
+
+                    return this;
+                }
+
+                if (child != null) {
+
+                    Object[] next = slots.clone();
+
+                    next[index] = child.slots.length == 1 && child.slots[0] instanceof Entry ? child.slots[0] : child;
+
+                    return new BitmapNode(bitmap, next);
+                }
+            }
+            else {
+
+                Entry<?, ?> entry = (Entry<?, ?>) slot;
+
+                if (entry.hash != hash || !entry.getKey().equals(key)) {
+
+                    return this;
+                }
+            }
+
+            if (bitmap == bit) {
+
+                return null;
+            }
+
+            Object[] next = new Object[slots.length - 1];
+
+            System.arraycopy(slots, 0, next, 0, index);
+            System.arraycopy(slots, index + 1, next, index, next.length - index);
+
+            return new BitmapNode(bitmap & ~bit, next);
+        }
+
+        /**
+         * Get the index of the slot for a bit of the bitmap
+         *
+         * @param bit The bit of the bitmap
+         *
+         * @return The index of the slot
+         */
+        private int indexFor(int bit) {
+
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    /**
+     * This class represents a node holding every entry whose keys have the same hash
+     */
+    private static final class CollisionNode extends Node {
+
+        /** The hash of every key in the node */
+        private final int hash;
+
+        /**
+         * @param hash The hash of every key in the node
+         * @param slots The entries of the node
+         */
+        private CollisionNode(int hash, Object[] slots) {
+
+            super(slots);
+
+            this.hash = hash;
+        }
+
+        @Override
+        Entry<?, ?> find(int shift, int hash, Object key) {
+
+            int index = indexFor(hash, key);
+
+            return index < 0 ? null : (Entry<?, ?>) slots[index];
+        }
+
+        @Override
+        Node plus(int shift, Entry<?, ?> entry, boolean[] added) {
+
+            if (entry.hash != hash) {
+
+                return new BitmapNode(bitFor(shift, hash), new Object[] { this }).plus(shift, entry, added);
+            }
+
+            int index = indexFor(entry.hash, entry.getKey());
+
+            if (index < 0) {
+
+                Object[] next = Arrays.copyOf(slots, slots.length + 1);
+
+                next[slots.length] = entry;
+                added[0] = true;
+
+                return new CollisionNode(hash, next);
+            }
+
+            if (((Entry<?, ?>) slots[index]).getValue() == entry.getValue()) {
+
+                return this;
+            }
+
+            Object[] next = slots.clone();
+
+            next[index] = entry;
+
+            return new CollisionNode(hash, next);
+        }
+
+        @Override
+        Node minus(int shift, int hash, Object key) {
+
+            int index = indexFor(hash, key);
+
+            if (index < 0) {
+
+                return this;
+            }
+
+            if (slots.length == 1) {
+
+                return null;
+            }
+
+            Object[] next = new Object[slots.length - 1];
+
+            System.arraycopy(slots, 0, next, 0, index);
+            System.arraycopy(slots, index + 1, next, index, next.length - index);
+
+            return new CollisionNode(this.hash, next);
+        }
+
+        /**
+         * Find the index of the entry for a key
+         *
+         * @param hash The hash of the key
+         * @param key The key
+         *
+         * @return The index of the entry, or a negative value if the key is not in the node
+         */
+        private int indexFor(int hash, Object key) {
+
+            if (hash != this.hash) {
+
+                return -1;
+            }
+
+            for (int index = 0; index < slots.length; index++) {
+
+                if (((Entry<?, ?>) slots[index]).getKey().equals(key)) {
+
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+    }
+
+    /**
+     * This class represents an iterator over every entry of the trie, depth first
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        /** The slots of each node on the path to the next entry */
+        private final Object[][] nodes = new Object[DEPTH][];
+
+        /** The index of the next slot of each node on the path to the next entry */
+        private final int[] indices = new int[DEPTH];
+
+        /** The depth of the current node, or a negative value once every entry has been returned */
+        private int depth;
+
+        /** The next entry */
+        private Entry<K, V> next;
+
+        private EntryIterator() {
+
+            if (root == null) {
+
+                depth = -1;
+            }
+            else {
+
+                nodes[0] = root.slots;
+                advance();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+
+            Entry<K, V> entry = next;
+
+            if (entry == null) {
+
+                throw new NoSuchElementException("Unable to get an entry after the end of the map");
+            }
+
+            advance();
+
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+
+            throw new UnsupportedOperationException("Unable to remove an entry from a persistent map");
+        }
+
+        /**
+         * Find the next entry of the trie
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+
+            next = null;
+
+            while (depth >= 0) {
+
+                Object[] slots = nodes[depth];
+
+                if (indices[depth] == slots.length) {
+
+                    depth--;
+
+                    continue;
+                }
+
+                Object slot = slots[indices[depth]++];
+
+                if (slot instanceof Node) {
+
+                    depth++;
+                    nodes[depth] = ((Node) slot).slots;
+                    indices[depth] = 0;
+                }
+                else {
+
+                    next = (Entry<K, V>) slot;
+
+                    return;
+                }
+            }
+        }
+    }
+
+    /** The number of bits of a hash used at each level of the trie */
+    private static final int BITS = 5;
+
+    /** The mask of the bits of a hash used at each level of the trie */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** The maximum depth of the trie, including a collision node below the deepest level */
+    private static final int DEPTH = 32 / BITS + 2;
+
+    /** The empty map */
+    static final PersistentMap<Object, Object> EMPTY = new PersistentMap<>(null, 0);
+
+    /** The root of the trie, or null if the map is empty */
+    private final Node root;
+
+    /** The number of entries */
+    private final int size;
+
+    /** The view of the entries of the map */
+    private transient Set<Map.Entry<K, V>> entries;
+
+    /**
+     * @param root The root of the trie, or null if the map is empty
+     * @param size The number of entries
+     */
+    private PersistentMap(Node root, int size) {
+
+        this.root = root;
+        this.size = size;
+    }
+
+    @Override
+    public final int size() {
+
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final V get(Object key) {
+
+        if (key == null || root == null) {
+
+            return null;
+        }
+
+        Entry<?, ?> entry = root.find(0, hash(key), key);
+
+        return entry == null ? null : (V) entry.getValue();
+    }
+
+    @Override
+    public final boolean containsKey(Object key) {
+
+        return get(key) != null;
+    }
+
+    @NonNull
+    @Override
+    public final Set<Map.Entry<K, V>> entrySet() {
+
+        Set<Map.Entry<K, V>> entries = this.entries;
+
+        if (entries == null) {
+
+            entries = new AbstractSet<Map.Entry<K, V>>() {
+
+                @NonNull
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+
+                    return size;
+                }
+            };
+
+            this.entries = entries;
+        }
+
+        return entries;
+    }
+
+    /**
+     * Create a map with an entry added, replacing any entry with the same key
+     *
+     * @param key The key
+     * @param value The value
+     *
+     * @return The new map, or this map if it already contains the entry
+     *
+     * @throws IllegalArgumentException If the key or value is null
+     */
+    @NonNull
+    public final PersistentMap<K, V> plus(@NonNull K key, @NonNull V value) {
+
+        if (key == null) {
+
+            throw new IllegalArgumentException("Unable to add an entry to a map with a null key");
+        }
+
+        if (value == null) {
+
+            throw new IllegalArgumentException("Unable to add an entry to a map with a null value");
+        }
+
+        Entry<K, V> entry = new Entry<>(hash(key), key, value);
+
+        if (root == null) {
+
+            return new PersistentMap<>(new BitmapNode(bitFor(0, entry.hash), new Object[] { entry }), 1);
+        }
+
+        boolean[] added = new boolean[1];
+        Node next = root.plus(0, entry, added);
+
+        return next == root ? this : new PersistentMap<K, V>(next, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Create a map with the entry for a key removed
+     *
+     * @param key The key
+     *
+     * @return The new map, or this map if it does not contain the key
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public final PersistentMap<K, V> minus(Object key) {
+
+        if (key == null || root == null) {
+
+            return this;
+        }
+
+        Node next = root.minus(0, hash(key), key);
+
+        if (next == root) {
+
+            return this;
+        }
+
+        return next == null ? (PersistentMap<K, V>) EMPTY : new PersistentMap<K, V>(next, size - 1);
+    }
+
+    /**
+     * Create a node containing two entries with different keys
+     *
+     * @param shift The number of bits the hash is shifted at the node
+     * @param first The first entry
+     * @param second The second entry
+     *
+     * @return The new node
+     */
+    private static Node createNode(int shift, Entry<?, ?> first, Entry<?, ?> second) {
+
+        if (first.hash == second.hash) {
+
+            return new CollisionNode(first.hash, new Object[] { first, second });
+        }
+
+        int firstBit = bitFor(shift, first.hash);
+        int secondBit = bitFor(shift, second.hash);
+
+        if (firstBit == secondBit) {
+
+            return new BitmapNode(firstBit, new Object[] { createNode(shift + BITS, first, second) });
+        }
+
+        boolean isOrdered = ((first.hash >>> shift) & MASK) < ((second.hash >>> shift) & MASK);
+        Object[] slots = isOrdered ? new Object[] { first, second } : new Object[] { second, first };
+
+        return new BitmapNode(firstBit | secondBit, slots);
+    }
+
+    /**
+     * Get the bit of the bitmap for the fragment of a hash at a level of the trie
+     *
+     * @param shift The number of bits the hash is shifted at the level
+     * @param hash The hash
+     *
+     * @return The bit of the bitmap
+     */
+    private static int bitFor(int shift, int hash) {
+
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Get the hash of a key, spreading the higher bits into the lower bits
+     *
+     * @param key The key
+     *
+     * @return The hash of the key
+     */
+    private static int hash(Object key) {
+
+        int hash = key.hashCode();
+
+        return hash ^ (hash >>> 16);
+    }
+}
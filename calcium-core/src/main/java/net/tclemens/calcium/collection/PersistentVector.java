@@ -0,0 +1,477 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.collection;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * This class represents an immutable list which shares its structure with every list derived from it
+ *
+ * <p>Elements are stored in a trie of 32-element arrays, with the last elements kept in a separate tail. Appending,
+ * replacing or removing an element copies only the path to that element, so each derived list costs O(log32 n)
+ * instead of a full copy. The list does not contain null elements, and every mutating method inherited from
+ * {@link java.util.List} throws {@link UnsupportedOperationException}.</p>
+ *
+ * @param <E> The type of the elements
+ *
+ * @author Tim Clemens
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess, Immutable {
+
+    /**
+     * This class represents an iterator over each leaf of the trie in turn
+     */
+    private final class VectorIterator implements Iterator<E> {
+
+        /** The index of the next element */
+        private int index;
+
+        /** The leaf containing the next element */
+        private Object[] leaf;
+
+        private VectorIterator() {
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            return index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+
+            if (index >= size) {
+
+                throw new NoSuchElementException("Unable to get an element after the end of the vector");
+            }
+
+            if ((index & MASK) == 0 || leaf == null) {
+
+                leaf = leafFor(index);
+            }
+
+            return (E) leaf[index++ & MASK];
+        }
+
+        @Override
+        public void remove() {
+
+            throw new UnsupportedOperationException("Unable to remove an element from a persistent vector");
+        }
+    }
+
+    /** The number of bits of an index used at each level of the trie */
+    private static final int BITS = 5;
+
+    /** The number of children of each node of the trie */
+    private static final int WIDTH = 1 << BITS;
+
+    /** The mask of the bits of an index used at each level of the trie */
+    private static final int MASK = WIDTH - 1;
+
+    /** The empty node of the trie */
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    /** The empty vector */
+    static final PersistentVector<Object> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /** The number of elements */
+    private final int size;
+
+    /** The number of bits the index is shifted at the root of the trie */
+    private final int shift;
+
+    /** The root of the trie */
+    private final Object[] root;
+
+    /** The last elements, which are not stored in the trie */
+    private final Object[] tail;
+
+    /**
+     * @param size The number of elements
+     * @param shift The number of bits the index is shifted at the root of the trie
+     * @param root The root of the trie
+     * @param tail The last elements, which are not stored in the trie
+     */
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @Override
+    public final int size() {
+
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final E get(int index) {
+
+        if (index < 0 || index >= size) {
+
+            throw new IndexOutOfBoundsException("Unable to get an element with an invalid index");
+        }
+
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    @Override
+    public final boolean contains(Object element) {
+
+        return element != null && super.contains(element);
+    }
+
+    @NonNull
+    @Override
+    public final Iterator<E> iterator() {
+
+        return new VectorIterator();
+    }
+
+    /**
+     * Create a vector with an element appended
+     *
+     * @param element The element to append
+     *
+     * @return The new vector
+     *
+     * @throws IllegalArgumentException If the element is null
+     */
+    @NonNull
+    public final PersistentVector<E> plus(@NonNull E element) {
+
+        if (element == null) {
+
+            throw new IllegalArgumentException("Unable to add a null element to a vector");
+        }
+
+        if (size - tailOffset() < WIDTH) {
+
+            Object[] next = Arrays.copyOf(tail, tail.length + 1);
+
+            next[tail.length] = element;
+
+            return new PersistentVector<>(size + 1, shift, root, next);
+        }
+
+        return pushTail(new Object[] { element }, size + 1);
+    }
+
+    /**
+     * Create a vector with an element replaced
+     *
+     * @param index The index of the element to replace
+     * @param element The replacement element
+     *
+     * @return The new vector
+     *
+     * @throws IllegalArgumentException If the element is null
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    @NonNull
+    public final PersistentVector<E> with(int index, @NonNull E element) {
+
+        if (element == null) {
+
+            throw new IllegalArgumentException("Unable to add a null element to a vector");
+        }
+
+        if (index < 0 || index >= size) {
+
+            throw new IndexOutOfBoundsException("Unable to replace an element with an invalid index");
+        }
+
+        if (index >= tailOffset()) {
+
+            Object[] next = tail.clone();
+
+            next[index & MASK] = element;
+
+            return new PersistentVector<>(size, shift, root, next);
+        }
+
+        return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+    }
+
+    /**
+     * Create a vector with the last element removed
+     *
+     * @return The new vector
+     *
+     * @throws IllegalStateException If the vector is empty
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public final PersistentVector<E> pop() {
+
+        if (size == 0) {
+
+            throw new IllegalStateException("Unable to remove an element from an empty vector");
+        }
+
+        if (size == 1) {
+
+            return (PersistentVector<E>) EMPTY;
+        }
+
+        if (size - tailOffset() > 1) {
+
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        Object[] next = leafFor(size - 2);
+        Object[] trimmed = popTail(shift, root);
+        int levels = shift;
+
+        if (trimmed == null) {
+
+            trimmed = EMPTY_NODE;
+        }
+
+        if (levels > BITS && trimmed[1] == null) {
+
+            trimmed = (Object[]) trimmed[0];
+            levels -= BITS;
+        }
+
+        return new PersistentVector<>(size - 1, levels, trimmed, next);
+    }
+
+    /**
+     * Create a vector containing each element of an array, building the trie one leaf at a time
+     *
+     * @param elements The elements, which must not be null
+     *
+     * @return The new vector
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> build(Object[] elements) {
+
+        int count = elements.length;
+
+        if (count == 0) {
+
+            return (PersistentVector<E>) EMPTY;
+        }
+
+        int offset = ((count - 1) >>> BITS) << BITS;
+        PersistentVector<E> vector = (PersistentVector<E>) EMPTY;
+
+        for (int start = 0; start < offset; start += WIDTH) {
+
+            Object[] leaf = Arrays.copyOfRange(elements, start, start + WIDTH);
+
+            vector = vector.size == 0 ? new PersistentVector<E>(WIDTH, BITS, EMPTY_NODE, leaf) : vector.pushTail(leaf, start + WIDTH);
+        }
+
+        Object[] last = Arrays.copyOfRange(elements, offset, count);
+
+        return vector.size == 0 ? new PersistentVector<E>(count, BITS, EMPTY_NODE, last) : vector.pushTail(last, count);
+    }
+
+    /**
+     * Get the index of the first element in the tail
+     *
+     * @return The index of the first element in the tail
+     */
+    private int tailOffset() {
+
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Get the leaf containing an element
+     *
+     * @param index The index of the element
+     *
+     * @return The leaf containing the element
+     */
+    private Object[] leafFor(int index) {
+
+        if (index >= tailOffset()) {
+
+            return tail;
+        }
+
+        Object[] node = root;
+
+        for (int level = shift; level > 0; level -= BITS) {
+
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+
+        return node;
+    }
+
+    /**
+     * Create a vector with the full tail moved into the trie and replaced with a new tail
+     *
+     * @param next The new tail
+     * @param count The number of elements in the new vector
+     *
+     * @return The new vector
+     */
+    private PersistentVector<E> pushTail(Object[] next, int count) {
+
+        Object[] pushed;
+        int levels = shift;
+
+        if ((size >>> BITS) > (1 << shift)) {
+
+            pushed = new Object[WIDTH];
+            pushed[0] = root;
+            pushed[1] = createPath(shift, tail);
+            levels += BITS;
+        }
+        else {
+
+            pushed = pushLeaf(shift, root, tail);
+        }
+
+        return new PersistentVector<>(count, levels, pushed, next);
+    }
+
+    /**
+     * Copy the path to the next free leaf and add a leaf there
+     *
+     * @param level The number of bits the index is shifted at this node
+     * @param parent The node to copy
+     * @param leaf The leaf to add
+     *
+     * @return The copied node
+     */
+    private Object[] pushLeaf(int level, Object[] parent, Object[] leaf) {
+
+        int index = ((size - 1) >>> level) & MASK;
+        Object[] node = parent.clone();
+
+        if (level == BITS) {
+
+            node[index] = leaf;
+        }
+        else {
+
+            Object[] child = (Object[]) parent[index];
+
+            node[index] = child != null ? pushLeaf(level - BITS, child, leaf) : createPath(level - BITS, leaf);
+        }
+
+        return node;
+    }
+
+    /**
+     * Copy the path to the last leaf of the trie without the last leaf
+     *
+     * @param level The number of bits the index is shifted at this node
+     * @param parent The node to copy
+     *
+     * @return The copied node, or null if the node is empty without the last leaf
+     */
+    private Object[] popTail(int level, Object[] parent) {
+
+        int index = ((size - 2) >>> level) & MASK;
+
+        if (level > BITS) {
+
+            Object[] child = popTail(level - BITS, (Object[]) parent[index]);
+
+            if (child == null && index == 0) {
+
+                return null;
+            }
+
+            Object[] node = parent.clone();
+
+            node[index] = child;
+
+            return node;
+        }
+
+        if (index == 0) {
+
+            return null;
+        }
+
+        Object[] node = parent.clone();
+
+        node[index] = null;
+
+        return node;
+    }
+
+    /**
+     * Create a path of nodes down to a leaf
+     *
+     * @param level The number of bits the index is shifted at the top of the path
+     * @param leaf The leaf at the bottom of the path
+     *
+     * @return The top of the path
+     */
+    private static Object[] createPath(int level, Object[] leaf) {
+
+        if (level == 0) {
+
+            return leaf;
+        }
+
+        Object[] node = new Object[WIDTH];
+
+        node[0] = createPath(level - BITS, leaf);
+
+        return node;
+    }
+
+    /**
+     * Copy the path to an element and replace the element
+     *
+     * @param level The number of bits the index is shifted at this node
+     * @param parent The node to copy
+     * @param index The index of the element
+     * @param element The replacement element
+     *
+     * @return The copied node
+     */
+    private static Object[] replace(int level, Object[] parent, int index, Object element) {
+
+        Object[] node = parent.clone();
+
+        if (level == 0) {
+
+            node[index & MASK] = element;
+        }
+        else {
+
+            int child = (index >>> level) & MASK;
+
+            node[child] = replace(level - BITS, (Object[]) parent[child], index, element);
+        }
+
+        return node;
+    }
+}
@@ -18,12 +18,22 @@ package net.tclemens.calcium.engine;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.util.Log;
 import android.view.View;
 
+import java.io.File;
+
 import net.tclemens.calcium.engine.graphics.Graphics;
 import net.tclemens.calcium.engine.graphics.GraphicsFactory;
+import net.tclemens.calcium.engine.graphics.frame.Frame;
+import net.tclemens.calcium.engine.journal.Journal;
+import net.tclemens.calcium.engine.journal.JournalFactory;
 import net.tclemens.calcium.engine.saves.Saves;
 import net.tclemens.calcium.engine.saves.SavesFactory;
+import net.tclemens.calcium.engine.saves.base.Restorable;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotFactory;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotReader;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
 import net.tclemens.calcium.engine.schedules.Schedules;
 import net.tclemens.calcium.engine.schedules.SchedulesFactory;
 import net.tclemens.calcium.engine.updates.Updates;
@@ -37,11 +47,50 @@ import net.tclemens.calcium.engine.updates.base.Updatable;
  */
 public final class Engine {
 
+    /** The view for the engine */
     private final EngineView view;
 
-    Engine(EngineView view) {
+    /** The scheduler for the engine */
+    private final Scheduler scheduler;
+
+    /** The updates module for the engine */
+    private volatile Updates updates;
+
+    /** The saves module for the engine */
+    private volatile Saves saves;
+
+    /** The graphics module for the engine */
+    private volatile Graphics graphics;
+
+    /** The journal module for the engine, or null if updates are not journaled */
+    private volatile Journal journal;
+
+    /** The time without a newer state before a state is saved in milliseconds, or a negative value for the default */
+    private volatile long saveInterval = -1;
+
+    /** The maximum time a state waits to be saved in milliseconds */
+    private volatile long saveDelay = -1;
+
+    /** Whether snapshots of writable states are compressed */
+    private volatile boolean isSaveCompressed;
+
+    /** Whether updates are journaled */
+    private volatile boolean isJournaled;
+
+    /** Whether coalesced touch movements keep their earlier positions */
+    private volatile boolean isTouchHistorical;
+
+    /** Whether touch input is published as pointer events */
+    private volatile boolean isMultiTouch;
+
+    /**
+     * @param view The view for the engine
+     * @param scheduler The scheduler for the engine
+     */
+    Engine(EngineView view, Scheduler scheduler) {
 
         this.view = view;
+        this.scheduler = scheduler;
     }
 
     /**
@@ -55,6 +104,208 @@ public final class Engine {
         return view;
     }
 
+    /**
+     * Get the updates module for the engine, which reports the depth, latency and drop counts of its event queue
+     *
+     * @return The updates module for the engine
+     *
+     * @throws IllegalStateException If the engine has not been started
+     */
+    @NonNull
+    public final Updates getUpdates() {
+
+        Updates updates = this.updates;
+
+        if (updates == null) {
+
+            throw new IllegalStateException("Unable to get the updates module before the engine is started");
+        }
+
+        return updates;
+    }
+
+    /**
+     * Get the saves module for the engine, which reports the number of requested, coalesced and completed saves
+     *
+     * @return The saves module for the engine
+     *
+     * @throws IllegalStateException If the engine has not been started
+     */
+    @NonNull
+    public final Saves getSaves() {
+
+        Saves saves = this.saves;
+
+        if (saves == null) {
+
+            throw new IllegalStateException("Unable to get the saves module before the engine is started");
+        }
+
+        return saves;
+    }
+
+    /**
+     * Get the journal module for the engine, which reports the number of recorded updates, group commits and
+     * snapshots
+     *
+     * @return The journal module for the engine
+     *
+     * @throws IllegalStateException If the engine has not been started with a journal
+     */
+    @NonNull
+    public final Journal getJournal() {
+
+        Journal journal = this.journal;
+
+        if (journal == null) {
+
+            throw new IllegalStateException("Unable to get the journal module before the engine is started with a journal");
+        }
+
+        return journal;
+    }
+
+    /**
+     * Get the duration of the most recent frame update
+     *
+     * @return The duration of the most recent frame update in nanoseconds
+     *
+     * @throws IllegalStateException If the engine has not been started
+     */
+    public final long getUpdateTime() {
+
+        Graphics graphics = this.graphics;
+
+        if (graphics == null) {
+
+            throw new IllegalStateException("Unable to get the update time before the engine is started");
+        }
+
+        return graphics.getUpdateTime();
+    }
+
+    /**
+     * Get the frame which is currently drawn, such as to pick the models under a touch
+     *
+     * @return The frame which is currently drawn, or null if no state has been rendered
+     *
+     * @throws IllegalStateException If the engine has not been started
+     */
+    public final Frame getFrame() {
+
+        Graphics graphics = this.graphics;
+
+        if (graphics == null) {
+
+            throw new IllegalStateException("Unable to get the frame before the engine is started");
+        }
+
+        return graphics.getFrame();
+    }
+
+    /**
+     * Set whether coalesced touch movements keep their earlier positions as historical positions
+     *
+     * <p>The setting is applied the next time the engine is started.</p>
+     *
+     * @param isTouchHistorical Whether coalesced touch movements keep their earlier positions
+     */
+    public final void setTouchHistorical(boolean isTouchHistorical) {
+
+        this.isTouchHistorical = isTouchHistorical;
+    }
+
+    /**
+     * Set whether touch input is published as pointer events with every pointer and historical sample, instead of
+     * touch events for the first pointer
+     *
+     * <p>The setting is applied the next time the engine is started.</p>
+     *
+     * @param isMultiTouch Whether touch input is published as pointer events
+     */
+    public final void setMultiTouch(boolean isMultiTouch) {
+
+        this.isMultiTouch = isMultiTouch;
+    }
+
+    /**
+     * Set the debounce timing for saving states
+     *
+     * <p>The setting is applied the next time the engine is started.</p>
+     *
+     * @param interval The time without a newer state before a state is saved in milliseconds
+     * @param delay The maximum time a state waits to be saved in milliseconds
+     *
+     * @throws IllegalArgumentException If the interval is negative or the delay is less than the interval
+     */
+    public final void setSaveDebounce(long interval, long delay) {
+
+        if (interval < 0) {
+
+            throw new IllegalArgumentException("Unable to set a negative save interval");
+        }
+
+        if (delay < interval) {
+
+            throw new IllegalArgumentException("Unable to set a save delay less than the save interval");
+        }
+
+        this.saveInterval = interval;
+        this.saveDelay = delay;
+    }
+
+    /**
+     * Set whether snapshots of writable states are compressed
+     *
+     * <p>The setting is applied the next time the engine is started.</p>
+     *
+     * @param isSaveCompressed Whether snapshots are compressed
+     */
+    public final void setSaveCompressed(boolean isSaveCompressed) {
+
+        this.isSaveCompressed = isSaveCompressed;
+    }
+
+    /**
+     * Set whether every update is appended to a journal, which is paired with periodic snapshots of writable states
+     * instead of the snapshots taken by the saves module
+     *
+     * <p>When the engine is started with a restorable, the updates journaled after the newest snapshot are replayed.
+     * A state which is not writable is never snapshotted, so its journal is never truncated. The setting is applied
+     * the next time the engine is started.</p>
+     *
+     * @param isJournaled Whether updates are journaled
+     */
+    public final void setJournaled(boolean isJournaled) {
+
+        this.isJournaled = isJournaled;
+    }
+
+    /**
+     * Start the engine from the most recent snapshot, or from an initial state if there is no valid snapshot
+     *
+     * <p>If updates are journaled, each update journaled after the snapshot is replayed.</p>
+     *
+     * @param state The initial state of the engine if there is no valid snapshot
+     * @param restorable The restorable used to restore a state from the snapshot
+     *
+     * @throws IllegalArgumentException If the initial state or restorable is null
+     */
+    public final void start(@NonNull Updatable state, @NonNull Restorable restorable) {
+
+        if (state == null) {
+
+            throw new IllegalArgumentException("Unable to start an engine with a null initial state");
+        }
+
+        if (restorable == null) {
+
+            throw new IllegalArgumentException("Unable to start an engine with a null restorable");
+        }
+
+        launch(state, restorable);
+    }
+
     /**
      * Start the engine
      *
@@ -69,27 +320,119 @@ public final class Engine {
             throw new IllegalArgumentException("Unable to start an engine with a null initial state");
         }
 
+        launch(state, null);
+    }
+
+    /**
+     * Stop the engine
+     */
+    public final void stop() {
+
+        view.onPause();
+    }
+
+    /**
+     * Create and start each module of the engine
+     *
+     * @param state The initial state of the engine
+     * @param restorable The restorable used to restore a state from the snapshot, or null to start from the initial
+     *                   state
+     */
+    private void launch(Updatable state, Restorable restorable) {
+
         Context context = view.getContext();
-        Updates updates = UpdatesFactory.createModule(context, state);
-        Saves saves = SavesFactory.createModule(context);
-        Schedules schedules = SchedulesFactory.createModule(updates);
-        Graphics graphics = GraphicsFactory.createModule(updates);
+        Journal journal = isJournaled ? JournalFactory.createModule(context, scheduler) : null;
+
+        if (restorable != null) {
+
+            state = restore(context, state, restorable, journal);
+        }
+
+        Updates updates = UpdatesFactory.createModule(context, state, scheduler);
+        Saves saves = SavesFactory.createModule(context, scheduler);
+        Schedules schedules = SchedulesFactory.createModule(updates, scheduler);
+        Graphics graphics = GraphicsFactory.createModule(updates, scheduler);
+
+        updates.setHistorical(isTouchHistorical);
+
+        if (saveInterval >= 0) {
+
+            saves.setDebounce(saveInterval, saveDelay);
+        }
+
+        saves.setCompressed(isSaveCompressed);
+        saves.setSnapshotEnabled(journal == null);
+
+        if (journal != null) {
 
-        updates.register(graphics);
-        updates.register(schedules);
-        updates.register(saves);
+            journal.setCompressed(isSaveCompressed);
+            journal.start(state);
 
-        EngineModel model = new EngineModel(updates, saves, schedules, graphics);
+            updates.setRecorder(journal);
+        }
+
+        updates.register(graphics, graphics.getLane());
+        updates.register(schedules, schedules.getLane());
+        updates.register(saves, saves.getLane());
+
+        EngineModel model = new EngineModel(updates, saves, schedules, graphics, journal);
 
+        this.updates = updates;
+        this.saves = saves;
+        this.graphics = graphics;
+        this.journal = journal;
+
+        view.setMultiTouch(isMultiTouch);
         view.setModel(model);
         view.onResume();
     }
 
     /**
-     * Stop the engine
+     * Restore a state from the most recent snapshot, then replay each update journaled after the snapshot
+     *
+     * @param context The application context
+     * @param state The state used if there is no valid snapshot
+     * @param restorable The restorable used to restore a state from the snapshot
+     * @param journal The journal module, or null if updates are not journaled
+     *
+     * @return The restored state, or the given state if there is no valid snapshot or journal
      */
-    public final void stop() {
+    private static Updatable restore(Context context, Updatable state, Restorable restorable, Journal journal) {
 
-        view.onPause();
+        File file = SnapshotFactory.getDefaultFile(context);
+        long sequence = 0;
+
+        if (file.exists()) {
+
+            try {
+
+                SnapshotReader reader = SnapshotFactory.createReader(file);
+                Updatable restored = restorable.restore(context, reader);
+
+                if (restored != null) {
+
+                    state = restored;
+                    sequence = reader.getSequence();
+                }
+            }
+            catch (Exception e) {
+
+                Log.e("Engine", "Unable to restore the snapshot", e);
+            }
+        }
+
+        if (journal != null) {
+
+            try {
+
+                state = journal.replay(state, context, sequence);
+            }
+            catch (Exception e) {
+
+                Log.e("Engine", "Unable to replay the journal", e);
+            }
+        }
+
+        return state;
     }
 }
@@ -23,6 +23,8 @@ import net.tclemens.calcium.engine.graphics.Graphics;
 import net.tclemens.calcium.engine.graphics.GraphicsFactory;
 import net.tclemens.calcium.engine.saves.Saves;
 import net.tclemens.calcium.engine.saves.SavesFactory;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
 import net.tclemens.calcium.engine.schedules.Schedules;
 import net.tclemens.calcium.engine.schedules.SchedulesFactory;
 import net.tclemens.calcium.engine.updates.Updates;
@@ -40,7 +42,7 @@ public final class EngineFactory {
     }
 
     /**
-     * Create and validate an engine
+     * Create and validate an engine with a default scheduler
      *
      * @param context The application context of the engine
      *
@@ -56,20 +58,47 @@ public final class EngineFactory {
             throw new IllegalArgumentException("EngineFactory: Unable to create an engine with a null application context");
         }
 
-        return buildEngine(context);
+        return buildEngine(context, SchedulerFactory.createScheduler());
+    }
+
+    /**
+     * Create and validate an engine
+     *
+     * @param context The application context of the engine
+     * @param scheduler The scheduler used to run the modules of the engine
+     *
+     * @return the new engine
+     *
+     * @throws IllegalArgumentException If the application context or scheduler is null
+     */
+    @NonNull
+    public static Engine createEngine(@NonNull Context context, @NonNull Scheduler scheduler) {
+
+        if (context == null) {
+
+            throw new IllegalArgumentException("EngineFactory: Unable to create an engine with a null application context");
+        }
+
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("EngineFactory: Unable to create an engine with a null scheduler");
+        }
+
+        return buildEngine(context, scheduler);
     }
 
     /**
      * Create and validate an engine
      *
      * @param context The application context of the engine
+     * @param scheduler The scheduler used to run the modules of the engine
      *
      * @return the new engine
      */
-    static Engine buildEngine(Context context) {
+    static Engine buildEngine(Context context, Scheduler scheduler) {
 
         EngineView view = new EngineView(context);
 
-        return new Engine(view);
+        return new Engine(view, scheduler);
     }
 }
@@ -17,9 +17,12 @@
 package net.tclemens.calcium.engine;
 
 import net.tclemens.calcium.engine.graphics.Graphics;
+import net.tclemens.calcium.engine.journal.Journal;
 import net.tclemens.calcium.engine.saves.Saves;
 import net.tclemens.calcium.engine.schedules.Schedules;
 import net.tclemens.calcium.engine.updates.Updates;
+import net.tclemens.calcium.engine.updates.base.Notifiable;
+import net.tclemens.calcium.engine.updates.base.Updatable;
 import net.tclemens.calcium.engine.updates.event.Event;
 
 /**
@@ -41,21 +44,27 @@ final class EngineModel {
     /** The graphics module of the engine */
     private final Graphics graphics;
 
+    /** The journal module of the engine, or null if updates are not journaled */
+    private final Journal journal;
+
     /**
      * @param updates The updates module of the engine
      * @param saves The saves module of the engine
      * @param schedules The schedules module of the engine
      * @param graphics The graphics module of the engine
+     * @param journal The journal module of the engine, or null if updates are not journaled
      */
     EngineModel(Updates updates,
                 Saves saves,
                 Schedules schedules,
-                Graphics graphics) {
+                Graphics graphics,
+                Journal journal) {
 
         this.updates = updates;
         this.saves = saves;
         this.schedules = schedules;
         this.graphics = graphics;
+        this.journal = journal;
     }
 
     /**
@@ -77,13 +86,28 @@ final class EngineModel {
     }
 
     /**
-     * Stop each module of the engine
+     * Stop each module of the engine without waiting
+     *
+     * <p>The modules which publish events are stopped first, then the queued events are delivered and the final
+     * state is saved on the lanes of the modules, which outlive the caller.</p>
      */
     final void stop() {
 
-        updates.stop();
-        saves.stop();
         schedules.stop();
         graphics.stop();
+
+        updates.stop(new Notifiable() {
+
+            @Override
+            public void notify(Updatable state) {
+
+                if (journal != null) {
+
+                    journal.stop();
+                }
+
+                saves.stop(state);
+            }
+        });
     }
 }
@@ -22,6 +22,7 @@ import android.util.Log;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
 
+import net.tclemens.calcium.engine.scheduler.Scheduler;
 import net.tclemens.calcium.engine.updates.event.EventFactory;
 import net.tclemens.calcium.engine.updates.input.Key;
 import net.tclemens.calcium.engine.updates.input.Touch;
@@ -39,6 +40,9 @@ final class EngineView extends GLSurfaceView implements GLSurfaceView.Renderer {
     /** The model of the engine */
     private volatile EngineModel model;
 
+    /** Whether touch input is published as pointer events */
+    private volatile boolean isMultiTouch;
+
     /**
      * @param context The application context of the engine
      */
@@ -73,12 +77,19 @@ final class EngineView extends GLSurfaceView implements GLSurfaceView.Renderer {
 
         try {
 
-            long time = event.getEventTime();
+            if (isMultiTouch) {
+
+                model.update(EventFactory.createPointer(event));
+            }
+            else if (!isPointerAction(event)) {
+
+                long time = event.getEventTime();
 
-            float x = event.getX();
-            float y = event.getY();
+                float x = event.getX();
+                float y = event.getY();
 
-            model.update(EventFactory.createTouch(time, x, y, Touch.parseEvent(event)));
+                model.update(EventFactory.createTouch(time, x, y, Touch.parseEvent(event)));
+            }
         }
         catch (Exception e) {
 
@@ -130,6 +141,8 @@ final class EngineView extends GLSurfaceView implements GLSurfaceView.Renderer {
 
     @Override
     public final void onSurfaceCreated(GL10 gl, EGLConfig config) {
+
+        Scheduler.markResponsive();
     }
 
     @Override
@@ -166,6 +179,16 @@ final class EngineView extends GLSurfaceView implements GLSurfaceView.Renderer {
         }
     }
 
+    /**
+     * Set whether touch input is published as pointer events
+     *
+     * @param isMultiTouch Whether touch input is published as pointer events
+     */
+    final void setMultiTouch(boolean isMultiTouch) {
+
+        this.isMultiTouch = isMultiTouch;
+    }
+
     /**
      * Set the model of the engine
      */
@@ -178,4 +201,18 @@ final class EngineView extends GLSurfaceView implements GLSurfaceView.Renderer {
 
         this.model = model;
     }
+
+    /**
+     * Check if a motion event starts or ends an additional pointer, which a single touch ignores
+     *
+     * @param event The motion event to check
+     *
+     * @return True if the event starts or ends an additional pointer
+     */
+    private static boolean isPointerAction(MotionEvent event) {
+
+        int action = event.getActionMasked();
+
+        return action == MotionEvent.ACTION_POINTER_DOWN || action == MotionEvent.ACTION_POINTER_UP;
+    }
 }
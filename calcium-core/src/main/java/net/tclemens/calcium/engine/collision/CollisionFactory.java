@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.collision;
+
+import android.support.annotation.NonNull;
+
+/**
+ * This class is responsible for creating and initializing collision worlds
+ *
+ * @author Tim Clemens
+ */
+public final class CollisionFactory {
+
+    private CollisionFactory() {
+    }
+
+    /**
+     * Create an empty collision world for elements with two-dimensional shapes
+     *
+     * @param <E> The type of the elements
+     *
+     * @return The new world
+     */
+    @NonNull
+    public static <E> CollisionWorld2D<E> createWorld2D() {
+
+        return buildWorld2D();
+    }
+
+    /**
+     * Create an empty collision world for elements with two-dimensional shapes
+     *
+     * @param <E> The type of the elements
+     *
+     * @return The new world
+     */
+    static <E> CollisionWorld2D<E> buildWorld2D() {
+
+        return new CollisionWorld2D<>();
+    }
+}
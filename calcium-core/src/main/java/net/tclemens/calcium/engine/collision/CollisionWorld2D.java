@@ -0,0 +1,1189 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.collision;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+import net.tclemens.calcium.engine.workers.Job;
+import net.tclemens.calcium.engine.workers.Workers;
+import net.tclemens.calcium.math.Geometry;
+
+/**
+ * This class represents a world of elements with two-dimensional shapes which finds every pair of touching elements
+ * in each update
+ *
+ * <p>Each element is either an axis-aligned box or a circle, and is stored in primitive arrays indexed by handle.
+ * The broadphase sweeps the bounds of every element along the <tt>x</tt> axis, keeping the elements sorted by their
+ * left bound between updates so the sort is nearly linear when elements move coherently. The bounds are gathered
+ * into sorted arrays before the sweep, which can be divided into ranges and performed in parallel for large worlds.
+ * Candidate pairs are filtered by category and mask, then tested with the exact shapes of the elements using
+ * {@link Geometry}.</p>
+ *
+ * <p>The pairs found in the previous update are kept in a hash table, so each update also reports which contacts
+ * began and which ended, either through a {@link ContactListener} or by index. Neither interface allocates once the
+ * buffers have grown to fit the world. The handle of a removed element is not reused until the following update, so
+ * an ended contact always refers to the pair which began.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <E> The type of the elements
+ *
+ * @author Tim Clemens
+ */
+public final class CollisionWorld2D<E> {
+
+    /**
+     * This class represents a job which sweeps a single range of the sorted elements
+     */
+    private final class SweepJob implements Job {
+
+        /** The number of ranges in the current sweep */
+        private int ranges;
+
+        private SweepJob() {
+        }
+
+        @Override
+        public void run(int index) {
+
+            int start = (int) ((long) ordered * index / ranges);
+            int end = (int) ((long) ordered * (index + 1) / ranges);
+
+            sweep(start, end, index);
+        }
+    }
+
+    /** The index used for a missing handle */
+    private static final int NONE = -1;
+
+    /** The key of an empty slot in a pair table */
+    private static final long EMPTY = -1L;
+
+    /** The initial capacity of each array */
+    private static final int CAPACITY = 16;
+
+    /** The multiplier used to mix pair keys */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    /** The shape of an element which is an axis-aligned box */
+    private static final int BOX = 0;
+
+    /** The shape of an element which is a circle */
+    private static final int CIRCLE = 1;
+
+    /** The number of ranges swept for each thread in a parallel update, which balances uneven ranges */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /** The minimum number of elements inserted in one update before the elements are sorted from scratch */
+    private static final int RESORT_THRESHOLD = 64;
+
+    /** The category and mask of an element which touches every other element */
+    private static final int ALL = ~0;
+
+    /** The job used to sweep ranges in parallel */
+    private final SweepJob sweepJob = new SweepJob();
+
+    /** The element of each handle, or null for a free or released handle */
+    private Object[] elements = new Object[CAPACITY];
+
+    /** The left, right, bottom and top bounds of each handle */
+    private float[] bounds = new float[CAPACITY * 4];
+
+    /** The center and radius of each circle handle */
+    private float[] circles = new float[CAPACITY * 3];
+
+    /** The shape of each handle */
+    private int[] shapes = new int[CAPACITY];
+
+    /** The category bits of each handle */
+    private int[] categories = new int[CAPACITY];
+
+    /** The mask of categories each handle touches */
+    private int[] masks = new int[CAPACITY];
+
+    /** The next free handle after each free handle */
+    private int[] links = new int[CAPACITY];
+
+    /** The number of handles which have been allocated */
+    private int handles;
+
+    /** The first free handle */
+    private int free = NONE;
+
+    /** The number of elements */
+    private int size;
+
+    /** The handles removed since the last update, which are freed after the update */
+    private int[] released = new int[CAPACITY];
+
+    /** The number of handles removed since the last update */
+    private int releasedCount;
+
+    /** The handles ordered by left bound, which may include removed handles until the next update */
+    private int[] order = new int[CAPACITY];
+
+    /** The number of handles in the order */
+    private int ordered;
+
+    /** The number of handles inserted since the last update */
+    private int inserted;
+
+    /** The scratch keys used to sort the handles from scratch */
+    private long[] sortKeys = new long[CAPACITY];
+
+    /** The left bound of each handle in sorted order */
+    private float[] sortedLefts = new float[CAPACITY];
+
+    /** The right bound of each handle in sorted order */
+    private float[] sortedRights = new float[CAPACITY];
+
+    /** The bottom bound of each handle in sorted order */
+    private float[] sortedBottoms = new float[CAPACITY];
+
+    /** The top bound of each handle in sorted order */
+    private float[] sortedTops = new float[CAPACITY];
+
+    /** The pairs found by each range of the sweep */
+    private int[][] rangeContacts = new int[][] { new int[CAPACITY * 2] };
+
+    /** The number of pairs found by each range of the sweep */
+    private int[] rangeCounts = new int[1];
+
+    /** The lower and higher handle of each contact in the latest update */
+    private int[] contacts = new int[CAPACITY * 2];
+
+    /** Whether each contact began in the latest update */
+    private boolean[] begun = new boolean[CAPACITY];
+
+    /** The number of contacts in the latest update */
+    private int contactCount;
+
+    /** The lower and higher handle of each contact which ended in the latest update */
+    private int[] ended = new int[CAPACITY * 2];
+
+    /** The number of contacts which ended in the latest update */
+    private int endedCount;
+
+    /** The keys of the pairs touching in the latest update */
+    private long[] pairs = empty(CAPACITY);
+
+    /** The scratch table of pair keys built during an update */
+    private long[] nextPairs = empty(CAPACITY);
+
+    /** Whether large worlds are swept in parallel */
+    private boolean parallel = true;
+
+    /**
+     * Package-private constructor
+     */
+    CollisionWorld2D() {
+    }
+
+    /**
+     * Get the number of elements
+     *
+     * @return The number of elements
+     */
+    public final int size() {
+
+        return size;
+    }
+
+    /**
+     * Check if large worlds are swept in parallel
+     *
+     * @return True if large worlds are swept in parallel
+     */
+    public final boolean isParallel() {
+
+        return parallel;
+    }
+
+    /**
+     * Set whether large worlds are swept in parallel
+     *
+     * <p>Worlds with fewer elements than the threshold of the workers are always swept on the calling thread. The
+     * contacts are found in the same order either way.</p>
+     *
+     * @param parallel True if large worlds should be swept in parallel
+     */
+    public final void setParallel(boolean parallel) {
+
+        this.parallel = parallel;
+    }
+
+    /**
+     * Get the element of a handle
+     *
+     * @param handle The handle of the element
+     *
+     * @return The element
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public final E get(int handle) {
+
+        checkHandle(handle);
+
+        return (E) elements[handle];
+    }
+
+    /**
+     * Add an element with the shape of an axis-aligned box, which touches every other element
+     *
+     * @param element The element to add
+     * @param left The lower bound for x coordinate of the box
+     * @param right The upper bound for x coordinate of the box
+     * @param bottom The lower bound for y coordinate of the box
+     * @param top The upper bound for y coordinate of the box
+     *
+     * @return The handle of the element, which is valid until the element is removed
+     *
+     * @throws IllegalArgumentException If the element or box is invalid
+     */
+    public final int insertBox(@NonNull E element, float left, float right, float bottom, float top) {
+
+        checkElement(element);
+        checkBounds(left, right, bottom, top);
+
+        int handle = insert(element);
+
+        setBox(handle, left, right, bottom, top);
+
+        return handle;
+    }
+
+    /**
+     * Add an element with the shape of a circle, which touches every other element
+     *
+     * @param element The element to add
+     * @param x The x coordinate of the center of the circle
+     * @param y The y coordinate of the center of the circle
+     * @param radius The radius of the circle
+     *
+     * @return The handle of the element, which is valid until the element is removed
+     *
+     * @throws IllegalArgumentException If the element or circle is invalid
+     */
+    public final int insertCircle(@NonNull E element, float x, float y, float radius) {
+
+        checkElement(element);
+        checkCircle(x, y, radius);
+
+        int handle = insert(element);
+
+        setCircle(handle, x, y, radius);
+
+        return handle;
+    }
+
+    /**
+     * Remove an element from the world
+     *
+     * <p>Any contact of the element ends in the next update.</p>
+     *
+     * @param handle The handle of the element
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    public final void remove(int handle) {
+
+        checkHandle(handle);
+
+        elements[handle] = null;
+
+        if (releasedCount == released.length) {
+
+            released = Arrays.copyOf(released, releasedCount * 2);
+        }
+
+        released[releasedCount++] = handle;
+
+        size--;
+    }
+
+    /**
+     * Update an element to the shape of an axis-aligned box
+     *
+     * @param handle The handle of the element
+     * @param left The lower bound for x coordinate of the box
+     * @param right The upper bound for x coordinate of the box
+     * @param bottom The lower bound for y coordinate of the box
+     * @param top The upper bound for y coordinate of the box
+     *
+     * @throws IllegalArgumentException If the handle or box is invalid
+     */
+    public final void moveBox(int handle, float left, float right, float bottom, float top) {
+
+        checkHandle(handle);
+        checkBounds(left, right, bottom, top);
+
+        setBox(handle, left, right, bottom, top);
+    }
+
+    /**
+     * Update an element to the shape of a circle
+     *
+     * @param handle The handle of the element
+     * @param x The x coordinate of the center of the circle
+     * @param y The y coordinate of the center of the circle
+     * @param radius The radius of the circle
+     *
+     * @throws IllegalArgumentException If the handle or circle is invalid
+     */
+    public final void moveCircle(int handle, float x, float y, float radius) {
+
+        checkHandle(handle);
+        checkCircle(x, y, radius);
+
+        setCircle(handle, x, y, radius);
+    }
+
+    /**
+     * Set which elements an element may touch
+     *
+     * <p>Two elements may only touch if the category of each element shares a bit with the mask of the other.</p>
+     *
+     * @param handle The handle of the element
+     * @param category The category bits of the element
+     * @param mask The categories the element may touch
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    public final void setFilter(int handle, int category, int mask) {
+
+        checkHandle(handle);
+
+        categories[handle] = category;
+        masks[handle] = mask;
+    }
+
+    /**
+     * Remove every element from the world without ending their contacts
+     */
+    public final void clear() {
+
+        Arrays.fill(elements, null);
+        Arrays.fill(pairs, EMPTY);
+
+        handles = 0;
+        free = NONE;
+        size = 0;
+
+        releasedCount = 0;
+        ordered = 0;
+        inserted = 0;
+
+        contactCount = 0;
+        endedCount = 0;
+    }
+
+    /**
+     * Find every pair of touching elements
+     *
+     * @return The number of contacts
+     */
+    public final int update() {
+
+        prepareOrder();
+        findContacts();
+        comparePairs();
+        releaseHandles();
+
+        return contactCount;
+    }
+
+    /**
+     * Find every pair of touching elements, and notify a listener of the contacts which ended and then the contacts
+     * which began
+     *
+     * <p>The listener is notified on the calling thread after the contacts have been found.</p>
+     *
+     * @param listener The listener to notify
+     *
+     * @return The number of contacts
+     *
+     * @throws IllegalArgumentException If the listener is null
+     */
+    public final int update(@NonNull ContactListener listener) {
+
+        if (listener == null) {
+
+            throw new IllegalArgumentException("Unable to update a world with a null listener");
+        }
+
+        update();
+
+        for (int index = 0; index < endedCount; index++) {
+
+            listener.end(ended[index * 2], ended[index * 2 + 1]);
+        }
+
+        for (int index = 0; index < contactCount; index++) {
+
+            if (begun[index]) {
+
+                listener.begin(contacts[index * 2], contacts[index * 2 + 1]);
+            }
+        }
+
+        return contactCount;
+    }
+
+    /**
+     * Get the number of contacts in the latest update
+     *
+     * @return The number of contacts
+     */
+    public final int getContactCount() {
+
+        return contactCount;
+    }
+
+    /**
+     * Get the lower handle of a contact in the latest update
+     *
+     * @param index The index of the contact
+     *
+     * @return The lower handle of the contact
+     *
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    public final int getFirst(int index) {
+
+        checkIndex(index, contactCount);
+
+        return contacts[index * 2];
+    }
+
+    /**
+     * Get the higher handle of a contact in the latest update
+     *
+     * @param index The index of the contact
+     *
+     * @return The higher handle of the contact
+     *
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    public final int getSecond(int index) {
+
+        checkIndex(index, contactCount);
+
+        return contacts[index * 2 + 1];
+    }
+
+    /**
+     * Check if a contact began in the latest update
+     *
+     * @param index The index of the contact
+     *
+     * @return True if the elements did not touch in the previous update
+     *
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    public final boolean isBegun(int index) {
+
+        checkIndex(index, contactCount);
+
+        return begun[index];
+    }
+
+    /**
+     * Get the number of contacts which ended in the latest update
+     *
+     * @return The number of ended contacts
+     */
+    public final int getEndedCount() {
+
+        return endedCount;
+    }
+
+    /**
+     * Get the lower handle of a contact which ended in the latest update
+     *
+     * @param index The index of the ended contact
+     *
+     * @return The lower handle of the ended contact
+     *
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    public final int getEndedFirst(int index) {
+
+        checkIndex(index, endedCount);
+
+        return ended[index * 2];
+    }
+
+    /**
+     * Get the higher handle of a contact which ended in the latest update
+     *
+     * @param index The index of the ended contact
+     *
+     * @return The higher handle of the ended contact
+     *
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    public final int getEndedSecond(int index) {
+
+        checkIndex(index, endedCount);
+
+        return ended[index * 2 + 1];
+    }
+
+    /**
+     * Remove released handles from the order, sort the order by left bound and gather the sorted bounds
+     */
+    private void prepareOrder() {
+
+        int count = 0;
+
+        for (int index = 0; index < ordered; index++) {
+
+            int handle = order[index];
+
+            if (elements[handle] != null) {
+
+                order[count++] = handle;
+            }
+        }
+
+        ordered = count;
+
+        if (inserted > RESORT_THRESHOLD && inserted * 4 > count) {
+
+            sortOrder();
+        }
+        else {
+
+            insertionSortOrder();
+        }
+
+        inserted = 0;
+
+        if (sortedLefts.length < count) {
+
+            int capacity = Math.max(count, sortedLefts.length * 2);
+
+            sortedLefts = new float[capacity];
+            sortedRights = new float[capacity];
+            sortedBottoms = new float[capacity];
+            sortedTops = new float[capacity];
+        }
+
+        for (int index = 0; index < count; index++) {
+
+            int offset = order[index] * 4;
+
+            sortedLefts[index] = bounds[offset];
+            sortedRights[index] = bounds[offset + 1];
+            sortedBottoms[index] = bounds[offset + 2];
+            sortedTops[index] = bounds[offset + 3];
+        }
+    }
+
+    /**
+     * Sort the order by left bound with an insertion sort, which is nearly linear when few elements changed places
+     */
+    private void insertionSortOrder() {
+
+        for (int index = 1; index < ordered; index++) {
+
+            int handle = order[index];
+            float left = bounds[handle * 4];
+            int position = index - 1;
+
+            while (position >= 0 && bounds[order[position] * 4] > left) {
+
+                order[position + 1] = order[position];
+                position--;
+            }
+
+            order[position + 1] = handle;
+        }
+    }
+
+    /**
+     * Sort the order by left bound from scratch, packing each bound and handle into a single key
+     */
+    private void sortOrder() {
+
+        if (sortKeys.length < ordered) {
+
+            sortKeys = new long[Math.max(ordered, sortKeys.length * 2)];
+        }
+
+        for (int index = 0; index < ordered; index++) {
+
+            int handle = order[index];
+            int bits = Float.floatToIntBits(bounds[handle * 4]);
+
+            // Flip the magnitude of negative bounds so the bits sort in the same order as the bounds
+            bits ^= (bits >> 31) & Integer.MAX_VALUE;
+
+            sortKeys[index] = ((long) bits << 32) | handle;
+        }
+
+        Arrays.sort(sortKeys, 0, ordered);
+
+        for (int index = 0; index < ordered; index++) {
+
+            order[index] = (int) sortKeys[index];
+        }
+    }
+
+    /**
+     * Sweep the sorted elements, in parallel if the world is large enough, and gather the pairs of every range
+     */
+    private void findContacts() {
+
+        int ranges = 1;
+
+        if (parallel && ordered >= Workers.getThreshold() && Workers.getParallelism() > 1) {
+
+            ranges = Workers.getParallelism() * RANGES_PER_THREAD;
+        }
+
+        if (rangeContacts.length < ranges) {
+
+            int[][] buffers = Arrays.copyOf(rangeContacts, ranges);
+
+            for (int range = rangeContacts.length; range < ranges; range++) {
+
+                buffers[range] = new int[CAPACITY * 2];
+            }
+
+            rangeContacts = buffers;
+            rangeCounts = new int[ranges];
+        }
+
+        if (ranges == 1) {
+
+            sweep(0, ordered, 0);
+        }
+        else {
+
+            sweepJob.ranges = ranges;
+
+            Workers.execute(ranges, sweepJob);
+        }
+
+        int total = 0;
+
+        for (int range = 0; range < ranges; range++) {
+
+            total += rangeCounts[range];
+        }
+
+        if (contacts.length < total * 2) {
+
+            int capacity = Math.max(total, contacts.length);
+
+            contacts = new int[capacity * 2];
+            begun = new boolean[capacity];
+        }
+
+        int offset = 0;
+
+        for (int range = 0; range < ranges; range++) {
+
+            int length = rangeCounts[range] * 2;
+
+            System.arraycopy(rangeContacts[range], 0, contacts, offset, length);
+
+            offset += length;
+        }
+
+        contactCount = total;
+    }
+
+    /**
+     * Find the pairs of touching elements whose lower left bound lies in a range of the sorted elements
+     *
+     * @param start The first sorted element in the range
+     * @param end The sorted element after the last element in the range
+     * @param range The index of the range, which owns the buffer the pairs are stored in
+     */
+    private void sweep(int start, int end, int range) {
+
+        int[] buffer = rangeContacts[range];
+        int found = 0;
+
+        for (int index = start; index < end; index++) {
+
+            float left = sortedLefts[index];
+            float right = sortedRights[index];
+            float bottom = sortedBottoms[index];
+            float top = sortedTops[index];
+
+            int first = order[index];
+
+            // Every later element whose left bound lies past this right bound is also past it, so stop there
+            for (int other = index + 1; other < ordered && sortedLefts[other] <= right; other++) {
+
+                if (!Geometry.overlapArea2D(left, right, bottom, top,
+                        sortedLefts[other], sortedRights[other], sortedBottoms[other], sortedTops[other])) {
+
+                    continue;
+                }
+
+                int second = order[other];
+
+                if (!filters(first, second) || !touches(first, second)) {
+
+                    continue;
+                }
+
+                if (found * 2 == buffer.length) {
+
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+
+                    rangeContacts[range] = buffer;
+                }
+
+                buffer[found * 2] = Math.min(first, second);
+                buffer[found * 2 + 1] = Math.max(first, second);
+
+                found++;
+            }
+        }
+
+        rangeCounts[range] = found;
+    }
+
+    /**
+     * Check if the filters of two elements allow them to touch
+     *
+     * @param first The handle of the first element
+     * @param second The handle of the second element
+     *
+     * @return True if the elements may touch
+     */
+    private boolean filters(int first, int second) {
+
+        return (categories[first] & masks[second]) != 0 && (categories[second] & masks[first]) != 0;
+    }
+
+    /**
+     * Check if the shapes of two elements with overlapping bounds touch
+     *
+     * @param first The handle of the first element
+     * @param second The handle of the second element
+     *
+     * @return True if the shapes touch
+     */
+    private boolean touches(int first, int second) {
+
+        if (shapes[first] == BOX && shapes[second] == BOX) {
+
+            return true;
+        }
+
+        if (shapes[first] == BOX) {
+
+            return touchesBox(second, first);
+        }
+
+        if (shapes[second] == BOX) {
+
+            return touchesBox(first, second);
+        }
+
+        int a = first * 3;
+        int b = second * 3;
+
+        return Geometry.distance2D(circles[a], circles[a + 1], circles[b], circles[b + 1]) <= circles[a + 2] + circles[b + 2];
+    }
+
+    /**
+     * Check if a circle touches a box, by finding the distance from the center to the nearest point in the box
+     *
+     * @param circle The handle of the circle
+     * @param box The handle of the box
+     *
+     * @return True if the circle touches the box
+     */
+    private boolean touchesBox(int circle, int box) {
+
+        int c = circle * 3;
+        int b = box * 4;
+
+        float x = circles[c];
+        float y = circles[c + 1];
+
+        float left = bounds[b];
+        float right = bounds[b + 1];
+        float bottom = bounds[b + 2];
+        float top = bounds[b + 3];
+
+        if (Geometry.intersectArea2D(x, y, left, right, bottom, top)) {
+
+            return true;
+        }
+
+        float nx = Math.max(left, Math.min(right, x));
+        float ny = Math.max(bottom, Math.min(top, y));
+
+        return Geometry.distance2D(x, y, nx, ny) <= circles[c + 2];
+    }
+
+    /**
+     * Compare the contacts with the pairs of the previous update to find which began and which ended
+     */
+    private void comparePairs() {
+
+        int capacity = nextPairs.length;
+
+        while (capacity < contactCount * 2) {
+
+            capacity *= 2;
+        }
+
+        if (capacity != nextPairs.length) {
+
+            nextPairs = empty(capacity);
+        }
+        else {
+
+            Arrays.fill(nextPairs, EMPTY);
+        }
+
+        for (int index = 0; index < contactCount; index++) {
+
+            long key = key(contacts[index * 2], contacts[index * 2 + 1]);
+
+            addPair(nextPairs, key);
+
+            begun[index] = !containsPair(pairs, key);
+        }
+
+        endedCount = 0;
+
+        for (long key : pairs) {
+
+            if (key != EMPTY && !containsPair(nextPairs, key)) {
+
+                if (endedCount * 2 == ended.length) {
+
+                    ended = Arrays.copyOf(ended, ended.length * 2);
+                }
+
+                ended[endedCount * 2] = (int) (key >>> 32);
+                ended[endedCount * 2 + 1] = (int) key;
+
+                endedCount++;
+            }
+        }
+
+        long[] swap = pairs;
+
+        pairs = nextPairs;
+        nextPairs = swap;
+    }
+
+    /**
+     * Free the handles removed since the last update, now their contacts have ended
+     */
+    private void releaseHandles() {
+
+        for (int index = 0; index < releasedCount; index++) {
+
+            int handle = released[index];
+
+            links[handle] = free;
+            free = handle;
+        }
+
+        releasedCount = 0;
+    }
+
+    /**
+     * Allocate a handle for a new element which touches every other element
+     *
+     * @param element The element
+     *
+     * @return The handle of the element
+     */
+    private int insert(E element) {
+
+        int handle = allocateHandle();
+
+        elements[handle] = element;
+        categories[handle] = ALL;
+        masks[handle] = ALL;
+
+        if (ordered == order.length) {
+
+            order = Arrays.copyOf(order, ordered * 2);
+        }
+
+        order[ordered++] = handle;
+
+        inserted++;
+        size++;
+
+        return handle;
+    }
+
+    /**
+     * Allocate a handle, growing the handle arrays if needed
+     *
+     * @return The handle
+     */
+    private int allocateHandle() {
+
+        if (free != NONE) {
+
+            int handle = free;
+
+            free = links[handle];
+
+            return handle;
+        }
+
+        if (handles == elements.length) {
+
+            int capacity = elements.length * 2;
+
+            elements = Arrays.copyOf(elements, capacity);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            circles = Arrays.copyOf(circles, capacity * 3);
+            shapes = Arrays.copyOf(shapes, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            masks = Arrays.copyOf(masks, capacity);
+            links = Arrays.copyOf(links, capacity);
+        }
+
+        return handles++;
+    }
+
+    /**
+     * Store the shape of an element as an axis-aligned box
+     *
+     * @param handle The handle of the element
+     * @param left The lower bound for x coordinate of the box
+     * @param right The upper bound for x coordinate of the box
+     * @param bottom The lower bound for y coordinate of the box
+     * @param top The upper bound for y coordinate of the box
+     */
+    private void setBox(int handle, float left, float right, float bottom, float top) {
+
+        int offset = handle * 4;
+
+        shapes[handle] = BOX;
+
+        bounds[offset] = left;
+        bounds[offset + 1] = right;
+        bounds[offset + 2] = bottom;
+        bounds[offset + 3] = top;
+    }
+
+    /**
+     * Store the shape of an element as a circle, along with its bounds
+     *
+     * @param handle The handle of the element
+     * @param x The x coordinate of the center of the circle
+     * @param y The y coordinate of the center of the circle
+     * @param radius The radius of the circle
+     */
+    private void setCircle(int handle, float x, float y, float radius) {
+
+        int offset = handle * 4;
+        int circle = handle * 3;
+
+        shapes[handle] = CIRCLE;
+
+        bounds[offset] = x - radius;
+        bounds[offset + 1] = x + radius;
+        bounds[offset + 2] = y - radius;
+        bounds[offset + 3] = y + radius;
+
+        circles[circle] = x;
+        circles[circle + 1] = y;
+        circles[circle + 2] = radius;
+    }
+
+    /**
+     * Ensure a handle refers to an element in the world
+     *
+     * @param handle The handle
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    private void checkHandle(int handle) {
+
+        if (handle < 0 || handle >= handles || elements[handle] == null) {
+
+            throw new IllegalArgumentException("Unable to find an element with an unknown handle");
+        }
+    }
+
+    /**
+     * Ensure an element is not null
+     *
+     * @param element The element
+     *
+     * @throws IllegalArgumentException If the element is null
+     */
+    private static void checkElement(Object element) {
+
+        if (element == null) {
+
+            throw new IllegalArgumentException("Unable to insert a null element");
+        }
+    }
+
+    /**
+     * Ensure bounds are ordered and finite
+     *
+     * @param left The lower bound for x coordinate
+     * @param right The upper bound for x coordinate
+     * @param bottom The lower bound for y coordinate
+     * @param top The upper bound for y coordinate
+     *
+     * @throws IllegalArgumentException If the bounds are inverted or not finite
+     */
+    private static void checkBounds(float left, float right, float bottom, float top) {
+
+        if (!(left <= right && bottom <= top) || Float.isInfinite(right - left) || Float.isInfinite(top - bottom)) {
+
+            throw new IllegalArgumentException("Unable to use inverted or infinite bounds");
+        }
+    }
+
+    /**
+     * Ensure a circle is finite with a radius which is not negative
+     *
+     * @param x The x coordinate of the center of the circle
+     * @param y The y coordinate of the center of the circle
+     * @param radius The radius of the circle
+     *
+     * @throws IllegalArgumentException If the circle is invalid
+     */
+    private static void checkCircle(float x, float y, float radius) {
+
+        if (!(radius >= 0f) || Float.isInfinite(x - radius) || Float.isInfinite(x + radius) ||
+            Float.isInfinite(y - radius) || Float.isInfinite(y + radius) || x != x || y != y) {
+
+            throw new IllegalArgumentException("Unable to use a circle with a negative or infinite radius or center");
+        }
+    }
+
+    /**
+     * Ensure an index refers to a contact
+     *
+     * @param index The index
+     * @param count The number of contacts
+     *
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    private static void checkIndex(int index, int count) {
+
+        if (index < 0 || index >= count) {
+
+            throw new IllegalArgumentException("Unable to get a contact with an invalid index");
+        }
+    }
+
+    /**
+     * Pack the handles of a pair into a single key
+     *
+     * @param first The lower handle of the pair
+     * @param second The higher handle of the pair
+     *
+     * @return The key of the pair
+     */
+    private static long key(int first, int second) {
+
+        return ((long) first << 32) | second;
+    }
+
+    /**
+     * Add a pair key to a table, which must not already hold the key
+     *
+     * @param table The table
+     * @param key The key of the pair
+     */
+    private static void addPair(long[] table, long key) {
+
+        int mask = table.length - 1;
+        int slot = slot(key, mask);
+
+        while (table[slot] != EMPTY) {
+
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = key;
+    }
+
+    /**
+     * Check if a table holds a pair key
+     *
+     * @param table The table
+     * @param key The key of the pair
+     *
+     * @return True if the table holds the key
+     */
+    private static boolean containsPair(long[] table, long key) {
+
+        int mask = table.length - 1;
+
+        for (int slot = slot(key, mask); table[slot] != EMPTY; slot = (slot + 1) & mask) {
+
+            if (table[slot] == key) {
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Find the first slot to probe for a pair key
+     *
+     * @param key The key of the pair
+     * @param mask The mask of the table capacity
+     *
+     * @return The first slot to probe
+     */
+    private static int slot(long key, int mask) {
+
+        return (int) ((key * MIX) >>> 32) & mask;
+    }
+
+    /**
+     * Create an empty pair table
+     *
+     * @param capacity The capacity of the table, which must be a power of two
+     *
+     * @return The new table
+     */
+    private static long[] empty(int capacity) {
+
+        long[] table = new long[capacity];
+
+        Arrays.fill(table, EMPTY);
+
+        return table;
+    }
+}
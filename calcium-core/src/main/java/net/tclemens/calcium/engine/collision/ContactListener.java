@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.collision;
+
+/**
+ * This interface receives the contacts which begin and end in each update of a collision world
+ *
+ * @author Tim Clemens
+ * @since  1.0
+ */
+public interface ContactListener {
+
+    /**
+     * Handle a pair of elements which started touching in the latest update
+     *
+     * @param first The lower handle of the pair
+     * @param second The higher handle of the pair
+     */
+    void begin(int first, int second);
+
+    /**
+     * Handle a pair of elements which stopped touching in the latest update
+     *
+     * <p>Either handle may belong to an element which was removed before the update, in which case it must not be
+     * used to get the element.</p>
+     *
+     * @param first The lower handle of the pair
+     * @param second The higher handle of the pair
+     */
+    void end(int first, int second);
+}
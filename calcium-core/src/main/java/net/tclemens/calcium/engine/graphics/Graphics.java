@@ -16,18 +16,19 @@
 
 package net.tclemens.calcium.engine.graphics;
 
+import android.os.Process;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import net.tclemens.calcium.engine.graphics.base.Renderable;
 import net.tclemens.calcium.engine.graphics.frame.Frame;
+import net.tclemens.calcium.engine.scheduler.Lane;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
 import net.tclemens.calcium.engine.updates.Updates;
 import net.tclemens.calcium.engine.updates.base.Notifiable;
 import net.tclemens.calcium.engine.updates.base.Updatable;
@@ -40,41 +41,6 @@ import net.tclemens.calcium.engine.updates.event.EventFactory;
  */
 public final class Graphics implements Notifiable {
 
-    /**
-     * This class represents an asynchronous worker which renders the current state
-     */
-    private class RenderWorker implements Runnable {
-
-        private RenderWorker() {
-        }
-
-        @Override
-        public void run() {
-
-            try {
-
-                key = state.render();
-
-                try {
-
-                    animateExecutor.submit(new AnimateWorker(key, key));
-                }
-                catch (RejectedExecutionException ignored) {
-
-                    throw new IllegalStateException("Unable to process graphics after the module is shutdown");
-                }
-            }
-            catch (Exception e) {
-
-                Log.e("Graphics", "An unhandled exception occurred", e);
-            }
-            finally {
-
-                renderLock.release();
-            }
-        }
-    }
-
     /**
      * This class represents an asynchronous worker which attempts to animate the current frame
      */
@@ -105,7 +71,10 @@ public final class Graphics implements Notifiable {
 
                 if (key == first) {
 
+                    long start = System.nanoTime();
+
                     frame = current.update(time);
+                    updateTime = System.nanoTime() - start;
 
                     if (frame.isDynamic()) {
 
@@ -113,7 +82,7 @@ public final class Graphics implements Notifiable {
 
                         try {
 
-                            animateExecutor.schedule(new AnimateWorker(first, frame), delay, TimeUnit.MILLISECONDS);
+                            animateLane.schedule(new AnimateWorker(first, frame), delay, TimeUnit.MILLISECONDS);
                         }
                         catch (RejectedExecutionException ignored) {
 
@@ -136,14 +105,11 @@ public final class Graphics implements Notifiable {
         }
     }
 
-    /** The thread pool used to asynchronously render states */
-    private final ExecutorService renderExecutor = Executors.newSingleThreadExecutor();
-
-    /** The thread pool used to asynchronously animate frames */
-    private final ScheduledExecutorService animateExecutor = Executors.newSingleThreadScheduledExecutor();
+    /** The lane used to render states */
+    private final Lane renderLane;
 
-    /** The lock used to synchronize rendering states */
-    private final Semaphore renderLock = new Semaphore(2);
+    /** The lane used to asynchronously animate frames */
+    private final Lane animateLane;
 
     /** The lock used to prevent redrawing frames */
     private final Semaphore frameLock = new Semaphore(0);
@@ -160,14 +126,27 @@ public final class Graphics implements Notifiable {
     /** The current drawable frame */
     private volatile Frame frame;
 
+    /** The duration of the most recent frame update in nanoseconds */
+    private volatile long updateTime;
+
     /**
      * @param updates The updates module for the engine
+     * @param scheduler The scheduler for the engine
      */
-    Graphics(Updates updates) {
+    Graphics(Updates updates, Scheduler scheduler) {
 
         this.updates = updates;
+        this.renderLane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DISPLAY);
+        this.animateLane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DISPLAY);
     }
 
+    /**
+     * Render a new state
+     *
+     * <p>The state is rendered on the calling thread, which should be the lane of the module.</p>
+     *
+     * @param state The updated state
+     */
     @Override
     public final void notify(@NonNull Updatable state) {
 
@@ -180,19 +159,52 @@ public final class Graphics implements Notifiable {
 
             this.state = (Renderable) state;
 
+            Frame key = this.state.render();
+
+            this.key = key;
+
             try {
 
-                renderExecutor.submit(new RenderWorker());
+                animateLane.execute(new AnimateWorker(key, key));
             }
             catch (RejectedExecutionException ignored) {
 
-                renderLock.release();
-
                 throw new IllegalStateException("Unable to process graphics after the module is shutdown");
             }
         }
     }
 
+    /**
+     * Get the lane used to render states, which should be used to notify the module
+     *
+     * @return The lane used to render states
+     */
+    @NonNull
+    public final Lane getLane() {
+
+        return renderLane;
+    }
+
+    /**
+     * Get the duration of the most recent frame update
+     *
+     * @return The duration of the most recent frame update in nanoseconds
+     */
+    public final long getUpdateTime() {
+
+        return updateTime;
+    }
+
+    /**
+     * Get the frame which is currently drawn
+     *
+     * @return The frame which is currently drawn, or null if no state has been rendered
+     */
+    public final Frame getFrame() {
+
+        return frame;
+    }
+
     /**
      * Attempt to draw a new frame in the active render context
      */
@@ -209,7 +221,7 @@ public final class Graphics implements Notifiable {
      */
     public final void stop() {
 
-        renderExecutor.shutdown();
-        animateExecutor.shutdown();
+        renderLane.shutdown();
+        animateLane.shutdown();
     }
 }
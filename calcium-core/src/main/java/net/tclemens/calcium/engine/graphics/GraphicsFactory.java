@@ -18,6 +18,7 @@ package net.tclemens.calcium.engine.graphics;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.engine.scheduler.Scheduler;
 import net.tclemens.calcium.engine.updates.Updates;
 
 /**
@@ -34,31 +35,38 @@ public final class GraphicsFactory {
      * Create a graphics module
      *
      * @param updates The updates module for the engine
+     * @param scheduler The scheduler for the engine
      *
      * @return The new graphics module
      *
-     * @throws IllegalArgumentException If the updates module is invalid
+     * @throws IllegalArgumentException If the updates module or scheduler is invalid
      */
     @NonNull
-    public static Graphics createModule(@NonNull Updates updates) {
+    public static Graphics createModule(@NonNull Updates updates, @NonNull Scheduler scheduler) {
 
         if (updates == null) {
 
             throw new IllegalArgumentException("Unable to create a graphics module with a null updates module");
         }
 
-        return buildModule(updates);
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("Unable to create a graphics module with a null scheduler");
+        }
+
+        return buildModule(updates, scheduler);
     }
 
     /**
      * Create a graphics module
      *
      * @param updates The updates module for the engine
+     * @param scheduler The scheduler for the engine
      *
      * @return The new graphics module
      */
-    static Graphics buildModule(@NonNull Updates updates) {
+    static Graphics buildModule(@NonNull Updates updates, @NonNull Scheduler scheduler) {
 
-        return new Graphics(updates);
+        return new Graphics(updates, scheduler);
     }
 }
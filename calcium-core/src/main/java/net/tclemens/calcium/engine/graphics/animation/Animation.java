@@ -19,6 +19,7 @@ package net.tclemens.calcium.engine.graphics.animation;
 import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a interpolated arbitrary transformation
@@ -38,6 +39,14 @@ public abstract class Animation {
     @NonNull
     public abstract Matrix3D getMatrix();
 
+    /**
+     * Apply the transformation of the animation to a matrix, replacing it with the product of the matrix and the
+     * transformation matrix without allocating
+     *
+     * @param matrix The matrix to apply the transformation to
+     */
+    public abstract void apply(@NonNull MutableMatrix3D matrix);
+
     /**
      * Check if the animation is dynamic
      *
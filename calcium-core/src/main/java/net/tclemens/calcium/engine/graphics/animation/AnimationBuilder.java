@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.graphics.animation;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
+import net.tclemens.calcium.collection.ArrayBuilder;
+import net.tclemens.calcium.collection.ArrayFactory;
+
+/**
+ * This class is responsible for accumulating the animations of a composite animation and handing them off to the
+ * animation without copying them
+ *
+ * <p>A validated builder rejects null animations as they are added. An unvalidated builder skips every check, and
+ * should only be used once the calling code has been validated, such as in release builds.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class AnimationBuilder {
+
+    /** The animations to compose */
+    private final ArrayBuilder<Animation> animations;
+
+    /**
+     * @param capacity The expected number of animations
+     * @param isValidated Whether the animations are validated
+     */
+    AnimationBuilder(int capacity, boolean isValidated) {
+
+        this.animations = ArrayFactory.createBuilder(capacity, isValidated);
+    }
+
+    /**
+     * Add an animation to compose
+     *
+     * @param animation The animation to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the animation is null
+     */
+    @NonNull
+    public final AnimationBuilder add(@NonNull Animation animation) {
+
+        animations.add(animation);
+
+        return this;
+    }
+
+    /**
+     * Add each animation of a collection to compose
+     *
+     * @param animations The animations to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the animations are invalid
+     */
+    @NonNull
+    public final AnimationBuilder addAll(@NonNull Collection<Animation> animations) {
+
+        this.animations.addAll(animations);
+
+        return this;
+    }
+
+    /**
+     * Create a composite animation with the accumulated animations, and start accumulating a new animation
+     *
+     * @return The new animation
+     */
+    @NonNull
+    public final Animation buildComposite() {
+
+        return AnimationFactory.buildComposite(animations.build());
+    }
+}
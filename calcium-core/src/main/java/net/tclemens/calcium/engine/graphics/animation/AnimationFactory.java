@@ -18,6 +18,7 @@ package net.tclemens.calcium.engine.graphics.animation;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.engine.graphics.animation.transformation.Transformation;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 
@@ -97,11 +98,46 @@ public final class AnimationFactory {
             throw new IllegalArgumentException("Unable to create an animation with null animations");
         }
 
-        animations = Collections.unmodifiableCollection(new ArrayList<>(animations));
+        if (!Immutables.isImmutable(animations)) {
+
+            animations = Collections.unmodifiableCollection(new ArrayList<>(animations));
+        }
 
         return buildComposite(animations);
     }
 
+    /**
+     * Create a validated builder which hands off its animations to each composite animation without copying them
+     *
+     * @return The new animation builder
+     */
+    @NonNull
+    public static AnimationBuilder createBuilder() {
+
+        return buildBuilder(0, true);
+    }
+
+    /**
+     * Create a builder which hands off its animations to each composite animation without copying them
+     *
+     * @param capacity The expected number of animations
+     * @param isValidated Whether the animations are validated, which may be disabled in release builds
+     *
+     * @return The new animation builder
+     *
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    @NonNull
+    public static AnimationBuilder createBuilder(int capacity, boolean isValidated) {
+
+        if (capacity < 0) {
+
+            throw new IllegalArgumentException("Unable to create a builder with a negative capacity");
+        }
+
+        return buildBuilder(capacity, isValidated);
+    }
+
     /**
      * Create a static animation
      *
@@ -137,4 +173,17 @@ public final class AnimationFactory {
 
         return new CompositeAnimation(animations);
     }
+
+    /**
+     * Create an animation builder
+     *
+     * @param capacity The expected number of animations
+     * @param isValidated Whether the animations are validated
+     *
+     * @return The new animation builder
+     */
+    static AnimationBuilder buildBuilder(int capacity, boolean isValidated) {
+
+        return new AnimationBuilder(capacity, isValidated);
+    }
 }
@@ -24,6 +24,7 @@ import java.util.Collections;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
 import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a composite of one or more animations
@@ -53,14 +54,25 @@ final class CompositeAnimation extends Animation {
     @Override
     public final Matrix3D getMatrix() {
 
-        Matrix3D matrix = MatrixFactory.createIdentity3D();
+        MutableMatrix3D matrix = MatrixFactory.createMutable3D();
 
-        for (Animation animation : animations) {
+        apply(matrix);
+
+        return matrix.toMatrix3D();
+    }
+
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
 
-            matrix = matrix.multiply(animation.getMatrix());
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply an animation to a null matrix");
         }
 
-        return matrix;
+        for (Animation animation : animations) {
+
+            animation.apply(matrix);
+        }
     }
 
     @NonNull
@@ -109,7 +121,7 @@ final class CompositeAnimation extends Animation {
             animations.add(new StaticAnimation(matrix));
         }
 
-        animations = Collections.unmodifiableCollection(new ArrayList<>(animations));
+        animations = Collections.unmodifiableCollection(animations);
 
         return AnimationFactory.buildComposite(animations);
     }
@@ -118,14 +130,13 @@ final class CompositeAnimation extends Animation {
     @Override
     public final Animation finish() {
 
-        Matrix3D matrix = MatrixFactory.createIdentity3D();
+        MutableMatrix3D matrix = MatrixFactory.createMutable3D();
 
         for (Animation animation : animations) {
 
-            animation = animation.finish();
-            matrix = matrix.multiply(animation.getMatrix());
+            animation.finish().apply(matrix);
         }
 
-        return AnimationFactory.buildStatic(matrix);
+        return AnimationFactory.buildStatic(matrix.toMatrix3D());
     }
 }
@@ -20,6 +20,7 @@ import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.engine.graphics.animation.transformation.Transformation;
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a dynamic transformation matrix
@@ -52,6 +53,17 @@ final class DynamicAnimation extends Animation {
         return transformation.getMatrix();
     }
 
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply an animation to a null matrix");
+        }
+
+        transformation.apply(matrix);
+    }
+
     @NonNull
     @Override
     public final Animation update(long time) {
@@ -19,6 +19,7 @@ package net.tclemens.calcium.engine.graphics.animation;
 import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a static transformation matrix
@@ -51,6 +52,17 @@ final class StaticAnimation extends Animation {
         return matrix;
     }
 
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply an animation to a null matrix");
+        }
+
+        matrix.multiply(this.matrix);
+    }
+
     @NonNull
     @Override
     public final Animation update(long time) {
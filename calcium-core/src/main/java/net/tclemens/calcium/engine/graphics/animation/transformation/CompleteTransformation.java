@@ -3,6 +3,7 @@ package net.tclemens.calcium.engine.graphics.animation.transformation;
 import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents an complete transformation
@@ -28,6 +29,17 @@ final class CompleteTransformation extends Transformation {
         return matrix;
     }
 
+    @Override
+    public void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a transformation to a null matrix");
+        }
+
+        matrix.multiply(this.matrix);
+    }
+
     @Override
     public boolean isDynamic() {
 
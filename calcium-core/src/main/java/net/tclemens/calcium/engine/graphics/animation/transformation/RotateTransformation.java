@@ -21,44 +21,65 @@ import android.support.annotation.NonNull;
 import net.tclemens.calcium.engine.graphics.animation.interpolation.Interpolation;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
+import net.tclemens.calcium.math.quaternion.QuaternionFactory;
 
 /**
  * This class represents an interpolated rotate transformation
  *
+ * <p>The rotation is interpolated in quaternion space about a single axis, so every intermediate rotation lies on the
+ * shortest arc to the final rotation and costs a single sine and cosine.</p>
+ *
  * @author Tim Clemens
  */
 final class RotateTransformation extends Transformation {
 
-    /** The x magnitude of the transformation */
+    /** The x component of the axis of the transformation */
     private final float x;
 
-    /** The y magnitude of the transformation */
+    /** The y component of the axis of the transformation */
     private final float y;
 
-    /** The z magnitude of the transformation */
+    /** The z component of the axis of the transformation */
     private final float z;
 
+    /** The angle of the transformation in degrees */
+    private final float angle;
+
     /** The interpolation of the transformation */
     private final Interpolation interpolation;
 
     /**
-     * @param x The x magnitude of the transformation
-     * @param y The y magnitude of the transformation
-     * @param z The z magnitude of the transformation
+     * @param x The x component of the axis of the transformation
+     * @param y The y component of the axis of the transformation
+     * @param z The z component of the axis of the transformation
+     * @param angle The angle of the transformation in degrees
      * @param interpolation The interpolation of the transformation
      */
-    RotateTransformation(float x, float y, float z, Interpolation interpolation) {
+    RotateTransformation(float x, float y, float z, float angle, Interpolation interpolation) {
 
         this.x = x;
         this.y = y;
         this.z = z;
+        this.angle = angle;
         this.interpolation = interpolation;
     }
 
     @Override
     public final Matrix3D getMatrix() {
 
-        return computeRotate(x, y, z, interpolation);
+        return computeRotate(x, y, z, angle, interpolation);
+    }
+
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a transformation to a null matrix");
+        }
+
+        matrix.rotateAxis(angle * interpolation.getValue(), x, y, z);
     }
 
     @Override
@@ -75,10 +96,10 @@ final class RotateTransformation extends Transformation {
 
         if (interpolation.isDynamic()) {
 
-            return TransformationFactory.buildRotate(x, y, z, interpolation.update(time));
+            return TransformationFactory.buildRotate(x, y, z, angle, interpolation.update(time));
         }
 
-        Matrix3D matrix = computeRotate(x, y, z, interpolation);
+        Matrix3D matrix = computeRotate(x, y, z, angle, interpolation);
 
         return TransformationFactory.buildComplete(matrix);
     }
@@ -88,15 +109,15 @@ final class RotateTransformation extends Transformation {
     public final Transformation finish() {
 
         Interpolation interpolation = this.interpolation.finish();
-        Matrix3D matrix = computeRotate(x, y, z, interpolation);
+        Matrix3D matrix = computeRotate(x, y, z, angle, interpolation);
 
         return TransformationFactory.buildComplete(matrix);
     }
 
-    private static Matrix3D computeRotate(float x, float y, float z, Interpolation interpolation) {
+    private static Matrix3D computeRotate(float x, float y, float z, float angle, Interpolation interpolation) {
 
         float scale = interpolation.getValue();
 
-        return MatrixFactory.createRotate3D(scale * x, scale * y, scale * z);
+        return MatrixFactory.createRotate3D(QuaternionFactory.createRotation(angle * scale, x, y, z));
     }
 }
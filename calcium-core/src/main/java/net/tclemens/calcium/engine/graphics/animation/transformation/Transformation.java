@@ -19,6 +19,7 @@ package net.tclemens.calcium.engine.graphics.animation.transformation;
 import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents an interpolated affine transformation
@@ -37,6 +38,14 @@ public abstract class Transformation {
      */
     public abstract Matrix3D getMatrix();
 
+    /**
+     * Apply the interpolated transformation to a matrix, replacing it with the product of the matrix and the
+     * interpolated matrix without allocating
+     *
+     * @param matrix The matrix to apply the transformation to
+     */
+    public abstract void apply(@NonNull MutableMatrix3D matrix);
+
     /**
      * Check if the transformation is dynamic
      *
@@ -21,6 +21,8 @@ import android.support.annotation.NonNull;
 import net.tclemens.calcium.engine.graphics.animation.interpolation.Interpolation;
 import net.tclemens.calcium.engine.graphics.animation.interpolation.InterpolationFactory;
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.quaternion.Quaternion;
+import net.tclemens.calcium.math.quaternion.QuaternionFactory;
 
 /**
  * This class is responsible for creating and initializing transformations
@@ -50,6 +52,9 @@ public final class TransformationFactory {
     /**
      * Create an interpolated rotate transformation
      *
+     * <p>A rotation about a single axis keeps its full angle, so it may spin more than a half turn. A rotation about
+     * several axes is converted to a quaternion and interpolated along the shortest arc to the final rotation.</p>
+     *
      * @param x The x magnitude of the transformation
      * @param y The y magnitude of the transformation
      * @param z The z magnitude of the transformation
@@ -67,7 +72,87 @@ public final class TransformationFactory {
             throw new IllegalArgumentException("Unable to create a transformation with a null interpolation");
         }
 
-        return buildRotate(x, y, z, interpolation);
+        if (y == 0f && z == 0f) {
+
+            return buildRotate(1f, 0f, 0f, -x, interpolation);
+        }
+
+        if (x == 0f && z == 0f) {
+
+            return buildRotate(0f, 1f, 0f, -y, interpolation);
+        }
+
+        if (x == 0f && y == 0f) {
+
+            return buildRotate(0f, 0f, 1f, -z, interpolation);
+        }
+
+        return createRotate(QuaternionFactory.createEuler(x, y, z), interpolation);
+    }
+
+    /**
+     * Create an immediate rotate transformation from a quaternion
+     *
+     * @param rotation The rotation of the transformation
+     *
+     * @return The new transformation
+     *
+     * @throws IllegalArgumentException If the transformation rotation is invalid
+     */
+    @NonNull
+    public static Transformation createRotate(@NonNull Quaternion rotation) {
+
+        return createRotate(rotation, InterpolationFactory.createComplete());
+    }
+
+    /**
+     * Create an interpolated rotate transformation from a quaternion
+     *
+     * <p>The transformation interpolates along the shortest arc from no rotation to the rotation of the
+     * quaternion.</p>
+     *
+     * @param rotation The rotation of the transformation
+     * @param interpolation The interpolation of the transformation
+     *
+     * @return The new transformation
+     *
+     * @throws IllegalArgumentException If the transformation rotation or interpolation is invalid
+     */
+    @NonNull
+    public static Transformation createRotate(@NonNull Quaternion rotation, @NonNull Interpolation interpolation) {
+
+        if (rotation == null) {
+
+            throw new IllegalArgumentException("Unable to create a transformation with a null rotation");
+        }
+
+        if (interpolation == null) {
+
+            throw new IllegalArgumentException("Unable to create a transformation with a null interpolation");
+        }
+
+        float length = rotation.length();
+
+        if (length == 0f) {
+
+            throw new IllegalArgumentException("Unable to create a transformation with a zero length rotation");
+        }
+
+        float sign = rotation.getW() < 0f ? -1f : 1f;
+
+        float x = rotation.getX() * sign;
+        float y = rotation.getY() * sign;
+        float z = rotation.getZ() * sign;
+        float w = Math.min(1f, rotation.getW() * sign / length);
+
+        if (x == 0f && y == 0f && z == 0f) {
+
+            return buildRotate(1f, 0f, 0f, 0f, interpolation);
+        }
+
+        float angle = (float) Math.toDegrees(2d * Math.acos(w));
+
+        return buildRotate(x, y, z, angle, interpolation);
     }
 
     /**
@@ -147,18 +232,19 @@ public final class TransformationFactory {
     }
 
     /**
-     * Create an interpolated rotate transformation
+     * Create an interpolated rotate transformation about an axis
      *
-     * @param x The x magnitude of the transformation
-     * @param y The y magnitude of the transformation
-     * @param z The z magnitude of the transformation
+     * @param x The x component of the axis of the transformation
+     * @param y The y component of the axis of the transformation
+     * @param z The z component of the axis of the transformation
+     * @param angle The angle of the transformation in degrees
      * @param interpolation The interpolation of the transformation
      *
      * @return The new transformation
      */
-    static Transformation buildRotate(float x, float y, float z, Interpolation interpolation) {
+    static Transformation buildRotate(float x, float y, float z, float angle, Interpolation interpolation) {
 
-        return new RotateTransformation(x, y, z, interpolation);
+        return new RotateTransformation(x, y, z, angle, interpolation);
     }
 
     /**
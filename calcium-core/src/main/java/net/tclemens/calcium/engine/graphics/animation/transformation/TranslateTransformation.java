@@ -21,6 +21,7 @@ import android.support.annotation.NonNull;
 import net.tclemens.calcium.engine.graphics.animation.interpolation.Interpolation;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents an interpolated translate transformation
@@ -61,6 +62,19 @@ final class TranslateTransformation extends Transformation {
         return computeTranslate(x, y, z, interpolation);
     }
 
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a transformation to a null matrix");
+        }
+
+        float scale = interpolation.getValue();
+
+        matrix.translate(scale * x, scale * y, scale * z);
+    }
+
     @Override
     public final boolean isDynamic() {
 
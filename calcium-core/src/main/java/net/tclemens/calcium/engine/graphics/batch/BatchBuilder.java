@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.graphics.batch;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
+import net.tclemens.calcium.collection.ArrayBuilder;
+import net.tclemens.calcium.collection.ArrayFactory;
+import net.tclemens.calcium.engine.graphics.material.Material;
+import net.tclemens.calcium.engine.graphics.model.Model;
+
+/**
+ * This class is responsible for accumulating the models of a batch and handing them off to the batch without
+ * copying them
+ *
+ * <p>A validated builder rejects null models as they are added. An unvalidated builder skips every check, and
+ * should only be used once the calling code has been validated, such as in release builds.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class BatchBuilder {
+
+    /** The material used to draw the batch */
+    private final Material material;
+
+    /** The models in the batch */
+    private final ArrayBuilder<Model> models;
+
+    /**
+     * @param material The material used to draw the batch
+     * @param capacity The expected number of models
+     * @param isValidated Whether the models are validated
+     */
+    BatchBuilder(Material material, int capacity, boolean isValidated) {
+
+        this.material = material;
+        this.models = ArrayFactory.createBuilder(capacity, isValidated);
+    }
+
+    /**
+     * Add a model to the batch
+     *
+     * @param model The model to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the model is null
+     */
+    @NonNull
+    public final BatchBuilder add(@NonNull Model model) {
+
+        models.add(model);
+
+        return this;
+    }
+
+    /**
+     * Add each model of a collection to the batch
+     *
+     * @param models The models to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the models are invalid
+     */
+    @NonNull
+    public final BatchBuilder addAll(@NonNull Collection<Model> models) {
+
+        this.models.addAll(models);
+
+        return this;
+    }
+
+    /**
+     * Create a static batch with the accumulated models, and start accumulating a new batch
+     *
+     * @return The new batch
+     */
+    @NonNull
+    public final Batch buildStatic() {
+
+        return BatchFactory.buildStatic(material, models.build());
+    }
+
+    /**
+     * Create a dynamic batch with the accumulated models, and start accumulating a new batch
+     *
+     * @return The new batch
+     */
+    @NonNull
+    public final Batch buildDynamic() {
+
+        return BatchFactory.buildDynamic(material, models.build());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.engine.graphics.material.Material;
 import net.tclemens.calcium.engine.graphics.model.Model;
 
@@ -63,7 +64,10 @@ public final class BatchFactory {
             throw new IllegalArgumentException("Unable to create a batch with null models");
         }
 
-        models = Collections.unmodifiableCollection(new ArrayList<>(models));
+        if (!Immutables.isImmutable(models)) {
+
+            models = Collections.unmodifiableCollection(new ArrayList<>(models));
+        }
 
         return buildStatic(material, models);
     }
@@ -96,7 +100,10 @@ public final class BatchFactory {
             throw new IllegalArgumentException("Unable to create a batch with null models");
         }
 
-        models = Collections.unmodifiableCollection(new ArrayList<>(models));
+        if (!Immutables.isImmutable(models)) {
+
+            models = Collections.unmodifiableCollection(new ArrayList<>(models));
+        }
 
         return buildDynamic(material, models);
     }
@@ -153,6 +160,48 @@ public final class BatchFactory {
         return buildTransient(batch, end);
     }
 
+    /**
+     * Create a validated builder which hands off its models to each batch without copying them
+     *
+     * @param material The material used to draw each batch
+     *
+     * @return The new batch builder
+     *
+     * @throws IllegalArgumentException If the material is null
+     */
+    @NonNull
+    public static BatchBuilder createBuilder(@NonNull Material material) {
+
+        return createBuilder(material, 0, true);
+    }
+
+    /**
+     * Create a builder which hands off its models to each batch without copying them
+     *
+     * @param material The material used to draw each batch
+     * @param capacity The expected number of models
+     * @param isValidated Whether the models are validated, which may be disabled in release builds
+     *
+     * @return The new batch builder
+     *
+     * @throws IllegalArgumentException If the material or capacity is invalid
+     */
+    @NonNull
+    public static BatchBuilder createBuilder(@NonNull Material material, int capacity, boolean isValidated) {
+
+        if (material == null) {
+
+            throw new IllegalArgumentException("Unable to create a batch builder with a null material");
+        }
+
+        if (capacity < 0) {
+
+            throw new IllegalArgumentException("Unable to create a builder with a negative capacity");
+        }
+
+        return buildBuilder(material, capacity, isValidated);
+    }
+
     /**
      * Create a static batch
      *
@@ -216,4 +265,18 @@ public final class BatchFactory {
 
         return new TerminalBatch(batch);
     }
+
+    /**
+     * Create a batch builder
+     *
+     * @param material The material used to draw each batch
+     * @param capacity The expected number of models
+     * @param isValidated Whether the models are validated
+     *
+     * @return The new batch builder
+     */
+    static BatchBuilder buildBuilder(Material material, int capacity, boolean isValidated) {
+
+        return new BatchBuilder(material, capacity, isValidated);
+    }
 }
@@ -18,13 +18,15 @@ package net.tclemens.calcium.engine.graphics.batch;
 
 import android.support.annotation.NonNull;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
 import net.tclemens.calcium.engine.graphics.camera.Camera;
 import net.tclemens.calcium.engine.graphics.material.Material;
 import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.workers.Job;
+import net.tclemens.calcium.engine.workers.Workers;
 
 /**
  * This class represents a batch with dynamic models
@@ -33,6 +35,45 @@ import net.tclemens.calcium.engine.graphics.model.Model;
  */
 final class DynamicBatch extends Batch {
 
+    /**
+     * This class represents a job which updates a single range of models in the batch
+     */
+    private static final class UpdateJob implements Job {
+
+        /** The models to update in place */
+        private final Model[] models;
+
+        /** The number of ranges in the job */
+        private final int ranges;
+
+        /** The time of the update */
+        private final long time;
+
+        /**
+         * @param models The models to update in place
+         * @param ranges The number of ranges in the job
+         * @param time The time of the update
+         */
+        private UpdateJob(Model[] models, int ranges, long time) {
+
+            this.models = models;
+            this.ranges = ranges;
+            this.time = time;
+        }
+
+        @Override
+        public void run(int index) {
+
+            int start = (int) ((long) models.length * index / ranges);
+            int end = (int) ((long) models.length * (index + 1) / ranges);
+
+            for (int model = start; model < end; model++) {
+
+                models[model] = models[model].update(time);
+            }
+        }
+    }
+
     /** The material used to draw the batch */
     private final Material material;
 
@@ -84,24 +125,35 @@ final class DynamicBatch extends Batch {
     @Override
     public final Batch update(long time) {
 
-        Collection<Model> models = new ArrayList<>(this.models.size());
-        boolean isDynamic = false;
+        Model[] models = this.models.toArray(new Model[this.models.size()]);
+        int ranges = Math.min(models.length, Workers.getParallelism());
+
+        if (models.length >= Workers.getThreshold() && ranges > 1) {
 
-        for (Model model : this.models) {
+            Workers.execute(ranges, new UpdateJob(models, ranges, time));
+        }
+        else {
+
+            for (int index = 0; index < models.length; index++) {
+
+                models[index] = models[index].update(time);
+            }
+        }
+
+        boolean isDynamic = false;
 
-            model = model.update(time);
-            models.add(model);
+        for (Model model : models) {
 
             isDynamic = isDynamic || model.isDynamic();
         }
 
-        models = Collections.unmodifiableCollection(models);
+        Collection<Model> updated = Collections.unmodifiableCollection(Arrays.asList(models));
 
         if (isDynamic) {
 
-            return BatchFactory.buildDynamic(material, models);
+            return BatchFactory.buildDynamic(material, updated);
         }
 
-        return BatchFactory.buildStatic(material, models);
+        return BatchFactory.buildStatic(material, updated);
     }
 }
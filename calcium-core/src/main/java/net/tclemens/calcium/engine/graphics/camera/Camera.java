@@ -19,6 +19,8 @@ package net.tclemens.calcium.engine.graphics.camera;
 import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix2D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents the projection and view matrices applied to a scene
@@ -57,6 +59,32 @@ public abstract class Camera {
     @NonNull
     public abstract Matrix3D getView();
 
+    /**
+     * Write the view matrix of the camera into a matrix without allocating
+     *
+     * @param matrix The matrix to write the view matrix into
+     */
+    public abstract void getView(@NonNull MutableMatrix3D matrix);
+
+    /**
+     * Write the product of the projection and view matrices, restricted to the plane where <tt>z</tt> is zero, into
+     * a two-dimensional matrix
+     *
+     * <p>The product is exact when the projection ignores the <tt>z</tt> component, such as an orthographic
+     * projection, and the view keeps the plane in place.</p>
+     *
+     * @param matrix The matrix to write the view-projection matrix into
+     */
+    public void getViewProjection(@NonNull MutableMatrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to get a view-projection matrix with a null matrix");
+        }
+
+        matrix.setPlane(projection).multiplyPlane(getView());
+    }
+
     /**
      * Check if the camera is dynamic
      *
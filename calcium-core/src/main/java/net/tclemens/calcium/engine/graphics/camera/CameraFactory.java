@@ -17,6 +17,7 @@
 package net.tclemens.calcium.engine.graphics.camera;
 
 import net.tclemens.calcium.engine.graphics.animation.Animation;
+import net.tclemens.calcium.math.matrix.Matrix2D;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 import net.tclemens.calcium.math.vector.Vector3D;
 
@@ -98,6 +99,31 @@ public final class CameraFactory {
         return buildStatic(projection, view);
     }
 
+    /**
+     * Create a static camera with two-dimensional projection and view matrices
+     *
+     * @param projection The two-dimensional projection matrix of the camera
+     * @param view The two-dimensional view matrix of the camera
+     *
+     * @return The new camera
+     *
+     * @throws IllegalArgumentException If the camera projection or view matrices are invalid
+     */
+    public static Camera createStatic2D(Matrix2D projection, Matrix2D view) {
+
+        if (projection == null) {
+
+            throw new IllegalArgumentException("Unable to create a camera with a null projection matrix");
+        }
+
+        if (view == null) {
+
+            throw new IllegalArgumentException("Unable to create a camera with a null view matrix");
+        }
+
+        return buildStatic2D(projection, view);
+    }
+
     /**
      * Create a dynamic camera
      *
@@ -126,4 +152,17 @@ public final class CameraFactory {
 
         return new StaticCamera(projection, view);
     }
+
+    /**
+     * Create a static camera with two-dimensional projection and view matrices
+     *
+     * @param projection The two-dimensional projection matrix of the camera
+     * @param view The two-dimensional view matrix of the camera
+     *
+     * @return The new camera
+     */
+    static Camera buildStatic2D(Matrix2D projection, Matrix2D view) {
+
+        return new StaticCamera2D(projection, view);
+    }
 }
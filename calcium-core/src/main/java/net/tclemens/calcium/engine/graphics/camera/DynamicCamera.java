@@ -21,6 +21,7 @@ import android.support.annotation.NonNull;
 import net.tclemens.calcium.engine.graphics.animation.Animation;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 import net.tclemens.calcium.math.vector.Vector3D;
 
 /**
@@ -66,6 +67,19 @@ final class DynamicCamera extends Camera {
         return computeView(eye, center, up, animation);
     }
 
+    @Override
+    public final void getView(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to get a view matrix with a null matrix");
+        }
+
+        animation.apply(matrix.setIdentity());
+
+        matrix.transformView(eye, center, up);
+    }
+
     @Override
     public final boolean isDynamic() {
 
@@ -90,11 +104,10 @@ final class DynamicCamera extends Camera {
 
     private static Matrix3D computeView(Vector3D eye, Vector3D center, Vector3D up, Animation animation) {
 
-        Matrix3D matrix = animation.getMatrix();
+        MutableMatrix3D matrix = MatrixFactory.createMutable3D();
+
+        animation.apply(matrix);
 
-        return MatrixFactory.createView3D(
-                matrix.multiply(eye),
-                matrix.multiply(center),
-                matrix.multiply(up));
+        return matrix.transformView(eye, center, up).toMatrix3D();
     }
 }
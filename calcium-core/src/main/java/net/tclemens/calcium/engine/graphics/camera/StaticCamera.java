@@ -19,6 +19,7 @@ package net.tclemens.calcium.engine.graphics.camera;
 import android.support.annotation.NonNull;
 
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a camera with a static transformation
@@ -48,6 +49,17 @@ final class StaticCamera extends Camera {
         return view;
     }
 
+    @Override
+    public final void getView(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to get a view matrix with a null matrix");
+        }
+
+        matrix.set(view);
+    }
+
     @Override
     public final boolean isDynamic() {
 
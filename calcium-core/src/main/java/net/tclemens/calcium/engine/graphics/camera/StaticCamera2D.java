@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.camera;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.math.matrix.Matrix2D;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix2D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
+
+/**
+ * This class represents a camera with static two-dimensional projection and view matrices
+ *
+ * <p>The view-projection matrix is multiplied once, so a two-dimensional batch only copies it. The three-dimensional
+ * matrices apply the same transformations to the <tt>x</tt> and <tt>y</tt> components for any other
+ * property.</p>
+ *
+ * @author Tim Clemens
+ */
+final class StaticCamera2D extends Camera {
+
+    /** The view matrix of the camera, applied to the <tt>x</tt> and <tt>y</tt> components */
+    private final Matrix3D view;
+
+    /** The product of the projection and view matrices of the camera */
+    private final Matrix2D viewProjection;
+
+    /**
+     * @param projection The two-dimensional projection matrix of the camera
+     * @param view The two-dimensional view matrix of the camera
+     */
+    StaticCamera2D(Matrix2D projection, Matrix2D view) {
+
+        super(MatrixFactory.createPlane3D(projection));
+
+        this.view = MatrixFactory.createPlane3D(view);
+        this.viewProjection = projection.multiply(view);
+    }
+
+    @NonNull
+    @Override
+    public final Matrix3D getView() {
+
+        return view;
+    }
+
+    @Override
+    public final void getView(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to get a view matrix with a null matrix");
+        }
+
+        matrix.set(view);
+    }
+
+    @Override
+    public final void getViewProjection(@NonNull MutableMatrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to get a view-projection matrix with a null matrix");
+        }
+
+        matrix.set(viewProjection);
+    }
+
+    @Override
+    public final boolean isDynamic() {
+
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public final Camera update(long time) {
+
+        return this;
+    }
+}
@@ -18,12 +18,15 @@ package net.tclemens.calcium.engine.graphics.frame;
 
 import android.support.annotation.NonNull;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
+import net.tclemens.calcium.engine.graphics.batch.Batch;
 import net.tclemens.calcium.engine.graphics.color.Color;
 import net.tclemens.calcium.engine.graphics.scene.Scene;
+import net.tclemens.calcium.engine.workers.Job;
+import net.tclemens.calcium.engine.workers.Workers;
 
 /**
  * This class represents a frame with dynamic scenes
@@ -32,6 +35,34 @@ import net.tclemens.calcium.engine.graphics.scene.Scene;
  */
 final class DynamicFrame extends Frame {
 
+    /**
+     * This class represents a job which updates a single scene in the frame
+     */
+    private static final class UpdateJob implements Job {
+
+        /** The scenes to update in place */
+        private final Scene[] scenes;
+
+        /** The time of the update */
+        private final long time;
+
+        /**
+         * @param scenes The scenes to update in place
+         * @param time The time of the update
+         */
+        private UpdateJob(Scene[] scenes, long time) {
+
+            this.scenes = scenes;
+            this.time = time;
+        }
+
+        @Override
+        public void run(int index) {
+
+            scenes[index] = scenes[index].update(time);
+        }
+    }
+
     /** The duration of the frame */
     private final long duration;
 
@@ -65,24 +96,56 @@ final class DynamicFrame extends Frame {
     @Override
     public final Frame update(long time) {
 
-        Collection<Scene> scenes = new ArrayList<>(getScenes().size());
-        boolean isDynamic = false;
+        Scene[] scenes = getScenes().toArray(new Scene[getScenes().size()]);
+
+        if (scenes.length > 1 && countModels(scenes) >= Workers.getThreshold()) {
+
+            Workers.execute(scenes.length, new UpdateJob(scenes, time));
+        }
+        else {
+
+            for (int index = 0; index < scenes.length; index++) {
+
+                scenes[index] = scenes[index].update(time);
+            }
+        }
 
-        for (Scene scene : getScenes()) {
+        boolean isDynamic = false;
 
-            scene = scene.update(time);
-            scenes.add(scene);
+        for (Scene scene : scenes) {
 
             isDynamic = isDynamic || scene.isDynamic();
         }
 
-        scenes = Collections.unmodifiableCollection(scenes);
+        Collection<Scene> updated = Collections.unmodifiableCollection(Arrays.asList(scenes));
 
         if (isDynamic) {
 
-            return FrameFactory.buildDynamic(scenes, getColor(), getWidth(), getHeight(), duration);
+            return FrameFactory.buildDynamic(updated, getColor(), getWidth(), getHeight(), duration);
+        }
+
+        return FrameFactory.buildStatic(updated, getColor(), getWidth(), getHeight());
+    }
+
+    /**
+     * Count the models in each batch of each scene
+     *
+     * @param scenes The scenes to count
+     *
+     * @return The number of models in the scenes
+     */
+    private static int countModels(Scene[] scenes) {
+
+        int count = 0;
+
+        for (Scene scene : scenes) {
+
+            for (Batch batch : scene.getBatches()) {
+
+                count += batch.getModels().size();
+            }
         }
 
-        return FrameFactory.buildStatic(scenes, getColor(), getWidth(), getHeight());
+        return count;
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.graphics.frame;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
+import net.tclemens.calcium.collection.ArrayBuilder;
+import net.tclemens.calcium.collection.ArrayFactory;
+import net.tclemens.calcium.engine.graphics.color.Color;
+import net.tclemens.calcium.engine.graphics.scene.Scene;
+
+/**
+ * This class is responsible for accumulating the scenes of a frame and handing them off to the frame without
+ * copying them
+ *
+ * <p>A validated builder rejects null scenes as they are added. An unvalidated builder skips every check, and
+ * should only be used once the calling code has been validated, such as in release builds.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class FrameBuilder {
+
+    /** The background color of the frame */
+    private final Color color;
+
+    /** The width of the frame */
+    private final int width;
+
+    /** The height of the frame */
+    private final int height;
+
+    /** The scenes to draw in the frame */
+    private final ArrayBuilder<Scene> scenes;
+
+    /**
+     * @param color The background color of the frame
+     * @param width The width of the frame
+     * @param height The height of the frame
+     * @param capacity The expected number of scenes
+     * @param isValidated Whether the scenes are validated
+     */
+    FrameBuilder(Color color, int width, int height, int capacity, boolean isValidated) {
+
+        this.color = color;
+        this.width = width;
+        this.height = height;
+        this.scenes = ArrayFactory.createBuilder(capacity, isValidated);
+    }
+
+    /**
+     * Add a scene to draw in the frame
+     *
+     * @param scene The scene to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the scene is null
+     */
+    @NonNull
+    public final FrameBuilder add(@NonNull Scene scene) {
+
+        scenes.add(scene);
+
+        return this;
+    }
+
+    /**
+     * Add each scene of a collection to draw in the frame
+     *
+     * @param scenes The scenes to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the scenes are invalid
+     */
+    @NonNull
+    public final FrameBuilder addAll(@NonNull Collection<Scene> scenes) {
+
+        this.scenes.addAll(scenes);
+
+        return this;
+    }
+
+    /**
+     * Create a static frame with the accumulated scenes, and start accumulating a new frame
+     *
+     * @return The new frame
+     */
+    @NonNull
+    public final Frame buildStatic() {
+
+        return FrameFactory.buildStatic(scenes.build(), color, width, height);
+    }
+
+    /**
+     * Create a dynamic frame with the accumulated scenes, and start accumulating a new frame
+     *
+     * @param duration The duration of the frame
+     *
+     * @return The new frame
+     *
+     * @throws IllegalArgumentException If the builder is validated and the duration is negative
+     */
+    @NonNull
+    public final Frame buildDynamic(long duration) {
+
+        if (scenes.isValidated() && duration < 0L) {
+
+            throw new IllegalArgumentException("Unable to create a frame with a negative duration");
+        }
+
+        return FrameFactory.buildDynamic(scenes.build(), color, width, height, duration);
+    }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.engine.graphics.color.Color;
 import net.tclemens.calcium.engine.graphics.scene.Scene;
 
@@ -75,7 +76,10 @@ public final class FrameFactory {
             throw new IllegalArgumentException("Unable to create a frame with a zero or negative height");
         }
 
-        scenes = Collections.unmodifiableCollection(new ArrayList<>(scenes));
+        if (!Immutables.isImmutable(scenes)) {
+
+            scenes = Collections.unmodifiableCollection(new ArrayList<>(scenes));
+        }
 
         return buildStatic(scenes, color, width, height);
     }
@@ -126,11 +130,70 @@ public final class FrameFactory {
             throw new IllegalArgumentException("Unable to create a frame with a negative duration");
         }
 
-        scenes = Collections.unmodifiableCollection(new ArrayList<>(scenes));
+        if (!Immutables.isImmutable(scenes)) {
+
+            scenes = Collections.unmodifiableCollection(new ArrayList<>(scenes));
+        }
 
         return buildDynamic(scenes, color, width, height, duration);
     }
 
+    /**
+     * Create a validated builder which hands off its scenes to each frame without copying them
+     *
+     * @param color The background color of each frame
+     * @param width The width of each frame
+     * @param height The height of each frame
+     *
+     * @return The new frame builder
+     *
+     * @throws IllegalArgumentException If the color, width or height is invalid
+     */
+    @NonNull
+    public static FrameBuilder createBuilder(@NonNull Color color, int width, int height) {
+
+        return createBuilder(color, width, height, 0, true);
+    }
+
+    /**
+     * Create a builder which hands off its scenes to each frame without copying them
+     *
+     * @param color The background color of each frame
+     * @param width The width of each frame
+     * @param height The height of each frame
+     * @param capacity The expected number of scenes
+     * @param isValidated Whether the scenes are validated, which may be disabled in release builds
+     *
+     * @return The new frame builder
+     *
+     * @throws IllegalArgumentException If the color, width, height or capacity is invalid
+     */
+    @NonNull
+    public static FrameBuilder createBuilder(@NonNull Color color, int width, int height, int capacity, boolean isValidated) {
+
+        if (color == null) {
+
+            throw new IllegalArgumentException("Unable to create a frame builder with a null background color");
+        }
+
+        if (width <= 0) {
+
+            throw new IllegalArgumentException("Unable to create a frame builder with a zero or negative width");
+        }
+
+        if (height <= 0) {
+
+            throw new IllegalArgumentException("Unable to create a frame builder with a zero or negative height");
+        }
+
+        if (capacity < 0) {
+
+            throw new IllegalArgumentException("Unable to create a builder with a negative capacity");
+        }
+
+        return buildBuilder(color, width, height, capacity, isValidated);
+    }
+
     /**
      * Create a static frame
      *
@@ -161,4 +224,20 @@ public final class FrameFactory {
 
         return new DynamicFrame(scenes, color, width, height, duration);
     }
+
+    /**
+     * Create a frame builder
+     *
+     * @param color The background color of each frame
+     * @param width The width of each frame
+     * @param height The height of each frame
+     * @param capacity The expected number of scenes
+     * @param isValidated Whether the scenes are validated
+     *
+     * @return The new frame builder
+     */
+    static FrameBuilder buildBuilder(Color color, int width, int height, int capacity, boolean isValidated) {
+
+        return new FrameBuilder(color, width, height, capacity, isValidated);
+    }
 }
@@ -18,6 +18,7 @@ package net.tclemens.calcium.engine.graphics.material;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.engine.graphics.material.program.Program;
 import net.tclemens.calcium.engine.graphics.material.property.Property;
 
@@ -63,7 +64,10 @@ public final class MaterialFactory {
             throw new IllegalArgumentException("Unable to create a material with null properties");
         }
 
-        properties = Collections.unmodifiableCollection(new ArrayList<>(properties));
+        if (!Immutables.isImmutable(properties)) {
+
+            properties = Collections.unmodifiableCollection(new ArrayList<>(properties));
+        }
 
         return buildMaterial(program, properties);
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.material.property;
+
+import android.opengl.GLES20;
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
+import net.tclemens.calcium.engine.graphics.camera.Camera;
+import net.tclemens.calcium.engine.graphics.model.Model;
+
+/**
+ * This class represents a layer depth variable in the shader program of a material
+ *
+ * <p>The layer is uploaded once for every model in a batch, so two-dimensional positions need no depth
+ * component. A vertex shader can place a position <tt>p</tt> from a two-dimensional model-view-projection matrix
+ * at the layer with <tt>gl_Position = vec4(p.xy, layer * p.z, p.z)</tt>.</p>
+ *
+ * @author Tim Clemens
+ */
+final class LayerProperty extends Property {
+
+    /** The name of the layer depth variable in the shader */
+    private final String name;
+
+    /** The normalized device depth of the layer */
+    private final float layer;
+
+    /**
+     * @param name The name of the layer depth variable in the shader
+     * @param layer The normalized device depth of the layer
+     */
+    LayerProperty(String name, float layer) {
+
+        this.name = name;
+        this.layer = layer;
+    }
+
+    @Override
+    public void load(int program, @NonNull Camera camera, @NonNull Collection<Model> models) {
+
+        if (camera == null) {
+
+            throw new IllegalArgumentException("Unable to load a property with a null camera");
+        }
+
+        if (models == null || models.isEmpty()) {
+
+            throw new IllegalArgumentException("Unable to load a property with a null or empty model collection");
+        }
+
+        int layerHandle = GLES20.glGetUniformLocation(program, name);
+
+        GLES20.glUniform1f(layerHandle, layer);
+    }
+
+    @Override
+    public void unload(int program) {
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.material.property;
+
+import java.nio.FloatBuffer;
+
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.workers.Workers;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
+
+/**
+ * This class is responsible for packing the product of a shared matrix and the model matrix of each model
+ *
+ * <p>The products are composed in a scratch matrix owned by each range, so packing a batch allocates no
+ * matrices.</p>
+ *
+ * @author Tim Clemens
+ */
+final class MatrixPacker extends Packer {
+
+    /** The number of elements in the matrix */
+    private static final int SIZE = 16;
+
+    /** The matrix applied before the model matrix of each model */
+    private final MutableMatrix3D matrix = MatrixFactory.createMutable3D();
+
+    /** The scratch matrix of each range */
+    private final MutableMatrix3D[] products = new MutableMatrix3D[Workers.getParallelism()];
+
+    MatrixPacker() {
+
+        for (int range = 0; range < products.length; range++) {
+
+            products[range] = MatrixFactory.createMutable3D();
+        }
+    }
+
+    /**
+     * Get the matrix applied before the model matrix of each model, which should be set before packing
+     *
+     * @return The matrix applied before the model matrix of each model
+     */
+    MutableMatrix3D getMatrix() {
+
+        return matrix;
+    }
+
+    @Override
+    int count(Model model) {
+
+        return SIZE;
+    }
+
+    @Override
+    void pack(Model model, int index, int range, FloatBuffer buffer) {
+
+        MutableMatrix3D product = products[range].set(matrix);
+
+        model.apply(product);
+        product.pack(buffer);
+    }
+}
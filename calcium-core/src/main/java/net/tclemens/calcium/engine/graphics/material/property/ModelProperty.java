@@ -19,14 +19,11 @@ package net.tclemens.calcium.engine.graphics.material.property;
 import android.opengl.GLES20;
 import android.support.annotation.NonNull;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.Collection;
 
 import net.tclemens.calcium.engine.graphics.camera.Camera;
 import net.tclemens.calcium.engine.graphics.model.Model;
-import net.tclemens.calcium.math.vector.Vector3D;
 
 /**
  * This class represents a model index variable in the shader program of a material
@@ -35,12 +32,41 @@ import net.tclemens.calcium.math.vector.Vector3D;
  */
 final class ModelProperty extends Property {
 
+    /**
+     * This class is responsible for packing the model index of each vertex
+     */
+    private static final class ModelPacker extends Packer {
+
+        private ModelPacker() {
+        }
+
+        @Override
+        int count(Model model) {
+
+            return model.getMesh().getPositions().size() * SIZE;
+        }
+
+        @Override
+        void pack(Model model, int index, int range, FloatBuffer buffer) {
+
+            int count = model.getMesh().getPositions().size();
+
+            for (int vertex = 0; vertex < count; vertex++) {
+
+                buffer.put(index);
+            }
+        }
+    }
+
     /** The size of the model index */
     private static final int SIZE = 1;
 
     /** The stride of model index in bytes */
     private static final int STRIDE = Float.SIZE / Byte.SIZE * SIZE;
 
+    /** The packer used to pack model indices */
+    private static final Packer PACKER = new ModelPacker();
+
     /** The name of the model index variable in the shader */
     private final String name;
 
@@ -70,7 +96,7 @@ final class ModelProperty extends Property {
 
         int modelHandle = GLES20.glGetAttribLocation(program, name);
 
-        buffer = packModelIndices(models);
+        buffer = PACKER.pack(models);
 
         GLES20.glEnableVertexAttribArray(modelHandle);
         GLES20.glVertexAttribPointer(modelHandle, SIZE, GLES20.GL_FLOAT, false, STRIDE, buffer);
@@ -83,41 +109,4 @@ final class ModelProperty extends Property {
 
         GLES20.glDisableVertexAttribArray(modelHandel);
     }
-
-    /**
-     * Pack the model indices into a buffer
-     *
-     * @param models The models to draw
-     *
-     * @return The packed model index buffer
-     */
-    private static FloatBuffer packModelIndices(Collection<Model> models) {
-
-        int size = 0;
-
-        for (Model model : models) {
-
-            size += model.getMesh().getPositions().size();
-        }
-
-        ByteBuffer buffer = ByteBuffer.allocateDirect(size * STRIDE);
-
-        buffer.order(ByteOrder.nativeOrder());
-
-        int index = 0;
-
-        for (Model model : models) {
-
-            for (Vector3D position : model.getMesh().getPositions()) {
-
-                buffer.putFloat(index);
-            }
-
-            index++;
-        }
-
-        buffer.position(0);
-
-        return buffer.asFloatBuffer();
-    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.material.property;
+
+import android.opengl.GLES20;
+import android.support.annotation.NonNull;
+
+import java.nio.FloatBuffer;
+import java.util.Collection;
+
+import net.tclemens.calcium.engine.graphics.camera.Camera;
+import net.tclemens.calcium.engine.graphics.model.Model;
+
+/**
+ * This class represents a two-dimensional model-view-projection matrix variable in the shader program of a material
+ *
+ * <p>Each model is packed as a <tt>mat3</tt>, which maps a position to the <tt>x</tt>, <tt>y</tt> and <tt>w</tt>
+ * clip coordinates.</p>
+ *
+ * @author Tim Clemens
+ */
+final class ModelViewProjection2DProperty extends Property {
+
+    /** The name of the model-view-projection matrix variable in the shader */
+    private final String name;
+
+    /** The packer used to pack the model-view-projection matrices */
+    private final Matrix2DPacker packer = new Matrix2DPacker();
+
+    /** The buffer used to store the model-view-projection matrices */
+    private volatile FloatBuffer buffer;
+
+    /**
+     * @param name The name of the model-view-projection matrix variable in the shader
+     */
+    ModelViewProjection2DProperty(String name) {
+
+        this.name = name;
+    }
+
+    @Override
+    public void load(int program, @NonNull Camera camera, @NonNull Collection<Model> models) {
+
+        if (camera == null) {
+
+            throw new IllegalArgumentException("Unable to load a property with a null camera");
+        }
+
+        if (models == null || models.isEmpty()) {
+
+            throw new IllegalArgumentException("Unable to load a property with a null or empty model collection");
+        }
+
+        int matrixHandle = GLES20.glGetUniformLocation(program, name);
+
+        camera.getViewProjection(packer.getMatrix());
+
+        buffer = packer.pack(models);
+
+        GLES20.glUniformMatrix3fv(matrixHandle, models.size(), false, buffer);
+    }
+
+    @Override
+    public void unload(int program) {
+    }
+}
@@ -19,14 +19,13 @@ package net.tclemens.calcium.engine.graphics.material.property;
 import android.opengl.GLES20;
 import android.support.annotation.NonNull;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.Collection;
 
 import net.tclemens.calcium.engine.graphics.camera.Camera;
 import net.tclemens.calcium.engine.graphics.model.Model;
-import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a model-view-projection matrix variable in the shader program of a material
@@ -35,15 +34,15 @@ import net.tclemens.calcium.math.matrix.Matrix3D;
  */
 final class ModelViewProjectionProperty extends Property {
 
-    /** The number of elements in the matrix */
-    private static final int SIZE = 16;
-
-    /** The stride of the matrix in bytes */
-    private static final int STRIDE = Float.SIZE / Byte.SIZE * SIZE;
-
     /** The name of the model-view-projection matrix variable in the shader */
     private final String name;
 
+    /** The view matrix of the camera */
+    private final MutableMatrix3D view = MatrixFactory.createMutable3D();
+
+    /** The packer used to pack the model-view-projection matrices */
+    private final MatrixPacker packer = new MatrixPacker();
+
     /** The buffer used to store the model-view-projection matrices */
     private volatile FloatBuffer buffer;
 
@@ -70,7 +69,11 @@ final class ModelViewProjectionProperty extends Property {
 
         int matrixHandle = GLES20.glGetUniformLocation(program, name);
 
-        buffer = packModelViewProjectionMatrices(camera, models);
+        camera.getView(view);
+
+        packer.getMatrix().set(camera.getProjection()).multiply(view);
+
+        buffer = packer.pack(models);
 
         GLES20.glUniformMatrix4fv(matrixHandle, models.size(), false, buffer);
     }
@@ -78,52 +81,4 @@ final class ModelViewProjectionProperty extends Property {
     @Override
     public void unload(int program) {
     }
-
-    /**
-     * Pack the model-view-projection matrix for each model into a buffer
-     *
-     * @param camera The camera used to draw the models
-     * @param models The models to draw
-     *
-     * @return The packed model-view-projection matrix buffer
-     */
-    private static FloatBuffer packModelViewProjectionMatrices(Camera camera, Collection<Model> models) {
-
-        ByteBuffer buffer = ByteBuffer.allocateDirect(models.size() * STRIDE);
-
-        buffer.order(ByteOrder.nativeOrder());
-
-        Matrix3D view = camera.getView();
-        Matrix3D projection = camera.getProjection();
-        Matrix3D viewProjection = projection.multiply(view);
-
-        for (Model model : models) {
-
-            Matrix3D modelViewProjection = viewProjection.multiply(model.getMatrix());
-
-            buffer.putFloat(modelViewProjection.getAX());
-            buffer.putFloat(modelViewProjection.getAY());
-            buffer.putFloat(modelViewProjection.getAZ());
-            buffer.putFloat(modelViewProjection.getAW());
-
-            buffer.putFloat(modelViewProjection.getBX());
-            buffer.putFloat(modelViewProjection.getBY());
-            buffer.putFloat(modelViewProjection.getBZ());
-            buffer.putFloat(modelViewProjection.getBW());
-
-            buffer.putFloat(modelViewProjection.getCX());
-            buffer.putFloat(modelViewProjection.getCY());
-            buffer.putFloat(modelViewProjection.getCZ());
-            buffer.putFloat(modelViewProjection.getCW());
-
-            buffer.putFloat(modelViewProjection.getDX());
-            buffer.putFloat(modelViewProjection.getDY());
-            buffer.putFloat(modelViewProjection.getDZ());
-            buffer.putFloat(modelViewProjection.getDW());
-        }
-
-        buffer.position(0);
-
-        return buffer.asFloatBuffer();
-    }
 }
@@ -19,14 +19,11 @@ package net.tclemens.calcium.engine.graphics.material.property;
 import android.opengl.GLES20;
 import android.support.annotation.NonNull;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.Collection;
 
 import net.tclemens.calcium.engine.graphics.camera.Camera;
 import net.tclemens.calcium.engine.graphics.model.Model;
-import net.tclemens.calcium.math.matrix.Matrix3D;
 
 /**
  * This class represents a model-view matrix variable in the shader program of a material
@@ -35,15 +32,12 @@ import net.tclemens.calcium.math.matrix.Matrix3D;
  */
 final class ModelViewProperty extends Property {
 
-    /** The number of elements in the matrix */
-    private static final int SIZE = 16;
-
-    /** The stride of the matrix in bytes */
-    private static final int STRIDE = Float.SIZE / Byte.SIZE * SIZE;
-
     /** The name of the model-view matrix variable in the shader */
     private final String name;
 
+    /** The packer used to pack the model-view matrices */
+    private final MatrixPacker packer = new MatrixPacker();
+
     /** The buffer used to store the model-view matrices */
     private volatile FloatBuffer buffer;
 
@@ -70,7 +64,9 @@ final class ModelViewProperty extends Property {
 
         int cameraHandle = GLES20.glGetUniformLocation(program, name);
 
-        buffer = packModelViewMatrices(camera, models);
+        camera.getView(packer.getMatrix());
+
+        buffer = packer.pack(models);
 
         GLES20.glUniformMatrix4fv(cameraHandle, models.size(), false, buffer);
     }
@@ -78,50 +74,4 @@ final class ModelViewProperty extends Property {
     @Override
     public void unload(int program) {
     }
-
-    /**
-     * Pack the model-view matrix for each model into a buffer
-     *
-     * @param camera The camera used to draw the models
-     * @param models The models to draw
-     *
-     * @return The packed model-view matrix buffer
-     */
-    private static FloatBuffer packModelViewMatrices(Camera camera, Collection<Model> models) {
-
-        ByteBuffer buffer = ByteBuffer.allocateDirect(models.size() * STRIDE);
-
-        buffer.order(ByteOrder.nativeOrder());
-
-        Matrix3D view = camera.getView();
-
-        for (Model model : models) {
-
-            Matrix3D modelView = view.multiply(model.getMatrix());
-
-            buffer.putFloat(modelView.getAX());
-            buffer.putFloat(modelView.getAY());
-            buffer.putFloat(modelView.getAZ());
-            buffer.putFloat(modelView.getAW());
-
-            buffer.putFloat(modelView.getBX());
-            buffer.putFloat(modelView.getBY());
-            buffer.putFloat(modelView.getBZ());
-            buffer.putFloat(modelView.getBW());
-
-            buffer.putFloat(modelView.getCX());
-            buffer.putFloat(modelView.getCY());
-            buffer.putFloat(modelView.getCZ());
-            buffer.putFloat(modelView.getCW());
-
-            buffer.putFloat(modelView.getDX());
-            buffer.putFloat(modelView.getDY());
-            buffer.putFloat(modelView.getDZ());
-            buffer.putFloat(modelView.getDW());
-        }
-
-        buffer.position(0);
-
-        return buffer.asFloatBuffer();
-    }
 }
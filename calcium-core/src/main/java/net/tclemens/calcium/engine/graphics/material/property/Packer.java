@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.graphics.material.property;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Collection;
+
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.workers.Job;
+import net.tclemens.calcium.engine.workers.Workers;
+
+/**
+ * This class is responsible for packing the values of each model in a batch into a single buffer
+ *
+ * <p>Large batches are divided into ranges of models whose offsets in the buffer are found with a prefix sum, so
+ * each range can be packed in parallel.</p>
+ *
+ * @author Tim Clemens
+ */
+abstract class Packer {
+
+    /**
+     * This class represents a job which packs a single range of models
+     */
+    private final class PackJob implements Job {
+
+        /** The models to pack */
+        private final Model[] models;
+
+        /** The offset of each model in the buffer */
+        private final int[] offsets;
+
+        /** The first model of each range */
+        private final int[] bounds;
+
+        /** The buffer to pack the models into */
+        private final FloatBuffer buffer;
+
+        /**
+         * @param models The models to pack
+         * @param offsets The offset of each model in the buffer
+         * @param bounds The first model of each range
+         * @param buffer The buffer to pack the models into
+         */
+        private PackJob(Model[] models, int[] offsets, int[] bounds, FloatBuffer buffer) {
+
+            this.models = models;
+            this.offsets = offsets;
+            this.bounds = bounds;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void run(int index) {
+
+            packRange(models, offsets, index, bounds[index], bounds[index + 1], buffer);
+        }
+    }
+
+    /** The minimum number of packed values before a batch is packed in parallel */
+    static final int THRESHOLD = 16384;
+
+    /** The stride of each packed value in bytes */
+    private static final int STRIDE = Float.SIZE / Byte.SIZE;
+
+    Packer() {
+    }
+
+    /**
+     * Count the number of values packed for a model
+     *
+     * @param model The model to pack
+     *
+     * @return The number of values packed for the model
+     */
+    abstract int count(Model model);
+
+    /**
+     * Pack the values of a model into a buffer at its current position
+     *
+     * <p>Ranges are packed in parallel, but the models of a single range are always packed in order on one thread,
+     * so any scratch state indexed by range is never shared between threads.</p>
+     *
+     * @param model The model to pack
+     * @param index The index of the model in the batch
+     * @param range The index of the range containing the model, which is less than the parallelism of the workers
+     * @param buffer The buffer to pack the model into
+     */
+    abstract void pack(Model model, int index, int range, FloatBuffer buffer);
+
+    /**
+     * Pack the values of each model into a buffer
+     *
+     * @param models The models to pack
+     *
+     * @return The packed buffer
+     */
+    final FloatBuffer pack(Collection<Model> models) {
+
+        Model[] array = models.toArray(new Model[models.size()]);
+        int[] offsets = new int[array.length + 1];
+
+        for (int index = 0; index < array.length; index++) {
+
+            offsets[index + 1] = offsets[index] + count(array[index]);
+        }
+
+        int size = offsets[array.length];
+
+        ByteBuffer bytes = ByteBuffer.allocateDirect(size * STRIDE);
+
+        bytes.order(ByteOrder.nativeOrder());
+
+        FloatBuffer buffer = bytes.asFloatBuffer();
+        int ranges = Math.min(array.length, Workers.getParallelism());
+
+        if (size < THRESHOLD || ranges < 2) {
+
+            packRange(array, offsets, 0, 0, array.length, buffer);
+        }
+        else {
+
+            int[] bounds = divideRanges(offsets, ranges);
+
+            Workers.execute(ranges, new PackJob(array, offsets, bounds, buffer));
+        }
+
+        buffer.position(0);
+
+        return buffer;
+    }
+
+    /**
+     * Pack a range of models into a buffer at their offsets
+     *
+     * @param models The models to pack
+     * @param offsets The offset of each model in the buffer
+     * @param range The index of the range
+     * @param start The first model in the range
+     * @param end The model after the last model in the range
+     * @param buffer The buffer to pack the models into
+     */
+    private void packRange(Model[] models, int[] offsets, int range, int start, int end, FloatBuffer buffer) {
+
+        FloatBuffer slice = buffer.duplicate();
+
+        slice.position(offsets[start]);
+
+        for (int index = start; index < end; index++) {
+
+            pack(models[index], index, range, slice);
+        }
+    }
+
+    /**
+     * Divide the models into ranges with a similar number of packed values
+     *
+     * @param offsets The offset of each model in the buffer
+     * @param ranges The number of ranges
+     *
+     * @return The first model of each range, followed by the number of models
+     */
+    private static int[] divideRanges(int[] offsets, int ranges) {
+
+        int count = offsets.length - 1;
+        long size = offsets[count];
+
+        int[] bounds = new int[ranges + 1];
+
+        bounds[ranges] = count;
+
+        for (int range = 1; range < ranges; range++) {
+
+            int target = (int) (size * range / ranges);
+            int low = bounds[range - 1];
+            int high = count;
+
+            while (low < high) {
+
+                int middle = (low + high) >>> 1;
+
+                if (offsets[middle] < target) {
+
+                    low = middle + 1;
+                }
+                else {
+
+                    high = middle;
+                }
+            }
+
+            bounds[range] = low;
+        }
+
+        return bounds;
+    }
+}
@@ -19,8 +19,6 @@ package net.tclemens.calcium.engine.graphics.material.property;
 import android.opengl.GLES20;
 import android.support.annotation.NonNull;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.Collection;
 
@@ -35,12 +33,41 @@ import net.tclemens.calcium.math.vector.Vector3D;
  */
 final class PositionProperty extends Property {
 
+    /**
+     * This class is responsible for packing the vertex positions of each model
+     */
+    private static final class PositionPacker extends Packer {
+
+        private PositionPacker() {
+        }
+
+        @Override
+        int count(Model model) {
+
+            return model.getMesh().getPositions().size() * SIZE;
+        }
+
+        @Override
+        void pack(Model model, int index, int range, FloatBuffer buffer) {
+
+            for (Vector3D position : model.getMesh().getPositions()) {
+
+                buffer.put(position.getX());
+                buffer.put(position.getY());
+                buffer.put(position.getZ());
+            }
+        }
+    }
+
     /** The size of vertex positions */
     private static final int SIZE = 3;
 
     /** The stride of vertex positions in bytes */
     private static final int STRIDE = Float.SIZE / Byte.SIZE * SIZE;
 
+    /** The packer used to pack vertex positions */
+    private static final Packer PACKER = new PositionPacker();
+
     /** The name of the vertex position variable in the shader */
     private final String name;
 
@@ -70,7 +97,7 @@ final class PositionProperty extends Property {
 
         int positionHandle = GLES20.glGetAttribLocation(program, name);
 
-        buffer = packVertexPositions(models);
+        buffer = PACKER.pack(models);
 
         GLES20.glEnableVertexAttribArray(positionHandle);
         GLES20.glVertexAttribPointer(positionHandle, SIZE, GLES20.GL_FLOAT, false, STRIDE, buffer);
@@ -83,39 +110,4 @@ final class PositionProperty extends Property {
 
         GLES20.glDisableVertexAttribArray(positionHandle);
     }
-
-    /**
-     * Pack the vertex positions into a buffer
-     *
-     * @param models The models to draw
-     *
-     * @return The packed vertex position buffer
-     */
-    private static FloatBuffer packVertexPositions(Collection<Model> models) {
-
-        int size = 0;
-
-        for (Model model : models) {
-
-            size += model.getMesh().getPositions().size();
-        }
-
-        ByteBuffer buffer = ByteBuffer.allocateDirect(size * STRIDE);
-
-        buffer.order(ByteOrder.nativeOrder());
-
-        for (Model model : models) {
-
-            for (Vector3D position : model.getMesh().getPositions()) {
-
-                buffer.putFloat(position.getX());
-                buffer.putFloat(position.getY());
-                buffer.putFloat(position.getZ());
-            }
-        }
-
-        buffer.position(0);
-
-        return buffer.asFloatBuffer();
-    }
 }
@@ -155,6 +155,29 @@ public final class PropertyFactory {
         return buildModelViewProjection(name);
     }
 
+    /**
+     * Create a two-dimensional model-view-projection matrix property, which uploads a <tt>mat3</tt> for each model
+     *
+     * <p>The matrix maps a two-dimensional position to the <tt>x</tt>, <tt>y</tt> and <tt>w</tt> clip coordinates,
+     * so the shader should combine it with a layer property to find the depth.</p>
+     *
+     * @param name The name of the model-view-projection matrix variable in the shader
+     *
+     * @return The new property
+     *
+     * @throws IllegalArgumentException If the variable name is invalid
+     */
+    @NonNull
+    public static Property createModelViewProjection2D(@NonNull String name) {
+
+        if (name == null || name.isEmpty()) {
+
+            throw new IllegalArgumentException("Unable to create a model-view-projection property with a null or empty name");
+        }
+
+        return buildModelViewProjection2D(name);
+    }
+
     /**
      * Create a view matrix property
      *
@@ -252,6 +275,54 @@ public final class PropertyFactory {
         return buildPosition(name);
     }
 
+    /**
+     * Create a two-dimensional vertex position property, which uploads the <tt>x</tt> and <tt>y</tt> components of
+     * each position
+     *
+     * @param name The name of the vertex position variable in the shader
+     *
+     * @return The new property
+     *
+     * @throws IllegalArgumentException If the variable name is invalid
+     */
+    @NonNull
+    public static Property createPosition2D(@NonNull String name) {
+
+        if (name == null || name.isEmpty()) {
+
+            throw new IllegalArgumentException("Unable to create a position property with a null or empty name");
+        }
+
+        return buildPosition2D(name);
+    }
+
+    /**
+     * Create a layer depth property, which uploads a single depth for every model in a batch
+     *
+     * @param name The name of the layer depth variable in the shader
+     * @param layer The normalized device depth of the layer, from <tt>-1</tt> at the front to <tt>1</tt> at the
+     *              back
+     *
+     * @return The new property
+     *
+     * @throws IllegalArgumentException If the variable name or layer are invalid
+     */
+    @NonNull
+    public static Property createLayer(@NonNull String name, float layer) {
+
+        if (name == null || name.isEmpty()) {
+
+            throw new IllegalArgumentException("Unable to create a layer property with a null or empty name");
+        }
+
+        if (!(layer >= -1f && layer <= 1f)) {
+
+            throw new IllegalArgumentException("Unable to create a layer property with a layer outside the depth range");
+        }
+
+        return buildLayer(name, layer);
+    }
+
     /**
      * Create a texture sampler property
      *
@@ -329,6 +400,18 @@ public final class PropertyFactory {
         return new ModelViewProjectionProperty(name);
     }
 
+    /**
+     * Create a two-dimensional model-view-projection matrix property without validation
+     *
+     * @param name The name of the model-view-projection matrix variable in the shader
+     *
+     * @return The new property
+     */
+    static Property buildModelViewProjection2D(String name) {
+
+        return new ModelViewProjection2DProperty(name);
+    }
+
     /**
      * Create a view matrix property without validation
      *
@@ -390,6 +473,31 @@ public final class PropertyFactory {
         return new PositionProperty(name);
     }
 
+    /**
+     * Create a two-dimensional vertex position property without validation
+     *
+     * @param name The name of the vertex position variable in the shader
+     *
+     * @return The new property
+     */
+    static Property buildPosition2D(String name) {
+
+        return new Position2DProperty(name);
+    }
+
+    /**
+     * Create a layer depth property without validation
+     *
+     * @param name The name of the layer depth variable in the shader
+     * @param layer The normalized device depth of the layer
+     *
+     * @return The new property
+     */
+    static Property buildLayer(String name, float layer) {
+
+        return new LayerProperty(name, layer);
+    }
+
     /**
      * Create a texture sampler property without validation
      *
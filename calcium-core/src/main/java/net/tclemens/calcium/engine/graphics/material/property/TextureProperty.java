@@ -19,8 +19,6 @@ package net.tclemens.calcium.engine.graphics.material.property;
 import android.opengl.GLES20;
 import android.support.annotation.NonNull;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.Collection;
 
@@ -38,12 +36,46 @@ import net.tclemens.calcium.math.vector.Vector2D;
  */
 final class TextureProperty extends Property {
 
+    /**
+     * This class is responsible for packing the texture coordinates of each model
+     */
+    private static final class TexturePacker extends Packer {
+
+        private TexturePacker() {
+        }
+
+        @Override
+        int count(Model model) {
+
+            return model.getMesh().getCoordinates().size() * SIZE;
+        }
+
+        @Override
+        void pack(Model model, int index, int range, FloatBuffer buffer) {
+
+            Mesh mesh = model.getMesh();
+            Region region = model.getRegion();
+
+            for (Vector2D coordinates : mesh.getCoordinates()) {
+
+                float u = region.getLeft() + (coordinates.getX() * region.getWidth());
+                float v = region.getBottom() + (coordinates.getY() * region.getHeight());
+
+                buffer.put(u);
+                buffer.put(v);
+            }
+        }
+    }
+
     /** The size of texture coordinates */
     private static final int SIZE = 2;
 
     /** The stride of texture coordinates in bytes */
     private static final int STRIDE = Float.SIZE / Byte.SIZE * SIZE;
 
+    /** The packer used to pack texture coordinates */
+    private static final Packer PACKER = new TexturePacker();
+
     /** The name of the texture sampler variable in the shader */
     private final String name;
 
@@ -80,7 +112,7 @@ final class TextureProperty extends Property {
 
         texture.load();
 
-        buffer = packTextureCoordinates(models);
+        buffer = PACKER.pack(models);
 
         GLES20.glEnableVertexAttribArray(textureCoordinatesHandle);
         GLES20.glVertexAttribPointer(textureCoordinatesHandle, SIZE, GLES20.GL_FLOAT, false, STRIDE, buffer);
@@ -93,44 +125,4 @@ final class TextureProperty extends Property {
 
         GLES20.glDisableVertexAttribArray(textureCoordinatesHandle);
     }
-
-    /**
-     * Pack the texture coordinates into a buffer
-     *
-     * @param models The models to draw
-     *
-     * @return The packed texture coordinate buffer
-     */
-    private static FloatBuffer packTextureCoordinates(Collection<Model> models) {
-
-        int size = 0;
-
-        for (Model model : models) {
-
-            size += model.getMesh().getCoordinates().size();
-        }
-
-        ByteBuffer buffer = ByteBuffer.allocateDirect(size * STRIDE);
-
-        buffer.order(ByteOrder.nativeOrder());
-
-        for (Model model : models) {
-
-            Mesh mesh = model.getMesh();
-            Region region = model.getRegion();
-
-            for (Vector2D coordinates : mesh.getCoordinates()) {
-
-                float u = region.getLeft() + (coordinates.getX() * region.getWidth());
-                float v = region.getBottom() + (coordinates.getY() * region.getHeight());
-
-                buffer.putFloat(u);
-                buffer.putFloat(v);
-            }
-        }
-
-        buffer.position(0);
-
-        return buffer.asFloatBuffer();
-    }
 }
@@ -25,6 +25,8 @@ import java.util.Collections;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 import net.tclemens.calcium.math.vector.Vector2D;
 import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.Vector3DArray;
+import net.tclemens.calcium.math.vector.VectorFactory;
 
 /**
  * This class represents a drawable mesh
@@ -42,6 +44,12 @@ public final class Mesh {
     /** The vertex indices of each triangle in the mesh */
     private final Collection<Integer> indices;
 
+    /** The positions of each vertex in the mesh stored as an array, which is created when first needed */
+    private volatile Vector3DArray array;
+
+    /** The axis-aligned bounds of the positions in the mesh, which are found when first needed */
+    private volatile float[] bounds;
+
     /**
      * @param positions The positions of each vertex in the mesh
      * @param coordinates The texture coordinates of each vertex in the mesh
@@ -92,6 +100,9 @@ public final class Mesh {
     /**
      * Apply a transformation matrix to the position of each vertex in the mesh
      *
+     * <p>Each transformed position is a new vector, so meshes which are transformed every frame should instead
+     * transform their positions into a reusable array with {@link #transform(Matrix3D, Vector3DArray)}.</p>
+     *
      * @param matrix The transformation matrix to apply to the mesh
      *
      * @return The transformed mesh
@@ -115,4 +126,68 @@ public final class Mesh {
 
         return MeshFactory.buildMesh(positions, coordinates, indices);
     }
+
+    /**
+     * Apply a transformation matrix to the position of each vertex in the mesh without allocating any vectors
+     *
+     * @param matrix The transformation matrix to apply to the mesh
+     * @param dest The array to store the transformed positions in, which has at least as many vectors as the mesh
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray transform(@NonNull Matrix3D matrix, @NonNull Vector3DArray dest) {
+
+        return getArray().transform(matrix, dest);
+    }
+
+    /**
+     * Get the axis-aligned bounds of the position of each vertex in the mesh
+     *
+     * @param result The array to store the minimum <tt>x</tt>, <tt>y</tt> and <tt>z</tt> components in, followed by
+     *               the maximum <tt>x</tt>, <tt>y</tt> and <tt>z</tt> components
+     * @param offset The index of the minimum <tt>x</tt> component in the result
+     *
+     * @throws IllegalArgumentException If the result is null or too small
+     * @throws IllegalStateException If the mesh has no vertices
+     */
+    public final void getBounds(@NonNull float[] result, int offset) {
+
+        if (result == null || offset < 0 || offset > result.length - 6) {
+
+            throw new IllegalArgumentException("Unable to get bounds with a null or small result array");
+        }
+
+        float[] bounds = this.bounds;
+
+        if (bounds == null) {
+
+            bounds = new float[6];
+
+            getArray().bounds(bounds, 0);
+
+            this.bounds = bounds;
+        }
+
+        System.arraycopy(bounds, 0, result, offset, 6);
+    }
+
+    /**
+     * Get the positions of each vertex in the mesh stored as an array, creating it when first needed
+     *
+     * @return The positions stored as an array
+     */
+    private Vector3DArray getArray() {
+
+        Vector3DArray array = this.array;
+
+        if (array == null) {
+
+            array = VectorFactory.createArray3D(positions);
+
+            this.array = array;
+        }
+
+        return array;
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.graphics.mesh;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.collection.ArrayBuilder;
+import net.tclemens.calcium.collection.ArrayFactory;
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector3D;
+
+/**
+ * This class is responsible for accumulating the vertices and triangles of a mesh and handing them off to the mesh
+ * without copying them
+ *
+ * <p>Each vertex is added with both its position and texture coordinates, and each triangle with all three of its
+ * indices, so the mesh is always consistent. A validated builder also rejects null vertices and indices outside the
+ * vertices added so far. An unvalidated builder skips every check, and should only be used once the calling code
+ * has been validated, such as in release builds.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class MeshBuilder {
+
+    /** Whether the vertices and triangles are validated */
+    private final boolean isValidated;
+
+    /** The position of each vertex */
+    private final ArrayBuilder<Vector3D> positions;
+
+    /** The texture coordinates of each vertex */
+    private final ArrayBuilder<Vector2D> coordinates;
+
+    /** The vertex indices of each triangle */
+    private final ArrayBuilder<Integer> indices;
+
+    /**
+     * @param vertices The expected number of vertices
+     * @param triangles The expected number of triangles
+     * @param isValidated Whether the vertices and triangles are validated
+     */
+    MeshBuilder(int vertices, int triangles, boolean isValidated) {
+
+        this.isValidated = isValidated;
+        this.positions = ArrayFactory.createBuilder(vertices, isValidated);
+        this.coordinates = ArrayFactory.createBuilder(vertices, isValidated);
+        this.indices = ArrayFactory.createBuilder(triangles * 3, isValidated);
+    }
+
+    /**
+     * Get the number of vertices added so far, which is the index of the next vertex
+     *
+     * @return The number of vertices
+     */
+    public final int getVertexCount() {
+
+        return positions.size();
+    }
+
+    /**
+     * Add a vertex
+     *
+     * @param position The position of the vertex
+     * @param coordinate The texture coordinates of the vertex
+     *
+     * @return The index of the vertex
+     *
+     * @throws IllegalArgumentException If the builder is validated and the position or texture coordinates are null
+     */
+    public final int addVertex(@NonNull Vector3D position, @NonNull Vector2D coordinate) {
+
+        int index = positions.size();
+
+        positions.add(position);
+        coordinates.add(coordinate);
+
+        return index;
+    }
+
+    /**
+     * Add a triangle of previously added vertices
+     *
+     * @param first The index of the first vertex
+     * @param second The index of the second vertex
+     * @param third The index of the third vertex
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and any index is invalid
+     */
+    @NonNull
+    public final MeshBuilder addTriangle(int first, int second, int third) {
+
+        if (isValidated) {
+
+            int count = positions.size();
+
+            if (first < 0 || first >= count || second < 0 || second >= count || third < 0 || third >= count) {
+
+                throw new IllegalArgumentException("Unable to add a triangle with an invalid vertex index");
+            }
+        }
+
+        indices.add(first);
+        indices.add(second);
+        indices.add(third);
+
+        return this;
+    }
+
+    /**
+     * Add every vertex and triangle of an existing mesh
+     *
+     * @param mesh The mesh to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the mesh is null
+     */
+    @NonNull
+    public final MeshBuilder addMesh(@NonNull Mesh mesh) {
+
+        if (isValidated && mesh == null) {
+
+            throw new IllegalArgumentException("Unable to add a null mesh to a builder");
+        }
+
+        int offset = positions.size();
+
+        for (Integer index : mesh.getIndices()) {
+
+            indices.add(offset + index);
+        }
+
+        positions.addAll(mesh.getPositions());
+        coordinates.addAll(mesh.getCoordinates());
+
+        return this;
+    }
+
+    /**
+     * Create a mesh with the accumulated vertices and triangles, and start accumulating a new mesh
+     *
+     * @return The new mesh
+     */
+    @NonNull
+    public final Mesh build() {
+
+        return MeshFactory.buildMesh(positions.build(), coordinates.build(), indices.build());
+    }
+}
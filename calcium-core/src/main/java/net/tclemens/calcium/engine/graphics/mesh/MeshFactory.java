@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.math.vector.Vector2D;
 import net.tclemens.calcium.math.vector.Vector3D;
 
@@ -135,13 +136,57 @@ public final class MeshFactory {
             throw new IllegalArgumentException("Unable to create a mesh with non-triangular indices");
         }
 
-        positions = Collections.unmodifiableCollection(new ArrayList<>(positions));
-        coordinates = Collections.unmodifiableCollection(new ArrayList<>(coordinates));
-        indices = Collections.unmodifiableCollection(new ArrayList<>(indices));
+        if (!Immutables.isImmutable(positions)) {
+
+            positions = Collections.unmodifiableCollection(new ArrayList<>(positions));
+        }
+
+        if (!Immutables.isImmutable(coordinates)) {
+
+            coordinates = Collections.unmodifiableCollection(new ArrayList<>(coordinates));
+        }
+
+        if (!Immutables.isImmutable(indices)) {
+
+            indices = Collections.unmodifiableCollection(new ArrayList<>(indices));
+        }
 
         return buildMesh(positions, coordinates, indices);
     }
 
+    /**
+     * Create a validated builder which hands off its vertices and triangles to each mesh without copying them
+     *
+     * @return The new mesh builder
+     */
+    @NonNull
+    public static MeshBuilder createBuilder() {
+
+        return buildBuilder(0, 0, true);
+    }
+
+    /**
+     * Create a builder which hands off its vertices and triangles to each mesh without copying them
+     *
+     * @param vertices The expected number of vertices
+     * @param triangles The expected number of triangles
+     * @param isValidated Whether the vertices and triangles are validated, which may be disabled in release builds
+     *
+     * @return The new mesh builder
+     *
+     * @throws IllegalArgumentException If the expected number of vertices or triangles is negative
+     */
+    @NonNull
+    public static MeshBuilder createBuilder(int vertices, int triangles, boolean isValidated) {
+
+        if (vertices < 0 || triangles < 0) {
+
+            throw new IllegalArgumentException("Unable to create a builder with a negative capacity");
+        }
+
+        return buildBuilder(vertices, triangles, isValidated);
+    }
+
     /**
      * Create a drawable mesh
      *
@@ -160,6 +205,20 @@ public final class MeshFactory {
         return new Mesh(positions, coordinates, indices);
     }
 
+    /**
+     * Create a mesh builder
+     *
+     * @param vertices The expected number of vertices
+     * @param triangles The expected number of triangles
+     * @param isValidated Whether the vertices and triangles are validated
+     *
+     * @return The new mesh builder
+     */
+    static MeshBuilder buildBuilder(int vertices, int triangles, boolean isValidated) {
+
+        return new MeshBuilder(vertices, triangles, isValidated);
+    }
+
     /**
      * Count the number of positions in the mesh collection
      *
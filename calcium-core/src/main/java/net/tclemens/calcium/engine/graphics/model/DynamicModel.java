@@ -22,6 +22,7 @@ import net.tclemens.calcium.engine.graphics.animation.Animation;
 import net.tclemens.calcium.engine.graphics.mesh.Mesh;
 import net.tclemens.calcium.engine.graphics.texture.region.Region;
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a model with a dynamic transformation
@@ -72,6 +73,17 @@ final class DynamicModel extends Model {
         return animation.getMatrix();
     }
 
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a model to a null matrix");
+        }
+
+        animation.apply(matrix);
+    }
+
     @Override
     public final boolean isDynamic() {
 
@@ -21,6 +21,8 @@ import android.support.annotation.NonNull;
 import net.tclemens.calcium.engine.graphics.mesh.Mesh;
 import net.tclemens.calcium.engine.graphics.texture.region.Region;
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix2D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a mesh and it's applied texture region and transformation matrix
@@ -56,6 +58,32 @@ public abstract class Model {
     @NonNull
     public abstract Matrix3D getMatrix();
 
+    /**
+     * Apply the transformation of the model to a matrix, replacing it with the product of the matrix and the world
+     * transformation matrix without allocating
+     *
+     * @param matrix The matrix to apply the transformation to
+     */
+    public abstract void apply(@NonNull MutableMatrix3D matrix);
+
+    /**
+     * Apply the transformation of the model to a two-dimensional matrix, replacing it with the product of the matrix
+     * and the world transformation the model applies to the plane where <tt>z</tt> is zero without allocating
+     *
+     * <p>The transformation is exact for models which keep the plane in place, such as two-dimensional models.</p>
+     *
+     * @param matrix The matrix to apply the transformation to
+     */
+    public void apply(@NonNull MutableMatrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a model to a null matrix");
+        }
+
+        matrix.multiplyPlane(getMatrix());
+    }
+
     /**
      * Check if the model is dynamic
      *
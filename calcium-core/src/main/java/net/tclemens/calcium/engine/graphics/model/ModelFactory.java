@@ -23,6 +23,7 @@ import net.tclemens.calcium.engine.graphics.animation.Animation;
 import net.tclemens.calcium.engine.graphics.mesh.Mesh;
 import net.tclemens.calcium.engine.graphics.texture.region.Region;
 import net.tclemens.calcium.engine.graphics.texture.region.RegionFactory;
+import net.tclemens.calcium.math.matrix.Matrix2D;
 import net.tclemens.calcium.math.matrix.Matrix3D;
 
 /**
@@ -83,6 +84,55 @@ public final class ModelFactory {
         return buildStatic(mesh, region, matrix);
     }
 
+    /**
+     * Create a static model with a two-dimensional transformation and the default texture region
+     *
+     * @param mesh The mesh of the model
+     * @param matrix The two-dimensional transformation matrix applied to the model
+     *
+     * @return The new model
+     *
+     * @throws IllegalArgumentException If the mesh or transformation matrix is null
+     */
+    @NonNull
+    public static Model createStatic2D(@NonNull Mesh mesh, @NonNull Matrix2D matrix) {
+
+        return createStatic2D(mesh, RegionFactory.createDefault(), matrix);
+    }
+
+    /**
+     * Create a static model with a two-dimensional transformation, which a two-dimensional batch applies without
+     * any three-dimensional matrix math
+     *
+     * @param mesh The mesh of the model
+     * @param region The texture region applied to the model
+     * @param matrix The two-dimensional transformation matrix applied to the model
+     *
+     * @return The new model
+     *
+     * @throws IllegalArgumentException If the mesh, texture region, or transformation matrix is null
+     */
+    @NonNull
+    public static Model createStatic2D(@NonNull Mesh mesh, @NonNull Region region, @NonNull Matrix2D matrix) {
+
+        if (mesh == null) {
+
+            throw new IllegalArgumentException("Unable to create a model with a null mesh");
+        }
+
+        if (region == null) {
+
+            throw new IllegalArgumentException("Unable to create a model with a null texture region");
+        }
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to create a model with a null transformation matrix");
+        }
+
+        return buildStatic2D(mesh, region, matrix);
+    }
+
     /**
      * Create a dynamic model with the default texture region
      *
@@ -145,6 +195,20 @@ public final class ModelFactory {
         return new StaticModel(mesh, region, matrix);
     }
 
+    /**
+     * Create a static model with a two-dimensional transformation
+     *
+     * @param mesh The mesh of the model
+     * @param region The texture region applied to the model
+     * @param matrix The two-dimensional transformation matrix applied to the model
+     *
+     * @return The new model
+     */
+    static Model buildStatic2D(Mesh mesh, Region region, Matrix2D matrix) {
+
+        return new StaticModel2D(mesh, region, matrix);
+    }
+
     /**
      * Create a dynamic model
      *
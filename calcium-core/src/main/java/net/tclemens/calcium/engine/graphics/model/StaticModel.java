@@ -21,6 +21,7 @@ import android.support.annotation.NonNull;
 import net.tclemens.calcium.engine.graphics.mesh.Mesh;
 import net.tclemens.calcium.engine.graphics.texture.region.Region;
 import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
 
 /**
  * This class represents a model with a static transformation
@@ -71,6 +72,17 @@ final class StaticModel extends Model {
         return matrix;
     }
 
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a model to a null matrix");
+        }
+
+        matrix.multiply(this.matrix);
+    }
+
     @Override
     public final boolean isDynamic() {
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.model;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.engine.graphics.mesh.Mesh;
+import net.tclemens.calcium.engine.graphics.texture.region.Region;
+import net.tclemens.calcium.math.matrix.Matrix2D;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix2D;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
+
+/**
+ * This class represents a model with a static two-dimensional transformation
+ *
+ * @author Tim Clemens
+ */
+final class StaticModel2D extends Model {
+
+    /** The mesh of the model */
+    private final Mesh mesh;
+
+    /** The texture region applied to the model */
+    private final Region region;
+
+    /** The two-dimensional transformation matrix applied to the model */
+    private final Matrix2D matrix;
+
+    /** The transformation matrix applied to the <tt>x</tt> and <tt>y</tt> components of the model */
+    private final Matrix3D plane;
+
+    /**
+     * @param mesh The mesh of the model
+     * @param region The texture region applied to the model
+     * @param matrix The two-dimensional transformation matrix applied to the model
+     */
+    StaticModel2D(Mesh mesh, Region region, Matrix2D matrix) {
+
+        this.mesh = mesh;
+        this.region = region;
+        this.matrix = matrix;
+        this.plane = MatrixFactory.createPlane3D(matrix);
+    }
+
+    @NonNull
+    @Override
+    public final Mesh getMesh() {
+
+        return mesh;
+    }
+
+    @NonNull
+    @Override
+    public final Region getRegion() {
+
+        return region;
+    }
+
+    @NonNull
+    @Override
+    public final Matrix3D getMatrix() {
+
+        return plane;
+    }
+
+    @Override
+    public final void apply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a model to a null matrix");
+        }
+
+        matrix.multiply(plane);
+    }
+
+    @Override
+    public final void apply(@NonNull MutableMatrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to apply a model to a null matrix");
+        }
+
+        matrix.multiply(this.matrix);
+    }
+
+    @Override
+    public final boolean isDynamic() {
+
+        return false;
+    }
+
+    @NonNull
+    @Override
+    public final Model update(long time) {
+
+        return this;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.picker;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.scene.Scene;
+
+/**
+ * This class represents a model whose bounding volume lies under a point on the screen
+ *
+ * @author Tim Clemens
+ */
+public final class Hit {
+
+    /** The model which was hit */
+    private final Model model;
+
+    /** The scene containing the model */
+    private final Scene scene;
+
+    /** The normalized device depth where the pick ray enters the bounding volume */
+    private final float depth;
+
+    /** The <tt>x</tt> world coordinate where the pick ray enters the bounding volume */
+    private final float x;
+
+    /** The <tt>y</tt> world coordinate where the pick ray enters the bounding volume */
+    private final float y;
+
+    /** The <tt>z</tt> world coordinate where the pick ray enters the bounding volume */
+    private final float z;
+
+    /**
+     * @param model The model which was hit
+     * @param scene The scene containing the model
+     * @param depth The normalized device depth where the pick ray enters the bounding volume
+     * @param x The <tt>x</tt> world coordinate where the pick ray enters the bounding volume
+     * @param y The <tt>y</tt> world coordinate where the pick ray enters the bounding volume
+     * @param z The <tt>z</tt> world coordinate where the pick ray enters the bounding volume
+     */
+    Hit(Model model, Scene scene, float depth, float x, float y, float z) {
+
+        this.model = model;
+        this.scene = scene;
+        this.depth = depth;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Get the model which was hit
+     *
+     * @return The model which was hit
+     */
+    @NonNull
+    public final Model getModel() {
+
+        return model;
+    }
+
+    /**
+     * Get the scene containing the model
+     *
+     * @return The scene containing the model
+     */
+    @NonNull
+    public final Scene getScene() {
+
+        return scene;
+    }
+
+    /**
+     * Get the depth where the pick ray enters the bounding volume of the model
+     *
+     * @return The normalized device depth, from <tt>-1</tt> at the near plane to <tt>1</tt> at the far plane
+     */
+    public final float getDepth() {
+
+        return depth;
+    }
+
+    /**
+     * Get the <tt>x</tt> world coordinate where the pick ray enters the bounding volume of the model
+     *
+     * @return The <tt>x</tt> world coordinate of the hit
+     */
+    public final float getX() {
+
+        return x;
+    }
+
+    /**
+     * Get the <tt>y</tt> world coordinate where the pick ray enters the bounding volume of the model
+     *
+     * @return The <tt>y</tt> world coordinate of the hit
+     */
+    public final float getY() {
+
+        return y;
+    }
+
+    /**
+     * Get the <tt>z</tt> world coordinate where the pick ray enters the bounding volume of the model
+     *
+     * @return The <tt>z</tt> world coordinate of the hit
+     */
+    public final float getZ() {
+
+        return z;
+    }
+}
@@ -0,0 +1,579 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.picker;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.tclemens.calcium.engine.graphics.batch.Batch;
+import net.tclemens.calcium.engine.graphics.camera.Camera;
+import net.tclemens.calcium.engine.graphics.frame.Frame;
+import net.tclemens.calcium.engine.graphics.mesh.Mesh;
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.scene.Scene;
+import net.tclemens.calcium.engine.updates.event.TouchEvent;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.matrix.MutableMatrix3D;
+import net.tclemens.calcium.math.spatial.BoundingTree3D;
+import net.tclemens.calcium.math.spatial.SpatialFactory;
+import net.tclemens.calcium.math.vector.MutableVector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+/**
+ * This class is responsible for finding the models of a frame which lie under a point on the screen
+ *
+ * <p>The picker keeps the inverse view-projection matrix and a bounding volume hierarchy of the models for each
+ * scene of the most recent frame. The inverse is only recalculated when the camera of a scene changes, and the
+ * hierarchy is only updated for the models which were added or removed when a scene changes. Hits are ordered by
+ * normalized device depth, which is shared between every scene of a frame, so the first hit is the model drawn in
+ * front. The picker is not thread-safe and should only be used by a single thread.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Picker {
+
+    /**
+     * This class represents the cached picking state of a single scene
+     */
+    private static final class SceneState {
+
+        /** The product of the projection and view matrices of the camera */
+        private final MutableMatrix3D viewProjection = MatrixFactory.createMutable3D();
+
+        /** The inverse of the view-projection matrix */
+        private final MutableMatrix3D inverse = MatrixFactory.createMutable3D();
+
+        /** The world bounds of each model in the scene */
+        private final BoundingTree3D<Model> tree = SpatialFactory.createTree3D(0f);
+
+        /** The handle of each model in the tree, or {@link #NONE} for a model without vertices */
+        private Map<Model, Integer> handles = new IdentityHashMap<>();
+
+        /** The scene the state was updated with */
+        private Scene scene;
+
+        /** The camera the matrices were calculated with */
+        private Camera camera;
+
+        /** Whether the view-projection matrix can be inverted */
+        private boolean invertible;
+
+        private SceneState() {
+        }
+    }
+
+    /** The handle used for a model which is not in the tree */
+    private static final int NONE = -1;
+
+    /** The comparator used to order hits from front to back */
+    private static final Comparator<Hit> DEPTH_ORDER = new Comparator<Hit>() {
+
+        @Override
+        public int compare(Hit first, Hit second) {
+
+            return Float.compare(first.getDepth(), second.getDepth());
+        }
+    };
+
+    /** The cached state of each scene in the frame */
+    private final List<SceneState> states = new ArrayList<>();
+
+    /** The models whose bounds cross the pick ray */
+    private final List<Model> candidates = new ArrayList<>();
+
+    /** The scratch matrix used to read the view matrix of a camera */
+    private final MutableMatrix3D view = MatrixFactory.createMutable3D();
+
+    /** The scratch vector used to unproject points */
+    private final MutableVector3D point = VectorFactory.createMutable3D();
+
+    /** The scratch array for the near and far points of the pick ray */
+    private final float[] ray = new float[6];
+
+    /** The scratch array for the local and world bounds of a model */
+    private final float[] box = new float[12];
+
+    /** The frame the picker was updated with */
+    private Frame frame;
+
+    /**
+     * Package-private constructor
+     */
+    Picker() {
+    }
+
+    /**
+     * Update the cached state of the picker for a frame, such as the frame returned by the engine after an update
+     *
+     * @param frame The frame to pick models from
+     *
+     * @throws IllegalArgumentException If the frame is null
+     */
+    public final void update(@NonNull Frame frame) {
+
+        if (frame == null) {
+
+            throw new IllegalArgumentException("Unable to update a picker with a null frame");
+        }
+
+        if (this.frame == frame) {
+
+            return;
+        }
+
+        this.frame = frame;
+
+        int index = 0;
+
+        for (Scene scene : frame.getScenes()) {
+
+            if (index == states.size()) {
+
+                states.add(new SceneState());
+            }
+
+            updateState(states.get(index++), scene);
+        }
+
+        while (states.size() > index) {
+
+            states.remove(states.size() - 1);
+        }
+    }
+
+    /**
+     * Get the number of scenes in the frame the picker was updated with
+     *
+     * @return The number of scenes
+     */
+    public final int getSceneCount() {
+
+        return states.size();
+    }
+
+    /**
+     * Find the models under the position of a touch
+     *
+     * @param event The touch event
+     *
+     * @return The hits ordered from front to back
+     *
+     * @throws IllegalArgumentException If the event is null
+     * @throws IllegalStateException If the picker has not been updated with a frame
+     */
+    @NonNull
+    public final List<Hit> pick(@NonNull TouchEvent event) {
+
+        if (event == null) {
+
+            throw new IllegalArgumentException("Unable to pick models with a null event");
+        }
+
+        return pick(event.getX(), event.getY());
+    }
+
+    /**
+     * Find the models under a point on the screen
+     *
+     * @param x The horizontal distance from the left of the view in pixels
+     * @param y The vertical distance from the top of the view in pixels
+     *
+     * @return The hits ordered from front to back
+     *
+     * @throws IllegalStateException If the picker has not been updated with a frame
+     */
+    @NonNull
+    public final List<Hit> pick(float x, float y) {
+
+        checkFrame();
+
+        List<Hit> hits = new ArrayList<>();
+
+        float nx = normalizeX(x);
+        float ny = normalizeY(y);
+
+        for (SceneState state : states) {
+
+            if (!state.invertible || state.tree.size() == 0) {
+
+                continue;
+            }
+
+            unprojectRay(state, nx, ny);
+
+            float ax = ray[0];
+            float ay = ray[1];
+            float az = ray[2];
+
+            float dx = ray[3] - ax;
+            float dy = ray[4] - ay;
+            float dz = ray[5] - az;
+
+            state.tree.queryLine(ax, ay, az, ray[3], ray[4], ray[5], candidates);
+
+            for (Model model : candidates) {
+
+                state.tree.getBounds(state.handles.get(model), box, 0);
+
+                float t = enter(box, ax, ay, az, dx, dy, dz);
+
+                float px = ax + dx * t;
+                float py = ay + dy * t;
+                float pz = az + dz * t;
+
+                state.viewProjection.multiplyInto(point.set(px, py, pz, 1f), point);
+
+                float depth = point.getZ() / point.getW();
+
+                hits.add(PickerFactory.buildHit(model, state.scene, depth, px, py, pz));
+            }
+
+            candidates.clear();
+        }
+
+        Collections.sort(hits, DEPTH_ORDER);
+
+        return hits;
+    }
+
+    /**
+     * Unproject a point on the screen into the world space of a scene
+     *
+     * @param scene The index of the scene in the frame
+     * @param x The horizontal distance from the left of the view in pixels
+     * @param y The vertical distance from the top of the view in pixels
+     * @param depth The normalized device depth, from <tt>-1</tt> at the near plane to <tt>1</tt> at the far plane
+     * @param dest The vector to write the world position into
+     *
+     * @return The world position of the point
+     *
+     * @throws IllegalArgumentException If the scene index or vector is invalid
+     * @throws IllegalStateException If the picker has not been updated with a frame, or the camera of the scene
+     *                               cannot be inverted
+     */
+    @NonNull
+    public final MutableVector3D unproject(int scene, float x, float y, float depth, @NonNull MutableVector3D dest) {
+
+        SceneState state = getState(scene);
+
+        if (dest == null) {
+
+            throw new IllegalArgumentException("Unable to unproject a point into a null vector");
+        }
+
+        unprojectPoint(state, normalizeX(x), normalizeY(y), depth, dest);
+
+        return dest;
+    }
+
+    /**
+     * Unproject a point on the screen into a ray through the world space of a scene
+     *
+     * @param scene The index of the scene in the frame
+     * @param x The horizontal distance from the left of the view in pixels
+     * @param y The vertical distance from the top of the view in pixels
+     * @param result The array to store the world position on the near plane in, followed by the world position on
+     *               the far plane
+     * @param offset The index of the <tt>x</tt> component of the near position in the result
+     *
+     * @throws IllegalArgumentException If the scene index or result is invalid
+     * @throws IllegalStateException If the picker has not been updated with a frame, or the camera of the scene
+     *                               cannot be inverted
+     */
+    public final void unproject(int scene, float x, float y, @NonNull float[] result, int offset) {
+
+        SceneState state = getState(scene);
+
+        if (result == null || offset < 0 || offset > result.length - 6) {
+
+            throw new IllegalArgumentException("Unable to unproject a ray with a null or small result array");
+        }
+
+        unprojectRay(state, normalizeX(x), normalizeY(y));
+
+        System.arraycopy(ray, 0, result, offset, 6);
+    }
+
+    /**
+     * Update the cached state of a single scene
+     *
+     * @param state The state to update
+     * @param scene The scene in the frame
+     */
+    private void updateState(SceneState state, Scene scene) {
+
+        Camera camera = scene.getCamera();
+
+        if (state.camera != camera) {
+
+            state.camera = camera;
+
+            camera.getView(view);
+
+            state.viewProjection.set(camera.getProjection()).multiply(view);
+            state.invertible = state.viewProjection.determinant() != 0f;
+
+            if (state.invertible) {
+
+                state.inverse.set(state.viewProjection).invert();
+            }
+        }
+
+        if (state.scene == scene) {
+
+            return;
+        }
+
+        state.scene = scene;
+
+        // Keep the handle of every model which is still in the scene, so only changed models touch the tree
+        Map<Model, Integer> handles = new IdentityHashMap<>();
+
+        for (Batch batch : scene.getBatches()) {
+
+            for (Model model : batch.getModels()) {
+
+                if (handles.containsKey(model)) {
+
+                    continue;
+                }
+
+                Integer handle = state.handles.remove(model);
+
+                handles.put(model, handle != null ? handle : insert(state.tree, model));
+            }
+        }
+
+        for (Integer handle : state.handles.values()) {
+
+            if (handle != NONE) {
+
+                state.tree.remove(handle);
+            }
+        }
+
+        state.handles = handles;
+    }
+
+    /**
+     * Insert the world bounds of a model into a tree
+     *
+     * @param tree The tree to insert the model into
+     * @param model The model to insert
+     *
+     * @return The handle of the model in the tree, or {@link #NONE} if the model has no vertices
+     */
+    private int insert(BoundingTree3D<Model> tree, Model model) {
+
+        Mesh mesh = model.getMesh();
+
+        if (mesh.getPositions().isEmpty()) {
+
+            return NONE;
+        }
+
+        mesh.getBounds(box, 0);
+
+        Matrix3D m = model.getMatrix();
+
+        // Transform the local bounds by each row of the affine matrix, taking the extreme of every term
+        transformBounds(m.getAX(), m.getBX(), m.getCX(), m.getDX(), 0);
+        transformBounds(m.getAY(), m.getBY(), m.getCY(), m.getDY(), 1);
+        transformBounds(m.getAZ(), m.getBZ(), m.getCZ(), m.getDZ(), 2);
+
+        return tree.insert(model, box[6], box[9], box[7], box[10], box[8], box[11]);
+    }
+
+    /**
+     * Transform the local bounds in the scratch box by a single row of a matrix, storing the world bounds of that
+     * component after the local bounds
+     *
+     * @param x The coefficient of the <tt>x</tt> component
+     * @param y The coefficient of the <tt>y</tt> component
+     * @param z The coefficient of the <tt>z</tt> component
+     * @param w The translation of the component
+     * @param component The index of the component
+     */
+    private void transformBounds(float x, float y, float z, float w, int component) {
+
+        float minX = x * box[0];
+        float maxX = x * box[3];
+        float minY = y * box[1];
+        float maxY = y * box[4];
+        float minZ = z * box[2];
+        float maxZ = z * box[5];
+
+        box[6 + component] = w + Math.min(minX, maxX) + Math.min(minY, maxY) + Math.min(minZ, maxZ);
+        box[9 + component] = w + Math.max(minX, maxX) + Math.max(minY, maxY) + Math.max(minZ, maxZ);
+    }
+
+    /**
+     * Store the world positions on the near and far planes under a normalized device position in the scratch ray
+     *
+     * @param state The state of the scene
+     * @param x The normalized device <tt>x</tt> coordinate
+     * @param y The normalized device <tt>y</tt> coordinate
+     */
+    private void unprojectRay(SceneState state, float x, float y) {
+
+        unprojectPoint(state, x, y, -1f, point);
+
+        ray[0] = point.getX();
+        ray[1] = point.getY();
+        ray[2] = point.getZ();
+
+        unprojectPoint(state, x, y, 1f, point);
+
+        ray[3] = point.getX();
+        ray[4] = point.getY();
+        ray[5] = point.getZ();
+    }
+
+    /**
+     * Write the world position of a normalized device position into a vector
+     *
+     * @param state The state of the scene
+     * @param x The normalized device <tt>x</tt> coordinate
+     * @param y The normalized device <tt>y</tt> coordinate
+     * @param z The normalized device <tt>z</tt> coordinate
+     * @param dest The vector to write the world position into
+     */
+    private static void unprojectPoint(SceneState state, float x, float y, float z, MutableVector3D dest) {
+
+        state.inverse.multiplyInto(dest.set(x, y, z, 1f), dest);
+
+        float w = 1f / dest.getW();
+
+        dest.set(dest.getX() * w, dest.getY() * w, dest.getZ() * w, 1f);
+    }
+
+    /**
+     * Get the cached state of a scene which can be unprojected
+     *
+     * @param scene The index of the scene in the frame
+     *
+     * @return The state of the scene
+     */
+    private SceneState getState(int scene) {
+
+        checkFrame();
+
+        if (scene < 0 || scene >= states.size()) {
+
+            throw new IllegalArgumentException("Unable to unproject a point with an invalid scene index");
+        }
+
+        SceneState state = states.get(scene);
+
+        if (!state.invertible) {
+
+            throw new IllegalStateException("Unable to unproject a point with a camera which cannot be inverted");
+        }
+
+        return state;
+    }
+
+    /**
+     * Check the picker has been updated with a frame
+     */
+    private void checkFrame() {
+
+        if (frame == null) {
+
+            throw new IllegalStateException("Unable to pick models before the picker is updated with a frame");
+        }
+    }
+
+    /**
+     * Convert a horizontal distance in pixels into a normalized device coordinate
+     *
+     * @param x The horizontal distance from the left of the view in pixels
+     *
+     * @return The normalized device <tt>x</tt> coordinate
+     */
+    private float normalizeX(float x) {
+
+        return 2f * x / frame.getWidth() - 1f;
+    }
+
+    /**
+     * Convert a vertical distance in pixels into a normalized device coordinate
+     *
+     * @param y The vertical distance from the top of the view in pixels
+     *
+     * @return The normalized device <tt>y</tt> coordinate
+     */
+    private float normalizeY(float y) {
+
+        return 1f - 2f * y / frame.getHeight();
+    }
+
+    /**
+     * Find the fraction of a ray where it enters a box, which is zero if the ray starts inside the box
+     *
+     * @param box The left, right, bottom, top, near and far bounds of the box
+     * @param ax The x coordinate of the start of the ray
+     * @param ay The y coordinate of the start of the ray
+     * @param az The z coordinate of the start of the ray
+     * @param dx The x component of the direction of the ray
+     * @param dy The y component of the direction of the ray
+     * @param dz The z component of the direction of the ray
+     *
+     * @return The fraction of the ray before it enters the box
+     */
+    private static float enter(float[] box, float ax, float ay, float az, float dx, float dy, float dz) {
+
+        float t = 0f;
+
+        t = enter(t, box[0], box[1], ax, dx);
+        t = enter(t, box[2], box[3], ay, dy);
+        t = enter(t, box[4], box[5], az, dz);
+
+        return t;
+    }
+
+    /**
+     * Find the latest fraction of a ray where it enters a single slab
+     *
+     * @param t The latest entry fraction found so far
+     * @param low The lower bound of the slab
+     * @param high The upper bound of the slab
+     * @param a The start of the ray along the axis of the slab
+     * @param d The direction of the ray along the axis of the slab
+     *
+     * @return The latest entry fraction including the slab
+     */
+    private static float enter(float t, float low, float high, float a, float d) {
+
+        if (d == 0f) {
+
+            return t;
+        }
+
+        float near = ((d > 0f ? low : high) - a) / d;
+
+        return Math.max(t, near);
+    }
+}
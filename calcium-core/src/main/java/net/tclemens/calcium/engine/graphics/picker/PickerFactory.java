@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.picker;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.scene.Scene;
+
+/**
+ * This class is responsible for creating and initializing pickers
+ *
+ * @author Tim Clemens
+ */
+public final class PickerFactory {
+
+    private PickerFactory() {
+    }
+
+    /**
+     * Create a picker which has not been updated with a frame
+     *
+     * @return The new picker
+     */
+    @NonNull
+    public static Picker createPicker() {
+
+        return buildPicker();
+    }
+
+    /**
+     * Create a picker which has not been updated with a frame
+     *
+     * @return The new picker
+     */
+    static Picker buildPicker() {
+
+        return new Picker();
+    }
+
+    /**
+     * Create a hit
+     *
+     * @param model The model which was hit
+     * @param scene The scene containing the model
+     * @param depth The normalized device depth where the pick ray enters the bounding volume
+     * @param x The <tt>x</tt> world coordinate where the pick ray enters the bounding volume
+     * @param y The <tt>y</tt> world coordinate where the pick ray enters the bounding volume
+     * @param z The <tt>z</tt> world coordinate where the pick ray enters the bounding volume
+     *
+     * @return The new hit
+     */
+    static Hit buildHit(Model model, Scene scene, float depth, float x, float y, float z) {
+
+        return new Hit(model, scene, depth, x, y, z);
+    }
+}
@@ -18,12 +18,14 @@ package net.tclemens.calcium.engine.graphics.scene;
 
 import android.support.annotation.NonNull;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
 import net.tclemens.calcium.engine.graphics.batch.Batch;
 import net.tclemens.calcium.engine.graphics.camera.Camera;
+import net.tclemens.calcium.engine.workers.Job;
+import net.tclemens.calcium.engine.workers.Workers;
 
 /**
  * This class represents a scene with a dynamic camera and/or dynamic batches
@@ -32,6 +34,34 @@ import net.tclemens.calcium.engine.graphics.camera.Camera;
  */
 final class DynamicScene extends Scene {
 
+    /**
+     * This class represents a job which updates a single batch in the scene
+     */
+    private static final class UpdateJob implements Job {
+
+        /** The batches to update in place */
+        private final Batch[] batches;
+
+        /** The time of the update */
+        private final long time;
+
+        /**
+         * @param batches The batches to update in place
+         * @param time The time of the update
+         */
+        private UpdateJob(Batch[] batches, long time) {
+
+            this.batches = batches;
+            this.time = time;
+        }
+
+        @Override
+        public void run(int index) {
+
+            batches[index] = batches[index].update(time);
+        }
+    }
+
     /**
      * @param camera The camera used to view the scene
      * @param batches The batches to draw in the scene
@@ -52,24 +82,53 @@ final class DynamicScene extends Scene {
     public final Scene update(long time) {
 
         Camera camera = getCamera().update(time);
-        Collection<Batch> batches = new ArrayList<>(getBatches().size());
-        boolean isDynamic = camera.isDynamic();
+        Batch[] batches = getBatches().toArray(new Batch[getBatches().size()]);
+
+        if (batches.length > 1 && countModels(batches) >= Workers.getThreshold()) {
 
-        for (Batch batch : getBatches()) {
+            Workers.execute(batches.length, new UpdateJob(batches, time));
+        }
+        else {
 
-            batch = batch.update(time);
-            batches.add(batch);
+            for (int index = 0; index < batches.length; index++) {
+
+                batches[index] = batches[index].update(time);
+            }
+        }
+
+        boolean isDynamic = camera.isDynamic();
+
+        for (Batch batch : batches) {
 
             isDynamic = isDynamic || batch.isDynamic();
         }
 
-        batches = Collections.unmodifiableCollection(batches);
+        Collection<Batch> updated = Collections.unmodifiableCollection(Arrays.asList(batches));
 
         if (isDynamic) {
 
-            return SceneFactory.buildDynamic(camera, batches);
+            return SceneFactory.buildDynamic(camera, updated);
+        }
+
+        return SceneFactory.buildStatic(camera, updated);
+    }
+
+    /**
+     * Count the models in each batch
+     *
+     * @param batches The batches to count
+     *
+     * @return The number of models in the batches
+     */
+    private static int countModels(Batch[] batches) {
+
+        int count = 0;
+
+        for (Batch batch : batches) {
+
+            count += batch.getModels().size();
         }
 
-        return SceneFactory.buildStatic(camera, batches);
+        return count;
     }
 }
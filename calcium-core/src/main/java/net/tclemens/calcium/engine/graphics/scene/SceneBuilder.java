@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.graphics.scene;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
+import net.tclemens.calcium.collection.ArrayBuilder;
+import net.tclemens.calcium.collection.ArrayFactory;
+import net.tclemens.calcium.engine.graphics.batch.Batch;
+import net.tclemens.calcium.engine.graphics.camera.Camera;
+
+/**
+ * This class is responsible for accumulating the batches of a scene and handing them off to the scene without
+ * copying them
+ *
+ * <p>A validated builder rejects null batches as they are added. An unvalidated builder skips every check, and
+ * should only be used once the calling code has been validated, such as in release builds.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class SceneBuilder {
+
+    /** The camera used to view the scene */
+    private final Camera camera;
+
+    /** The batches to draw in the scene */
+    private final ArrayBuilder<Batch> batches;
+
+    /**
+     * @param camera The camera used to view the scene
+     * @param capacity The expected number of batches
+     * @param isValidated Whether the batches are validated
+     */
+    SceneBuilder(Camera camera, int capacity, boolean isValidated) {
+
+        this.camera = camera;
+        this.batches = ArrayFactory.createBuilder(capacity, isValidated);
+    }
+
+    /**
+     * Add a batch to draw in the scene
+     *
+     * @param batch The batch to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the batch is null
+     */
+    @NonNull
+    public final SceneBuilder add(@NonNull Batch batch) {
+
+        batches.add(batch);
+
+        return this;
+    }
+
+    /**
+     * Add each batch of a collection to draw in the scene
+     *
+     * @param batches The batches to add
+     *
+     * @return This builder
+     *
+     * @throws IllegalArgumentException If the builder is validated and the batches are invalid
+     */
+    @NonNull
+    public final SceneBuilder addAll(@NonNull Collection<Batch> batches) {
+
+        this.batches.addAll(batches);
+
+        return this;
+    }
+
+    /**
+     * Create a static scene with the accumulated batches, and start accumulating a new scene
+     *
+     * @return The new scene
+     */
+    @NonNull
+    public final Scene buildStatic() {
+
+        return SceneFactory.buildStatic(camera, batches.build());
+    }
+
+    /**
+     * Create a dynamic scene with the accumulated batches, and start accumulating a new scene
+     *
+     * @return The new scene
+     */
+    @NonNull
+    public final Scene buildDynamic() {
+
+        return SceneFactory.buildDynamic(camera, batches.build());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.engine.graphics.batch.Batch;
 import net.tclemens.calcium.engine.graphics.camera.Camera;
 
@@ -63,7 +64,10 @@ public final class SceneFactory {
             throw new IllegalArgumentException("Unable to create a scene with null batches");
         }
 
-        batches = Collections.unmodifiableCollection(new ArrayList<>(batches));
+        if (!Immutables.isImmutable(batches)) {
+
+            batches = Collections.unmodifiableCollection(new ArrayList<>(batches));
+        }
 
         return buildStatic(camera, batches);
     }
@@ -96,12 +100,57 @@ public final class SceneFactory {
             throw new IllegalArgumentException("Unable to create a scene with null batches");
         }
 
-        batches = Collections.unmodifiableCollection(new ArrayList<>(batches));
+        if (!Immutables.isImmutable(batches)) {
+
+            batches = Collections.unmodifiableCollection(new ArrayList<>(batches));
+        }
 
         return buildDynamic(camera, batches);
     }
 
 
+    /**
+     * Create a validated builder which hands off its batches to each scene without copying them
+     *
+     * @param camera The camera used to view each scene
+     *
+     * @return The new scene builder
+     *
+     * @throws IllegalArgumentException If the camera is null
+     */
+    @NonNull
+    public static SceneBuilder createBuilder(@NonNull Camera camera) {
+
+        return createBuilder(camera, 0, true);
+    }
+
+    /**
+     * Create a builder which hands off its batches to each scene without copying them
+     *
+     * @param camera The camera used to view each scene
+     * @param capacity The expected number of batches
+     * @param isValidated Whether the batches are validated, which may be disabled in release builds
+     *
+     * @return The new scene builder
+     *
+     * @throws IllegalArgumentException If the camera or capacity is invalid
+     */
+    @NonNull
+    public static SceneBuilder createBuilder(@NonNull Camera camera, int capacity, boolean isValidated) {
+
+        if (camera == null) {
+
+            throw new IllegalArgumentException("Unable to create a scene builder with a null camera");
+        }
+
+        if (capacity < 0) {
+
+            throw new IllegalArgumentException("Unable to create a builder with a negative capacity");
+        }
+
+        return buildBuilder(camera, capacity, isValidated);
+    }
+
     /**
      * Create a static scene
      *
@@ -127,4 +176,18 @@ public final class SceneFactory {
 
         return new DynamicScene(camera, batches);
     }
+
+    /**
+     * Create a scene builder
+     *
+     * @param camera The camera used to view each scene
+     * @param capacity The expected number of batches
+     * @param isValidated Whether the batches are validated
+     *
+     * @return The new scene builder
+     */
+    static SceneBuilder buildBuilder(Camera camera, int capacity, boolean isValidated) {
+
+        return new SceneBuilder(camera, capacity, isValidated);
+    }
 }
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import net.tclemens.calcium.collection.Immutables;
 import net.tclemens.calcium.engine.graphics.texture.region.Region;
 
 /**
@@ -57,7 +58,10 @@ public final class AtlasFactory {
             throw new IllegalArgumentException("Unable to create an atlas with a zero or negative size");
         }
 
-        regions = Collections.unmodifiableMap(new HashMap<>(regions));
+        if (!Immutables.isImmutable(regions)) {
+
+            regions = Collections.unmodifiableMap(new HashMap<>(regions));
+        }
 
         return buildAtlas(regions, size);
     }
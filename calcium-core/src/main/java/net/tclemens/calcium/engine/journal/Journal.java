@@ -0,0 +1,730 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.journal;
+
+import android.content.Context;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import net.tclemens.calcium.engine.saves.base.Writable;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotFactory;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotWriter;
+import net.tclemens.calcium.engine.scheduler.Lane;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
+import net.tclemens.calcium.engine.updates.base.Batchable;
+import net.tclemens.calcium.engine.updates.base.Recorder;
+import net.tclemens.calcium.engine.updates.base.Updatable;
+import net.tclemens.calcium.engine.updates.event.Event;
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+
+/**
+ * This class is responsible for journaling the updates of the engine
+ *
+ * <p>The events of each update are appended to a binary log with the sequence of the update. Records are buffered
+ * and written together in a single group commit, so a burst of updates costs one write and one sync.</p>
+ *
+ * <p>The journal is paired with periodic snapshots of writable states. Each snapshot stores the sequence of the
+ * last update it contains, and once it is committed the log is truncated. A state is restored by loading the
+ * newest snapshot and replaying the updates logged after it, which also replays every update deterministically for
+ * diagnosing issues.</p>
+ *
+ * <p>A state which is not writable is never snapshotted, so its log is never truncated and the checkpoint settings
+ * have no effect. Every update since the journal was created is replayed when it is restored.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Journal implements Recorder {
+
+    /**
+     * This class represents an asynchronous worker which opens the log and checkpoints the starting state
+     */
+    private final class OpenWorker implements Runnable {
+
+        /** The starting state */
+        private final Updatable state;
+
+        /** The sequence of the last update contained in the starting state */
+        private final long sequence;
+
+        /** The length of the valid records in the log */
+        private final long length;
+
+        /**
+         * @param state The starting state
+         * @param sequence The sequence of the last update contained in the starting state
+         * @param length The length of the valid records in the log
+         */
+        private OpenWorker(Updatable state, long sequence, long length) {
+
+            this.state = state;
+            this.sequence = sequence;
+            this.length = length;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+
+                channel = new RandomAccessFile(file, "rw").getChannel();
+                channel.truncate(length);
+                channel.position(length);
+
+                size = length;
+                committedState = state;
+                committedSequence = sequence;
+
+                if (state instanceof Writable) {
+
+                    checkpoint();
+                }
+                else if (sequence == 0 && snapshotFile.exists() && !snapshotFile.delete()) {
+
+                    throw new IOException("Unable to delete an outdated snapshot " + snapshotFile);
+                }
+
+                checkpointTime = System.currentTimeMillis();
+            }
+            catch (Exception e) {
+
+                Log.e("Journal", "An unhandled exception occurred", e);
+            }
+        }
+    }
+
+    /**
+     * This class represents an asynchronous worker which commits every buffered record
+     */
+    private final class CommitWorker implements Runnable {
+
+        private CommitWorker() {
+        }
+
+        @Override
+        public void run() {
+
+            try {
+
+                commit();
+
+                if (committedState instanceof Writable && (size >= checkpointSize
+                        || System.currentTimeMillis() - checkpointTime >= checkpointInterval)) {
+
+                    checkpoint();
+                }
+            }
+            catch (Exception e) {
+
+                Log.e("Journal", "An unhandled exception occurred", e);
+            }
+        }
+    }
+
+    /**
+     * This class represents an asynchronous worker which commits every buffered record and shuts down the module
+     */
+    private final class FlushWorker implements Runnable {
+
+        private FlushWorker() {
+        }
+
+        @Override
+        public void run() {
+
+            try {
+
+                commit();
+
+                if (size > 0) {
+
+                    checkpoint();
+                }
+
+                if (channel != null) {
+
+                    channel.close();
+                }
+            }
+            catch (Exception e) {
+
+                Log.e("Journal", "An unhandled exception occurred", e);
+            }
+            finally {
+
+                journalLane.shutdown();
+            }
+        }
+    }
+
+    /** The name of the log file */
+    private static final String FILE_NAME = "calcium.journal";
+
+    /** The initial capacity of the record buffers in bytes */
+    private static final int CAPACITY = 16 * 1024;
+
+    /** The default time records are buffered before they are committed in milliseconds */
+    private static final long COMMIT_INTERVAL = 50;
+
+    /** The default maximum time between snapshots in milliseconds */
+    private static final long CHECKPOINT_INTERVAL = 60000;
+
+    /** The default size of the log which causes a snapshot in bytes */
+    private static final long CHECKPOINT_SIZE = 4 * 1024 * 1024;
+
+    /** The lane used to commit records and snapshots */
+    private final Lane journalLane;
+
+    /** The lock guarding the buffered records */
+    private final Object lock = new Object();
+
+    /** The log file */
+    private final File file;
+
+    /** The snapshot file */
+    private final File snapshotFile;
+
+    /** The records waiting to be committed */
+    private ByteBuffer pending = ByteBuffer.allocate(CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+    /** The buffer swapped in for the pending records while they are committed */
+    private ByteBuffer spare = ByteBuffer.allocate(CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+    /** The state produced by the newest buffered record */
+    private Updatable latest;
+
+    /** The sequence of the newest buffered record */
+    private long latestSequence;
+
+    /** Whether a commit has been scheduled for the buffered records */
+    private boolean isScheduled;
+
+    /** The sequence of the most recent update */
+    private long sequence;
+
+    /** The length of the valid records in the log when the module is started */
+    private long length;
+
+    /** The channel used to append records to the log */
+    private FileChannel channel;
+
+    /** The size of the log in bytes */
+    private long size;
+
+    /** The state produced by the newest committed record */
+    private Updatable committedState;
+
+    /** The sequence of the newest committed record */
+    private long committedSequence;
+
+    /** The time of the most recent snapshot in milliseconds */
+    private long checkpointTime;
+
+    /** The writer used to save snapshots */
+    private SnapshotWriter writer;
+
+    /** Whether snapshots are compressed */
+    private volatile boolean isCompressed;
+
+    /** The time records are buffered before they are committed in milliseconds */
+    private volatile long commitInterval = COMMIT_INTERVAL;
+
+    /** The maximum time between snapshots in milliseconds */
+    private volatile long checkpointInterval = CHECKPOINT_INTERVAL;
+
+    /** The size of the log which causes a snapshot in bytes */
+    private volatile long checkpointSize = CHECKPOINT_SIZE;
+
+    /** The number of recorded updates */
+    private volatile long recorded;
+
+    /** The number of group commits */
+    private volatile long committed;
+
+    /** The number of snapshots */
+    private volatile long checkpoints;
+
+    /** The duration of the most recent group commit in nanoseconds */
+    private volatile long commitTime;
+
+    /**
+     * @param context The application context
+     * @param scheduler The scheduler for the engine
+     */
+    Journal(Context context, Scheduler scheduler) {
+
+        this.file = new File(context.getFilesDir(), FILE_NAME);
+        this.snapshotFile = SnapshotFactory.getDefaultFile(context);
+        this.journalLane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_BACKGROUND);
+    }
+
+    /**
+     * Replay each update logged after a snapshot, stopping at the first torn, corrupt or missing record
+     *
+     * <p>This should be called before the module is started, with the state restored from the snapshot.</p>
+     *
+     * @param state The state restored from the snapshot, or the initial state if there is no snapshot
+     * @param context The application context
+     * @param sequence The sequence of the last update contained in the snapshot
+     *
+     * @return The state produced by the replayed updates
+     *
+     * @throws IllegalArgumentException If the state or application context is null
+     * @throws IOException If the log could not be read
+     */
+    @NonNull
+    public final Updatable replay(@NonNull Updatable state, @NonNull Context context, long sequence) throws IOException {
+
+        if (state == null) {
+
+            throw new IllegalArgumentException("Unable to replay a journal with a null state");
+        }
+
+        if (context == null) {
+
+            throw new IllegalArgumentException("Unable to replay a journal with a null application context");
+        }
+
+        this.sequence = sequence;
+        this.length = 0;
+
+        if (!file.exists()) {
+
+            return state;
+        }
+
+        ByteBuffer buffer;
+        RandomAccessFile stream = new RandomAccessFile(file, "r");
+
+        try {
+
+            FileChannel channel = stream.getChannel();
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        finally {
+
+            stream.close();
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        List<Event> events = new ArrayList<>();
+        long last = sequence;
+        long valid = 0;
+
+        while (buffer.remaining() >= JournalCodec.HEADER_SIZE) {
+
+            int recordSize = buffer.getInt();
+            int checksum = buffer.getInt();
+
+            if (recordSize < JournalCodec.MINIMUM_SIZE || recordSize > buffer.remaining()) {
+
+                break;
+            }
+
+            byte[] payload = new byte[recordSize];
+
+            buffer.get(payload);
+
+            if (!JournalCodec.verify(payload, checksum)) {
+
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+            long next = record.getLong();
+
+            if (next > last) {
+
+                if (next != last + 1) {
+
+                    break;
+                }
+
+                try {
+
+                    JournalCodec.decode(record, events);
+                }
+                catch (RuntimeException e) {
+
+                    Log.e("Journal", "Unable to decode a journal record", e);
+
+                    recycle(events);
+
+                    break;
+                }
+
+                try {
+
+                    state = update(state, context, events);
+                }
+                finally {
+
+                    recycle(events);
+                }
+
+                last = next;
+            }
+
+            valid = buffer.position();
+        }
+
+        this.sequence = last;
+        this.length = valid;
+
+        return state;
+    }
+
+    /**
+     * Start journaling from a state, checkpointing the state if it is writable
+     *
+     * @param state The starting state, which is the initial state or the state produced by the replayed updates
+     *
+     * @throws IllegalArgumentException If the state is null
+     * @throws IllegalStateException If the module is shutdown
+     */
+    public final void start(@NonNull Updatable state) {
+
+        if (state == null) {
+
+            throw new IllegalArgumentException("Unable to start a journal with a null state");
+        }
+
+        try {
+
+            journalLane.execute(new OpenWorker(state, sequence, length));
+        }
+        catch (RejectedExecutionException ignored) {
+
+            throw new IllegalStateException("Unable to process the journal after the module is shutdown");
+        }
+    }
+
+    /**
+     * Buffer a record of an update, and schedule a group commit unless one is already scheduled
+     *
+     * <p>The record is encoded on the calling thread, which should be the lane of the updates module.</p>
+     *
+     * @param events The events delivered in the update, in the order they were delivered
+     * @param state The state produced by the update
+     *
+     * @throws IllegalArgumentException If the events or state are null
+     * @throws IllegalStateException If the module is shutdown
+     */
+    @Override
+    public final void record(@NonNull List<Event> events, @NonNull Updatable state) {
+
+        if (events == null || state == null) {
+
+            throw new IllegalArgumentException("Unable to record a null event list or null state");
+        }
+
+        long sequence = ++this.sequence;
+
+        synchronized (lock) {
+
+            pending = JournalCodec.encode(sequence, events, pending);
+            latest = state;
+            latestSequence = sequence;
+            recorded++;
+
+            if (!isScheduled) {
+
+                try {
+
+                    journalLane.schedule(new CommitWorker(), commitInterval, TimeUnit.MILLISECONDS);
+                }
+                catch (RejectedExecutionException ignored) {
+
+                    throw new IllegalStateException("Unable to process the journal after the module is shutdown");
+                }
+
+                isScheduled = true;
+            }
+        }
+    }
+
+    /**
+     * Set the time records are buffered before they are committed together
+     *
+     * <p>A longer interval commits more records in each group, but more recent updates are lost on a crash.</p>
+     *
+     * @param interval The time records are buffered in milliseconds
+     *
+     * @throws IllegalArgumentException If the interval is negative
+     */
+    public final void setCommitInterval(long interval) {
+
+        if (interval < 0) {
+
+            throw new IllegalArgumentException("Unable to set a negative commit interval");
+        }
+
+        this.commitInterval = interval;
+    }
+
+    /**
+     * Set when a snapshot is taken and the log is truncated
+     *
+     * <p>Only writable states are snapshotted, so the log of any other state grows until the journal is deleted.</p>
+     *
+     * @param interval The maximum time between snapshots in milliseconds
+     * @param size The size of the log which causes a snapshot in bytes
+     *
+     * @throws IllegalArgumentException If the interval or size is not positive
+     */
+    public final void setCheckpoint(long interval, long size) {
+
+        if (interval <= 0) {
+
+            throw new IllegalArgumentException("Unable to set a checkpoint interval which is not positive");
+        }
+
+        if (size <= 0) {
+
+            throw new IllegalArgumentException("Unable to set a checkpoint size which is not positive");
+        }
+
+        this.checkpointInterval = interval;
+        this.checkpointSize = size;
+    }
+
+    /**
+     * Set whether snapshots are compressed, which makes them smaller but slower to save and restore
+     *
+     * @param isCompressed Whether snapshots are compressed
+     */
+    public final void setCompressed(boolean isCompressed) {
+
+        this.isCompressed = isCompressed;
+    }
+
+    /**
+     * Get the lane used to commit records and snapshots
+     *
+     * @return The lane used to commit records and snapshots
+     */
+    @NonNull
+    public final Lane getLane() {
+
+        return journalLane;
+    }
+
+    /**
+     * Get the number of recorded updates
+     *
+     * @return The number of recorded updates
+     */
+    public final long getRecordedCount() {
+
+        return recorded;
+    }
+
+    /**
+     * Get the number of group commits, each of which writes every record buffered since the previous commit
+     *
+     * @return The number of group commits
+     */
+    public final long getCommittedCount() {
+
+        return committed;
+    }
+
+    /**
+     * Get the number of snapshots taken to truncate the log
+     *
+     * @return The number of snapshots
+     */
+    public final long getCheckpointCount() {
+
+        return checkpoints;
+    }
+
+    /**
+     * Get the duration of the most recent group commit
+     *
+     * @return The duration of the most recent group commit in nanoseconds
+     */
+    public final long getCommitTime() {
+
+        return commitTime;
+    }
+
+    /**
+     * Commit every buffered record and take a final snapshot, then shutdown any active threads
+     *
+     * <p>Returns without waiting. The final commit and snapshot run on the lane of the module, after every record
+     * already buffered.</p>
+     */
+    public final void stop() {
+
+        try {
+
+            journalLane.execute(new FlushWorker());
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    /**
+     * Append every buffered record to the log and sync the log on the calling thread
+     *
+     * @throws IOException If the records could not be written
+     */
+    private void commit() throws IOException {
+
+        ByteBuffer buffer;
+        Updatable state;
+        long sequence;
+
+        synchronized (lock) {
+
+            buffer = pending;
+            pending = spare;
+            state = latest;
+            sequence = latestSequence;
+            latest = null;
+            isScheduled = false;
+        }
+
+        try {
+
+            if (state == null || channel == null) {
+
+                return;
+            }
+
+            long start = System.nanoTime();
+
+            buffer.flip();
+
+            size += buffer.remaining();
+
+            while (buffer.hasRemaining()) {
+
+                channel.write(buffer);
+            }
+
+            channel.force(false);
+
+            committedState = state;
+            committedSequence = sequence;
+            commitTime = System.nanoTime() - start;
+            committed++;
+        }
+        finally {
+
+            buffer.clear();
+
+            synchronized (lock) {
+
+                spare = buffer;
+            }
+        }
+    }
+
+    /**
+     * Snapshot the state produced by the newest committed record and truncate the log on the calling thread
+     *
+     * <p>The log is only truncated once the snapshot has been committed, so a crash at any point leaves either the
+     * previous snapshot with the full log or the new snapshot with a log it has already replaced.</p>
+     *
+     * @throws IOException If the snapshot could not be written or the log could not be truncated
+     */
+    private void checkpoint() throws IOException {
+
+        checkpointTime = System.currentTimeMillis();
+
+        if (!(committedState instanceof Writable) || channel == null) {
+
+            return;
+        }
+
+        if (writer == null || writer.isCompressed() != isCompressed) {
+
+            writer = SnapshotFactory.createWriter(isCompressed);
+        }
+
+        writer.reset();
+
+        ((Writable) committedState).write(writer);
+
+        writer.commit(snapshotFile, committedSequence);
+
+        channel.truncate(0);
+        channel.force(true);
+
+        size = 0;
+        checkpoints++;
+    }
+
+    /**
+     * Update a state with the events of a replayed record, in the same way as the updates module
+     *
+     * @param state The state to update
+     * @param context The application context
+     * @param events The events of the record
+     *
+     * @return The updated state
+     */
+    private static Updatable update(Updatable state, Context context, List<Event> events) {
+
+        int count = events.size();
+        int index = 0;
+
+        while (index < count) {
+
+            if (state instanceof Batchable) {
+
+                return ((Batchable) state).update(context, Collections.unmodifiableList(events.subList(index, count)));
+            }
+
+            state = state.update(context, events.get(index++));
+        }
+
+        return state;
+    }
+
+    /**
+     * Recycle and clear every decoded event
+     *
+     * @param events The decoded events
+     */
+    private static void recycle(List<Event> events) {
+
+        for (Event event : events) {
+
+            EventFactory.recycle(event);
+        }
+
+        events.clear();
+    }
+}
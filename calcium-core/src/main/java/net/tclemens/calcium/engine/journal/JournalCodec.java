@@ -0,0 +1,438 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import net.tclemens.calcium.engine.updates.event.ActionEvent;
+import net.tclemens.calcium.engine.updates.event.AnimationEvent;
+import net.tclemens.calcium.engine.updates.event.Event;
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+import net.tclemens.calcium.engine.updates.event.KeyEvent;
+import net.tclemens.calcium.engine.updates.event.PointerEvent;
+import net.tclemens.calcium.engine.updates.event.TouchEvent;
+import net.tclemens.calcium.engine.updates.event.ViewEvent;
+import net.tclemens.calcium.engine.updates.input.Key;
+import net.tclemens.calcium.engine.updates.input.Touch;
+
+/**
+ * This class is responsible for encoding and decoding the records of a journal
+ *
+ * <p>Each record contains the events delivered in a single update. A record starts with the length and checksum of
+ * its payload, so a record torn by a crash is detected and discarded when the journal is replayed. The payload
+ * contains the sequence of the update, the number of events and then each event with its type and time.</p>
+ *
+ * @author Tim Clemens
+ */
+final class JournalCodec {
+
+    /** The size of the length and checksum before each record payload in bytes */
+    static final int HEADER_SIZE = 8;
+
+    /** The minimum size of a record payload in bytes */
+    static final int MINIMUM_SIZE = 12;
+
+    /** The type of an animation event */
+    private static final byte ANIMATION = 0;
+
+    /** The type of a key input event */
+    private static final byte KEY = 1;
+
+    /** The type of a scheduled action event */
+    private static final byte ACTION = 2;
+
+    /** The type of a touch input event */
+    private static final byte TOUCH = 3;
+
+    /** The type of a pointer input event */
+    private static final byte POINTER = 4;
+
+    /** The type of a view event */
+    private static final byte VIEW = 5;
+
+    /** The character set used to encode action names */
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /** The available key input types */
+    private static final Key[] KEYS = Key.values();
+
+    /** The available touch input types */
+    private static final Touch[] TOUCHES = Touch.values();
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Append a record of an update to a buffer
+     *
+     * @param sequence The sequence of the update
+     * @param events The events delivered in the update
+     * @param buffer The buffer to append the record to
+     *
+     * @return The buffer containing the record, which is a larger copy if the record did not fit
+     *
+     * @throws IllegalArgumentException If an event has an unsupported type
+     */
+    static ByteBuffer encode(long sequence, List<Event> events, ByteBuffer buffer) {
+
+        int start = buffer.position();
+
+        buffer = reserve(buffer, HEADER_SIZE + MINIMUM_SIZE);
+        buffer.position(start + HEADER_SIZE);
+        buffer.putLong(sequence);
+        buffer.putInt(events.size());
+
+        for (Event event : events) {
+
+            buffer = encode(event, buffer);
+        }
+
+        int length = buffer.position() - start - HEADER_SIZE;
+        CRC32 checksum = new CRC32();
+
+        checksum.update(buffer.array(), buffer.arrayOffset() + start + HEADER_SIZE, length);
+
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, (int) checksum.getValue());
+
+        return buffer;
+    }
+
+    /**
+     * Check the checksum of a record payload
+     *
+     * @param payload The record payload
+     * @param checksum The checksum written before the payload
+     *
+     * @return Whether the payload matches the checksum
+     */
+    static boolean verify(byte[] payload, int checksum) {
+
+        CRC32 crc = new CRC32();
+
+        crc.update(payload, 0, payload.length);
+
+        return (int) crc.getValue() == checksum;
+    }
+
+    /**
+     * Decode the events of a record payload
+     *
+     * @param payload The record payload, positioned after the sequence of the update
+     * @param events The list to add the decoded events to
+     *
+     * @throws IllegalStateException If the payload contains an unsupported or invalid event
+     */
+    static void decode(ByteBuffer payload, List<Event> events) {
+
+        int count = payload.getInt();
+
+        if (count < 0) {
+
+            throw new IllegalStateException("Unable to decode a record with a negative number of events");
+        }
+
+        for (int index = 0; index < count; index++) {
+
+            events.add(decode(payload));
+        }
+    }
+
+    /**
+     * Append a single event to a buffer
+     *
+     * @param event The event to append
+     * @param buffer The buffer to append the event to
+     *
+     * @return The buffer containing the event
+     *
+     * @throws IllegalArgumentException If the event has an unsupported type
+     */
+    private static ByteBuffer encode(Event event, ByteBuffer buffer) {
+
+        if (event instanceof AnimationEvent) {
+
+            buffer = reserve(buffer, 9);
+            buffer.put(ANIMATION);
+            buffer.putLong(event.getTime());
+        }
+        else if (event instanceof KeyEvent) {
+
+            KeyEvent key = (KeyEvent) event;
+
+            buffer = reserve(buffer, 14);
+            buffer.put(KEY);
+            buffer.putLong(key.getTime());
+            buffer.putInt(key.getCode());
+            buffer.put((byte) key.getInput().ordinal());
+        }
+        else if (event instanceof ActionEvent) {
+
+            ActionEvent action = (ActionEvent) event;
+            byte[] name = action.getName().getBytes(CHARSET);
+
+            buffer = reserve(buffer, 17 + name.length);
+            buffer.put(ACTION);
+            buffer.putLong(action.getTime());
+            buffer.putInt(action.getCount());
+            buffer.putInt(name.length);
+            buffer.put(name);
+        }
+        else if (event instanceof TouchEvent) {
+
+            TouchEvent touch = (TouchEvent) event;
+            int size = touch.getHistorySize();
+
+            buffer = reserve(buffer, 22 + size * 16);
+            buffer.put(TOUCH);
+            buffer.putLong(touch.getTime());
+            buffer.put((byte) touch.getInput().ordinal());
+            buffer.putFloat(touch.getX());
+            buffer.putFloat(touch.getY());
+            buffer.putInt(size);
+
+            for (int index = 0; index < size; index++) {
+
+                buffer.putLong(touch.getHistoricalTime(index));
+                buffer.putFloat(touch.getHistoricalX(index));
+                buffer.putFloat(touch.getHistoricalY(index));
+            }
+        }
+        else if (event instanceof PointerEvent) {
+
+            PointerEvent pointer = (PointerEvent) event;
+            int count = pointer.getPointerCount();
+            int size = pointer.getHistorySize();
+
+            buffer = reserve(buffer, 22 + count * 12 + size * (8 + count * 8));
+            buffer.put(POINTER);
+            buffer.putLong(pointer.getTime());
+            buffer.put((byte) pointer.getInput().ordinal());
+            buffer.putInt(pointer.getActionIndex());
+            buffer.putInt(count);
+            buffer.putInt(size);
+
+            for (int index = 0; index < count; index++) {
+
+                buffer.putInt(pointer.getPointerId(index));
+                buffer.putFloat(pointer.getX(index));
+                buffer.putFloat(pointer.getY(index));
+            }
+
+            for (int sample = 0; sample < size; sample++) {
+
+                buffer.putLong(pointer.getHistoricalTime(sample));
+
+                for (int index = 0; index < count; index++) {
+
+                    buffer.putFloat(pointer.getHistoricalX(sample, index));
+                    buffer.putFloat(pointer.getHistoricalY(sample, index));
+                }
+            }
+        }
+        else if (event instanceof ViewEvent) {
+
+            ViewEvent view = (ViewEvent) event;
+
+            buffer = reserve(buffer, 17);
+            buffer.put(VIEW);
+            buffer.putLong(view.getTime());
+            buffer.putInt(view.getWidth());
+            buffer.putInt(view.getHeight());
+        }
+        else {
+
+            throw new IllegalArgumentException("Unable to journal an event with an unsupported type");
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Decode a single event
+     *
+     * @param payload The record payload, positioned at the event
+     *
+     * @return The decoded event
+     *
+     * @throws IllegalStateException If the event is unsupported or invalid
+     */
+    private static Event decode(ByteBuffer payload) {
+
+        byte type = payload.get();
+        long time = payload.getLong();
+
+        switch (type) {
+
+            case ANIMATION:
+                return EventFactory.createAnimation(time);
+
+            case KEY: {
+
+                int code = payload.getInt();
+
+                return EventFactory.createKey(time, code, KEYS[checkOrdinal(payload.get(), KEYS.length)]);
+            }
+
+            case ACTION: {
+
+                int count = payload.getInt();
+                byte[] name = new byte[checkLength(payload.getInt(), 1, payload)];
+
+                payload.get(name);
+
+                return EventFactory.createAction(time, new String(name, CHARSET), count);
+            }
+
+            case TOUCH: {
+
+                Touch input = TOUCHES[checkOrdinal(payload.get(), TOUCHES.length)];
+                float x = payload.getFloat();
+                float y = payload.getFloat();
+                int size = checkLength(payload.getInt(), 16, payload);
+
+                long[] times = new long[size];
+                float[] xs = new float[size];
+                float[] ys = new float[size];
+
+                for (int index = 0; index < size; index++) {
+
+                    times[index] = payload.getLong();
+                    xs[index] = payload.getFloat();
+                    ys[index] = payload.getFloat();
+                }
+
+                return EventFactory.createTouch(time, x, y, input, times, xs, ys);
+            }
+
+            case POINTER: {
+
+                Touch input = TOUCHES[checkOrdinal(payload.get(), TOUCHES.length)];
+                int actionIndex = payload.getInt();
+                int count = checkLength(payload.getInt(), 12, payload);
+                int size = checkLength(payload.getInt(), 8 + count * 8, payload);
+
+                int[] ids = new int[count];
+                float[] xs = new float[count];
+                float[] ys = new float[count];
+                long[] times = new long[size];
+                float[] historicalXs = new float[size * count];
+                float[] historicalYs = new float[size * count];
+
+                for (int index = 0; index < count; index++) {
+
+                    ids[index] = payload.getInt();
+                    xs[index] = payload.getFloat();
+                    ys[index] = payload.getFloat();
+                }
+
+                for (int sample = 0; sample < size; sample++) {
+
+                    times[sample] = payload.getLong();
+
+                    for (int index = 0; index < count; index++) {
+
+                        historicalXs[sample * count + index] = payload.getFloat();
+                        historicalYs[sample * count + index] = payload.getFloat();
+                    }
+                }
+
+                return EventFactory.createPointer(time, input, actionIndex, ids, xs, ys, times, historicalXs, historicalYs);
+            }
+
+            case VIEW: {
+
+                int width = payload.getInt();
+                int height = payload.getInt();
+
+                return EventFactory.createView(time, width, height);
+            }
+
+            default:
+                throw new IllegalStateException("Unable to decode an event with an unsupported type");
+        }
+    }
+
+    /**
+     * Check the ordinal of an input type
+     *
+     * @param ordinal The ordinal of the input type
+     * @param count The number of available input types
+     *
+     * @return The ordinal
+     *
+     * @throws IllegalStateException If the ordinal is invalid
+     */
+    private static int checkOrdinal(byte ordinal, int count) {
+
+        if (ordinal < 0 || ordinal >= count) {
+
+            throw new IllegalStateException("Unable to decode an event with an unsupported input type");
+        }
+
+        return ordinal;
+    }
+
+    /**
+     * Check the length of an array fits the remaining bytes of a payload
+     *
+     * @param length The length of the array
+     * @param stride The size of each element in bytes
+     * @param payload The record payload
+     *
+     * @return The length
+     *
+     * @throws IllegalStateException If the length is invalid
+     */
+    private static int checkLength(int length, int stride, ByteBuffer payload) {
+
+        if (length < 0 || (long) length * stride > payload.remaining()) {
+
+            throw new IllegalStateException("Unable to decode an event with an invalid length");
+        }
+
+        return length;
+    }
+
+    /**
+     * Ensure a buffer has space for a number of bytes
+     *
+     * @param buffer The buffer to write to
+     * @param size The number of bytes to write
+     *
+     * @return The buffer, or a larger copy if it did not have space
+     */
+    private static ByteBuffer reserve(ByteBuffer buffer, int size) {
+
+        if (buffer.remaining() >= size) {
+
+            return buffer;
+        }
+
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + size);
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.flip();
+        grown.put(buffer);
+
+        return grown;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.journal;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+
+/**
+ * This class is responsible for creating and initializing journal modules
+ *
+ * @author Tim Clemens
+ */
+public final class JournalFactory {
+
+    private JournalFactory() {
+    }
+
+    /**
+     * Create a journal module
+     *
+     * @param context The application context
+     * @param scheduler The scheduler for the engine
+     *
+     * @return The new journal module
+     *
+     * @throws IllegalArgumentException If the application context or scheduler is invalid
+     */
+    @NonNull
+    public static Journal createModule(@NonNull Context context, @NonNull Scheduler scheduler) {
+
+        if (context == null) {
+
+            throw new IllegalArgumentException("Unable to create a journal module with a null application context");
+        }
+
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("Unable to create a journal module with a null scheduler");
+        }
+
+        return buildModule(context, scheduler);
+    }
+
+    /**
+     * Create a journal module
+     *
+     * @param context The application context
+     * @param scheduler The scheduler for the engine
+     *
+     * @return The new journal module
+     */
+    static Journal buildModule(Context context, Scheduler scheduler) {
+
+        return new Journal(context, scheduler);
+    }
+}
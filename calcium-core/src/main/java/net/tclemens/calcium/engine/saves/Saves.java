@@ -17,31 +17,53 @@
 package net.tclemens.calcium.engine.saves;
 
 import android.content.Context;
+import android.os.Process;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import net.tclemens.calcium.engine.saves.base.Savable;
+import net.tclemens.calcium.engine.saves.base.Writable;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotFactory;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotWriter;
+import net.tclemens.calcium.engine.scheduler.Lane;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
 import net.tclemens.calcium.engine.updates.base.Notifiable;
 import net.tclemens.calcium.engine.updates.base.Updatable;
 
 /**
  * This class is responsible for saving states for the engine
  *
+ * <p>Saves are debounced: a state is saved once no newer state has arrived for the minimum interval, or once the
+ * oldest unsaved state has waited for the maximum delay. Only the newest state is ever saved, and every save runs
+ * on the lane of the module, so no two saves overlap.</p>
+ *
+ * <p>A writable state is written to a binary snapshot in the default snapshot file, which can be restored when the
+ * engine is started. The snapshot writer is reused between saves.</p>
+ *
  * @author Tim Clemens
  */
 public final class Saves implements Notifiable {
 
     /**
-     * This class represents an asynchronous worker which saves the current state
+     * This class represents an asynchronous worker which saves the newest state once it is due
      */
     private final class SaveWorker implements Runnable {
 
-        private SaveWorker() {
+        /** The deadline the worker was scheduled for */
+        private final long deadline;
+
+        /**
+         * @param deadline The deadline the worker was scheduled for
+         */
+        private SaveWorker(long deadline) {
+
+            this.deadline = deadline;
         }
 
         @Override
@@ -49,7 +71,63 @@ public final class Saves implements Notifiable {
 
             try {
 
-                state.save(context);
+                if (wake == deadline) {
+
+                    wake = Long.MAX_VALUE;
+
+                    if (System.currentTimeMillis() >= getDeadline()) {
+
+                        try {
+
+                            save();
+                        }
+                        catch (Exception e) {
+
+                            Log.e("Saves", "Unable to save a state, retrying after the save interval", e);
+
+                            retry();
+                        }
+                    }
+                    else {
+
+                        schedule();
+                    }
+                }
+            }
+            catch (Exception e) {
+
+                Log.e("Saves", "An unhandled exception occurred", e);
+            }
+        }
+    }
+
+    /**
+     * This class represents an asynchronous worker which saves the newest state and shuts down the module
+     */
+    private final class FlushWorker implements Runnable {
+
+        /** The final state, or null to save the newest state already requested */
+        private final Updatable state;
+
+        /**
+         * @param state The final state, or null to save the newest state already requested
+         */
+        private FlushWorker(Updatable state) {
+
+            this.state = state;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+
+                if (state != null) {
+
+                    Saves.this.notify(state);
+                }
+
+                save();
             }
             catch (Exception e) {
 
@@ -57,31 +135,86 @@ public final class Saves implements Notifiable {
             }
             finally {
 
-                saveLock.release();
+                saveLane.shutdown();
             }
         }
     }
 
-    /** The thread pool used to asynchronously save states */
-    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor();
+    /** The default time without a newer state before a state is saved in milliseconds */
+    private static final long INTERVAL = 1000;
+
+    /** The default maximum time a state waits to be saved in milliseconds */
+    private static final long DELAY = 5000;
 
-    /** The lock used to synchronize saving states */
-    private final Semaphore saveLock = new Semaphore(2);
+    /** The lane used to save states */
+    private final Lane saveLane;
 
     /** The application context */
     private final Context context;
 
-    /** The current savable state */
-    private volatile Savable state;
+    /** The default snapshot file */
+    private final File file;
+
+    /** The most recent savable or writable state */
+    private volatile Updatable state;
+
+    /** The newest state which has not been saved */
+    private Updatable pending;
+
+    /** The writer used to save snapshots */
+    private SnapshotWriter writer;
+
+    /** Whether snapshots are compressed */
+    private volatile boolean isCompressed;
+
+    /** Whether writable states are saved as snapshots */
+    private volatile boolean isSnapshotEnabled = true;
+
+    /** The time the oldest unsaved state arrived in milliseconds */
+    private long first;
+
+    /** The time the newest unsaved state arrived in milliseconds */
+    private long last;
+
+    /** The deadline the module is next scheduled to wake at */
+    private long wake = Long.MAX_VALUE;
+
+    /** The time without a newer state before a state is saved in milliseconds */
+    private volatile long interval = INTERVAL;
+
+    /** The maximum time a state waits to be saved in milliseconds */
+    private volatile long delay = DELAY;
+
+    /** The number of states requested to be saved */
+    private volatile long requested;
+
+    /** The number of requested states replaced by a newer state before they were saved */
+    private volatile long coalesced;
+
+    /** The number of completed saves */
+    private volatile long saved;
+
+    /** The duration of the most recent save in nanoseconds */
+    private volatile long saveTime;
 
     /**
      * @param context The application context
+     * @param scheduler The scheduler for the engine
      */
-    Saves(Context context) {
+    Saves(Context context, Scheduler scheduler) {
 
         this.context = context;
+        this.file = SnapshotFactory.getDefaultFile(context);
+        this.saveLane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_BACKGROUND);
     }
 
+    /**
+     * Request a new state to be saved
+     *
+     * <p>The request is handled on the calling thread, which should be the lane of the module.</p>
+     *
+     * @param state The updated state
+     */
     @Override
     public void notify(@NonNull Updatable state) {
 
@@ -90,31 +223,238 @@ public final class Saves implements Notifiable {
             throw new IllegalArgumentException("Unable to process a null state");
         }
 
-        if (this.state != state && state instanceof Savable) {
-
-            this.state = (Savable) state;
+        if (this.state != state && (state instanceof Savable || state instanceof Writable)) {
 
-            if (saveLock.tryAcquire()) {
+            this.state = state;
 
-                try {
+            long time = System.currentTimeMillis();
 
-                    saveExecutor.submit(new SaveWorker());
-                }
-                catch (RejectedExecutionException ignored) {
+            if (pending != null) {
 
-                    saveLock.release();
+                coalesced++;
+            }
+            else {
 
-                    throw new IllegalStateException("Unable to process saves after the module is shutdown");
-                }
+                first = time;
             }
+
+            pending = state;
+            last = time;
+            requested++;
+
+            schedule();
+        }
+    }
+
+    /**
+     * Set the debounce timing of the module
+     *
+     * @param interval The time without a newer state before a state is saved in milliseconds
+     * @param delay The maximum time a state waits to be saved in milliseconds
+     *
+     * @throws IllegalArgumentException If the interval is negative or the delay is less than the interval
+     */
+    public final void setDebounce(long interval, long delay) {
+
+        if (interval < 0) {
+
+            throw new IllegalArgumentException("Unable to set a negative save interval");
+        }
+
+        if (delay < interval) {
+
+            throw new IllegalArgumentException("Unable to set a save delay less than the save interval");
         }
+
+        this.interval = interval;
+        this.delay = delay;
+    }
+
+    /**
+     * Set whether snapshots are compressed, which makes them smaller but slower to save and restore
+     *
+     * @param isCompressed Whether snapshots are compressed
+     */
+    public final void setCompressed(boolean isCompressed) {
+
+        this.isCompressed = isCompressed;
+    }
+
+    /**
+     * Set whether writable states are saved as snapshots, which should be disabled while a journal takes the
+     * snapshots instead
+     *
+     * @param isSnapshotEnabled Whether writable states are saved as snapshots
+     */
+    public final void setSnapshotEnabled(boolean isSnapshotEnabled) {
+
+        this.isSnapshotEnabled = isSnapshotEnabled;
     }
 
     /**
-     * Shutdown any active threads
+     * Get the lane used to save states, which should be used to notify the module
+     *
+     * @return The lane used to save states
+     */
+    @NonNull
+    public final Lane getLane() {
+
+        return saveLane;
+    }
+
+    /**
+     * Get the number of states requested to be saved
+     *
+     * @return The number of requested saves
+     */
+    public final long getRequestedCount() {
+
+        return requested;
+    }
+
+    /**
+     * Get the number of requested states replaced by a newer state before they were saved
+     *
+     * @return The number of coalesced saves
+     */
+    public final long getCoalescedCount() {
+
+        return coalesced;
+    }
+
+    /**
+     * Get the number of completed saves
+     *
+     * @return The number of completed saves
+     */
+    public final long getSavedCount() {
+
+        return saved;
+    }
+
+    /**
+     * Get the duration of the most recent save
+     *
+     * @return The duration of the most recent save in nanoseconds
+     */
+    public final long getSaveTime() {
+
+        return saveTime;
+    }
+
+    /**
+     * Save the newest unsaved state and shutdown any active threads
+     *
+     * <p>Returns without waiting. The final save runs on the lane of the module, after any state the module was
+     * already notified about.</p>
      */
     public final void stop() {
 
-        saveExecutor.shutdown();
+        stop(null);
+    }
+
+    /**
+     * Save a final state and shutdown any active threads
+     *
+     * <p>Returns without waiting. The final save runs on the lane of the module, after any state the module was
+     * already notified about.</p>
+     *
+     * @param state The final state, or null to save the newest state already requested
+     */
+    public final void stop(Updatable state) {
+
+        try {
+
+            saveLane.execute(new FlushWorker(state));
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    /**
+     * Get the time the newest unsaved state is due to be saved
+     *
+     * @return The time the newest unsaved state is due in milliseconds
+     */
+    private long getDeadline() {
+
+        return Math.min(last + interval, first + delay);
+    }
+
+    /**
+     * Wake when the newest unsaved state is due to be saved
+     */
+    private void schedule() {
+
+        long deadline = getDeadline();
+
+        if (pending != null && deadline < wake) {
+
+            wake = deadline;
+
+            try {
+
+                long timeout = Math.max(0, deadline - System.currentTimeMillis());
+
+                saveLane.schedule(new SaveWorker(deadline), timeout, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException ignored) {
+
+                throw new IllegalStateException("Unable to process saves after the module is shutdown");
+            }
+        }
+    }
+
+    /**
+     * Wake to save the newest unsaved state again once the save interval has passed
+     */
+    private void retry() {
+
+        long time = System.currentTimeMillis();
+
+        first = time;
+        last = time;
+
+        schedule();
+    }
+
+    /**
+     * Save the newest unsaved state on the calling thread, which stays unsaved if the save fails
+     *
+     * @throws IOException If the snapshot of the state could not be written
+     */
+    private void save() throws IOException {
+
+        Updatable state = pending;
+
+        if (state == null) {
+
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        if (state instanceof Writable && isSnapshotEnabled) {
+
+            if (writer == null || writer.isCompressed() != isCompressed) {
+
+                writer = SnapshotFactory.createWriter(isCompressed);
+            }
+
+            writer.reset();
+
+            ((Writable) state).write(writer);
+
+            writer.commit(file);
+        }
+
+        if (state instanceof Savable) {
+
+            ((Savable) state).save(context);
+        }
+
+        pending = null;
+        saveTime = System.nanoTime() - start;
+        saved++;
     }
 }
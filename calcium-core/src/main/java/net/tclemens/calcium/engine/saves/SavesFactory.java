@@ -19,6 +19,8 @@ package net.tclemens.calcium.engine.saves;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+
 /**
  * This class is responsible for creating and initializing saves modules
  *
@@ -33,31 +35,38 @@ public final class SavesFactory {
      * Create a saves module
      *
      * @param context The application context
+     * @param scheduler The scheduler for the engine
      *
      * @return The new saves module
      *
-     * @throws IllegalArgumentException If the application context is invalid
+     * @throws IllegalArgumentException If the application context or scheduler is invalid
      */
     @NonNull
-    public static Saves createModule(@NonNull Context context) {
+    public static Saves createModule(@NonNull Context context, @NonNull Scheduler scheduler) {
 
         if (context == null) {
 
             throw new IllegalArgumentException("Unable to create a saves module with a null application context");
         }
 
-        return buildModule(context);
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("Unable to create a saves module with a null scheduler");
+        }
+
+        return buildModule(context, scheduler);
     }
 
     /**
      * Create a saves module
      *
      * @param context The application context
+     * @param scheduler The scheduler for the engine
      *
      * @return The new saves module
      */
-    static Saves buildModule(Context context) {
+    static Saves buildModule(Context context, Scheduler scheduler) {
 
-        return new Saves(context);
+        return new Saves(context, scheduler);
     }
 }
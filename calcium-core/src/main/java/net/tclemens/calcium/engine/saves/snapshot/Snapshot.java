@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.saves.snapshot;
+
+import java.nio.charset.Charset;
+
+/**
+ * This class defines the layout of a binary snapshot
+ *
+ * @author Tim Clemens
+ */
+final class Snapshot {
+
+    /** The value identifying a snapshot file */
+    static final int MAGIC = 0x4E534143;
+
+    /** The version of the snapshot layout */
+    static final int VERSION = 2;
+
+    /** The flag set when the values of the snapshot are compressed */
+    static final int FLAG_COMPRESSED = 1;
+
+    /** The size of the snapshot header in bytes */
+    static final int HEADER_SIZE = 24;
+
+    /** The string index written before a string which has not been written before */
+    static final int NEW_STRING = -1;
+
+    /** The character set used to write strings */
+    static final Charset CHARSET = Charset.forName("UTF-8");
+
+    private Snapshot() {
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.saves.snapshot;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This class is responsible for creating snapshot writers and readers
+ *
+ * @author Tim Clemens
+ */
+public final class SnapshotFactory {
+
+    /** The name of the default snapshot file */
+    private static final String FILE_NAME = "calcium.snapshot";
+
+    private SnapshotFactory() {
+    }
+
+    /**
+     * Get the default snapshot file of an application
+     *
+     * @param context The application context
+     *
+     * @return The default snapshot file
+     *
+     * @throws IllegalArgumentException If the application context is null
+     */
+    @NonNull
+    public static File getDefaultFile(@NonNull Context context) {
+
+        if (context == null) {
+
+            throw new IllegalArgumentException("Unable to get a snapshot file with a null application context");
+        }
+
+        return new File(context.getFilesDir(), FILE_NAME);
+    }
+
+    /**
+     * Create a snapshot writer
+     *
+     * @param isCompressed Whether the snapshot is compressed when committed
+     *
+     * @return The new snapshot writer
+     */
+    @NonNull
+    public static SnapshotWriter createWriter(boolean isCompressed) {
+
+        return new SnapshotWriter(isCompressed);
+    }
+
+    /**
+     * Create and validate a snapshot reader for a snapshot file
+     *
+     * @param file The snapshot file
+     *
+     * @return The new snapshot reader
+     *
+     * @throws IllegalArgumentException If the file is null
+     * @throws IOException If the file could not be read or is not a valid snapshot
+     */
+    @NonNull
+    public static SnapshotReader createReader(@NonNull File file) throws IOException {
+
+        if (file == null) {
+
+            throw new IllegalArgumentException("Unable to create a snapshot reader with a null file");
+        }
+
+        return SnapshotReader.open(file);
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.saves.snapshot;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * This class is responsible for reading the values of a binary snapshot in the order they were written
+ *
+ * <p>An uncompressed snapshot is read directly from a memory-mapped file without copying it into the heap.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class SnapshotReader {
+
+    /** The strings read from the snapshot, in the order they were first written */
+    private final List<String> strings = new ArrayList<>();
+
+    /** The buffer containing the values of the snapshot */
+    private final ByteBuffer buffer;
+
+    /** The sequence of the last update contained in the snapshot */
+    private final long sequence;
+
+    /**
+     * @param buffer The buffer containing the values of the snapshot
+     * @param sequence The sequence of the last update contained in the snapshot
+     */
+    private SnapshotReader(ByteBuffer buffer, long sequence) {
+
+        this.buffer = buffer;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Get the sequence of the last update contained in the snapshot, which is used to replay a journal from the
+     * snapshot
+     *
+     * @return The sequence of the last update contained in the snapshot
+     */
+    public final long getSequence() {
+
+        return sequence;
+    }
+
+    /**
+     * Get the number of bytes which have not been read
+     *
+     * @return The number of bytes remaining
+     */
+    public final int remaining() {
+
+        return buffer.remaining();
+    }
+
+    /**
+     * Read a boolean value
+     *
+     * @return The value
+     */
+    public final boolean readBoolean() {
+
+        return buffer.get() != 0;
+    }
+
+    /**
+     * Read a byte value
+     *
+     * @return The value
+     */
+    public final byte readByte() {
+
+        return buffer.get();
+    }
+
+    /**
+     * Read an integer value
+     *
+     * @return The value
+     */
+    public final int readInt() {
+
+        return buffer.getInt();
+    }
+
+    /**
+     * Read a long value
+     *
+     * @return The value
+     */
+    public final long readLong() {
+
+        return buffer.getLong();
+    }
+
+    /**
+     * Read a float value
+     *
+     * @return The value
+     */
+    public final float readFloat() {
+
+        return buffer.getFloat();
+    }
+
+    /**
+     * Read a double value
+     *
+     * @return The value
+     */
+    public final double readDouble() {
+
+        return buffer.getDouble();
+    }
+
+    /**
+     * Read a string
+     *
+     * @return The string
+     *
+     * @throws IllegalStateException If the snapshot refers to a string which was not written
+     */
+    @NonNull
+    public final String readString() {
+
+        int index = buffer.getInt();
+
+        if (index != Snapshot.NEW_STRING) {
+
+            if (index < 0 || index >= strings.size()) {
+
+                throw new IllegalStateException("Unable to read a string which was not written to the snapshot");
+            }
+
+            return strings.get(index);
+        }
+
+        byte[] bytes = new byte[readLength(1)];
+
+        buffer.get(bytes);
+
+        String value = new String(bytes, Snapshot.CHARSET);
+
+        strings.add(value);
+
+        return value;
+    }
+
+    /**
+     * Read a length-prefixed array of bytes
+     *
+     * @return The values
+     */
+    @NonNull
+    public final byte[] readBytes() {
+
+        byte[] values = new byte[readLength(1)];
+
+        buffer.get(values);
+
+        return values;
+    }
+
+    /**
+     * Read a length-prefixed array of integers
+     *
+     * @return The values
+     */
+    @NonNull
+    public final int[] readInts() {
+
+        int[] values = new int[readLength(4)];
+
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 4);
+
+        return values;
+    }
+
+    /**
+     * Read a length-prefixed array of floats
+     *
+     * @return The values
+     */
+    @NonNull
+    public final float[] readFloats() {
+
+        float[] values = new float[readLength(4)];
+
+        buffer.asFloatBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 4);
+
+        return values;
+    }
+
+    /**
+     * Read a length-prefixed array of longs
+     *
+     * @return The values
+     */
+    @NonNull
+    public final long[] readLongs() {
+
+        long[] values = new long[readLength(8)];
+
+        buffer.asLongBuffer().get(values);
+        buffer.position(buffer.position() + values.length * 8);
+
+        return values;
+    }
+
+    /**
+     * Read the length of an array and check it fits the remaining bytes
+     *
+     * @param stride The size of each element in bytes
+     *
+     * @return The length of the array
+     *
+     * @throws IllegalStateException If the length is invalid
+     */
+    private int readLength(int stride) {
+
+        int length = buffer.getInt();
+
+        if (length < 0 || (long) length * stride > buffer.remaining()) {
+
+            throw new IllegalStateException("Unable to read an array with an invalid length");
+        }
+
+        return length;
+    }
+
+    /**
+     * Open a snapshot file for reading
+     *
+     * @param file The snapshot file
+     *
+     * @return The snapshot reader
+     *
+     * @throws IOException If the file could not be read or is not a valid snapshot
+     */
+    static SnapshotReader open(File file) throws IOException {
+
+        ByteBuffer buffer;
+        RandomAccessFile stream = new RandomAccessFile(file, "r");
+
+        try {
+
+            FileChannel channel = stream.getChannel();
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        finally {
+
+            stream.close();
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.remaining() < Snapshot.HEADER_SIZE || buffer.getInt() != Snapshot.MAGIC) {
+
+            throw new IOException("Unable to read a file which is not a snapshot " + file);
+        }
+
+        if (buffer.getInt() != Snapshot.VERSION) {
+
+            throw new IOException("Unable to read a snapshot with an unsupported version " + file);
+        }
+
+        int flags = buffer.getInt();
+        int length = buffer.getInt();
+        long sequence = buffer.getLong();
+
+        if ((flags & Snapshot.FLAG_COMPRESSED) == 0) {
+
+            if (length != buffer.remaining()) {
+
+                throw new IOException("Unable to read a truncated snapshot " + file);
+            }
+
+            return new SnapshotReader(buffer.slice().order(ByteOrder.LITTLE_ENDIAN), sequence);
+        }
+
+        return new SnapshotReader(inflate(buffer, length, file), sequence);
+    }
+
+    /**
+     * Decompress the values of a snapshot
+     *
+     * @param buffer The compressed values
+     * @param length The length of the decompressed values
+     * @param file The snapshot file
+     *
+     * @return The decompressed values
+     *
+     * @throws IOException If the values could not be decompressed
+     */
+    private static ByteBuffer inflate(ByteBuffer buffer, int length, File file) throws IOException {
+
+        byte[] input = new byte[buffer.remaining()];
+        byte[] output = new byte[length];
+
+        buffer.get(input);
+
+        Inflater inflater = new Inflater();
+
+        try {
+
+            inflater.setInput(input);
+
+            int size = 0;
+
+            while (size < length && !inflater.finished()) {
+
+                int count = inflater.inflate(output, size, length - size);
+
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+
+                    break;
+                }
+
+                size += count;
+            }
+
+            if (size != length) {
+
+                throw new IOException("Unable to read a truncated snapshot " + file);
+            }
+        }
+        catch (DataFormatException e) {
+
+            throw new IOException("Unable to read a corrupt snapshot " + file, e);
+        }
+        finally {
+
+            inflater.end();
+        }
+
+        return ByteBuffer.wrap(output).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.saves.snapshot;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * This class is responsible for writing a state into a compact binary snapshot
+ *
+ * <p>Values are written in little-endian order without any field names or type information, arrays and strings are
+ * prefixed with their length, and each distinct string is written once and referred to by index afterwards. The
+ * snapshot is committed to a temporary file which is then renamed over the destination, so a snapshot on disk is
+ * never partially written.</p>
+ *
+ * <p>A writer may be reused for several snapshots by resetting it, which keeps its buffer.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class SnapshotWriter {
+
+    /** The initial capacity of the buffer in bytes */
+    private static final int CAPACITY = 64 * 1024;
+
+    /** The indices of each distinct string written to the snapshot */
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /** Whether the snapshot is compressed when committed */
+    private final boolean isCompressed;
+
+    /** The buffer containing the written values */
+    private ByteBuffer buffer = ByteBuffer.allocate(CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * @param isCompressed Whether the snapshot is compressed when committed
+     */
+    SnapshotWriter(boolean isCompressed) {
+
+        this.isCompressed = isCompressed;
+    }
+
+    /**
+     * Get whether the snapshot is compressed when committed
+     *
+     * @return Whether the snapshot is compressed
+     */
+    public final boolean isCompressed() {
+
+        return isCompressed;
+    }
+
+    /**
+     * Discard every written value so the writer can be reused
+     */
+    public final void reset() {
+
+        buffer.clear();
+        strings.clear();
+    }
+
+    /**
+     * Get the number of bytes written to the snapshot before compression
+     *
+     * @return The number of bytes written
+     */
+    public final int size() {
+
+        return buffer.position();
+    }
+
+    /**
+     * Write a boolean value
+     *
+     * @param value The value to write
+     */
+    public final void writeBoolean(boolean value) {
+
+        reserve(1).put(value ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Write a byte value
+     *
+     * @param value The value to write
+     */
+    public final void writeByte(byte value) {
+
+        reserve(1).put(value);
+    }
+
+    /**
+     * Write an integer value
+     *
+     * @param value The value to write
+     */
+    public final void writeInt(int value) {
+
+        reserve(4).putInt(value);
+    }
+
+    /**
+     * Write a long value
+     *
+     * @param value The value to write
+     */
+    public final void writeLong(long value) {
+
+        reserve(8).putLong(value);
+    }
+
+    /**
+     * Write a float value
+     *
+     * @param value The value to write
+     */
+    public final void writeFloat(float value) {
+
+        reserve(4).putFloat(value);
+    }
+
+    /**
+     * Write a double value
+     *
+     * @param value The value to write
+     */
+    public final void writeDouble(double value) {
+
+        reserve(8).putDouble(value);
+    }
+
+    /**
+     * Write a string, or a reference to the string if it was already written
+     *
+     * @param value The string to write
+     *
+     * @throws IllegalArgumentException If the string is null
+     */
+    public final void writeString(@NonNull String value) {
+
+        if (value == null) {
+
+            throw new IllegalArgumentException("Unable to write a null string");
+        }
+
+        Integer index = strings.get(value);
+
+        if (index != null) {
+
+            writeInt(index);
+
+            return;
+        }
+
+        strings.put(value, strings.size());
+
+        byte[] bytes = value.getBytes(Snapshot.CHARSET);
+
+        writeInt(Snapshot.NEW_STRING);
+        writeInt(bytes.length);
+
+        reserve(bytes.length).put(bytes);
+    }
+
+    /**
+     * Write a length-prefixed array of bytes
+     *
+     * @param values The values to write
+     *
+     * @throws IllegalArgumentException If the array is null
+     */
+    public final void writeBytes(@NonNull byte[] values) {
+
+        if (values == null) {
+
+            throw new IllegalArgumentException("Unable to write a null array");
+        }
+
+        writeInt(values.length);
+
+        reserve(values.length).put(values);
+    }
+
+    /**
+     * Write a length-prefixed array of integers
+     *
+     * @param values The values to write
+     *
+     * @throws IllegalArgumentException If the array is null
+     */
+    public final void writeInts(@NonNull int[] values) {
+
+        if (values == null) {
+
+            throw new IllegalArgumentException("Unable to write a null array");
+        }
+
+        writeInt(values.length);
+
+        ByteBuffer buffer = reserve(values.length * 4);
+
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * 4);
+    }
+
+    /**
+     * Write a length-prefixed array of floats
+     *
+     * @param values The values to write
+     *
+     * @throws IllegalArgumentException If the array is null
+     */
+    public final void writeFloats(@NonNull float[] values) {
+
+        if (values == null) {
+
+            throw new IllegalArgumentException("Unable to write a null array");
+        }
+
+        writeInt(values.length);
+
+        ByteBuffer buffer = reserve(values.length * 4);
+
+        buffer.asFloatBuffer().put(values);
+        buffer.position(buffer.position() + values.length * 4);
+    }
+
+    /**
+     * Write a length-prefixed array of longs
+     *
+     * @param values The values to write
+     *
+     * @throws IllegalArgumentException If the array is null
+     */
+    public final void writeLongs(@NonNull long[] values) {
+
+        if (values == null) {
+
+            throw new IllegalArgumentException("Unable to write a null array");
+        }
+
+        writeInt(values.length);
+
+        ByteBuffer buffer = reserve(values.length * 8);
+
+        buffer.asLongBuffer().put(values);
+        buffer.position(buffer.position() + values.length * 8);
+    }
+
+    /**
+     * Write the snapshot to a file, replacing the file atomically
+     *
+     * @param file The file to write the snapshot to
+     *
+     * @throws IllegalArgumentException If the file is null
+     * @throws IOException If the snapshot could not be written
+     */
+    public final void commit(@NonNull File file) throws IOException {
+
+        commit(file, 0);
+    }
+
+    /**
+     * Write the snapshot to a file with the sequence of the last update it contains, replacing the file atomically
+     *
+     * @param file The file to write the snapshot to
+     * @param sequence The sequence of the last update contained in the snapshot
+     *
+     * @throws IllegalArgumentException If the file is null
+     * @throws IOException If the snapshot could not be written
+     */
+    public final void commit(@NonNull File file, long sequence) throws IOException {
+
+        if (file == null) {
+
+            throw new IllegalArgumentException("Unable to commit a snapshot to a null file");
+        }
+
+        int length = buffer.position();
+        ByteBuffer payload = ByteBuffer.wrap(buffer.array(), buffer.arrayOffset(), length);
+
+        if (isCompressed) {
+
+            payload = compress(buffer.array(), buffer.arrayOffset(), length);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(Snapshot.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.putInt(Snapshot.MAGIC);
+        header.putInt(Snapshot.VERSION);
+        header.putInt(isCompressed ? Snapshot.FLAG_COMPRESSED : 0);
+        header.putInt(length);
+        header.putLong(sequence);
+        header.flip();
+
+        File temp = new File(file.getPath() + ".tmp");
+        FileOutputStream stream = new FileOutputStream(temp);
+
+        try {
+
+            FileChannel channel = stream.getChannel();
+
+            while (header.hasRemaining()) {
+
+                channel.write(header);
+            }
+
+            while (payload.hasRemaining()) {
+
+                channel.write(payload);
+            }
+
+            channel.force(true);
+        }
+        finally {
+
+            stream.close();
+        }
+
+        if (!temp.renameTo(file)) {
+
+            throw new IOException("Unable to replace the snapshot " + file);
+        }
+    }
+
+    /**
+     * Ensure the buffer has space for a number of bytes
+     *
+     * @param size The number of bytes to write
+     *
+     * @return The buffer
+     */
+    private ByteBuffer reserve(int size) {
+
+        if (buffer.remaining() < size) {
+
+            int capacity = Math.max(buffer.capacity() * 2, buffer.position() + size);
+            ByteBuffer grown = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.flip();
+            grown.put(buffer);
+
+            buffer = grown;
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Compress a range of bytes
+     *
+     * @param bytes The bytes to compress
+     * @param offset The offset of the range
+     * @param length The length of the range
+     *
+     * @return The compressed bytes
+     */
+    private static ByteBuffer compress(byte[] bytes, int offset, int length) {
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        try {
+
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+
+            byte[] output = new byte[Math.max(64, length / 2)];
+            int size = 0;
+
+            while (!deflater.finished()) {
+
+                if (size == output.length) {
+
+                    byte[] grown = new byte[output.length * 2];
+
+                    System.arraycopy(output, 0, grown, 0, size);
+
+                    output = grown;
+                }
+
+                size += deflater.deflate(output, size, output.length - size);
+            }
+
+            return ByteBuffer.wrap(output, 0, size);
+        }
+        finally {
+
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.scheduler;
+
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents a serial queue of tasks which runs on a shared scheduler
+ *
+ * <p>Tasks submitted to a lane run one at a time and in the order they were submitted, on whichever scheduler
+ * thread is available.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Lane {
+
+    /**
+     * This class represents an asynchronous worker which runs the queued tasks of the lane
+     */
+    private final class DrainWorker implements Runnable {
+
+        private DrainWorker() {
+        }
+
+        @Override
+        public void run() {
+
+            boolean isPrioritized = priority != Process.THREAD_PRIORITY_DEFAULT;
+
+            if (isPrioritized) {
+
+                Process.setThreadPriority(priority);
+            }
+
+            try {
+
+                for (int count = 0; count < LIMIT && !isShutdown; count++) {
+
+                    Runnable task = tasks.poll();
+
+                    if (task == null) {
+
+                        break;
+                    }
+
+                    try {
+
+                        task.run();
+                    }
+                    catch (Exception e) {
+
+                        Log.e("Scheduler", "An unhandled exception occurred", e);
+                    }
+                }
+            }
+            finally {
+
+                if (isPrioritized) {
+
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_DEFAULT);
+                }
+
+                isRunning.set(false);
+
+                try {
+
+                    drain();
+                }
+                catch (RejectedExecutionException ignored) {
+                }
+            }
+        }
+    }
+
+    /**
+     * This class represents an asynchronous worker which queues a task after a delay
+     */
+    private final class DelayWorker implements Runnable {
+
+        /** The task to queue */
+        private final Runnable task;
+
+        /**
+         * @param task The task to queue
+         */
+        private DelayWorker(Runnable task) {
+
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+
+            if (!isShutdown) {
+
+                tasks.add(task);
+
+                try {
+
+                    drain();
+                }
+                catch (RejectedExecutionException ignored) {
+                }
+            }
+        }
+    }
+
+    /** The maximum number of tasks run before the lane yields its thread to other lanes */
+    static final int LIMIT = 16;
+
+    /** The queued tasks of the lane */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /** The flag used to prevent the lane from running on more than one thread */
+    private final AtomicBoolean isRunning = new AtomicBoolean();
+
+    /** The scheduler the lane runs on */
+    private final Scheduler scheduler;
+
+    /** The thread priority of the lane */
+    private final int priority;
+
+    /** Whether the lane is shutdown */
+    private volatile boolean isShutdown;
+
+    /**
+     * @param scheduler The scheduler the lane runs on
+     * @param priority The thread priority of the lane
+     */
+    Lane(Scheduler scheduler, int priority) {
+
+        this.scheduler = scheduler;
+        this.priority = priority;
+    }
+
+    /**
+     * Get the thread priority of the lane
+     *
+     * @return The thread priority of the lane
+     */
+    public final int getPriority() {
+
+        return priority;
+    }
+
+    /**
+     * Queue a task to run after every previously queued task
+     *
+     * @param task The task to run
+     *
+     * @throws IllegalArgumentException If the task is null
+     * @throws RejectedExecutionException If the lane or its scheduler is shutdown
+     */
+    public final void execute(@NonNull Runnable task) {
+
+        if (task == null) {
+
+            throw new IllegalArgumentException("Unable to execute a null task");
+        }
+
+        if (isShutdown) {
+
+            throw new RejectedExecutionException("Unable to execute a task after the lane is shutdown");
+        }
+
+        tasks.add(task);
+
+        drain();
+    }
+
+    /**
+     * Queue a task to run after a delay
+     *
+     * @param task The task to run
+     * @param delay The delay before queueing the task
+     * @param unit The unit of the delay
+     *
+     * @throws IllegalArgumentException If the task or unit is null
+     * @throws RejectedExecutionException If the lane or its scheduler is shutdown
+     */
+    public final void schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+
+        if (task == null) {
+
+            throw new IllegalArgumentException("Unable to schedule a null task");
+        }
+
+        if (unit == null) {
+
+            throw new IllegalArgumentException("Unable to schedule a task with a null unit");
+        }
+
+        if (isShutdown) {
+
+            throw new RejectedExecutionException("Unable to schedule a task after the lane is shutdown");
+        }
+
+        scheduler.schedule(new DelayWorker(task), delay, unit);
+    }
+
+    /**
+     * Discard any queued tasks and reject any new tasks
+     */
+    public final void shutdown() {
+
+        isShutdown = true;
+
+        tasks.clear();
+    }
+
+    /**
+     * Run the queued tasks on the scheduler unless they are already running
+     */
+    private void drain() {
+
+        if (!isShutdown && !tasks.isEmpty() && isRunning.compareAndSet(false, true)) {
+
+            try {
+
+                scheduler.execute(new DrainWorker());
+            }
+            catch (RejectedExecutionException e) {
+
+                isRunning.set(false);
+
+                throw e;
+            }
+        }
+    }
+}
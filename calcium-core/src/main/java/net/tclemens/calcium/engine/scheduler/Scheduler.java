@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.scheduler;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is responsible for running the work of each engine module on a small shared thread pool
+ *
+ * <p>Each module submits its work to one or more serial lanes, so the work of a single lane runs in order without
+ * requiring a dedicated thread.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Scheduler {
+
+    /**
+     * This class is responsible for creating the scheduler threads
+     */
+    private static final class SchedulerThreadFactory implements ThreadFactory {
+
+        /** The number of scheduler threads created */
+        private final AtomicInteger count = new AtomicInteger();
+
+        private SchedulerThreadFactory() {
+        }
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+
+            Runnable worker = new Runnable() {
+
+                @Override
+                public void run() {
+
+                    markResponsive();
+
+                    runnable.run();
+                }
+            };
+
+            Thread thread = new Thread(worker, "Scheduler-" + count.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+
+    /** The time an idle scheduler thread is kept alive in seconds */
+    private static final long KEEP_ALIVE = 10;
+
+    /** Whether the current thread has been marked as a thread which must never block */
+    private static final ThreadLocal<Boolean> RESPONSIVE = new ThreadLocal<>();
+
+    /** The thread pool shared by each lane */
+    private final ScheduledThreadPoolExecutor executor;
+
+    /** The number of threads in the thread pool */
+    private final int threads;
+
+    /**
+     * @param threads The number of threads in the thread pool
+     */
+    Scheduler(int threads) {
+
+        this.threads = threads;
+        this.executor = new ScheduledThreadPoolExecutor(threads, new SchedulerThreadFactory());
+
+        executor.setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the number of threads in the thread pool
+     *
+     * @return The number of threads in the thread pool
+     */
+    public final int getThreads() {
+
+        return threads;
+    }
+
+    /**
+     * Mark the current thread as a thread which must never block waiting for another module, such as a rendering
+     * thread
+     *
+     * <p>Scheduler threads are marked when they start.</p>
+     */
+    public static void markResponsive() {
+
+        RESPONSIVE.set(Boolean.TRUE);
+    }
+
+    /**
+     * Check whether the current thread must never block waiting for another module
+     *
+     * @return Whether the current thread is the main thread or has been marked as responsive
+     */
+    public static boolean isResponsive() {
+
+        if (RESPONSIVE.get() != null) {
+
+            return true;
+        }
+
+        Looper main = Looper.getMainLooper();
+
+        return main != null && main == Looper.myLooper();
+    }
+
+    /**
+     * Run a task on the thread pool
+     *
+     * @param task The task to run
+     */
+    final void execute(Runnable task) {
+
+        executor.execute(task);
+    }
+
+    /**
+     * Run a task on the thread pool after a delay
+     *
+     * @param task The task to run
+     * @param delay The delay before running the task
+     * @param unit The unit of the delay
+     */
+    final void schedule(Runnable task, long delay, TimeUnit unit) {
+
+        executor.schedule(task, delay, unit);
+    }
+
+    /**
+     * Shutdown any active threads
+     */
+    public final void stop() {
+
+        executor.shutdown();
+    }
+}
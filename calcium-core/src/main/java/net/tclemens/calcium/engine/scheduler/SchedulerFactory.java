@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.scheduler;
+
+import android.support.annotation.NonNull;
+
+/**
+ * This class is responsible for creating schedulers and their lanes
+ *
+ * @author Tim Clemens
+ */
+public final class SchedulerFactory {
+
+    /** The maximum number of threads in a default scheduler */
+    private static final int MAXIMUM_THREADS = 4;
+
+    private SchedulerFactory() {
+    }
+
+    /**
+     * Create a scheduler with a thread for each core, up to a small maximum
+     *
+     * @return The new scheduler
+     */
+    @NonNull
+    public static Scheduler createScheduler() {
+
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        return buildScheduler(Math.max(2, Math.min(MAXIMUM_THREADS, cores)));
+    }
+
+    /**
+     * Create and validate a scheduler
+     *
+     * @param threads The number of threads in the scheduler
+     *
+     * @return The new scheduler
+     *
+     * @throws IllegalArgumentException If the number of threads is not positive
+     */
+    @NonNull
+    public static Scheduler createScheduler(int threads) {
+
+        if (threads < 1) {
+
+            throw new IllegalArgumentException("Unable to create a scheduler without a positive number of threads");
+        }
+
+        return buildScheduler(threads);
+    }
+
+    /**
+     * Create a scheduler
+     *
+     * @param threads The number of threads in the scheduler
+     *
+     * @return The new scheduler
+     */
+    static Scheduler buildScheduler(int threads) {
+
+        return new Scheduler(threads);
+    }
+
+    /**
+     * Create and validate a lane
+     *
+     * @param scheduler The scheduler the lane runs on
+     * @param priority The thread priority of the lane, as defined by {@link android.os.Process}
+     *
+     * @return The new lane
+     *
+     * @throws IllegalArgumentException If the scheduler is null or the priority is invalid
+     */
+    @NonNull
+    public static Lane createLane(@NonNull Scheduler scheduler, int priority) {
+
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("Unable to create a lane with a null scheduler");
+        }
+
+        if (priority < -20 || priority > 19) {
+
+            throw new IllegalArgumentException("Unable to create a lane with an invalid thread priority");
+        }
+
+        return buildLane(scheduler, priority);
+    }
+
+    /**
+     * Create a lane
+     *
+     * @param scheduler The scheduler the lane runs on
+     * @param priority The thread priority of the lane
+     *
+     * @return The new lane
+     */
+    static Lane buildLane(Scheduler scheduler, int priority) {
+
+        return new Lane(scheduler, priority);
+    }
+}
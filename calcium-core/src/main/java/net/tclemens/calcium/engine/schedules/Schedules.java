@@ -16,20 +16,21 @@
 
 package net.tclemens.calcium.engine.schedules;
 
+import android.os.Process;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+import net.tclemens.calcium.engine.scheduler.Lane;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
 import net.tclemens.calcium.engine.schedules.action.Action;
 import net.tclemens.calcium.engine.schedules.action.ActionFactory;
+import net.tclemens.calcium.engine.schedules.action.ActionQueue;
 import net.tclemens.calcium.engine.schedules.base.Schedulable;
 import net.tclemens.calcium.engine.updates.Updates;
 import net.tclemens.calcium.engine.updates.base.Notifiable;
@@ -39,16 +40,28 @@ import net.tclemens.calcium.engine.updates.event.Event;
 /**
  * This class is responsible for scheduling future actions for the engine
  *
+ * <p>Pending actions are kept in a queue ordered by deadline, and the module only wakes when the next action is
+ * due. The events of every action due at a wake are published as a single batch. Every method runs on the lane of
+ * the module, so the queue is never shared between threads.</p>
+ *
  * @author Tim Clemens
  */
 public final class Schedules implements Notifiable {
 
     /**
-     * This class represents an asynchronous worker which schedules actions from the current state
+     * This class represents an asynchronous worker which handles events from the actions due at a deadline
      */
-    private final class ScheduleWorker implements Runnable {
+    private final class UpdateWorker implements Runnable {
+
+        /** The deadline the worker was scheduled for */
+        private final long deadline;
 
-        private ScheduleWorker() {
+        /**
+         * @param deadline The deadline the worker was scheduled for
+         */
+        private UpdateWorker(long deadline) {
+
+            this.deadline = deadline;
         }
 
         @Override
@@ -56,49 +69,13 @@ public final class Schedules implements Notifiable {
 
             try {
 
-                Action next = state.schedule();
-
-                actionLock.acquire();
-
-                try {
-
-                    if (action == null) {
-
-                        action = next;
-                    }
-                    else if (action != next) {
-
-                        Collection<Action> actions = new ArrayList<>(2);
-
-                        actions.add(action);
-                        actions.add(next);
-
-                        action = ActionFactory.createComposite(actions);
-                    }
-
-                    if (updateLock.tryAcquire()) {
+                if (wake == deadline) {
 
-                        try {
+                    wake = Long.MAX_VALUE;
 
-                            updateExecutor.submit(new UpdateWorker());
-                        }
-                        catch (RejectedExecutionException e) {
-
-                            throw new IllegalStateException("Unable to process schedules after the module is shutdown");
-                        }
-                        finally {
-
-                            updateLock.release();
-                        }
-                    }
-                }
-                finally {
-
-                    actionLock.release();
+                    update();
                 }
             }
-            catch (InterruptedException ignored) {
-            }
             catch (Exception e) {
 
                 Log.e("Schedules", "An unhandled exception occurred", e);
@@ -106,111 +83,140 @@ public final class Schedules implements Notifiable {
         }
     }
 
-    /**
-     * This class represents an asynchronous worker which handles events from scheduled actions on the current state
-     */
-    private final class UpdateWorker implements Runnable {
+    /** The lane used to schedule and perform future actions */
+    private final Lane scheduleLane;
 
-        private UpdateWorker() {
-        }
+    /** The pending actions ordered by deadline */
+    private final ActionQueue queue = ActionFactory.createQueue();
 
-        @Override
-        public void run() {
+    /** The events of the actions due in the current update */
+    private final Collection<Event> events = new ArrayList<>();
 
-            try {
+    /** The updates module for the engine */
+    private final Updates updates;
 
-                long time = System.currentTimeMillis();
+    /** The current schedulable state */
+    private volatile Schedulable state;
 
-                actionLock.acquire();
+    /** The most recent action scheduled by a state */
+    private Action action;
 
-                try {
+    /** The deadline the module is next scheduled to wake at */
+    private long wake = Long.MAX_VALUE;
 
-                    action = action.update(time);
+    /** The number of pending actions, published by the lane after each change to the queue */
+    private volatile int pending;
 
-                    for (Event event : action.getEvents()) {
+    /**
+     * @param updates The updates module for the engine
+     * @param scheduler The scheduler for the engine
+     */
+    Schedules(Updates updates, Scheduler scheduler) {
 
-                        updates.handle(event);
-                    }
+        this.updates = updates;
+        this.scheduleLane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+    }
 
-                    if (action.isPending()) {
+    /**
+     * Schedule the next action of a new state
+     *
+     * <p>The action is scheduled on the calling thread, which should be the lane of the module.</p>
+     *
+     * @param state The updated state
+     */
+    @Override
+    public void notify(@NonNull Updatable state) {
 
-                        long duration = 1000 / 60;
-                        long delay = time + duration - System.currentTimeMillis();
+        if (state == null) {
 
-                        try {
+            throw new IllegalArgumentException("Unable to process a null state");
+        }
 
-                            updateExecutor.schedule(new UpdateWorker(), delay, TimeUnit.MILLISECONDS);
-                        }
-                        catch (RejectedExecutionException e) {
+        if (this.state != state && state instanceof Schedulable) {
 
-                            updateLock.release();
+            this.state = (Schedulable) state;
 
-                            throw new IllegalStateException("Unable to process schedules after the module is shutdown");
-                        }
-                    }
-                    else {
+            schedule();
+        }
+    }
 
-                        updateLock.release();
-                    }
-                }
-                finally {
+    /**
+     * Get the lane used to schedule future actions, which should be used to notify the module
+     *
+     * @return The lane used to schedule future actions
+     */
+    @NonNull
+    public final Lane getLane() {
 
-                    actionLock.release();
-                }
-            }
-            catch (InterruptedException ignored) {
-            }
-            catch (Exception e) {
+        return scheduleLane;
+    }
 
-                Log.e("Schedules", "An unhandled exception occurred", e);
-            }
-        }
+    /**
+     * Get the number of pending actions as of the most recent change to the queue, which may be called from any
+     * thread
+     *
+     * @return The number of pending actions
+     */
+    public final int getPending() {
+
+        return pending;
     }
 
-    /** The thread pool used to asynchronously schedule future actions */
-    private final ExecutorService scheduleExecutor = Executors.newSingleThreadExecutor();
+    /**
+     * Shutdown any active threads
+     */
+    public final void stop() {
 
-    /** The thread pool used to asynchronously perform scheduled actions */
-    private final ScheduledExecutorService updateExecutor = Executors.newSingleThreadScheduledExecutor();
+        scheduleLane.shutdown();
+    }
 
-    /** The lock used to synchronize handling events from scheduled actions */
-    private final Semaphore updateLock = new Semaphore(1);
+    /**
+     * Add the next action of the current state to the queue, unless it was already added
+     */
+    private void schedule() {
 
-    /** The lock used to synchronize access to scheduled actions */
-    private final Semaphore actionLock = new Semaphore(1);
+        Action next = state.schedule();
 
-    /** The updates module for the engine */
-    private final Updates updates;
+        if (next != action) {
 
-    /** The current schedulable state */
-    private volatile Schedulable state;
+            action = next;
 
-    /** The current scheduled action */
-    private volatile Action action;
+            queue.schedule(next, System.currentTimeMillis());
+
+            update();
+        }
+    }
 
     /**
-     * @param updates The updates module for the engine
+     * Handle the events of each due action and wake again at the next deadline
      */
-    Schedules(Updates updates) {
+    private void update() {
 
-        this.updates = updates;
-    }
+        long time = System.currentTimeMillis();
 
-    @Override
-    public void notify(@NonNull Updatable state) {
+        if (queue.poll(time, events) > 0) {
 
-        if (state == null) {
+            try {
 
-            throw new IllegalArgumentException("Unable to process a null state");
+                updates.handle(events);
+            }
+            finally {
+
+                events.clear();
+            }
         }
 
-        if (this.state != state && state instanceof Schedulable) {
+        pending = queue.size();
 
-            this.state = (Schedulable) state;
+        long deadline = queue.getDeadline();
+
+        if (deadline < wake) {
+
+            wake = deadline;
 
             try {
 
-                scheduleExecutor.submit(new ScheduleWorker());
+                scheduleLane.schedule(new UpdateWorker(deadline), Math.max(0, deadline - time), TimeUnit.MILLISECONDS);
             }
             catch (RejectedExecutionException ignored) {
 
@@ -218,13 +224,4 @@ public final class Schedules implements Notifiable {
             }
         }
     }
-
-    /**
-     * Shutdown any active threads
-     */
-    public final void stop() {
-
-        scheduleExecutor.shutdown();
-        updateExecutor.shutdown();
-    }
 }
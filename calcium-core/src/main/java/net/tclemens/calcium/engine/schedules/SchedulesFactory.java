@@ -18,6 +18,7 @@ package net.tclemens.calcium.engine.schedules;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.engine.scheduler.Scheduler;
 import net.tclemens.calcium.engine.updates.Updates;
 
 /**
@@ -34,31 +35,38 @@ public final class SchedulesFactory {
      * Create a schedules module
      *
      * @param updates The updates module for the engine
+     * @param scheduler The scheduler for the engine
      *
      * @return The new schedules module
      *
-     * @throws IllegalArgumentException If the updates module is invalid
+     * @throws IllegalArgumentException If the updates module or scheduler is invalid
      */
     @NonNull
-    public static Schedules createModule(@NonNull Updates updates) {
+    public static Schedules createModule(@NonNull Updates updates, @NonNull Scheduler scheduler) {
 
         if (updates == null) {
 
             throw new IllegalArgumentException("Unable to create a schedules module with a null updates module");
         }
 
-        return buildModule(updates);
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("Unable to create a schedules module with a null scheduler");
+        }
+
+        return buildModule(updates, scheduler);
     }
 
     /**
      * Create a schedules module
      *
      * @param updates The updates module for the engine
+     * @param scheduler The scheduler for the engine
      *
      * @return The new schedules module
      */
-    static Schedules buildModule(Updates updates) {
+    static Schedules buildModule(Updates updates, Scheduler scheduler) {
 
-        return new Schedules(updates);
+        return new Schedules(updates, scheduler);
     }
 }
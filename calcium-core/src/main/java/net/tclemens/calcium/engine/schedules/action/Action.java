@@ -56,4 +56,12 @@ public abstract class Action {
      */
     @NonNull
     public abstract Action update(long time);
+
+    /**
+     * Add each pending action in the action to a queue
+     *
+     * @param queue The queue of pending actions
+     * @param time The current time in milliseconds
+     */
+    abstract void enqueue(ActionQueue queue, long time);
 }
@@ -21,6 +21,7 @@ import android.support.annotation.NonNull;
 import java.util.Collection;
 import java.util.Collections;
 
+import net.tclemens.calcium.engine.schedules.policy.Missed;
 import net.tclemens.calcium.engine.updates.event.Event;
 
 /**
@@ -82,6 +83,92 @@ public final class ActionFactory {
         return new DelayedAction(name, time);
     }
 
+    /**
+     * Create a repeating action which coalesces missed occurrences
+     *
+     * @param name The name of the action
+     * @param start The time of the first occurrence in milliseconds
+     * @param period The time between occurrences in milliseconds
+     *
+     * @return The new action
+     *
+     * @throws IllegalArgumentException If the action name, start time or period is invalid
+     */
+    @NonNull
+    public static Action createRepeating(@NonNull String name, long start, long period) {
+
+        return createFixedRate(name, start, period, Missed.COALESCE);
+    }
+
+    /**
+     * Create a fixed-rate action, whose occurrences are due at the start time plus a whole number of periods
+     *
+     * @param name The name of the action
+     * @param start The time of the first occurrence in milliseconds
+     * @param period The time between occurrences in milliseconds
+     * @param missed The policy for occurrences missed because the engine woke late
+     *
+     * @return The new action
+     *
+     * @throws IllegalArgumentException If the action name, start time, period or missed policy is invalid
+     */
+    @NonNull
+    public static Action createFixedRate(@NonNull String name, long start, long period, @NonNull Missed missed) {
+
+        if (name == null) {
+
+            throw new IllegalArgumentException("Unable to create an action with a null name string");
+        }
+
+        if (start < 0) {
+
+            throw new IllegalArgumentException("Unable to create an action with a negative start time");
+        }
+
+        if (period <= 0) {
+
+            throw new IllegalArgumentException("Unable to create an action without a positive period");
+        }
+
+        if (missed == null) {
+
+            throw new IllegalArgumentException("Unable to create an action with a null missed policy");
+        }
+
+        return buildFixedRate(name, start, period, missed);
+    }
+
+    /**
+     * Create an action which cancels the pending action with a name
+     *
+     * @param name The name of the action to cancel
+     *
+     * @return The new action
+     *
+     * @throws IllegalArgumentException If the action name is invalid
+     */
+    @NonNull
+    public static Action createCancel(@NonNull String name) {
+
+        if (name == null) {
+
+            throw new IllegalArgumentException("Unable to create an action with a null name string");
+        }
+
+        return buildCancel(name);
+    }
+
+    /**
+     * Create an empty queue of pending actions
+     *
+     * @return The new queue
+     */
+    @NonNull
+    public static ActionQueue createQueue() {
+
+        return new ActionQueue();
+    }
+
     /**
      * Create a composite action
      *
@@ -133,6 +220,28 @@ public final class ActionFactory {
         return new DelayedAction(name, time);
     }
 
+    /**
+     * Create a fixed-rate action
+     *
+     * @return The new action
+     */
+    @NonNull
+    static Action buildFixedRate(String name, long start, long period, Missed missed) {
+
+        return new RepeatingAction(name, start, period, missed);
+    }
+
+    /**
+     * Create a cancel action
+     *
+     * @return The new action
+     */
+    @NonNull
+    static Action buildCancel(String name) {
+
+        return new CancelAction(name);
+    }
+
     /**
      * Create a composite action
      *
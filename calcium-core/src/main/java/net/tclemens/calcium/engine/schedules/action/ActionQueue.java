@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.schedules.action;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.tclemens.calcium.engine.schedules.policy.Missed;
+import net.tclemens.calcium.engine.updates.event.Event;
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+
+/**
+ * This class represents the pending actions of the engine, ordered by the time each action is due
+ *
+ * <p>Pending actions are kept in a binary heap indexed by name, so inserting, cancelling and replacing an action
+ * takes logarithmic time, and finding the next deadline takes constant time. Each name has at most one pending
+ * action, so scheduling an action with the name of a pending action replaces it. A repeating action stays in the
+ * heap, with each deadline computed from its start time.</p>
+ *
+ * <p>This class is not thread-safe and should only be used from the lane of the schedules module.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class ActionQueue {
+
+    /**
+     * This class represents a single pending action in the heap
+     */
+    private static final class Entry {
+
+        /** The name of the action */
+        private final String name;
+
+        /** The time the action is due in milliseconds */
+        private long deadline;
+
+        /** The order the action was scheduled, used to order actions due at the same time */
+        private long sequence;
+
+        /** The time of the first occurrence of a repeating action in milliseconds */
+        private long start;
+
+        /** The time between occurrences of a repeating action in milliseconds, or zero for a single occurrence */
+        private long period;
+
+        /** The number of periods between the start time and the deadline of a repeating action */
+        private long tick;
+
+        /** The policy for missed occurrences of a repeating action */
+        private Missed missed;
+
+        /** The index of the entry in the heap */
+        private int index;
+
+        /**
+         * @param name The name of the action
+         */
+        private Entry(String name) {
+
+            this.name = name;
+        }
+    }
+
+    /**
+     * The greatest number of missed occurrences a catching up action publishes an event for, beyond which it
+     * publishes a single event whose count is the number of occurrences due
+     */
+    public static final int CATCH_UP_LIMIT = 64;
+
+    /** The initial capacity of the heap */
+    private static final int CAPACITY = 16;
+
+    /** The pending actions by name */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /** The pending actions ordered by deadline */
+    private Entry[] heap = new Entry[CAPACITY];
+
+    /** The number of pending actions */
+    private int size;
+
+    /** The number of actions scheduled */
+    private long sequence;
+
+    ActionQueue() {
+    }
+
+    /**
+     * Get the number of pending actions
+     *
+     * @return The number of pending actions
+     */
+    public final int size() {
+
+        return size;
+    }
+
+    /**
+     * Check if there are no pending actions
+     *
+     * @return <tt>true</tt> if there are no pending actions, <tt>false</tt> otherwise
+     */
+    public final boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    /**
+     * Get the time the next pending action is due
+     *
+     * @return The time the next action is due in milliseconds, or {@link Long#MAX_VALUE} if there are no pending
+     * actions
+     */
+    public final long getDeadline() {
+
+        return size == 0 ? Long.MAX_VALUE : heap[0].deadline;
+    }
+
+    /**
+     * Add each action in an action to the queue
+     *
+     * @param action The action to add
+     * @param time The current time in milliseconds
+     *
+     * @throws IllegalArgumentException If the action is null
+     */
+    public final void schedule(@NonNull Action action, long time) {
+
+        if (action == null) {
+
+            throw new IllegalArgumentException("Unable to schedule a null action");
+        }
+
+        action.enqueue(this, time);
+    }
+
+    /**
+     * Create the events of each action which is due, removing each single action and advancing each repeating
+     * action to its next deadline
+     *
+     * @param time The current time in milliseconds
+     * @param events The collection to add the events of each due action to
+     *
+     * @return The number of due actions
+     *
+     * @throws IllegalArgumentException If the event collection is null
+     */
+    public final int poll(long time, @NonNull Collection<Event> events) {
+
+        if (events == null) {
+
+            throw new IllegalArgumentException("Unable to poll actions with a null event collection");
+        }
+
+        int count = 0;
+
+        while (size > 0 && heap[0].deadline <= time) {
+
+            Entry entry = heap[0];
+
+            if (entry.period == 0) {
+
+                remove(entry);
+
+                events.add(EventFactory.createAction(time, entry.name));
+            }
+            else {
+
+                advance(entry, time, events);
+            }
+
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Insert an action, replacing any pending action with the same name
+     *
+     * @param name The name of the action
+     * @param deadline The time the action is due in milliseconds
+     */
+    final void insert(String name, long deadline) {
+
+        Entry entry = entries.get(name);
+
+        if (entry == null) {
+
+            entry = new Entry(name);
+
+            if (size == heap.length) {
+
+                Entry[] grown = new Entry[heap.length * 2];
+
+                System.arraycopy(heap, 0, grown, 0, size);
+
+                heap = grown;
+            }
+
+            entry.index = size;
+            heap[size++] = entry;
+
+            entries.put(name, entry);
+        }
+
+        entry.deadline = deadline;
+        entry.sequence = sequence++;
+        entry.period = 0;
+        entry.missed = null;
+
+        siftUp(entry.index);
+        siftDown(entry.index);
+    }
+
+    /**
+     * Insert a repeating action, replacing any pending action with the same name
+     *
+     * <p>If the start time has passed, the first deadline is the next occurrence after the current time.</p>
+     *
+     * @param name The name of the action
+     * @param start The time of the first occurrence in milliseconds
+     * @param period The time between occurrences in milliseconds
+     * @param missed The policy for missed occurrences
+     * @param time The current time in milliseconds
+     */
+    final void insert(String name, long start, long period, Missed missed, long time) {
+
+        long tick = start >= time ? 0 : (time - start + period - 1) / period;
+
+        insert(name, start + tick * period);
+
+        Entry entry = entries.get(name);
+
+        entry.start = start;
+        entry.period = period;
+        entry.tick = tick;
+        entry.missed = missed;
+    }
+
+    /**
+     * Cancel the pending action with a name
+     *
+     * @param name The name of the action
+     *
+     * @return Whether a pending action was cancelled
+     */
+    final boolean cancel(String name) {
+
+        Entry entry = entries.get(name);
+
+        if (entry == null) {
+
+            return false;
+        }
+
+        remove(entry);
+
+        return true;
+    }
+
+    /**
+     * Create the events of each due occurrence of a repeating action and advance it to its next deadline
+     *
+     * @param entry The repeating action at the root of the heap
+     * @param time The current time in milliseconds
+     * @param events The collection to add the events to
+     */
+    private void advance(Entry entry, long time, Collection<Event> events) {
+
+        long due = (time - entry.deadline) / entry.period + 1;
+        long last = entry.tick + due - 1;
+        Missed missed = entry.missed;
+
+        if (missed == Missed.CATCH_UP && due > CATCH_UP_LIMIT) {
+
+            missed = Missed.COALESCE;
+        }
+
+        switch (missed) {
+
+            case CATCH_UP:
+
+                for (long tick = entry.tick; tick <= last; tick++) {
+
+                    events.add(EventFactory.createAction(entry.start + tick * entry.period, entry.name));
+                }
+
+                break;
+
+            case SKIP:
+
+                events.add(EventFactory.createAction(entry.start + last * entry.period, entry.name));
+
+                break;
+
+            default:
+
+                int count = (int) Math.min(due, Integer.MAX_VALUE);
+
+                events.add(EventFactory.createAction(entry.start + last * entry.period, entry.name, count));
+
+                break;
+        }
+
+        entry.tick = last + 1;
+        entry.deadline = entry.start + entry.tick * entry.period;
+        entry.sequence = sequence++;
+
+        siftDown(entry.index);
+    }
+
+    /**
+     * Remove an entry from the heap
+     *
+     * @param entry The entry to remove
+     */
+    private void remove(Entry entry) {
+
+        int index = entry.index;
+        Entry last = heap[--size];
+
+        heap[size] = null;
+        entries.remove(entry.name);
+
+        if (last != entry) {
+
+            heap[index] = last;
+            last.index = index;
+
+            siftUp(index);
+            siftDown(last.index);
+        }
+    }
+
+    /**
+     * Move an entry towards the root of the heap until it is ordered
+     *
+     * @param index The index of the entry
+     */
+    private void siftUp(int index) {
+
+        Entry entry = heap[index];
+
+        while (index > 0) {
+
+            int parent = (index - 1) >>> 1;
+
+            if (!isBefore(entry, heap[parent])) {
+
+                break;
+            }
+
+            heap[index] = heap[parent];
+            heap[index].index = index;
+            index = parent;
+        }
+
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    /**
+     * Move an entry towards the leaves of the heap until it is ordered
+     *
+     * @param index The index of the entry
+     */
+    private void siftDown(int index) {
+
+        Entry entry = heap[index];
+
+        while (true) {
+
+            int child = index * 2 + 1;
+
+            if (child >= size) {
+
+                break;
+            }
+
+            if (child + 1 < size && isBefore(heap[child + 1], heap[child])) {
+
+                child++;
+            }
+
+            if (!isBefore(heap[child], entry)) {
+
+                break;
+            }
+
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+
+        heap[index] = entry;
+        entry.index = index;
+    }
+
+    /**
+     * Check if an entry is due before another entry
+     *
+     * @param entry The entry to check
+     * @param other The other entry
+     *
+     * @return <tt>true</tt> if the entry is due first, <tt>false</tt> otherwise
+     */
+    private static boolean isBefore(Entry entry, Entry other) {
+
+        if (entry.deadline != other.deadline) {
+
+            return entry.deadline < other.deadline;
+        }
+
+        return entry.sequence < other.sequence;
+    }
+}
@@ -52,4 +52,8 @@ final class CompleteAction extends Action {
 
         return this;
     }
+
+    @Override
+    final void enqueue(ActionQueue queue, long time) {
+    }
 }
@@ -88,4 +88,13 @@ final class CompositeAction extends Action {
 
         return ActionFactory.buildComposite(actions, events);
     }
+
+    @Override
+    final void enqueue(ActionQueue queue, long time) {
+
+        for (Action action : actions) {
+
+            action.enqueue(queue, time);
+        }
+    }
 }
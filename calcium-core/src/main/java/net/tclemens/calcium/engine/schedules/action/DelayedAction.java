@@ -76,4 +76,10 @@ final class DelayedAction extends Action {
 
         return ActionFactory.buildPending(events);
     }
+
+    @Override
+    final void enqueue(ActionQueue queue, long time) {
+
+        queue.insert(name, this.time);
+    }
 }
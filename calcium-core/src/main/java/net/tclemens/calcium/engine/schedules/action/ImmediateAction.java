@@ -66,4 +66,10 @@ final class ImmediateAction extends Action {
 
         return ActionFactory.buildPending(events);
     }
+
+    @Override
+    final void enqueue(ActionQueue queue, long time) {
+
+        queue.insert(name, time);
+    }
 }
@@ -59,4 +59,8 @@ final class PendingAction extends Action {
 
         return ActionFactory.buildComplete();
     }
+
+    @Override
+    final void enqueue(ActionQueue queue, long time) {
+    }
 }
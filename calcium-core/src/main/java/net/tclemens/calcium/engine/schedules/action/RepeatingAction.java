@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.schedules.action;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import net.tclemens.calcium.engine.schedules.policy.Missed;
+import net.tclemens.calcium.engine.updates.event.Event;
+
+/**
+ * This class represents an action performed repeatedly at a fixed rate
+ *
+ * <p>Each occurrence is due at the start time plus a whole number of periods, so occurrences never drift. A
+ * repeating action only produces events once it is added to the queue of pending actions.</p>
+ *
+ * @author Tim Clemens
+ */
+final class RepeatingAction extends Action {
+
+    /** The name of the action */
+    private final String name;
+
+    /** The time of the first occurrence in milliseconds */
+    private final long start;
+
+    /** The time between occurrences in milliseconds */
+    private final long period;
+
+    /** The policy for missed occurrences */
+    private final Missed missed;
+
+    /**
+     * @param name The name of the action
+     * @param start The time of the first occurrence in milliseconds
+     * @param period The time between occurrences in milliseconds
+     * @param missed The policy for missed occurrences
+     */
+    RepeatingAction(String name, long start, long period, Missed missed) {
+
+        this.name = name;
+        this.start = start;
+        this.period = period;
+        this.missed = missed;
+    }
+
+    @NonNull
+    @Override
+    public final Collection<Event> getEvents() {
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    public final boolean isPending() {
+
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public final Action update(long time) {
+
+        return this;
+    }
+
+    @Override
+    final void enqueue(ActionQueue queue, long time) {
+
+        queue.insert(name, start, period, missed, time);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.schedules.policy;
+
+/**
+ * This enumeration represents the available policies for occurrences of a repeating action which were missed
+ * because the engine woke late
+ *
+ * @author Tim Clemens
+ */
+public enum Missed {
+
+    /** Publish a single event whose count is the number of occurrences due */
+    COALESCE,
+
+    /**
+     * Publish an event for every occurrence due, unless more occurrences are due than the catch-up limit of the
+     * action queue, in which case publish a single event whose count is the number of occurrences due as for
+     * {@link #COALESCE}
+     */
+    CATCH_UP,
+
+    /** Publish a single event for the latest occurrence due and discard the others */
+    SKIP
+}
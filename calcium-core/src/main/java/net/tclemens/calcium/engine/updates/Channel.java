@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.updates;
+
+import android.util.Log;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import net.tclemens.calcium.engine.scheduler.Lane;
+import net.tclemens.calcium.engine.updates.base.Notifiable;
+import net.tclemens.calcium.engine.updates.base.Updatable;
+
+/**
+ * This class represents a conflating channel which notifies a module about the newest state on the lane of the
+ * module
+ *
+ * <p>A state replaced before the module was notified about it is skipped, so a busy module only ever processes
+ * the newest state.</p>
+ *
+ * @author Tim Clemens
+ */
+final class Channel implements Runnable {
+
+    /** The newest state which the module has not been notified about */
+    private final AtomicReference<Updatable> latest = new AtomicReference<>();
+
+    /** The flag used to prevent more than one pending notification */
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+    /** The number of states skipped because a newer state replaced them */
+    private final AtomicLong skipped = new AtomicLong();
+
+    /** The module to notify */
+    private final Notifiable module;
+
+    /** The lane used to notify the module */
+    private final Lane lane;
+
+    /** Whether the lane was created for the channel */
+    private final boolean isOwner;
+
+    /**
+     * @param module The module to notify
+     * @param lane The lane used to notify the module
+     * @param isOwner Whether the lane was created for the channel
+     */
+    Channel(Notifiable module, Lane lane, boolean isOwner) {
+
+        this.module = module;
+        this.lane = lane;
+        this.isOwner = isOwner;
+    }
+
+    /**
+     * Get the number of states skipped because a newer state replaced them
+     *
+     * @return The number of skipped states
+     */
+    final long getSkipped() {
+
+        return skipped.get();
+    }
+
+    /**
+     * Publish a new state to the module
+     *
+     * @param state The new state
+     *
+     * @throws RejectedExecutionException If the lane of the module is shutdown
+     */
+    final void publish(Updatable state) {
+
+        if (latest.getAndSet(state) != null) {
+
+            skipped.incrementAndGet();
+        }
+
+        schedule();
+    }
+
+    @Override
+    public void run() {
+
+        Updatable state = latest.getAndSet(null);
+
+        try {
+
+            if (state != null) {
+
+                module.notify(state);
+            }
+        }
+        catch (Exception e) {
+
+            Log.e("Updates", "An unhandled exception occurred", e);
+        }
+        finally {
+
+            isScheduled.set(false);
+
+            try {
+
+                schedule();
+            }
+            catch (RejectedExecutionException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Shutdown the lane of the channel if it was created for the channel
+     */
+    final void stop() {
+
+        if (isOwner) {
+
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * Notify the module on its lane unless a notification is already pending
+     */
+    private void schedule() {
+
+        if (latest.get() != null && isScheduled.compareAndSet(false, true)) {
+
+            try {
+
+                lane.execute(this);
+            }
+            catch (RejectedExecutionException e) {
+
+                isScheduled.set(false);
+
+                throw e;
+            }
+        }
+    }
+}
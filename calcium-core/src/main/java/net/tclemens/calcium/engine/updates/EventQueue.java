@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.updates;
+
+import net.tclemens.calcium.engine.updates.event.Event;
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+import net.tclemens.calcium.engine.updates.policy.Policy;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a bounded ring buffer of events waiting to be delivered to the current state
+ *
+ * <p>Engine events bypass the bound and wait in a separate list which grows as needed, so they are never dropped or
+ * rejected. Both are drained together in the order the events were queued.</p>
+ *
+ * @author Tim Clemens
+ */
+final class EventQueue {
+
+    /** The queued events */
+    private final Event[] events;
+
+    /** The time each event was queued in nanoseconds */
+    private final long[] times;
+
+    /** The order each event was queued in */
+    private final long[] orders;
+
+    /** The queued engine events */
+    private Event[] engineEvents;
+
+    /** The time each engine event was queued in nanoseconds */
+    private long[] engineTimes;
+
+    /** The order each engine event was queued in */
+    private long[] engineOrders;
+
+    /** The index of the oldest queued event */
+    private int head;
+
+    /** The number of queued events */
+    private int size;
+
+    /** The number of queued engine events */
+    private int engineSize;
+
+    /** The order of the next queued event */
+    private long order;
+
+    /** The number of events dropped to make space for newer events */
+    private volatile long dropped;
+
+    /** The number of events rejected because the queue was full */
+    private volatile long rejected;
+
+    /** The number of events coalesced into a queued event */
+    private volatile long coalesced;
+
+    /** The longest time an event waited in the most recently drained batch in nanoseconds */
+    private volatile long latency;
+
+    /**
+     * @param capacity The maximum number of queued events
+     */
+    EventQueue(int capacity) {
+
+        this.events = new Event[capacity];
+        this.times = new long[capacity];
+        this.orders = new long[capacity];
+
+        this.engineEvents = new Event[capacity];
+        this.engineTimes = new long[capacity];
+        this.engineOrders = new long[capacity];
+    }
+
+    /**
+     * Get the maximum number of queued events
+     *
+     * @return The maximum number of queued events
+     */
+    final int getCapacity() {
+
+        return events.length;
+    }
+
+    /**
+     * Get the number of queued events, including engine events
+     *
+     * @return The number of queued events
+     */
+    final synchronized int getDepth() {
+
+        return size + engineSize;
+    }
+
+    /**
+     * Get the number of events dropped to make space for newer events
+     *
+     * @return The number of dropped events
+     */
+    final long getDropped() {
+
+        return dropped;
+    }
+
+    /**
+     * Get the number of events rejected because the queue was full
+     *
+     * @return The number of rejected events
+     */
+    final long getRejected() {
+
+        return rejected;
+    }
+
+    /**
+     * Get the number of events coalesced into a queued event
+     *
+     * @return The number of coalesced events
+     */
+    final long getCoalesced() {
+
+        return coalesced;
+    }
+
+    /**
+     * Get the longest time an event waited in the most recently drained batch
+     *
+     * @return The longest time an event waited in nanoseconds
+     */
+    final long getLatency() {
+
+        return latency;
+    }
+
+    /**
+     * Queue an event according to a policy
+     *
+     * @param event The event to queue
+     * @param policy The policy used if the queue is full
+     * @param isHistorical Whether coalesced touch movements keep their earlier positions
+     * @param timeout The maximum time to wait for space in the queue in milliseconds
+     *
+     * @return Whether the event was queued or coalesced
+     */
+    final synchronized boolean offer(Event event, Policy policy, boolean isHistorical, long timeout) {
+
+        long time = System.nanoTime();
+
+        if (policy == Policy.COALESCE && size > 0 && (engineSize == 0 || isNewest())) {
+
+            int last = (head + size - 1) % events.length;
+            Event merged = EventFactory.createCoalesced(events[last], event, isHistorical);
+
+            if (merged != null) {
+
+                events[last] = merged;
+                coalesced++;
+
+                return true;
+            }
+        }
+
+        if (size == events.length) {
+
+            switch (policy) {
+
+                case BLOCK:
+
+                    if (!await(timeout)) {
+
+                        rejected++;
+
+                        return false;
+                    }
+
+                    break;
+
+                case REJECT:
+
+                    rejected++;
+
+                    return false;
+
+                default:
+
+                    EventFactory.recycle(events[head]);
+
+                    events[head] = null;
+                    head = (head + 1) % events.length;
+                    size--;
+                    dropped++;
+
+                    break;
+            }
+        }
+
+        int tail = (head + size) % events.length;
+
+        events[tail] = event;
+        times[tail] = time;
+        orders[tail] = order++;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Queue an engine event beyond the bound of the queue, so that it is never dropped or rejected
+     *
+     * @param event The event to queue
+     */
+    final synchronized void append(Event event) {
+
+        if (engineSize == engineEvents.length) {
+
+            int length = engineEvents.length * 2;
+
+            engineEvents = Arrays.copyOf(engineEvents, length);
+            engineTimes = Arrays.copyOf(engineTimes, length);
+            engineOrders = Arrays.copyOf(engineOrders, length);
+        }
+
+        engineEvents[engineSize] = event;
+        engineTimes[engineSize] = System.nanoTime();
+        engineOrders[engineSize] = order++;
+        engineSize++;
+    }
+
+    /**
+     * Move every queued event into a batch, oldest first
+     *
+     * @param batch The batch to fill, which must fit the depth of the queue
+     *
+     * @return The number of events in the batch
+     */
+    final synchronized int drain(Event[] batch) {
+
+        long time = System.nanoTime();
+        long longest = 0;
+        int count = size + engineSize;
+        int index = 0;
+        int engineIndex = 0;
+
+        for (int position = 0; position < count; position++) {
+
+            int slot = (head + index) % events.length;
+
+            if (engineIndex < engineSize && (index == size || engineOrders[engineIndex] < orders[slot])) {
+
+                batch[position] = engineEvents[engineIndex];
+                longest = Math.max(longest, time - engineTimes[engineIndex]);
+
+                engineEvents[engineIndex++] = null;
+            }
+            else {
+
+                batch[position] = events[slot];
+                longest = Math.max(longest, time - times[slot]);
+
+                events[slot] = null;
+                index++;
+            }
+        }
+
+        head = 0;
+        size = 0;
+        engineSize = 0;
+
+        if (count > 0) {
+
+            latency = longest;
+        }
+
+        notifyAll();
+
+        return count;
+    }
+
+    /**
+     * Discard every queued event
+     */
+    final synchronized void clear() {
+
+        for (int index = 0; index < size; index++) {
+
+            events[(head + index) % events.length] = null;
+        }
+
+        Arrays.fill(engineEvents, 0, engineSize, null);
+
+        head = 0;
+        size = 0;
+        engineSize = 0;
+
+        notifyAll();
+    }
+
+    /**
+     * Check if the newest bounded event was queued after every engine event, so coalescing into it keeps the order
+     * of the queue
+     *
+     * @return True if the newest bounded event is the newest queued event
+     */
+    private boolean isNewest() {
+
+        return orders[(head + size - 1) % events.length] > engineOrders[engineSize - 1];
+    }
+
+    /**
+     * Wait for space in the queue
+     *
+     * @param timeout The maximum time to wait in milliseconds
+     *
+     * @return Whether space is available in the queue
+     */
+    private boolean await(long timeout) {
+
+        long deadline = System.currentTimeMillis() + timeout;
+
+        try {
+
+            while (size == events.length) {
+
+                long remaining = deadline - System.currentTimeMillis();
+
+                if (remaining <= 0) {
+
+                    return false;
+                }
+
+                wait(remaining);
+            }
+        }
+        catch (InterruptedException ignored) {
+
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -17,40 +17,159 @@
 package net.tclemens.calcium.engine.updates;
 
 import android.content.Context;
+import android.os.Process;
 import android.support.annotation.NonNull;
 import android.util.Log;
 
+import net.tclemens.calcium.engine.scheduler.Lane;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
+import net.tclemens.calcium.engine.updates.base.Batchable;
 import net.tclemens.calcium.engine.updates.base.Notifiable;
+import net.tclemens.calcium.engine.updates.base.Recorder;
 import net.tclemens.calcium.engine.updates.base.Updatable;
+import net.tclemens.calcium.engine.updates.event.ActionEvent;
+import net.tclemens.calcium.engine.updates.event.AnimationEvent;
 import net.tclemens.calcium.engine.updates.event.Event;
-
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+import net.tclemens.calcium.engine.updates.event.PointerEvent;
+import net.tclemens.calcium.engine.updates.event.TouchEvent;
+import net.tclemens.calcium.engine.updates.event.ViewEvent;
+import net.tclemens.calcium.engine.updates.policy.Policy;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 
 /**
  * This class is responsible for updating states for the engine
  *
+ * <p>Published events wait in a bounded queue and are delivered to the current state as a single batch on each
+ * update, either all at once to a {@link Batchable} state or one at a time to any other state. When the queue is
+ * full, each input event is handled according to the policy for its type, and an event without a policy is rejected
+ * and counted rather than blocking the publishing thread.</p>
+ *
+ * <p>The action, animation and view events generated by the engine itself are never dropped or rejected. They are
+ * queued beyond the bound and delivered in order with the input events, so the bound only limits external
+ * input.</p>
+ *
+ * <p>Each registered module is notified about the newest state on its own lane, and any state replaced before the
+ * module was free to process it is skipped.</p>
+ *
  * @author Tim Clemens
  */
 public final class Updates {
 
     /**
-     * This class represents an asynchronous worker which updates the current state
+     * This class represents an asynchronous worker which updates the current state with each queued event
      */
     private final class UpdateWorker implements Runnable {
 
-        /** The event for current state to process */
-        private final Event event;
+        private UpdateWorker() {
+        }
+
+        @Override
+        public void run() {
+
+            int count;
+
+            synchronized (queue) {
+
+                int depth = queue.getDepth();
+
+                if (depth > batch.length) {
+
+                    batch = new Event[Math.max(depth, batch.length * 2)];
+                }
+
+                count = queue.drain(batch);
+                isPending = false;
+            }
+
+            Event[] batch = Updates.this.batch;
+
+            try {
+
+                List<Event> events = Arrays.asList(batch).subList(0, count);
+
+                Updatable state = Updates.this.state;
+                int index = 0;
+
+                while (index < count) {
+
+                    if (state instanceof Batchable) {
+
+                        state = ((Batchable) state).update(context, Collections.unmodifiableList(events.subList(index, count)));
+
+                        break;
+                    }
+
+                    state = state.update(context, batch[index++]);
+                }
+
+                Updates.this.state = state;
+
+                Recorder recorder = Updates.this.recorder;
+
+                if (recorder != null && count > 0) {
+
+                    try {
+
+                        recorder.record(Collections.unmodifiableList(events), state);
+                    }
+                    catch (Exception e) {
+
+                        Log.e("Updates", "Unable to record an update", e);
+                    }
+                }
+
+                for (Channel channel : channels.values()) {
+
+                    try {
+
+                        channel.publish(state);
+                    }
+                    catch (RejectedExecutionException ignored) {
+                    }
+                }
+            }
+            catch (Exception e) {
+
+                Log.e("Updates", "An unhandled exception occurred", e);
+            }
+            finally {
+
+                for (int index = 0; index < count; index++) {
+
+                    EventFactory.recycle(batch[index]);
+
+                    batch[index] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * This class represents an asynchronous worker which delivers the remaining queued events and shuts down the
+     * module
+     */
+    private final class StopWorker implements Runnable {
+
+        /** The module notified about the final state, or null */
+        private final Notifiable module;
 
         /**
-         * @param event The event for current state to process
+         * @param module The module notified about the final state, or null
          */
-        private UpdateWorker(Event event) {
+        private StopWorker(Notifiable module) {
 
-            this.event = event;
+            this.module = module;
         }
 
         @Override
@@ -58,9 +177,9 @@ public final class Updates {
 
             try {
 
-                state = state.update(context, event);
+                new UpdateWorker().run();
 
-                for (Notifiable module : modules) {
+                if (module != null) {
 
                     module.notify(state);
                 }
@@ -69,35 +188,89 @@ public final class Updates {
 
                 Log.e("Updates", "An unhandled exception occurred", e);
             }
+            finally {
+
+                updateLane.shutdown();
+
+                for (Channel channel : channels.values()) {
+
+                    channel.stop();
+                }
+            }
         }
     }
 
-    /** The thread pool used to update the state */
-    private final ExecutorService updateExecutor = Executors.newSingleThreadExecutor();
+    /** The maximum number of queued events */
+    private static final int CAPACITY = 256;
+
+    /** The maximum time to wait for space in the queue in milliseconds */
+    private static final long TIMEOUT = 1000;
+
+    /** The lane used to update the state */
+    private final Lane updateLane;
+
+    /** The channel used to notify each module registered for notifications on state changes */
+    private final Map<Notifiable, Channel> channels = new ConcurrentHashMap<>();
 
-    /** the modules registered for notifications on state changes */
-    private final Set<Notifiable> modules = new HashSet<>();
+    /** The policy for each type of event */
+    private final Map<Class<? extends Event>, Policy> policies = new ConcurrentHashMap<>();
+
+    /** The events waiting for the next update */
+    private final EventQueue queue = new EventQueue(CAPACITY);
+
+    /** The types of events generated by the engine, which are queued beyond the bound of the queue */
+    private static final Set<Class<? extends Event>> ENGINE_TYPES = new HashSet<Class<? extends Event>>(Arrays.asList(
+            ActionEvent.class, AnimationEvent.class, ViewEvent.class));
+
+    /** The events delivered in the current update, which grows to fit every queued event */
+    private Event[] batch = new Event[CAPACITY];
 
     /** The application context */
     private final Context context;
 
+    /** The scheduler for the engine */
+    private final Scheduler scheduler;
+
     /** The current updatable state */
     private volatile Updatable state;
 
+    /** The recorder of each update */
+    private volatile Recorder recorder;
+
+    /** Whether an update has been submitted for the queued events */
+    private boolean isPending;
+
+    /** Whether the module has stopped accepting events */
+    private boolean isStopped;
+
+    /** Whether coalesced touch movements keep their earlier positions as historical positions */
+    private volatile boolean isHistorical;
+
+    /** The policy for types of events without a policy */
+    private volatile Policy policy = Policy.REJECT;
+
     /**
      * @param context The application context
      * @param state The initial state the engine
+     * @param scheduler The scheduler for the engine
      */
-    Updates(Context context, Updatable state) {
+    Updates(Context context, Updatable state, Scheduler scheduler) {
 
         this.context = context;
         this.state = state;
+        this.scheduler = scheduler;
+        this.updateLane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+
+        policies.put(TouchEvent.class, Policy.COALESCE);
+        policies.put(PointerEvent.class, Policy.COALESCE);
     }
 
     /**
-     * Register a module for notifications on state changes
+     * Register a module for notifications on state changes, on a lane created for the module
      *
      * @param module The module to register
+     *
+     * @throws IllegalArgumentException If the module is null
      */
     public final void register(@NonNull Notifiable module) {
 
@@ -106,7 +279,172 @@ public final class Updates {
             throw new IllegalArgumentException("Unable to register a null module");
         }
 
-        modules.add(module);
+        Lane lane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+
+        channels.put(module, new Channel(module, lane, true));
+    }
+
+    /**
+     * Register a module for notifications on state changes, on a lane owned by the module
+     *
+     * <p>The module is notified on its own lane, so it can process each state without submitting further work.</p>
+     *
+     * @param module The module to register
+     * @param lane The lane used to notify the module
+     *
+     * @throws IllegalArgumentException If the module or lane is null
+     */
+    public final void register(@NonNull Notifiable module, @NonNull Lane lane) {
+
+        if (module == null) {
+
+            throw new IllegalArgumentException("Unable to register a null module");
+        }
+
+        if (lane == null) {
+
+            throw new IllegalArgumentException("Unable to register a module with a null lane");
+        }
+
+        channels.put(module, new Channel(module, lane, false));
+    }
+
+    /**
+     * Get the number of states a module skipped because a newer state replaced them
+     *
+     * @param module The registered module
+     *
+     * @return The number of skipped states
+     *
+     * @throws IllegalArgumentException If the module is not registered
+     */
+    public final long getSkippedCount(@NonNull Notifiable module) {
+
+        Channel channel = module == null ? null : channels.get(module);
+
+        if (channel == null) {
+
+            throw new IllegalArgumentException("Unable to get the skipped count of an unregistered module");
+        }
+
+        return channel.getSkipped();
+    }
+
+    /**
+     * Set the recorder of each update, which is called with the events and resulting state of every update
+     *
+     * @param recorder The recorder of each update, or null to stop recording
+     */
+    public final void setRecorder(Recorder recorder) {
+
+        this.recorder = recorder;
+    }
+
+    /**
+     * Set whether coalesced touch movements keep their earlier positions as historical positions
+     *
+     * @param isHistorical Whether coalesced touch movements keep their earlier positions
+     */
+    public final void setHistorical(boolean isHistorical) {
+
+        this.isHistorical = isHistorical;
+    }
+
+    /**
+     * Set the policy used when the queue is full for types of events without a policy, which is {@link Policy#REJECT}
+     * unless changed
+     *
+     * @param policy The policy used when the queue is full
+     *
+     * @throws IllegalArgumentException If the policy is null
+     */
+    public final void setPolicy(@NonNull Policy policy) {
+
+        if (policy == null) {
+
+            throw new IllegalArgumentException("Unable to set a null policy");
+        }
+
+        this.policy = policy;
+    }
+
+    /**
+     * Set the policy used when the queue is full for a type of input event
+     *
+     * @param type The type of input event
+     * @param policy The policy used when the queue is full
+     *
+     * @throws IllegalArgumentException If the type of event or policy is null, or the type of event is generated by
+     * the engine
+     */
+    public final void setPolicy(@NonNull Class<? extends Event> type, @NonNull Policy policy) {
+
+        if (type == null) {
+
+            throw new IllegalArgumentException("Unable to set a policy with a null event type");
+        }
+
+        if (ENGINE_TYPES.contains(type)) {
+
+            throw new IllegalArgumentException("Unable to set a policy for events generated by the engine");
+        }
+
+        if (policy == null) {
+
+            throw new IllegalArgumentException("Unable to set a null policy");
+        }
+
+        policies.put(type, policy);
+    }
+
+    /**
+     * Get the number of events waiting for the next update
+     *
+     * @return The number of queued events
+     */
+    public final int getDepth() {
+
+        return queue.getDepth();
+    }
+
+    /**
+     * Get the longest time an event waited between being published and being delivered in the most recent update
+     *
+     * @return The longest time an event waited in nanoseconds
+     */
+    public final long getLatency() {
+
+        return queue.getLatency();
+    }
+
+    /**
+     * Get the number of events dropped to make space for newer events
+     *
+     * @return The number of dropped events
+     */
+    public final long getDroppedCount() {
+
+        return queue.getDropped();
+    }
+
+    /**
+     * Get the number of events rejected because the queue was full
+     *
+     * @return The number of rejected events
+     */
+    public final long getRejectedCount() {
+
+        return queue.getRejected();
+    }
+
+    /**
+     * Get the number of events coalesced into a queued event
+     *
+     * @return The number of coalesced events
+     */
+    public final long getCoalescedCount() {
+
+        return queue.getCoalesced();
     }
 
     /**
@@ -114,31 +452,184 @@ public final class Updates {
      *
      * @param event The event to handle
      *
+     * @return Whether the event was queued, or false if it was rejected by its policy, which never happens for events
+     * generated by the engine
+     *
      * @throws IllegalArgumentException If the event is invalid
      * @throws IllegalStateException If the module is shutdown
      */
-    public final void handle(@NonNull Event event) {
+    public final boolean handle(@NonNull Event event) {
 
         if (event == null) {
 
             throw new IllegalArgumentException("Unable to process a null event");
         }
 
-        try {
+        synchronized (queue) {
+
+            if (isStopped) {
 
-            updateExecutor.submit(new UpdateWorker(event));
+                throw new IllegalStateException("Unable to process updates after the module is shutdown");
+            }
+
+            if (!offer(event)) {
+
+                return false;
+            }
+
+            submit();
         }
-        catch (RejectedExecutionException ignored) {
 
-            throw new IllegalStateException("Unable to process updates after the module is shutdown");
+        return true;
+    }
+
+    /**
+     * Publish a batch of events asynchronously, so that every accepted event is delivered in the same update
+     *
+     * @param events The events to handle
+     *
+     * @return The number of events queued, excluding any rejected by their policy, which never happens for events
+     * generated by the engine
+     *
+     * @throws IllegalArgumentException If the events are invalid
+     * @throws IllegalStateException If the module is shutdown
+     */
+    public final int handle(@NonNull Collection<Event> events) {
+
+        if (events == null || events.contains(null)) {
+
+            throw new IllegalArgumentException("Unable to process a null event collection or null events");
         }
+
+        int count = 0;
+
+        synchronized (queue) {
+
+            if (isStopped) {
+
+                throw new IllegalStateException("Unable to process updates after the module is shutdown");
+            }
+
+            for (Event event : events) {
+
+                if (offer(event)) {
+
+                    count++;
+                }
+            }
+
+            if (count > 0) {
+
+                submit();
+            }
+        }
+
+        return count;
     }
 
     /**
-     * Shutdown any active threads
+     * Queue an event according to the policy for its type, or beyond the bound of the queue if it was generated by
+     * the engine
+     *
+     * @param event The event to queue
+     *
+     * @return Whether the event was queued
+     */
+    private boolean offer(Event event) {
+
+        if (ENGINE_TYPES.contains(event.getClass())) {
+
+            queue.append(event);
+
+            return true;
+        }
+
+        Policy policy = policies.get(event.getClass());
+
+        if (policy == null) {
+
+            policy = this.policy;
+        }
+
+        if (policy == Policy.BLOCK && Scheduler.isResponsive()) {
+
+            policy = Policy.REJECT;
+        }
+
+        if (!queue.offer(event, policy, isHistorical, TIMEOUT)) {
+
+            EventFactory.recycle(event);
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Submit an update for the queued events unless one is already pending
+     *
+     * @throws IllegalStateException If the module is shutdown
+     */
+    private void submit() {
+
+        synchronized (queue) {
+
+            if (!isPending) {
+
+                try {
+
+                    updateLane.execute(new UpdateWorker());
+                }
+                catch (RejectedExecutionException ignored) {
+
+                    queue.clear();
+
+                    throw new IllegalStateException("Unable to process updates after the module is shutdown");
+                }
+
+                isPending = true;
+            }
+        }
+    }
+
+    /**
+     * Stop accepting events, then deliver the queued events and shutdown any active threads
+     *
+     * <p>Returns without waiting for the queued events to be delivered.</p>
      */
     public final void stop() {
 
-        updateExecutor.shutdown();
+        stop(null);
+    }
+
+    /**
+     * Stop accepting events, then deliver the queued events, notify a module about the final state and shutdown any
+     * active threads
+     *
+     * <p>Returns without waiting. The module is notified on the update lane once every queued event has been
+     * delivered and the final state has been published to each registered module, so it can hand off any final work
+     * such as a last save to the lanes of other modules.</p>
+     *
+     * @param module The module notified about the final state, or null
+     */
+    public final void stop(Notifiable module) {
+
+        synchronized (queue) {
+
+            if (isStopped) {
+
+                return;
+            }
+
+            isStopped = true;
+        }
+
+        try {
+
+            updateLane.execute(new StopWorker(module));
+        }
+        catch (RejectedExecutionException ignored) {
+        }
     }
 }
@@ -19,6 +19,7 @@ package net.tclemens.calcium.engine.updates;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.engine.scheduler.Scheduler;
 import net.tclemens.calcium.engine.updates.base.Updatable;
 
 /**
@@ -36,13 +37,14 @@ public final class UpdatesFactory {
      *
      * @param context The application context
      * @param state The initial state the engine
+     * @param scheduler The scheduler for the engine
      *
      * @return The new updates module
      *
-     * @throws IllegalArgumentException If the application context or initial state is invalid
+     * @throws IllegalArgumentException If the application context, initial state or scheduler is invalid
      */
     @NonNull
-    public static Updates createModule(@NonNull Context context, @NonNull Updatable state) {
+    public static Updates createModule(@NonNull Context context, @NonNull Updatable state, @NonNull Scheduler scheduler) {
 
         if (context == null) {
 
@@ -54,7 +56,12 @@ public final class UpdatesFactory {
             throw new IllegalArgumentException("Initial state must exist");
         }
 
-        return buildModule(context, state);
+        if (scheduler == null) {
+
+            throw new IllegalArgumentException("Scheduler must exist");
+        }
+
+        return buildModule(context, state, scheduler);
     }
 
     /**
@@ -62,11 +69,12 @@ public final class UpdatesFactory {
      *
      * @param context The application context
      * @param state The initial state the engine
+     * @param scheduler The scheduler for the engine
      *
      * @return The new updates module
      */
-    static Updates buildModule(Context context, Updatable state) {
+    static Updates buildModule(Context context, Updatable state, Scheduler scheduler) {
 
-        return new Updates(context, state);
+        return new Updates(context, state, scheduler);
     }
 }
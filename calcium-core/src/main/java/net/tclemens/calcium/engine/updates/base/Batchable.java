@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.updates.base;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+import net.tclemens.calcium.engine.updates.event.Event;
+
+/**
+ * This interface allows the engine to update a state with every queued event in a single transition
+ *
+ * @author Tim Clemens
+ * @since  1.0
+ */
+public interface Batchable extends Updatable {
+
+    /**
+     * Update the current state of the engine with a batch of events
+     *
+     * <p>The events are only valid for the duration of the call, and the list must not be modified.</p>
+     *
+     * @param context The application state
+     * @param events The events from the engine in the order they were published
+     *
+     * @return The updated state
+     */
+    @NonNull
+    Updatable update(@NonNull Context context, @NonNull List<Event> events);
+}
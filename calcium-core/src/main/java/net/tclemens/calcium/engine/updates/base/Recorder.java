@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.updates.base;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+import net.tclemens.calcium.engine.updates.event.Event;
+
+/**
+ * This interface allows the engine to record each update, such as to a journal which can replay the updates
+ *
+ * @author Tim Clemens
+ * @since  1.0
+ */
+public interface Recorder {
+
+    /**
+     * Record the events delivered in an update and the state they produced
+     *
+     * <p>The recorder is called on the lane of the updates module before the events are recycled, so it must copy
+     * any values it keeps instead of keeping the events themselves.</p>
+     *
+     * @param events The events delivered in the update, in the order they were delivered
+     * @param state The state produced by the update
+     */
+    void record(@NonNull List<Event> events, @NonNull Updatable state);
+}
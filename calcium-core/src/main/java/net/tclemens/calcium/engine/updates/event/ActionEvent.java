@@ -28,15 +28,29 @@ public final class ActionEvent extends Event {
     /** The name of the scheduled action */
     private final String name;
 
+    /** The number of occurrences of the scheduled action represented by the event */
+    private final int count;
+
     /**
      * @param time The time of the event in milliseconds
      * @param name The name of the scheduled action
      */
     ActionEvent(long time, String name) {
 
+        this(time, name, 1);
+    }
+
+    /**
+     * @param time The time of the event in milliseconds
+     * @param name The name of the scheduled action
+     * @param count The number of occurrences of the scheduled action represented by the event
+     */
+    ActionEvent(long time, String name, int count) {
+
         super(time);
 
         this.name = name;
+        this.count = count;
     }
 
     /**
@@ -49,4 +63,15 @@ public final class ActionEvent extends Event {
 
         return name;
     }
+
+    /**
+     * Get the number of occurrences of the scheduled action represented by the event, which is greater than one
+     * when missed occurrences of a repeating action were coalesced
+     *
+     * @return The number of occurrences of the scheduled action
+     */
+    public final int getCount() {
+
+        return count;
+    }
 }
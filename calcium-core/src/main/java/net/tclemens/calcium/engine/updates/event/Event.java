@@ -26,7 +26,7 @@ import android.support.annotation.NonNull;
 public abstract class Event implements Comparable<Event> {
 
     /** The time the event occurred in milliseconds */
-    private final long time;
+    private long time;
 
     /**
      * @param time The time the event occurred in milliseconds
@@ -46,6 +46,16 @@ public abstract class Event implements Comparable<Event> {
         return time;
     }
 
+    /**
+     * Set the time the event occurred, for events which are recycled
+     *
+     * @param time The time the event occurred in milliseconds
+     */
+    final void setTime(long time) {
+
+        this.time = time;
+    }
+
     @Override
     public final int compareTo(@NonNull Event other) {
 
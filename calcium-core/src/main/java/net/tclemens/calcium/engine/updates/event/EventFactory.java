@@ -17,6 +17,7 @@
 package net.tclemens.calcium.engine.updates.event;
 
 import android.support.annotation.NonNull;
+import android.view.MotionEvent;
 
 import net.tclemens.calcium.engine.updates.input.Key;
 import net.tclemens.calcium.engine.updates.input.Touch;
@@ -104,6 +105,38 @@ public final class EventFactory {
         return new ActionEvent(time, name);
     }
 
+    /**
+     * Create a scheduled action event representing several occurrences of a repeating action
+     *
+     * @param time The time of the event in milliseconds
+     * @param name The name of the scheduled action
+     * @param count The number of occurrences of the scheduled action
+     *
+     * @return The new event
+     *
+     * @throws IllegalArgumentException If the event time, scheduled action name or count is invalid
+     */
+    @NonNull
+    public static Event createAction(long time, @NonNull String name, int count) {
+
+        if (time < 0) {
+
+            throw new IllegalArgumentException("Unable to create an event with a negative time");
+        }
+
+        if (name == null || name.isEmpty()) {
+
+            throw new IllegalArgumentException("Unable to create an event with a null or empty action name");
+        }
+
+        if (count < 1) {
+
+            throw new IllegalArgumentException("Unable to create an event without a positive count");
+        }
+
+        return new ActionEvent(time, name, count);
+    }
+
     /**
      * Create a touch input event
      *
@@ -132,6 +165,198 @@ public final class EventFactory {
         return new TouchEvent(time, x, y, input);
     }
 
+    /**
+     * Create a touch input event with the historical positions of the touch
+     *
+     * @param time The time of the event in milliseconds
+     * @param x The x-coordinate of the touch input
+     * @param y The y-coordinate of the touch input
+     * @param input The type of the touch input
+     * @param historicalTimes The times of the historical positions of the touch, oldest first
+     * @param historicalX The historical x-coordinates of the touch, oldest first
+     * @param historicalY The historical y-coordinates of the touch, oldest first
+     *
+     * @return The new event
+     *
+     * @throws IllegalArgumentException If the event time, input type or historical positions are invalid
+     */
+    @NonNull
+    public static Event createTouch(long time, float x, float y, @NonNull Touch input, @NonNull long[] historicalTimes,
+                                    @NonNull float[] historicalX, @NonNull float[] historicalY) {
+
+        if (time < 0) {
+
+            throw new IllegalArgumentException("Unable to create an event with a negative time");
+        }
+
+        if (input == null) {
+
+            throw new IllegalArgumentException("Unable to create an event with a null input type");
+        }
+
+        if (historicalTimes == null || historicalX == null || historicalY == null) {
+
+            throw new IllegalArgumentException("Unable to create an event with null historical positions");
+        }
+
+        if (historicalX.length != historicalTimes.length || historicalY.length != historicalTimes.length) {
+
+            throw new IllegalArgumentException("Unable to create an event with mismatched historical positions");
+        }
+
+        return new TouchEvent(time, x, y, input, historicalTimes.clone(), historicalX.clone(), historicalY.clone());
+    }
+
+    /**
+     * Create a pointer input event from a pooled event, with every pointer and historical sample
+     *
+     * @param time The time of the event in milliseconds
+     * @param input The type of input performed on the pointer which changed
+     * @param actionIndex The index of the pointer which changed
+     * @param ids The identifier of each pointer
+     * @param xs The x-coordinate of each pointer
+     * @param ys The y-coordinate of each pointer
+     * @param historicalTimes The time of each historical sample, oldest first
+     * @param historicalXs The x-coordinate of each pointer in each historical sample, indexed by sample then pointer
+     * @param historicalYs The y-coordinate of each pointer in each historical sample, indexed by sample then pointer
+     *
+     * @return The new event
+     *
+     * @throws IllegalArgumentException If the event time, input type, pointers or historical samples are invalid
+     */
+    @NonNull
+    public static Event createPointer(long time, @NonNull Touch input, int actionIndex, @NonNull int[] ids,
+                                      @NonNull float[] xs, @NonNull float[] ys, @NonNull long[] historicalTimes,
+                                      @NonNull float[] historicalXs, @NonNull float[] historicalYs) {
+
+        if (time < 0) {
+
+            throw new IllegalArgumentException("Unable to create an event with a negative time");
+        }
+
+        if (input == null) {
+
+            throw new IllegalArgumentException("Unable to create an event with a null input type");
+        }
+
+        if (ids == null || xs == null || ys == null || xs.length != ids.length || ys.length != ids.length) {
+
+            throw new IllegalArgumentException("Unable to create an event with null or mismatched pointers");
+        }
+
+        if (actionIndex < 0 || actionIndex >= Math.max(1, ids.length)) {
+
+            throw new IllegalArgumentException("Unable to create an event with an invalid action index");
+        }
+
+        if (historicalTimes == null || historicalXs == null || historicalYs == null
+                || historicalXs.length != historicalTimes.length * ids.length
+                || historicalYs.length != historicalTimes.length * ids.length) {
+
+            throw new IllegalArgumentException("Unable to create an event with null or mismatched historical samples");
+        }
+
+        PointerEvent pointer = PointerEvent.obtain();
+
+        pointer.set(time, input, actionIndex, ids, xs, ys, historicalTimes, historicalXs, historicalYs);
+
+        return pointer;
+    }
+
+    /**
+     * Coalesce two consecutive touch inputs into a single event
+     *
+     * <p>Only consecutive movements of the touch are coalesced. The coalesced event has the time and position of
+     * the later movement and, if requested, keeps each earlier position as a historical position. Pointer events
+     * always keep their earlier samples; the earlier event is reused for the coalesced event and the later event
+     * is recycled.</p>
+     *
+     * @param previous The earlier touch input event
+     * @param next The later touch input event
+     * @param isHistorical Whether to keep the earlier positions as historical positions
+     *
+     * @return The coalesced event, or null if the events cannot be coalesced
+     *
+     * @throws IllegalArgumentException If either event is null
+     */
+    public static Event createCoalesced(@NonNull Event previous, @NonNull Event next, boolean isHistorical) {
+
+        if (previous == null || next == null) {
+
+            throw new IllegalArgumentException("Unable to coalesce a null event");
+        }
+
+        if (previous instanceof PointerEvent && next instanceof PointerEvent) {
+
+            if (!((PointerEvent) previous).coalesce((PointerEvent) next)) {
+
+                return null;
+            }
+
+            ((PointerEvent) next).recycle();
+
+            return previous;
+        }
+
+        if (!isMovement(previous) || !isMovement(next)) {
+
+            return null;
+        }
+
+        return ((TouchEvent) previous).coalesce((TouchEvent) next, isHistorical);
+    }
+
+    /**
+     * Create a pointer input event from a pooled event
+     *
+     * @param event The motion event containing each pointer and historical sample
+     *
+     * @return The new event
+     *
+     * @throws IllegalArgumentException If the motion event is null
+     * @throws UnsupportedOperationException If the input action is not supported
+     */
+    @NonNull
+    public static Event createPointer(@NonNull MotionEvent event) {
+
+        if (event == null) {
+
+            throw new IllegalArgumentException("Unable to create an event with a null motion event");
+        }
+
+        Touch input = Touch.parsePointerEvent(event);
+        PointerEvent pointer = PointerEvent.obtain();
+
+        pointer.set(event, input);
+
+        return pointer;
+    }
+
+    /**
+     * Recycle an event once it has been delivered, if it was created from a pool
+     *
+     * @param event The event to recycle
+     */
+    public static void recycle(@NonNull Event event) {
+
+        if (event instanceof PointerEvent) {
+
+            ((PointerEvent) event).recycle();
+        }
+    }
+
+    /**
+     * Determine whether an event is a movement of a touch
+     *
+     * @param event The event to check
+     *
+     * @return Whether the event is a movement of a touch
+     */
+    private static boolean isMovement(Event event) {
+
+        return event instanceof TouchEvent && ((TouchEvent) event).getInput() == Touch.MOVE;
+    }
+
     /**
      * Create a view event
      *
@@ -0,0 +1,463 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.updates.event;
+
+import android.support.annotation.NonNull;
+import android.view.MotionEvent;
+
+import java.util.ArrayDeque;
+
+import net.tclemens.calcium.engine.updates.input.Touch;
+
+/**
+ * This class represents an input from every active pointer of a touch screen, including each historical sample
+ * since the previous input
+ *
+ * <p>Pointer events are recycled once the engine has delivered them to the current state, so a state must copy any
+ * values it keeps instead of keeping the event itself.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class PointerEvent extends Event {
+
+    /** The maximum number of recycled events kept for reuse */
+    private static final int POOL_SIZE = 16;
+
+    /** The recycled events available for reuse */
+    private static final ArrayDeque<PointerEvent> pool = new ArrayDeque<>(POOL_SIZE);
+
+    /** The type of input performed on the pointer which changed */
+    private Touch input;
+
+    /** The index of the pointer which changed */
+    private int actionIndex;
+
+    /** The number of active pointers */
+    private int pointerCount;
+
+    /** The number of historical samples */
+    private int historySize;
+
+    /** The identifier of each pointer */
+    private int[] ids = new int[0];
+
+    /** The x-coordinate of each pointer */
+    private float[] xs = new float[0];
+
+    /** The y-coordinate of each pointer */
+    private float[] ys = new float[0];
+
+    /** The time of each historical sample in milliseconds, oldest first */
+    private long[] historicalTimes = new long[0];
+
+    /** The x-coordinate of each pointer in each historical sample, indexed by sample then pointer */
+    private float[] historicalXs = new float[0];
+
+    /** The y-coordinate of each pointer in each historical sample, indexed by sample then pointer */
+    private float[] historicalYs = new float[0];
+
+    private PointerEvent() {
+
+        super(0);
+    }
+
+    /**
+     * Get the type of input performed on the pointer which changed
+     *
+     * @return The type of input performed on the pointer which changed
+     */
+    @NonNull
+    public final Touch getInput() {
+
+        return input;
+    }
+
+    /**
+     * Get the index of the pointer which started or ended the touch
+     *
+     * @return The index of the pointer which changed
+     */
+    public final int getActionIndex() {
+
+        return actionIndex;
+    }
+
+    /**
+     * Get the number of active pointers
+     *
+     * @return The number of active pointers
+     */
+    public final int getPointerCount() {
+
+        return pointerCount;
+    }
+
+    /**
+     * Get the identifier of a pointer, which remains the same while the pointer is active
+     *
+     * @param index The index of the pointer
+     *
+     * @return The identifier of the pointer
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final int getPointerId(int index) {
+
+        checkPointer(index);
+
+        return ids[index];
+    }
+
+    /**
+     * Get the x-coordinate of a pointer
+     *
+     * @param index The index of the pointer
+     *
+     * @return The x-coordinate of the pointer
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final float getX(int index) {
+
+        checkPointer(index);
+
+        return xs[index];
+    }
+
+    /**
+     * Get the y-coordinate of a pointer
+     *
+     * @param index The index of the pointer
+     *
+     * @return The y-coordinate of the pointer
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final float getY(int index) {
+
+        checkPointer(index);
+
+        return ys[index];
+    }
+
+    /**
+     * Get the number of historical samples
+     *
+     * @return The number of historical samples
+     */
+    public final int getHistorySize() {
+
+        return historySize;
+    }
+
+    /**
+     * Get the time of a historical sample
+     *
+     * @param sample The index of the historical sample, oldest first
+     *
+     * @return The time of the historical sample in milliseconds
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final long getHistoricalTime(int sample) {
+
+        checkSample(sample);
+
+        return historicalTimes[sample];
+    }
+
+    /**
+     * Get the x-coordinate of a pointer in a historical sample
+     *
+     * @param sample The index of the historical sample, oldest first
+     * @param index The index of the pointer
+     *
+     * @return The x-coordinate of the pointer in the historical sample
+     *
+     * @throws IndexOutOfBoundsException If either index is invalid
+     */
+    public final float getHistoricalX(int sample, int index) {
+
+        checkSample(sample);
+        checkPointer(index);
+
+        return historicalXs[sample * pointerCount + index];
+    }
+
+    /**
+     * Get the y-coordinate of a pointer in a historical sample
+     *
+     * @param sample The index of the historical sample, oldest first
+     * @param index The index of the pointer
+     *
+     * @return The y-coordinate of the pointer in the historical sample
+     *
+     * @throws IndexOutOfBoundsException If either index is invalid
+     */
+    public final float getHistoricalY(int sample, int index) {
+
+        checkSample(sample);
+        checkPointer(index);
+
+        return historicalYs[sample * pointerCount + index];
+    }
+
+    /**
+     * Get an event from the pool, or create a new event if the pool is empty
+     *
+     * @return The event
+     */
+    static PointerEvent obtain() {
+
+        PointerEvent event;
+
+        synchronized (pool) {
+
+            event = pool.pollFirst();
+        }
+
+        return event != null ? event : new PointerEvent();
+    }
+
+    /**
+     * Return the event to the pool
+     */
+    final void recycle() {
+
+        input = null;
+
+        synchronized (pool) {
+
+            if (pool.size() < POOL_SIZE) {
+
+                pool.addFirst(this);
+            }
+        }
+    }
+
+    /**
+     * Copy every pointer and historical sample of a motion event into this event
+     *
+     * @param event The motion event to copy
+     * @param input The type of input performed on the pointer which changed
+     */
+    final void set(MotionEvent event, Touch input) {
+
+        int count = event.getPointerCount();
+        int size = event.getHistorySize();
+
+        reserve(count, size);
+
+        setTime(event.getEventTime());
+
+        this.input = input;
+        this.actionIndex = event.getActionIndex();
+        this.pointerCount = count;
+        this.historySize = size;
+
+        for (int index = 0; index < count; index++) {
+
+            ids[index] = event.getPointerId(index);
+            xs[index] = event.getX(index);
+            ys[index] = event.getY(index);
+        }
+
+        for (int sample = 0; sample < size; sample++) {
+
+            historicalTimes[sample] = event.getHistoricalEventTime(sample);
+
+            for (int index = 0; index < count; index++) {
+
+                historicalXs[sample * count + index] = event.getHistoricalX(index, sample);
+                historicalYs[sample * count + index] = event.getHistoricalY(index, sample);
+            }
+        }
+    }
+
+    /**
+     * Copy every pointer and historical sample into this event
+     *
+     * @param time The time of the event in milliseconds
+     * @param input The type of input performed on the pointer which changed
+     * @param actionIndex The index of the pointer which changed
+     * @param ids The identifier of each pointer
+     * @param xs The x-coordinate of each pointer
+     * @param ys The y-coordinate of each pointer
+     * @param historicalTimes The time of each historical sample, oldest first
+     * @param historicalXs The x-coordinate of each pointer in each historical sample, indexed by sample then pointer
+     * @param historicalYs The y-coordinate of each pointer in each historical sample, indexed by sample then pointer
+     */
+    final void set(long time, Touch input, int actionIndex, int[] ids, float[] xs, float[] ys,
+                   long[] historicalTimes, float[] historicalXs, float[] historicalYs) {
+
+        int count = ids.length;
+        int size = historicalTimes.length;
+
+        reserve(count, size);
+
+        setTime(time);
+
+        this.input = input;
+        this.actionIndex = actionIndex;
+        this.pointerCount = count;
+        this.historySize = size;
+
+        System.arraycopy(ids, 0, this.ids, 0, count);
+        System.arraycopy(xs, 0, this.xs, 0, count);
+        System.arraycopy(ys, 0, this.ys, 0, count);
+        System.arraycopy(historicalTimes, 0, this.historicalTimes, 0, size);
+        System.arraycopy(historicalXs, 0, this.historicalXs, 0, size * count);
+        System.arraycopy(historicalYs, 0, this.historicalYs, 0, size * count);
+    }
+
+    /**
+     * Append a later movement of the same pointers to this movement, keeping every earlier sample as history
+     *
+     * @param next The later movement of the pointers
+     *
+     * @return Whether the later movement was appended
+     */
+    final boolean coalesce(PointerEvent next) {
+
+        if (input != Touch.MOVE || next.input != Touch.MOVE || pointerCount != next.pointerCount) {
+
+            return false;
+        }
+
+        for (int index = 0; index < pointerCount; index++) {
+
+            if (ids[index] != next.ids[index]) {
+
+                return false;
+            }
+        }
+
+        int count = pointerCount;
+        int size = historySize + 1 + next.historySize;
+
+        reserve(count, size);
+
+        historicalTimes[historySize] = getTime();
+
+        System.arraycopy(xs, 0, historicalXs, historySize * count, count);
+        System.arraycopy(ys, 0, historicalYs, historySize * count, count);
+
+        System.arraycopy(next.historicalTimes, 0, historicalTimes, historySize + 1, next.historySize);
+        System.arraycopy(next.historicalXs, 0, historicalXs, (historySize + 1) * count, next.historySize * count);
+        System.arraycopy(next.historicalYs, 0, historicalYs, (historySize + 1) * count, next.historySize * count);
+
+        System.arraycopy(next.xs, 0, xs, 0, count);
+        System.arraycopy(next.ys, 0, ys, 0, count);
+
+        setTime(next.getTime());
+
+        historySize = size;
+
+        return true;
+    }
+
+    /**
+     * Grow the arrays of the event to fit a number of pointers and historical samples
+     *
+     * @param count The number of pointers
+     * @param size The number of historical samples
+     */
+    private void reserve(int count, int size) {
+
+        if (ids.length < count) {
+
+            ids = new int[count];
+            xs = new float[count];
+            ys = new float[count];
+        }
+
+        if (historicalTimes.length < size) {
+
+            historicalTimes = grow(historicalTimes, size);
+        }
+
+        if (historicalXs.length < size * count) {
+
+            historicalXs = grow(historicalXs, size * count);
+            historicalYs = grow(historicalYs, size * count);
+        }
+    }
+
+    /**
+     * Check the index of a pointer
+     *
+     * @param index The index of the pointer
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    private void checkPointer(int index) {
+
+        if (index < 0 || index >= pointerCount) {
+
+            throw new IndexOutOfBoundsException("Unable to get a pointer with an invalid index");
+        }
+    }
+
+    /**
+     * Check the index of a historical sample
+     *
+     * @param sample The index of the historical sample
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    private void checkSample(int sample) {
+
+        if (sample < 0 || sample >= historySize) {
+
+            throw new IndexOutOfBoundsException("Unable to get a historical sample with an invalid index");
+        }
+    }
+
+    /**
+     * Copy an array into a larger array, at least doubling its capacity
+     *
+     * @param values The array to copy
+     * @param size The minimum size of the larger array
+     *
+     * @return The larger array
+     */
+    private static long[] grow(long[] values, int size) {
+
+        long[] grown = new long[Math.max(size, values.length * 2)];
+
+        System.arraycopy(values, 0, grown, 0, values.length);
+
+        return grown;
+    }
+
+    /**
+     * Copy an array into a larger array, at least doubling its capacity
+     *
+     * @param values The array to copy
+     * @param size The minimum size of the larger array
+     *
+     * @return The larger array
+     */
+    private static float[] grow(float[] values, int size) {
+
+        float[] grown = new float[Math.max(size, values.length * 2)];
+
+        System.arraycopy(values, 0, grown, 0, values.length);
+
+        return grown;
+    }
+}
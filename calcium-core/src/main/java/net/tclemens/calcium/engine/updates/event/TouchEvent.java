@@ -25,6 +25,12 @@ import net.tclemens.calcium.engine.updates.input.Touch;
  */
 public final class TouchEvent extends Event {
 
+    /** The times of a touch without historical positions */
+    private static final long[] EMPTY_TIMES = new long[0];
+
+    /** The coordinates of a touch without historical positions */
+    private static final float[] EMPTY_COORDINATES = new float[0];
+
     /** The x-coordinate of the touch input */
     private final float x;
 
@@ -34,6 +40,15 @@ public final class TouchEvent extends Event {
     /** The type of input performed on the touch */
     private final Touch input;
 
+    /** The times of the historical positions of the touch, oldest first */
+    private final long[] historicalTimes;
+
+    /** The historical x-coordinates of the touch, oldest first */
+    private final float[] historicalX;
+
+    /** The historical y-coordinates of the touch, oldest first */
+    private final float[] historicalY;
+
     /**
      * @param time The time of the event in milliseconds
      * @param x The x-coordinate of the touch
@@ -42,11 +57,28 @@ public final class TouchEvent extends Event {
      */
     TouchEvent(long time, float x, float y, Touch input) {
 
+        this(time, x, y, input, EMPTY_TIMES, EMPTY_COORDINATES, EMPTY_COORDINATES);
+    }
+
+    /**
+     * @param time The time of the event in milliseconds
+     * @param x The x-coordinate of the touch
+     * @param y The y-coordinate of the touch
+     * @param input The type of input performed on the touch
+     * @param historicalTimes The times of the historical positions of the touch, oldest first
+     * @param historicalX The historical x-coordinates of the touch, oldest first
+     * @param historicalY The historical y-coordinates of the touch, oldest first
+     */
+    TouchEvent(long time, float x, float y, Touch input, long[] historicalTimes, float[] historicalX, float[] historicalY) {
+
         super(time);
 
         this.x = x;
         this.y = y;
         this.input = input;
+        this.historicalTimes = historicalTimes;
+        this.historicalX = historicalX;
+        this.historicalY = historicalY;
     }
 
     /**
@@ -78,4 +110,94 @@ public final class TouchEvent extends Event {
 
         return input;
     }
+
+    /**
+     * Get the number of historical positions of the touch which were coalesced into this event
+     *
+     * @return The number of historical positions of the touch
+     */
+    public final int getHistorySize() {
+
+        return historicalTimes.length;
+    }
+
+    /**
+     * Get the time of a historical position of the touch
+     *
+     * @param index The index of the historical position, oldest first
+     *
+     * @return The time of the historical position in milliseconds
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final long getHistoricalTime(int index) {
+
+        return historicalTimes[index];
+    }
+
+    /**
+     * Get the x-coordinate of a historical position of the touch
+     *
+     * @param index The index of the historical position, oldest first
+     *
+     * @return The x-coordinate of the historical position
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final float getHistoricalX(int index) {
+
+        return historicalX[index];
+    }
+
+    /**
+     * Get the y-coordinate of a historical position of the touch
+     *
+     * @param index The index of the historical position, oldest first
+     *
+     * @return The y-coordinate of the historical position
+     *
+     * @throws IndexOutOfBoundsException If the index is invalid
+     */
+    public final float getHistoricalY(int index) {
+
+        return historicalY[index];
+    }
+
+    /**
+     * Coalesce a later movement of the touch into this movement
+     *
+     * @param next The later movement of the touch
+     * @param isHistorical Whether to keep the position of this movement as a historical position
+     *
+     * @return The coalesced movement, positioned at the later movement
+     */
+    final TouchEvent coalesce(TouchEvent next, boolean isHistorical) {
+
+        if (!isHistorical) {
+
+            return new TouchEvent(next.getTime(), next.x, next.y, next.input);
+        }
+
+        int size = historicalTimes.length + 1 + next.historicalTimes.length;
+
+        long[] times = new long[size];
+        float[] xs = new float[size];
+        float[] ys = new float[size];
+
+        int count = historicalTimes.length;
+
+        System.arraycopy(historicalTimes, 0, times, 0, count);
+        System.arraycopy(historicalX, 0, xs, 0, count);
+        System.arraycopy(historicalY, 0, ys, 0, count);
+
+        times[count] = getTime();
+        xs[count] = x;
+        ys[count] = y;
+
+        System.arraycopy(next.historicalTimes, 0, times, count + 1, next.historicalTimes.length);
+        System.arraycopy(next.historicalX, 0, xs, count + 1, next.historicalTimes.length);
+        System.arraycopy(next.historicalY, 0, ys, count + 1, next.historicalTimes.length);
+
+        return new TouchEvent(next.getTime(), next.x, next.y, next.input, times, xs, ys);
+    }
 }
@@ -32,10 +32,15 @@ public enum Touch {
     MOVE,
 
     /** The touch ended */
-    UP;
+    UP,
+
+    /** The touch was cancelled */
+    CANCEL;
 
     /**
-     * Create a touch input from a motion event
+     * Create a touch input from a motion event of a single touch
+     *
+     * <p>Only the first pointer is parsed, so additional pointers starting or ending are not supported.</p>
      *
      * @param event The motion event to parse
      *
@@ -45,7 +50,7 @@ public enum Touch {
      */
     public static Touch parseEvent(MotionEvent event) {
 
-        switch (event.getAction()) {
+        switch (event.getActionMasked()) {
 
             case MotionEvent.ACTION_DOWN:
                 return DOWN;
@@ -56,8 +61,38 @@ public enum Touch {
             case MotionEvent.ACTION_UP:
                 return UP;
 
+            case MotionEvent.ACTION_CANCEL:
+                return CANCEL;
+
             default:
                 throw new UnsupportedOperationException("The requested input action is not supported");
         }
     }
+
+    /**
+     * Create a touch input from a motion event of every pointer
+     *
+     * <p>Additional pointers starting or ending are parsed as {@link #DOWN} and {@link #UP} respectively, and the
+     * action index of the event identifies the pointer which changed.</p>
+     *
+     * @param event The motion event to parse
+     *
+     * @return The touch input
+     *
+     * @throws UnsupportedOperationException If the input action is not supported
+     */
+    public static Touch parsePointerEvent(MotionEvent event) {
+
+        switch (event.getActionMasked()) {
+
+            case MotionEvent.ACTION_POINTER_DOWN:
+                return DOWN;
+
+            case MotionEvent.ACTION_POINTER_UP:
+                return UP;
+
+            default:
+                return parseEvent(event);
+        }
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.updates.policy;
+
+/**
+ * This enumeration represents the available policies for publishing an event when the event queue is full
+ *
+ * @author Tim Clemens
+ */
+public enum Policy {
+
+    /**
+     * Wait for space in the queue, rejecting the event if no space is available before the timeout
+     *
+     * <p>This policy must be chosen explicitly and only waits on threads owned by the application. An event published
+     * from the main thread, the rendering thread or a scheduler thread is rejected instead.</p>
+     */
+    BLOCK,
+
+    /** Drop the oldest queued event to make space for the event */
+    DROP_OLDEST,
+
+    /** Coalesce the event into the newest queued event if possible, otherwise drop the oldest queued event */
+    COALESCE,
+
+    /** Reject the event */
+    REJECT
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.tclemens.calcium.engine.workers;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is responsible for performing the parts of a job in parallel on every available core
+ *
+ * <p>The worker threads are daemon threads which exit once they have been idle for a few seconds, so no thread is
+ * left behind once the engine stops issuing jobs.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Workers {
+
+    /**
+     * This class represents the parts of a job shared between the calling thread and the worker threads
+     */
+    private static final class Partition implements Runnable {
+
+        /** The job to perform */
+        private final Job job;
+
+        /** The number of parts in the job */
+        private final int count;
+
+        /** The index of the next unclaimed part */
+        private final AtomicInteger next = new AtomicInteger();
+
+        /** The number of parts which have not completed */
+        private final AtomicInteger remaining;
+
+        /** The first failure thrown by a part of the job */
+        private volatile RuntimeException failure;
+
+        /**
+         * @param job The job to perform
+         * @param count The number of parts in the job
+         */
+        private Partition(Job job, int count) {
+
+            this.job = job;
+            this.count = count;
+            this.remaining = new AtomicInteger(count);
+        }
+
+        @Override
+        public void run() {
+
+            int index;
+
+            while ((index = next.getAndIncrement()) < count) {
+
+                try {
+
+                    job.run(index);
+                }
+                catch (RuntimeException e) {
+
+                    if (failure == null) {
+
+                        failure = e;
+                    }
+                }
+                finally {
+
+                    if (remaining.decrementAndGet() == 0) {
+
+                        synchronized (this) {
+
+                            notifyAll();
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Wait for each claimed part of the job to complete
+         */
+        private synchronized void await() {
+
+            boolean interrupted = false;
+
+            while (remaining.get() > 0) {
+
+                try {
+
+                    wait();
+                }
+                catch (InterruptedException ignored) {
+
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted) {
+
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * This class is responsible for creating the worker threads
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+
+        /** The number of worker threads created */
+        private final AtomicInteger count = new AtomicInteger();
+
+        private WorkerFactory() {
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+
+            Thread thread = new Thread(runnable, "Workers-" + count.incrementAndGet());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+
+    /** The number of threads used to perform a job, including the calling thread */
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /** The default minimum number of items before work is divided into a parallel job */
+    private static final int DEFAULT_THRESHOLD = 1024;
+
+    /** The time an idle worker thread is kept alive in seconds */
+    private static final long KEEP_ALIVE = 10;
+
+    /** The thread pool used to perform the parts of a job alongside the calling thread */
+    private static final ThreadPoolExecutor workerExecutor = createExecutor(Math.max(1, PARALLELISM - 1));
+
+    /** The minimum number of items before work is divided into a parallel job */
+    private static volatile int threshold = DEFAULT_THRESHOLD;
+
+    private Workers() {
+    }
+
+    /**
+     * Get the number of threads used to perform a job, including the calling thread
+     *
+     * @return The number of threads used to perform a job
+     */
+    public static int getParallelism() {
+
+        return PARALLELISM;
+    }
+
+    /**
+     * Get the minimum number of items before work is divided into a parallel job
+     *
+     * @return The minimum number of items before work is divided into a parallel job
+     */
+    public static int getThreshold() {
+
+        return threshold;
+    }
+
+    /**
+     * Set the minimum number of items before work is divided into a parallel job
+     *
+     * <p>Work with fewer items, such as the models updated in a frame, is performed serially on the calling
+     * thread.</p>
+     *
+     * @param threshold The minimum number of items before work is divided into a parallel job
+     *
+     * @throws IllegalArgumentException If the threshold is not positive
+     */
+    public static void setThreshold(int threshold) {
+
+        if (threshold < 1) {
+
+            throw new IllegalArgumentException("Unable to set a threshold which is not positive");
+        }
+
+        Workers.threshold = threshold;
+    }
+
+    /**
+     * Perform each part of a job in parallel and wait for every part to complete
+     *
+     * <p>The calling thread performs any part which has not been claimed by a worker thread, so jobs may be
+     * nested inside other jobs without exhausting the thread pool.</p>
+     *
+     * @param count The number of parts in the job
+     * @param job The job to perform
+     *
+     * @throws IllegalArgumentException If the number of parts or the job is invalid
+     * @throws RuntimeException If any part of the job failed
+     */
+    public static void execute(int count, @NonNull Job job) {
+
+        if (count < 0) {
+
+            throw new IllegalArgumentException("Unable to execute a job with a negative number of parts");
+        }
+
+        if (job == null) {
+
+            throw new IllegalArgumentException("Unable to execute a null job");
+        }
+
+        if (count < 2 || PARALLELISM < 2) {
+
+            for (int index = 0; index < count; index++) {
+
+                job.run(index);
+            }
+
+            return;
+        }
+
+        Partition partition = new Partition(job, count);
+        int helpers = Math.min(count, PARALLELISM) - 1;
+
+        for (int helper = 0; helper < helpers; helper++) {
+
+            try {
+
+                workerExecutor.execute(partition);
+            }
+            catch (RejectedExecutionException ignored) {
+
+                break;
+            }
+        }
+
+        partition.run();
+        partition.await();
+
+        if (partition.failure != null) {
+
+            throw partition.failure;
+        }
+    }
+
+    /**
+     * Create the thread pool used to perform the parts of a job, whose threads exit once they are idle
+     *
+     * @param threads The number of threads in the thread pool
+     *
+     * @return The new thread pool
+     */
+    private static ThreadPoolExecutor createExecutor(int threads) {
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new WorkerFactory());
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+}
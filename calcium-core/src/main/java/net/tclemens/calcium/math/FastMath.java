@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math;
+
+/**
+ * This class implements fast approximations of common math functions
+ *
+ * <p>The sine and cosine are interpolated linearly from a table of one turn, with an absolute error below
+ * <tt>5e-7</tt> for any angle within <tt>1e6</tt> radians, and the inverse square root uses a bit-level estimate
+ * refined by three Newton iterations, with a relative error below <tt>5e-7</tt> for any positive normal value.
+ * The math types always use {@link Math} unless a caller opts in through a <tt>fast</tt> variant, such as
+ * {@code Vector3D.fastNormalize()}, {@code Quaternion.fastNlerp(Quaternion, float)} or
+ * {@code MutableMatrix3D.fastRotate(float, float, float)}.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class FastMath {
+
+    /** The number of entries in a single turn of the sine table, which must be a power of two */
+    private static final int SIZE = 4096;
+
+    /** The mask used to wrap an index into the sine table */
+    private static final int MASK = SIZE - 1;
+
+    /** The number of table entries per radian */
+    private static final double SCALE = SIZE / (2d * Math.PI);
+
+    /** The offset of a quarter turn in the sine table */
+    private static final int QUARTER = SIZE / 4;
+
+    /** The largest angle in radians which is approximated with the sine table */
+    private static final double LIMIT = 1e6d;
+
+    /** The magic constant of the initial inverse square root estimate */
+    private static final int MAGIC = 0x5f375a86;
+
+    /** The sine of each table angle, with an extra entry so interpolation never wraps */
+    private static final float[] TABLE = new float[SIZE + 1];
+
+    static {
+
+        for (int index = 0; index <= SIZE; index++) {
+
+            TABLE[index] = (float) Math.sin(index / SCALE);
+        }
+    }
+
+    private FastMath() {
+    }
+
+    /**
+     * Find the sine of an angle
+     *
+     * @param a The angle in radians
+     *
+     * @return The sine of the angle, with an absolute error below <tt>5e-7</tt>
+     */
+    public static float sin(float a) {
+
+        if (Math.abs(a) > LIMIT) {
+
+            return (float) Math.sin(a);
+        }
+
+        return lookup(a * SCALE, 0);
+    }
+
+    /**
+     * Find the cosine of an angle
+     *
+     * @param a The angle in radians
+     *
+     * @return The cosine of the angle, with an absolute error below <tt>5e-7</tt>
+     */
+    public static float cos(float a) {
+
+        if (Math.abs(a) > LIMIT) {
+
+            return (float) Math.cos(a);
+        }
+
+        return lookup(a * SCALE, QUARTER);
+    }
+
+    /**
+     * Find the sine and cosine of an angle in a single step
+     *
+     * @param a The angle in radians
+     * @param result The array to store the sine and then the cosine in
+     * @param offset The index of the sine in the array
+     *
+     * @throws IllegalArgumentException If the array is null or too small
+     */
+    public static void sinCos(float a, float[] result, int offset) {
+
+        if (result == null || offset < 0 || offset > result.length - 2) {
+
+            throw new IllegalArgumentException("Unable to find a sine and cosine with a null or small array");
+        }
+
+        if (Math.abs(a) > LIMIT) {
+
+            result[offset] = (float) Math.sin(a);
+            result[offset + 1] = (float) Math.cos(a);
+
+            return;
+        }
+
+        double index = a * SCALE;
+
+        result[offset] = lookup(index, 0);
+        result[offset + 1] = lookup(index, QUARTER);
+    }
+
+    /**
+     * Find the inverse square root of a positive value
+     *
+     * <p>Zero, subnormal, infinite, negative and NaN values defer to {@link Math}, so zero gives positive infinity
+     * and a negative value gives NaN.</p>
+     *
+     * @param x The positive value
+     *
+     * @return The inverse square root of the value, with a relative error below <tt>5e-7</tt> for a normal value
+     */
+    public static float invSqrt(float x) {
+
+        if (!(x >= Float.MIN_NORMAL && x <= Float.MAX_VALUE)) {
+
+            return 1f / (float) Math.sqrt(x);
+        }
+
+        float half = 0.5f * x;
+        float y = Float.intBitsToFloat(MAGIC - (Float.floatToRawIntBits(x) >> 1));
+
+        y *= 1.5f - half * y * y;
+        y *= 1.5f - half * y * y;
+        y *= 1.5f - half * y * y;
+
+        return y;
+    }
+
+    /**
+     * Interpolate the sine table
+     *
+     * @param index The fractional index of the angle in the table
+     * @param offset The number of entries to shift the angle by
+     *
+     * @return The interpolated value of the table
+     */
+    private static float lookup(double index, int offset) {
+
+        double floor = Math.floor(index);
+        float fraction = (float) (index - floor);
+        int entry = ((int) (long) floor + offset) & MASK;
+
+        float low = TABLE[entry];
+
+        return low + (TABLE[entry + 1] - low) * fraction;
+    }
+}
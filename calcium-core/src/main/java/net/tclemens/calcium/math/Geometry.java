@@ -259,7 +259,10 @@ public final class Geometry {
                                           float left, float right,
                                           float bottom, float top) {
 
-        throw new UnsupportedOperationException("Geometry: intersectArea2D is not implemented");
+        return (x >= left &&
+                x <= right &&
+                y >= bottom &&
+                y <= top);
     }
 
     /**
@@ -284,7 +287,44 @@ public final class Geometry {
                                           float left, float right,
                                           float bottom, float top) {
 
-        throw new UnsupportedOperationException("Geometry: intersectArea2D is not implemented");
+        float abx = bx - ax;
+        float aby = by - ay;
+
+        // Clip the parameter range of AB to the vertical slab of the area
+        float near = 0f;
+        float far = 1f;
+
+        if (abx != 0f) {
+
+            float iabx = 1f / abx;
+            float tl = (left - ax) * iabx;
+            float tr = (right - ax) * iabx;
+
+            near = Math.max(near, Math.min(tl, tr));
+            far = Math.min(far, Math.max(tl, tr));
+        }
+        else if (ax < left || ax > right) {
+
+            return false;
+        }
+
+        // Clip the remaining parameter range to the horizontal slab of the area
+        if (aby != 0f) {
+
+            float iaby = 1f / aby;
+            float tb = (bottom - ay) * iaby;
+            float tt = (top - ay) * iaby;
+
+            near = Math.max(near, Math.min(tb, tt));
+            far = Math.min(far, Math.max(tb, tt));
+        }
+        else if (ay < bottom || ay > top) {
+
+            return false;
+        }
+
+        // AB intersects the area if any part of it remains
+        return near <= far;
     }
 
     /**
@@ -352,6 +392,60 @@ public final class Geometry {
                 intersectArea2D(ay, az, by, bz, bottom, top, near, far));
     }
 
+    /**
+     * Check if two axis-aligned areas overlap
+     *
+     * @param al The lower bound for x coordinate of area A
+     * @param ar The upper bound for x coordinate of area A
+     * @param ab The lower bound for y coordinate of area A
+     * @param at The upper bound for y coordinate of area A
+     *
+     * @param bl The lower bound for x coordinate of area B
+     * @param br The upper bound for x coordinate of area B
+     * @param bb The lower bound for y coordinate of area B
+     * @param bt The upper bound for y coordinate of area B
+     *
+     * @return True if the areas overlap
+     */
+    public static boolean overlapArea2D(float al, float ar, float ab, float at,
+                                        float bl, float br, float bb, float bt) {
+
+        return (al <= br &&
+                ar >= bl &&
+                ab <= bt &&
+                at >= bb);
+    }
+
+    /**
+     * Check if two axis-aligned volumes overlap
+     *
+     * @param al The lower bound for x coordinate of volume A
+     * @param ar The upper bound for x coordinate of volume A
+     * @param ab The lower bound for y coordinate of volume A
+     * @param at The upper bound for y coordinate of volume A
+     * @param an The lower bound for z coordinate of volume A
+     * @param af The upper bound for z coordinate of volume A
+     *
+     * @param bl The lower bound for x coordinate of volume B
+     * @param br The upper bound for x coordinate of volume B
+     * @param bb The lower bound for y coordinate of volume B
+     * @param bt The upper bound for y coordinate of volume B
+     * @param bn The lower bound for z coordinate of volume B
+     * @param bf The upper bound for z coordinate of volume B
+     *
+     * @return True if the volumes overlap
+     */
+    public static boolean overlapVolume3D(float al, float ar, float ab, float at, float an, float af,
+                                          float bl, float br, float bb, float bt, float bn, float bf) {
+
+        return (al <= br &&
+                ar >= bl &&
+                ab <= bt &&
+                at >= bb &&
+                an <= bf &&
+                af >= bn);
+    }
+
     /**
      * Check if the line segment AB and the point C intersect
      *
@@ -449,47 +543,39 @@ public final class Geometry {
                                           float cx, float cy,
                                           float dx, float dy) {
 
-        // Find the slopes of both lines
-        float abs = (ay - by) / (ax - bx);
-        float cds = (cy - dy) / (cx - dx);
+        float abx = bx - ax;
+        float aby = by - ay;
+        float cdx = dx - cx;
+        float cdy = dy - cy;
 
-        // Find the intercepts of the lines
-        float aby = ay - (abs * ax);
-        float cdy = cy - (cds * cx);
+        // Find the side of AB on which C and D lie, and the side of CD on which A and B lie
+        float sc = abx * (cy - ay) - aby * (cx - ax);
+        float sd = abx * (dy - ay) - aby * (dx - ax);
+        float sa = cdx * (ay - cy) - cdy * (ax - cx);
+        float sb = cdx * (by - cy) - cdy * (bx - cx);
 
-        // Find the left and right boundaries of the line segments
+        // The line segments cross if each separates the endpoints of the other
+        if (((sc > 0f && sd < 0f) || (sc < 0f && sd > 0f)) &&
+            ((sa > 0f && sb < 0f) || (sa < 0f && sb > 0f))) {
+
+            return true;
+        }
+
+        // Find the left, right, bottom and top boundaries of the line segments
         float abl = Math.min(ax, bx);
         float abr = Math.max(ax, bx);
+        float abb = Math.min(ay, by);
+        float abt = Math.max(ay, by);
         float cdl = Math.min(cx, dx);
         float cdr = Math.max(cx, dx);
-
-        // Check if the lines are parallel
-        if (abs != cds) {
-
-            // Find the point of intersection
-            float x = (cdy - aby) / (cds - abs);
-            float y = (abs * x) + aby;
-
-            // Find the bottom and top boundaries of the line segments
-            float abb = Math.min(ay, by);
-            float abt = Math.max(ay, by);
-            float cdb = Math.min(cy, dy);
-            float cdt = Math.max(cy, dy);
-
-            // Determine if the line segments contain the point of intersection
-            return (intersectArea2D(x, y, abl, abr, abb, abt) &&
-                    intersectArea2D(x, y, cdl, cdr, cdb, cdt));
-        }
-
-        // Check if the lines are collinear
-        if (aby != cdy) {
-
-            // Parallel lines intersect if and only if they are collinear
-            return false;
-        }
-
-        // Determine if the collinear line segments overlap
-        return (abr - abl) + (cdr - cdl) >= Math.max(abr, cdr) - Math.min(abl, cdl);
+        float cdb = Math.min(cy, dy);
+        float cdt = Math.max(cy, dy);
+
+        // Otherwise they touch only if an endpoint of one is collinear with and inside the other
+        return ((sc == 0f && intersectArea2D(cx, cy, abl, abr, abb, abt)) ||
+                (sd == 0f && intersectArea2D(dx, dy, abl, abr, abb, abt)) ||
+                (sa == 0f && intersectArea2D(ax, ay, cdl, cdr, cdb, cdt)) ||
+                (sb == 0f && intersectArea2D(bx, by, cdl, cdr, cdb, cdt)));
     }
 
     /**
@@ -645,4 +731,561 @@ public final class Geometry {
                 abxzs == cdxzs &&
                 abyzs == cdyzs);
     }
+
+    /**
+     * Find the axis-aligned areas which the point intersects
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     *
+     * @param lefts The lower bound for x coordinate of each area
+     * @param rights The upper bound for x coordinate of each area
+     *
+     * @param bottoms The lower bound for y coordinate of each area
+     * @param tops The upper bound for y coordinate of each area
+     *
+     * @param count The number of areas
+     * @param hits The array to store the index of each intersected area in
+     *
+     * @return The number of intersected areas
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of areas
+     */
+    public static int intersectAreas2D(float x, float y,
+                                       float[] lefts, float[] rights,
+                                       float[] bottoms, float[] tops,
+                                       int count, int[] hits) {
+
+        checkBatch(count, hits, lefts, rights, bottoms, tops);
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            if (x >= lefts[index] && x <= rights[index] && y >= bottoms[index] && y <= tops[index]) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the axis-aligned areas which the line segment AB intersects
+     *
+     * @param ax The x coordinate of point A
+     * @param ay The y coordinate of point A
+     *
+     * @param bx The x coordinate of point B
+     * @param by The y coordinate of point B
+     *
+     * @param lefts The lower bound for x coordinate of each area
+     * @param rights The upper bound for x coordinate of each area
+     *
+     * @param bottoms The lower bound for y coordinate of each area
+     * @param tops The upper bound for y coordinate of each area
+     *
+     * @param count The number of areas
+     * @param hits The array to store the index of each intersected area in
+     *
+     * @return The number of intersected areas
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of areas
+     */
+    public static int intersectAreas2D(float ax, float ay,
+                                       float bx, float by,
+                                       float[] lefts, float[] rights,
+                                       float[] bottoms, float[] tops,
+                                       int count, int[] hits) {
+
+        checkBatch(count, hits, lefts, rights, bottoms, tops);
+
+        // Find the bounding area of AB and the inverse of its direction once for every area
+        float abl = Math.min(ax, bx);
+        float abr = Math.max(ax, bx);
+        float abb = Math.min(ay, by);
+        float abt = Math.max(ay, by);
+
+        float iabx = 1f / (bx - ax);
+        float iaby = 1f / (by - ay);
+
+        boolean vertical = abl == abr;
+        boolean horizontal = abb == abt;
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            float left = lefts[index];
+            float right = rights[index];
+            float bottom = bottoms[index];
+            float top = tops[index];
+
+            // Skip areas which do not overlap the bounding area of AB
+            if (abl > right || abr < left || abb > top || abt < bottom) {
+
+                continue;
+            }
+
+            float near = 0f;
+            float far = 1f;
+
+            if (!vertical) {
+
+                float tl = (left - ax) * iabx;
+                float tr = (right - ax) * iabx;
+
+                near = Math.max(near, Math.min(tl, tr));
+                far = Math.min(far, Math.max(tl, tr));
+            }
+
+            if (!horizontal) {
+
+                float tb = (bottom - ay) * iaby;
+                float tt = (top - ay) * iaby;
+
+                near = Math.max(near, Math.min(tb, tt));
+                far = Math.min(far, Math.max(tb, tt));
+            }
+
+            if (near <= far) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the axis-aligned areas which overlap an axis-aligned area
+     *
+     * @param left The lower bound for x coordinate of the area
+     * @param right The upper bound for x coordinate of the area
+     *
+     * @param bottom The lower bound for y coordinate of the area
+     * @param top The upper bound for y coordinate of the area
+     *
+     * @param lefts The lower bound for x coordinate of each area
+     * @param rights The upper bound for x coordinate of each area
+     *
+     * @param bottoms The lower bound for y coordinate of each area
+     * @param tops The upper bound for y coordinate of each area
+     *
+     * @param count The number of areas
+     * @param hits The array to store the index of each overlapping area in
+     *
+     * @return The number of overlapping areas
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of areas
+     */
+    public static int overlapAreas2D(float left, float right,
+                                     float bottom, float top,
+                                     float[] lefts, float[] rights,
+                                     float[] bottoms, float[] tops,
+                                     int count, int[] hits) {
+
+        checkBatch(count, hits, lefts, rights, bottoms, tops);
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            if (left <= rights[index] && right >= lefts[index] && bottom <= tops[index] && top >= bottoms[index]) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the axis-aligned volumes which the point intersects
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param z The z coordinate of the point
+     *
+     * @param lefts The lower bound for x coordinate of each volume
+     * @param rights The upper bound for x coordinate of each volume
+     *
+     * @param bottoms The lower bound for y coordinate of each volume
+     * @param tops The upper bound for y coordinate of each volume
+     *
+     * @param nears The lower bound for z coordinate of each volume
+     * @param fars The upper bound for z coordinate of each volume
+     *
+     * @param count The number of volumes
+     * @param hits The array to store the index of each intersected volume in
+     *
+     * @return The number of intersected volumes
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of volumes
+     */
+    public static int intersectVolumes3D(float x, float y, float z,
+                                         float[] lefts, float[] rights,
+                                         float[] bottoms, float[] tops,
+                                         float[] nears, float[] fars,
+                                         int count, int[] hits) {
+
+        checkBatch(count, hits, lefts, rights, bottoms, tops, nears, fars);
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            if (x >= lefts[index] && x <= rights[index] &&
+                y >= bottoms[index] && y <= tops[index] &&
+                z >= nears[index] && z <= fars[index]) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the axis-aligned volumes which the line segment AB intersects
+     *
+     * @param ax The x coordinate of point A
+     * @param ay The y coordinate of point A
+     * @param az The z coordinate of point A
+     *
+     * @param bx The x coordinate of point B
+     * @param by The y coordinate of point B
+     * @param bz The z coordinate of point B
+     *
+     * @param lefts The lower bound for x coordinate of each volume
+     * @param rights The upper bound for x coordinate of each volume
+     *
+     * @param bottoms The lower bound for y coordinate of each volume
+     * @param tops The upper bound for y coordinate of each volume
+     *
+     * @param nears The lower bound for z coordinate of each volume
+     * @param fars The upper bound for z coordinate of each volume
+     *
+     * @param count The number of volumes
+     * @param hits The array to store the index of each intersected volume in
+     *
+     * @return The number of intersected volumes
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of volumes
+     */
+    public static int intersectVolumes3D(float ax, float ay, float az,
+                                         float bx, float by, float bz,
+                                         float[] lefts, float[] rights,
+                                         float[] bottoms, float[] tops,
+                                         float[] nears, float[] fars,
+                                         int count, int[] hits) {
+
+        checkBatch(count, hits, lefts, rights, bottoms, tops, nears, fars);
+
+        // Find the bounding volume of AB and the inverse of its direction once for every volume
+        float abl = Math.min(ax, bx);
+        float abr = Math.max(ax, bx);
+        float abb = Math.min(ay, by);
+        float abt = Math.max(ay, by);
+        float abn = Math.min(az, bz);
+        float abf = Math.max(az, bz);
+
+        float iabx = 1f / (bx - ax);
+        float iaby = 1f / (by - ay);
+        float iabz = 1f / (bz - az);
+
+        boolean constantX = abl == abr;
+        boolean constantY = abb == abt;
+        boolean constantZ = abn == abf;
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            float left = lefts[index];
+            float right = rights[index];
+            float bottom = bottoms[index];
+            float top = tops[index];
+            float near = nears[index];
+            float far = fars[index];
+
+            // Skip volumes which do not overlap the bounding volume of AB
+            if (abl > right || abr < left || abb > top || abt < bottom || abn > far || abf < near) {
+
+                continue;
+            }
+
+            float start = 0f;
+            float end = 1f;
+
+            if (!constantX) {
+
+                float tl = (left - ax) * iabx;
+                float tr = (right - ax) * iabx;
+
+                start = Math.max(start, Math.min(tl, tr));
+                end = Math.min(end, Math.max(tl, tr));
+            }
+
+            if (!constantY) {
+
+                float tb = (bottom - ay) * iaby;
+                float tt = (top - ay) * iaby;
+
+                start = Math.max(start, Math.min(tb, tt));
+                end = Math.min(end, Math.max(tb, tt));
+            }
+
+            if (!constantZ) {
+
+                float tn = (near - az) * iabz;
+                float tf = (far - az) * iabz;
+
+                start = Math.max(start, Math.min(tn, tf));
+                end = Math.min(end, Math.max(tn, tf));
+            }
+
+            if (start <= end) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the axis-aligned volumes which overlap an axis-aligned volume
+     *
+     * @param left The lower bound for x coordinate of the volume
+     * @param right The upper bound for x coordinate of the volume
+     *
+     * @param bottom The lower bound for y coordinate of the volume
+     * @param top The upper bound for y coordinate of the volume
+     *
+     * @param near The lower bound for z coordinate of the volume
+     * @param far The upper bound for z coordinate of the volume
+     *
+     * @param lefts The lower bound for x coordinate of each volume
+     * @param rights The upper bound for x coordinate of each volume
+     *
+     * @param bottoms The lower bound for y coordinate of each volume
+     * @param tops The upper bound for y coordinate of each volume
+     *
+     * @param nears The lower bound for z coordinate of each volume
+     * @param fars The upper bound for z coordinate of each volume
+     *
+     * @param count The number of volumes
+     * @param hits The array to store the index of each overlapping volume in
+     *
+     * @return The number of overlapping volumes
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of volumes
+     */
+    public static int overlapVolumes3D(float left, float right,
+                                       float bottom, float top,
+                                       float near, float far,
+                                       float[] lefts, float[] rights,
+                                       float[] bottoms, float[] tops,
+                                       float[] nears, float[] fars,
+                                       int count, int[] hits) {
+
+        checkBatch(count, hits, lefts, rights, bottoms, tops, nears, fars);
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            if (left <= rights[index] && right >= lefts[index] &&
+                bottom <= tops[index] && top >= bottoms[index] &&
+                near <= fars[index] && far >= nears[index]) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the points within a distance of the point C
+     *
+     * @param cx The x coordinate of point C
+     * @param cy The y coordinate of point C
+     *
+     * @param distance The maximum distance from point C
+     *
+     * @param xs The x coordinate of each point
+     * @param ys The y coordinate of each point
+     *
+     * @param count The number of points
+     * @param hits The array to store the index of each point within the distance in
+     *
+     * @return The number of points within the distance
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of points
+     */
+    public static int withinDistance2D(float cx, float cy,
+                                       float distance,
+                                       float[] xs, float[] ys,
+                                       int count, int[] hits) {
+
+        checkBatch(count, hits, xs, ys);
+
+        // Compare squared distances so no point needs a square root
+        float limit = distance * distance;
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            float x = xs[index] - cx;
+            float y = ys[index] - cy;
+
+            if (x * x + y * y <= limit) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the points within a distance of the point C
+     *
+     * @param cx The x coordinate of point C
+     * @param cy The y coordinate of point C
+     * @param cz The z coordinate of point C
+     *
+     * @param distance The maximum distance from point C
+     *
+     * @param xs The x coordinate of each point
+     * @param ys The y coordinate of each point
+     * @param zs The z coordinate of each point
+     *
+     * @param count The number of points
+     * @param hits The array to store the index of each point within the distance in
+     *
+     * @return The number of points within the distance
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of points
+     */
+    public static int withinDistance3D(float cx, float cy, float cz,
+                                       float distance,
+                                       float[] xs, float[] ys, float[] zs,
+                                       int count, int[] hits) {
+
+        checkBatch(count, hits, xs, ys, zs);
+
+        // Compare squared distances so no point needs a square root
+        float limit = distance * distance;
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            float x = xs[index] - cx;
+            float y = ys[index] - cy;
+            float z = zs[index] - cz;
+
+            if (x * x + y * y + z * z <= limit) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the line segments CD which the line segment AB intersects
+     *
+     * @param ax The x coordinate of point A
+     * @param ay The y coordinate of point A
+     *
+     * @param bx The x coordinate of point B
+     * @param by The y coordinate of point B
+     *
+     * @param cxs The x coordinate of point C of each line segment
+     * @param cys The y coordinate of point C of each line segment
+     *
+     * @param dxs The x coordinate of point D of each line segment
+     * @param dys The y coordinate of point D of each line segment
+     *
+     * @param count The number of line segments
+     * @param hits The array to store the index of each intersected line segment in
+     *
+     * @return The number of intersected line segments
+     *
+     * @throws IllegalArgumentException If the arrays are null or smaller than the number of line segments
+     */
+    public static int intersectLines2D(float ax, float ay,
+                                       float bx, float by,
+                                       float[] cxs, float[] cys,
+                                       float[] dxs, float[] dys,
+                                       int count, int[] hits) {
+
+        checkBatch(count, hits, cxs, cys, dxs, dys);
+
+        // Find the bounding area of AB once for every line segment
+        float abl = Math.min(ax, bx);
+        float abr = Math.max(ax, bx);
+        float abb = Math.min(ay, by);
+        float abt = Math.max(ay, by);
+
+        int found = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            float cx = cxs[index];
+            float cy = cys[index];
+            float dx = dxs[index];
+            float dy = dys[index];
+
+            // Skip line segments whose bounding area does not overlap the bounding area of AB
+            if (abl > Math.max(cx, dx) || abr < Math.min(cx, dx) || abb > Math.max(cy, dy) || abt < Math.min(cy, dy)) {
+
+                continue;
+            }
+
+            if (intersectLine2D(ax, ay, bx, by, cx, cy, dx, dy)) {
+
+                hits[found++] = index;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Ensure the arrays of a batch query can hold every shape and hit
+     *
+     * @param count The number of shapes
+     * @param hits The array to store the index of each hit in
+     * @param arrays The arrays of each shape coordinate
+     *
+     * @throws IllegalArgumentException If the number of shapes is negative or any array is null or too small
+     */
+    private static void checkBatch(int count, int[] hits, float[]... arrays) {
+
+        if (count < 0) {
+
+            throw new IllegalArgumentException("Unable to query a negative number of shapes");
+        }
+
+        if (hits == null || hits.length < count) {
+
+            throw new IllegalArgumentException("Unable to query shapes with a null or small hit array");
+        }
+
+        for (float[] array : arrays) {
+
+            if (array == null || array.length < count) {
+
+                throw new IllegalArgumentException("Unable to query shapes with a null or small coordinate array");
+            }
+        }
+    }
 }
@@ -20,16 +20,31 @@ package net.tclemens.calcium.math.matrix;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.math.quaternion.Quaternion;
+import net.tclemens.calcium.math.vector.MutableVector3D;
 import net.tclemens.calcium.math.vector.Vector3D;
 import net.tclemens.calcium.math.vector.VectorFactory;
 
 /**
- * This class represents an affine three-dimensional matrix
+ * This class represents a three-dimensional transformation matrix in homogeneous coordinates
+ *
+ * <p>Each matrix records whether it is known to be general, affine with a bottom row of <tt>(0, 0, 0, 1)</tt>, or
+ * rigid with a rotation as its upper-left block. The type is derived when a matrix is built, kept by operations
+ * which preserve it, and used to choose cheaper routines for multiplying, inverting and transforming vectors.</p>
  *
  * @author Tim Clemens
  */
 public final class Matrix3D {
 
+    /** The type of a matrix with no known structure */
+    static final int GENERAL = 0;
+
+    /** The type of a matrix whose bottom row is <tt>(0, 0, 0, 1)</tt> */
+    static final int AFFINE = 1;
+
+    /** The type of an affine matrix whose upper-left block is a rotation */
+    static final int RIGID = 2;
+
     /** The <tt>x</tt> component of the left vector */
     private final float ax;
 
@@ -78,6 +93,9 @@ public final class Matrix3D {
     /** The <tt>w</tt> component of the right vector */
     private final float dw;
 
+    /** The type of the matrix, which selects the routines used by each operation */
+    private final int type;
+
     /**
      * @param ax The <tt>x</tt> component of the left vector
      * @param bx The <tt>x</tt> component of the left-middle vector
@@ -95,11 +113,13 @@ public final class Matrix3D {
      * @param bw The <tt>w</tt> component of the left-middle vector
      * @param cw The <tt>w</tt> component of the right-middle vector
      * @param dw The <tt>w</tt> component of the right vector
+     * @param type The type of the matrix
      */
     Matrix3D(float ax, float bx, float cx, float dx,
              float ay, float by, float cy, float dy,
              float az, float bz, float cz, float dz,
-             float aw, float bw, float cw, float dw) {
+             float aw, float bw, float cw, float dw,
+             int type) {
 
         this.ax = ax;
         this.ay = ay;
@@ -120,6 +140,8 @@ public final class Matrix3D {
         this.dy = dy;
         this.dz = dz;
         this.dw = dw;
+
+        this.type = type;
     }
 
     /**
@@ -282,6 +304,36 @@ public final class Matrix3D {
         return dw;
     }
 
+    /**
+     * Check if the matrix is known to be affine, with a bottom row of <tt>(0, 0, 0, 1)</tt>
+     *
+     * @return <tt>true</tt> if the matrix is affine, <tt>false</tt> otherwise
+     */
+    public final boolean isAffine() {
+
+        return type != GENERAL;
+    }
+
+    /**
+     * Check if the matrix is known to be rigid, combining only rotations and translations
+     *
+     * @return <tt>true</tt> if the matrix is rigid, <tt>false</tt> otherwise
+     */
+    public final boolean isRigid() {
+
+        return type == RIGID;
+    }
+
+    /**
+     * Get the type of the matrix
+     *
+     * @return The type of the matrix
+     */
+    final int getType() {
+
+        return type;
+    }
+
     /**
      * Calculate the determinant of the matrix
      *
@@ -289,6 +341,11 @@ public final class Matrix3D {
      */
     public final float determinant() {
 
+        if (type != GENERAL) {
+
+            return ax * (by * cz - cy * bz) + bx * (cy * az - ay * cz) + cx * (ay * bz - by * az);
+        }
+
         float azbw = az * bw;
         float azcw = az * cw;
         float azdw = az * dw;
@@ -331,7 +388,9 @@ public final class Matrix3D {
         float x = ax * vector.getX() + bx * vector.getY() + cx * vector.getZ() + dx * vector.getW();
         float y = ay * vector.getX() + by * vector.getY() + cy * vector.getZ() + dy * vector.getW();
         float z = az * vector.getX() + bz * vector.getY() + cz * vector.getZ() + dz * vector.getW();
-        float w = aw * vector.getX() + bw * vector.getY() + cw * vector.getZ() + dw * vector.getW();
+        float w = type != GENERAL
+                ? vector.getW()
+                : aw * vector.getX() + bw * vector.getY() + cw * vector.getZ() + dw * vector.getW();
 
         return VectorFactory.createVector3D(x, y, z, w);
     }
@@ -348,9 +407,14 @@ public final class Matrix3D {
 
         if (matrix == null) {
 
-            throw new IllegalArgumentException("Unable to calculate a product with a null vector");
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
         }
-        
+
+        if (type != GENERAL && matrix.type != GENERAL) {
+
+            return multiplyAffine(matrix);
+        }
+
         float rax = ax * matrix.ax + bx * matrix.ay + cx * matrix.az + dx * matrix.aw;
         float ray = ay * matrix.ax + by * matrix.ay + cy * matrix.az + dy * matrix.aw;
         float raz = az * matrix.ax + bz * matrix.ay + cz * matrix.az + dz * matrix.aw;
@@ -378,6 +442,61 @@ public final class Matrix3D {
                 raw, rbw, rcw, rdw);
     }
 
+    /**
+     * Write the product of the matrix and the vector into a mutable vector
+     *
+     * @param vector The right-hand vector
+     * @param dest The vector to write the product into
+     *
+     * @return The product of the matrix and the vector
+     */
+    @NonNull
+    public final MutableVector3D multiplyInto(@NonNull Vector3D vector, @NonNull MutableVector3D dest) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null vector");
+        }
+
+        if (dest == null) {
+
+            throw new IllegalArgumentException("Unable to write a product into a null vector");
+        }
+
+        float x = ax * vector.getX() + bx * vector.getY() + cx * vector.getZ() + dx * vector.getW();
+        float y = ay * vector.getX() + by * vector.getY() + cy * vector.getZ() + dy * vector.getW();
+        float z = az * vector.getX() + bz * vector.getY() + cz * vector.getZ() + dz * vector.getW();
+        float w = type != GENERAL
+                ? vector.getW()
+                : aw * vector.getX() + bw * vector.getY() + cw * vector.getZ() + dw * vector.getW();
+
+        return dest.set(x, y, z, w);
+    }
+
+    /**
+     * Write the product of the two matrices into a mutable matrix
+     *
+     * @param matrix The right-hand matrix
+     * @param dest The matrix to write the product into
+     *
+     * @return The product of the matrices
+     */
+    @NonNull
+    public final MutableMatrix3D multiplyInto(@NonNull Matrix3D matrix, @NonNull MutableMatrix3D dest) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
+        }
+
+        if (dest == null) {
+
+            throw new IllegalArgumentException("Unable to write a product into a null matrix");
+        }
+
+        return dest.set(this).multiply(matrix);
+    }
+
     /**
      * Calculate the scalar product of the matrix
      *
@@ -403,6 +522,16 @@ public final class Matrix3D {
     @NonNull
     public final Matrix3D invert() {
 
+        if (type == RIGID) {
+
+            return invertRigid();
+        }
+
+        if (type == AFFINE) {
+
+            return invertAffine();
+        }
+
         float azbw = az * bw;
         float azcw = az * cw;
         float azdw = az * dw;
@@ -513,6 +642,9 @@ public final class Matrix3D {
     /**
      * Rotate the matrix
      *
+     * <p>The rotation matches {@link MatrixFactory#createRotate3D(float, float, float)}, including its corrected
+     * <tt>x</tt> angle terms.</p>
+     *
      * @param x The <tt>x</tt> rotation factor in degrees
      * @param y The <tt>x</tt> rotation factor in degrees
      * @param z The <tt>x</tt> rotation factor in degrees
@@ -540,12 +672,12 @@ public final class Matrix3D {
         float ray = -cya * sza;
         float raz = sya;
 
-        float rbx = cxa * sya * cza + cxa * sza;
-        float rby = -cxa * sya * sza + cxa * cza;
+        float rbx = sxa * sya * cza + cxa * sza;
+        float rby = -sxa * sya * sza + cxa * cza;
         float rbz = -sxa * cya;
 
-        float rcx = -sxa * sya * cza + sxa * sza;
-        float rcy = sxa * sya * sza + sxa * cza;
+        float rcx = -cxa * sya * cza + sxa * sza;
+        float rcy = cxa * sya * sza + sxa * cza;
         float rcz = cxa * cya;
         
         float ax = this.ax * rax + this.bx * ray + this.cx * raz;
@@ -567,7 +699,26 @@ public final class Matrix3D {
                 ax, bx, cx, dx,
                 ay, by, cy, dy,
                 az, bz, cz, dz,
-                aw, bw, cw, dw);
+                aw, bw, cw, dw,
+                type);
+    }
+
+    /**
+     * Rotate the matrix by a normalized quaternion
+     *
+     * @param quaternion The rotation quaternion
+     *
+     * @return The rotated matrix
+     */
+    @NonNull
+    public final Matrix3D rotate(@NonNull Quaternion quaternion) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to rotate a matrix with a null quaternion");
+        }
+
+        return multiply(MatrixFactory.createRotate3D(quaternion));
     }
 
     /**
@@ -585,20 +736,24 @@ public final class Matrix3D {
         float ax = this.ax * x;
         float ay = this.ay * x;
         float az = this.az * x;
+        float aw = this.aw * x;
 
         float bx = this.bx * y;
         float by = this.by * y;
         float bz = this.bz * y;
+        float bw = this.bw * y;
 
         float cx = this.cx * z;
         float cy = this.cy * z;
         float cz = this.cz * z;
+        float cw = this.cw * z;
 
         return MatrixFactory.buildMatrix3D(
                 ax, bx, cx, dx,
                 ay, by, cy, dy,
                 az, bz, cz, dz,
-                aw, bw, cw, dw);
+                aw, bw, cw, dw,
+                Math.min(type, AFFINE));
     }
 
     /**
@@ -613,14 +768,112 @@ public final class Matrix3D {
     @NonNull
     public final Matrix3D translate(float x, float y, float z) {
 
-        float dx = ax * x + bx * y + cx * z;
-        float dy = ax * x + bx * y + cx * z;
-        float dz = ax * x + bx * y + cx * z;
+        float dx = ax * x + bx * y + cx * z + this.dx;
+        float dy = ay * x + by * y + cy * z + this.dy;
+        float dz = az * x + bz * y + cz * z + this.dz;
+        float dw = aw * x + bw * y + cw * z + this.dw;
 
         return MatrixFactory.buildMatrix3D(
                 ax, bx, cx, dx,
                 ay, by, cy, dy,
                 az, bz, cz, dz,
-                aw, bw, cw, dw);
+                aw, bw, cw, dw,
+                type);
+    }
+
+    /**
+     * Calculate the product of two affine matrices, skipping the terms of the constant bottom rows
+     *
+     * @param matrix The right-hand matrix
+     *
+     * @return The product of the matrices
+     */
+    private Matrix3D multiplyAffine(Matrix3D matrix) {
+
+        float rax = ax * matrix.ax + bx * matrix.ay + cx * matrix.az;
+        float ray = ay * matrix.ax + by * matrix.ay + cy * matrix.az;
+        float raz = az * matrix.ax + bz * matrix.ay + cz * matrix.az;
+
+        float rbx = ax * matrix.bx + bx * matrix.by + cx * matrix.bz;
+        float rby = ay * matrix.bx + by * matrix.by + cy * matrix.bz;
+        float rbz = az * matrix.bx + bz * matrix.by + cz * matrix.bz;
+
+        float rcx = ax * matrix.cx + bx * matrix.cy + cx * matrix.cz;
+        float rcy = ay * matrix.cx + by * matrix.cy + cy * matrix.cz;
+        float rcz = az * matrix.cx + bz * matrix.cy + cz * matrix.cz;
+
+        float rdx = ax * matrix.dx + bx * matrix.dy + cx * matrix.dz + dx;
+        float rdy = ay * matrix.dx + by * matrix.dy + cy * matrix.dz + dy;
+        float rdz = az * matrix.dx + bz * matrix.dy + cz * matrix.dz + dz;
+
+        return MatrixFactory.buildMatrix3D(
+                rax, rbx, rcx, rdx,
+                ray, rby, rcy, rdy,
+                raz, rbz, rcz, rdz,
+                0f,  0f,  0f,  1f,
+                Math.min(type, matrix.type));
+    }
+
+    /**
+     * Invert an affine matrix from the inverse of its upper-left block and its negated translation
+     *
+     * @return The inverted matrix
+     */
+    private Matrix3D invertAffine() {
+
+        float cax = by * cz - cy * bz;
+        float cay = cy * az - ay * cz;
+        float caz = ay * bz - by * az;
+
+        float d = ax * cax + bx * cay + cx * caz;
+
+        if (d == 0f) {
+
+            throw new IllegalStateException("Unable to invert a matrix with a zero determinant");
+        }
+
+        float id = 1f / d;
+
+        float iax = cax * id;
+        float iay = cay * id;
+        float iaz = caz * id;
+
+        float ibx = (cx * bz - bx * cz) * id;
+        float iby = (ax * cz - cx * az) * id;
+        float ibz = (bx * az - ax * bz) * id;
+
+        float icx = (bx * cy - cx * by) * id;
+        float icy = (cx * ay - ax * cy) * id;
+        float icz = (ax * by - bx * ay) * id;
+
+        float idx = -(iax * dx + ibx * dy + icx * dz);
+        float idy = -(iay * dx + iby * dy + icy * dz);
+        float idz = -(iaz * dx + ibz * dy + icz * dz);
+
+        return MatrixFactory.buildMatrix3D(
+                iax, ibx, icx, idx,
+                iay, iby, icy, idy,
+                iaz, ibz, icz, idz,
+                0f,  0f,  0f,  1f,
+                AFFINE);
+    }
+
+    /**
+     * Invert a rigid matrix from the transpose of its rotation and its negated translation
+     *
+     * @return The inverted matrix
+     */
+    private Matrix3D invertRigid() {
+
+        float idx = -(ax * dx + ay * dy + az * dz);
+        float idy = -(bx * dx + by * dy + bz * dz);
+        float idz = -(cx * dx + cy * dy + cz * dz);
+
+        return MatrixFactory.buildMatrix3D(
+                ax, ay, az, idx,
+                bx, by, bz, idy,
+                cx, cy, cz, idz,
+                0f, 0f, 0f, 1f,
+                RIGID);
     }
 }
@@ -20,6 +20,7 @@ package net.tclemens.calcium.math.matrix;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.math.quaternion.Quaternion;
 import net.tclemens.calcium.math.vector.Vector3D;
 
 /**
@@ -40,7 +41,8 @@ public final class MatrixFactory {
             1f, 0f, 0f, 0f,
             0f, 1f, 0f, 0f,
             0f, 0f, 1f, 0f,
-            0f, 0f, 0f, 1f);
+            0f, 0f, 0f, 1f,
+            Matrix3D.RIGID);
 
     private MatrixFactory() {
     }
@@ -96,37 +98,7 @@ public final class MatrixFactory {
             throw new IllegalArgumentException("Unable to create a view matrix with a null up vector");
         }
 
-        // TODO Perform these operations locally to avoid excessive allocations
-
-        Vector3D f = center.subtract(eye).normalize();
-        Vector3D s = f.cross(up).normalize();
-        Vector3D u = s.cross(f);
-
-        float ax =  s.getX();
-        float ay =  u.getX();
-        float az = -f.getX();
-
-        float bx =  s.getY();
-        float by =  u.getY();
-        float bz = -f.getY();
-
-        float cx =  s.getZ();
-        float cy =  u.getZ();
-        float cz = -f.getZ();
-
-        float x = -eye.getX();
-        float y = -eye.getY();
-        float z = -eye.getZ();
-
-        float dx = ax * x + bx * y + cx * z;
-        float dy = ay * x + by * y + cy * z;
-        float dz = az * x + bz * y + cz * z;
-
-        return buildMatrix3D(
-                ax, bx, cx, dx,
-                ay, by, cy, dy,
-                az, bz, cz, dz,
-                0f, 0f, 0f, 1f);
+        return createMutable3D().setView(eye, center, up).toMatrix3D();
     }
 
     /**
@@ -184,6 +156,47 @@ public final class MatrixFactory {
                 0f, 0f, 0f, 1f);
     }
 
+    /**
+     * Create an affine two-dimensional orthographic projection matrix
+     *
+     * @param left The left boundary of the projection
+     * @param right The right boundary of the projection
+     * @param bottom The bottom boundary of the projection
+     * @param top The top boundary of the projection
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public static Matrix2D createOrthographic2D(float left, float right, float bottom, float top) {
+
+        float width = right - left;
+        float height = top - bottom;
+
+        if (width == 0f) {
+
+            throw new IllegalArgumentException("Unable to create a projection with zero width");
+        }
+
+        if (height == 0f) {
+
+            throw new IllegalArgumentException("Unable to create a projection with zero height");
+        }
+
+        float iw = 1f / width;
+        float ih = 1f / height;
+
+        float ax = 2f * iw;
+        float by = 2f * ih;
+
+        float cx = -(right + left) * iw;
+        float cy = -(top + bottom) * ih;
+
+        return buildMatrix2D(
+                ax, 0f, cx,
+                0f, by, cy,
+                0f, 0f, 1f);
+    }
+
     /**
      * Create an affine three-dimensional perspective projection matrix
      *
@@ -235,6 +248,10 @@ public final class MatrixFactory {
     /**
      * Create an affine three-dimensional rotation matrix
      *
+     * <p>The upper-left block is an orthonormal rotation. Versions before the rigid matrix type swapped the sine and
+     * cosine of the <tt>x</tt> angle in the middle and right columns, so any non-zero <tt>x</tt> angle now gives a
+     * different matrix than those versions did.</p>
+     *
      * @param x The <tt>x</tt> rotation angle
      * @param y The <tt>y</tt> rotation angle
      * @param z The <tt>z</tt> rotation angle
@@ -262,19 +279,60 @@ public final class MatrixFactory {
         float ay = -cya * sza;
         float az = sya;
 
-        float bx = cxa * sya * cza + cxa * sza;
-        float by = -cxa * sya * sza + cxa * cza;
+        float bx = sxa * sya * cza + cxa * sza;
+        float by = -sxa * sya * sza + cxa * cza;
         float bz = -sxa * cya;
 
-        float cx = -sxa * sya * cza + sxa * sza;
-        float cy = sxa * sya * sza + sxa * cza;
+        float cx = -cxa * sya * cza + sxa * sza;
+        float cy = cxa * sya * sza + sxa * cza;
         float cz = cxa * cya;
 
         return buildMatrix3D(
                 ax, bx, cx, 0f,
                 ay, by, cy, 0f,
                 az, bz, cz, 0f,
-                0f, 0f, 0f, 1f);
+                0f, 0f, 0f, 1f,
+                Matrix3D.RIGID);
+    }
+
+    /**
+     * Create an affine three-dimensional rotation matrix from a normalized quaternion
+     *
+     * @param quaternion The rotation quaternion
+     *
+     * @return the new matrix
+     */
+    @NonNull
+    public static Matrix3D createRotate3D(@NonNull Quaternion quaternion) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to create a rotation matrix with a null quaternion");
+        }
+
+        float x = quaternion.getX();
+        float y = quaternion.getY();
+        float z = quaternion.getZ();
+        float w = quaternion.getW();
+
+        float xx = x * x;
+        float yy = y * y;
+        float zz = z * z;
+
+        float xy = x * y;
+        float xz = x * z;
+        float yz = y * z;
+
+        float xw = x * w;
+        float yw = y * w;
+        float zw = z * w;
+
+        return buildMatrix3D(
+                1f - 2f * (yy + zz), 2f * (xy - zw),      2f * (xz + yw),      0f,
+                2f * (xy + zw),      1f - 2f * (xx + zz), 2f * (yz - xw),      0f,
+                2f * (xz - yw),      2f * (yz + xw),      1f - 2f * (xx + yy), 0f,
+                0f,                  0f,                  0f,                  1f,
+                Matrix3D.RIGID);
     }
 
     /**
@@ -346,7 +404,8 @@ public final class MatrixFactory {
                 1f, 0f, 0f, x,
                 0f, 1f, 0f, y,
                 0f, 0f, 1f, z,
-                0f, 0f, 0f, 1f);
+                0f, 0f, 0f, 1f,
+                Matrix3D.RIGID);
     }
 
     /**
@@ -410,6 +469,95 @@ public final class MatrixFactory {
                 aw, bw, cw, dw);
     }
 
+    /**
+     * Create a mutable affine three-dimensional matrix initialized to the identity matrix
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public static MutableMatrix3D createMutable3D() {
+
+        return buildMutable3D(
+                1f, 0f, 0f, 0f,
+                0f, 1f, 0f, 0f,
+                0f, 0f, 1f, 0f,
+                0f, 0f, 0f, 1f,
+                Matrix3D.RIGID);
+    }
+
+    /**
+     * Create a mutable affine three-dimensional matrix from the components of an immutable matrix
+     *
+     * @param matrix The matrix to copy
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public static MutableMatrix3D createMutable3D(@NonNull Matrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to create a mutable matrix with a null matrix");
+        }
+
+        return createMutable3D().set(matrix);
+    }
+
+    /**
+     * Create a mutable affine two-dimensional matrix initialized to the identity matrix
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public static MutableMatrix2D createMutable2D() {
+
+        return buildMutable2D(
+                1f, 0f, 0f,
+                0f, 1f, 0f,
+                0f, 0f, 1f);
+    }
+
+    /**
+     * Create a mutable affine two-dimensional matrix from the components of an immutable matrix
+     *
+     * @param matrix The matrix to copy
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public static MutableMatrix2D createMutable2D(@NonNull Matrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to create a mutable matrix with a null matrix");
+        }
+
+        return createMutable2D().set(matrix);
+    }
+
+    /**
+     * Create a three-dimensional matrix which applies a two-dimensional matrix to the <tt>x</tt> and <tt>y</tt>
+     * components of a vector, leaving the <tt>z</tt> component unchanged
+     *
+     * @param matrix The two-dimensional matrix
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public static Matrix3D createPlane3D(@NonNull Matrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to create a matrix with a null matrix");
+        }
+
+        return buildMatrix3D(
+                matrix.getAX(), matrix.getBX(), 0f, matrix.getCX(),
+                matrix.getAY(), matrix.getBY(), 0f, matrix.getCY(),
+                0f,             0f,             1f, 0f,
+                matrix.getAW(), matrix.getBW(), 0f, matrix.getCW());
+    }
+
     /**
      * Create an affine two-dimensional matrix
      *
@@ -462,10 +610,125 @@ public final class MatrixFactory {
                                   float az, float bz, float cz, float dz,
                                   float aw, float bw, float cw, float dw) {
 
+        return buildMatrix3D(
+                ax, bx, cx, dx,
+                ay, by, cy, dy,
+                az, bz, cz, dz,
+                aw, bw, cw, dw,
+                classify3D(aw, bw, cw, dw));
+    }
+
+    /**
+     * Create an affine three-dimensional matrix of a known type
+     *
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param dx The <tt>x</tt> component of the right vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param dy The <tt>y</tt> component of the right vector
+     * @param az The <tt>z</tt> component of the left vector
+     * @param bz The <tt>z</tt> component of the left-middle vector
+     * @param cz The <tt>z</tt> component of the right-middle vector
+     * @param dz The <tt>z</tt> component of the right vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     * @param dw The <tt>w</tt> component of the right vector
+     * @param type The type of the matrix
+     *
+     * @return The new matrix
+     */
+    static Matrix3D buildMatrix3D(float ax, float bx, float cx, float dx,
+                                  float ay, float by, float cy, float dy,
+                                  float az, float bz, float cz, float dz,
+                                  float aw, float bw, float cw, float dw,
+                                  int type) {
+
         return new Matrix3D(
                 ax, bx, cx, dx,
                 ay, by, cy, dy,
                 az, bz, cz, dz,
-                aw, bw, cw, dw);
+                aw, bw, cw, dw,
+                type);
+    }
+
+    /**
+     * Create a mutable affine two-dimensional matrix
+     *
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     *
+     * @return The new matrix
+     */
+    static MutableMatrix2D buildMutable2D(float ax, float bx, float cx,
+                                          float ay, float by, float cy,
+                                          float aw, float bw, float cw) {
+
+        return new MutableMatrix2D(
+                ax, bx, cx,
+                ay, by, cy,
+                aw, bw, cw);
+    }
+
+    /**
+     * Create a mutable affine three-dimensional matrix
+     *
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param dx The <tt>x</tt> component of the right vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param dy The <tt>y</tt> component of the right vector
+     * @param az The <tt>z</tt> component of the left vector
+     * @param bz The <tt>z</tt> component of the left-middle vector
+     * @param cz The <tt>z</tt> component of the right-middle vector
+     * @param dz The <tt>z</tt> component of the right vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     * @param dw The <tt>w</tt> component of the right vector
+     * @param type The type of the matrix
+     *
+     * @return The new matrix
+     */
+    static MutableMatrix3D buildMutable3D(float ax, float bx, float cx, float dx,
+                                          float ay, float by, float cy, float dy,
+                                          float az, float bz, float cz, float dz,
+                                          float aw, float bw, float cw, float dw,
+                                          int type) {
+
+        return new MutableMatrix3D(
+                ax, bx, cx, dx,
+                ay, by, cy, dy,
+                az, bz, cz, dz,
+                aw, bw, cw, dw,
+                type);
+    }
+
+    /**
+     * Find the type of a three-dimensional matrix from its bottom row
+     *
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     * @param dw The <tt>w</tt> component of the right vector
+     *
+     * @return The affine type if the bottom row is <tt>(0, 0, 0, 1)</tt>, the general type otherwise
+     */
+    static int classify3D(float aw, float bw, float cw, float dw) {
+
+        return aw == 0f && bw == 0f && cw == 0f && dw == 1f ? Matrix3D.AFFINE : Matrix3D.GENERAL;
     }
 }
@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.matrix;
+
+import android.support.annotation.NonNull;
+
+import java.nio.FloatBuffer;
+
+/**
+ * This class represents a mutable affine two-dimensional matrix
+ *
+ * <p>Every operation writes its result into the matrix and returns it, so a matrix owned by the caller can compose
+ * transformations each frame without allocating. A mutable matrix is not safe to share between threads.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class MutableMatrix2D {
+
+    /** The <tt>x</tt> component of the left vector */
+    private float ax;
+
+    /** The <tt>y</tt> component of the left vector */
+    private float ay;
+
+    /** The <tt>w</tt> component of the left vector */
+    private float aw;
+
+    /** The <tt>x</tt> component of the left-middle vector */
+    private float bx;
+
+    /** The <tt>y</tt> component of the left-middle vector */
+    private float by;
+
+    /** The <tt>w</tt> component of the left-middle vector */
+    private float bw;
+
+    /** The <tt>x</tt> component of the right-middle vector */
+    private float cx;
+
+    /** The <tt>y</tt> component of the right-middle vector */
+    private float cy;
+
+    /** The <tt>w</tt> component of the right-middle vector */
+    private float cw;
+
+    /**
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     */
+    MutableMatrix2D(float ax, float bx, float cx,
+                    float ay, float by, float cy,
+                    float aw, float bw, float cw) {
+
+        this.ax = ax;
+        this.ay = ay;
+        this.aw = aw;
+
+        this.bx = bx;
+        this.by = by;
+        this.bw = bw;
+
+        this.cx = cx;
+        this.cy = cy;
+        this.cw = cw;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the left vector
+     *
+     * @return The <tt>x</tt> component of the left vector
+     */
+    public final float getAX() {
+
+        return ax;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the left vector
+     *
+     * @return The <tt>y</tt> component of the left vector
+     */
+    public final float getAY() {
+
+        return ay;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the left vector
+     *
+     * @return The <tt>w</tt> component of the left vector
+     */
+    public final float getAW() {
+
+        return aw;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the left-middle vector
+     *
+     * @return The <tt>x</tt> component of the left-middle vector
+     */
+    public final float getBX() {
+
+        return bx;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the left-middle vector
+     *
+     * @return The <tt>y</tt> component of the left-middle vector
+     */
+    public final float getBY() {
+
+        return by;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the left-middle vector
+     *
+     * @return The <tt>w</tt> component of the left-middle vector
+     */
+    public final float getBW() {
+
+        return bw;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the right-middle vector
+     *
+     * @return The <tt>x</tt> component of the right-middle vector
+     */
+    public final float getCX() {
+
+        return cx;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the right-middle vector
+     *
+     * @return The <tt>y</tt> component of the right-middle vector
+     */
+    public final float getCY() {
+
+        return cy;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the right-middle vector
+     *
+     * @return The <tt>w</tt> component of the right-middle vector
+     */
+    public final float getCW() {
+
+        return cw;
+    }
+
+    /**
+     * Set every component of the matrix
+     *
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D set(float ax, float bx, float cx,
+                                     float ay, float by, float cy,
+                                     float aw, float bw, float cw) {
+
+        this.ax = ax;
+        this.ay = ay;
+        this.aw = aw;
+
+        this.bx = bx;
+        this.by = by;
+        this.bw = bw;
+
+        this.cx = cx;
+        this.cy = cy;
+        this.cw = cw;
+
+        return this;
+    }
+
+    /**
+     * Copy the components of an immutable matrix
+     *
+     * @param matrix The matrix to copy
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D set(@NonNull Matrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null matrix");
+        }
+
+        return set(
+                matrix.getAX(), matrix.getBX(), matrix.getCX(),
+                matrix.getAY(), matrix.getBY(), matrix.getCY(),
+                matrix.getAW(), matrix.getBW(), matrix.getCW());
+    }
+
+    /**
+     * Copy the components of a mutable matrix
+     *
+     * @param matrix The matrix to copy
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D set(@NonNull MutableMatrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null matrix");
+        }
+
+        return set(
+                matrix.ax, matrix.bx, matrix.cx,
+                matrix.ay, matrix.by, matrix.cy,
+                matrix.aw, matrix.bw, matrix.cw);
+    }
+
+    /**
+     * Replace the matrix with the transformation a three-dimensional matrix applies to the <tt>x</tt> and
+     * <tt>y</tt> components of points in the plane where <tt>z</tt> is zero, ignoring the <tt>z</tt> component of
+     * the result
+     *
+     * @param matrix The three-dimensional matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D setPlane(@NonNull Matrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null matrix");
+        }
+
+        return set(
+                matrix.getAX(), matrix.getBX(), matrix.getDX(),
+                matrix.getAY(), matrix.getBY(), matrix.getDY(),
+                matrix.getAW(), matrix.getBW(), matrix.getDW());
+    }
+
+    /**
+     * Replace the matrix with the identity matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D setIdentity() {
+
+        return set(
+                1f, 0f, 0f,
+                0f, 1f, 0f,
+                0f, 0f, 1f);
+    }
+
+    /**
+     * Replace the matrix with the product of the two matrices
+     *
+     * @param matrix The right-hand matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D multiply(@NonNull Matrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
+        }
+
+        return multiply(
+                matrix.getAX(), matrix.getBX(), matrix.getCX(),
+                matrix.getAY(), matrix.getBY(), matrix.getCY(),
+                matrix.getAW(), matrix.getBW(), matrix.getCW());
+    }
+
+    /**
+     * Replace the matrix with the product of the two matrices, which may be the same matrix
+     *
+     * @param matrix The right-hand matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D multiply(@NonNull MutableMatrix2D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
+        }
+
+        return multiply(
+                matrix.ax, matrix.bx, matrix.cx,
+                matrix.ay, matrix.by, matrix.cy,
+                matrix.aw, matrix.bw, matrix.cw);
+    }
+
+    /**
+     * Replace the matrix with its product with the transformation a three-dimensional matrix applies to points in
+     * the plane where <tt>z</tt> is zero
+     *
+     * <p>The product is exact when the three-dimensional matrix keeps the plane in place, such as a matrix which
+     * only rotates about the <tt>z</tt> axis, scales and translates.</p>
+     *
+     * @param matrix The right-hand three-dimensional matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix2D multiplyPlane(@NonNull Matrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
+        }
+
+        return multiply(
+                matrix.getAX(), matrix.getBX(), matrix.getDX(),
+                matrix.getAY(), matrix.getBY(), matrix.getDY(),
+                matrix.getAW(), matrix.getBW(), matrix.getDW());
+    }
+
+    /**
+     * Put the components of the matrix into a buffer at its current position in column-major order
+     *
+     * @param buffer The buffer to put the matrix into
+     */
+    public final void pack(@NonNull FloatBuffer buffer) {
+
+        if (buffer == null) {
+
+            throw new IllegalArgumentException("Unable to pack a matrix into a null buffer");
+        }
+
+        buffer.put(ax);
+        buffer.put(ay);
+        buffer.put(aw);
+
+        buffer.put(bx);
+        buffer.put(by);
+        buffer.put(bw);
+
+        buffer.put(cx);
+        buffer.put(cy);
+        buffer.put(cw);
+    }
+
+    /**
+     * Create an immutable copy of the matrix
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public final Matrix2D toMatrix2D() {
+
+        return MatrixFactory.buildMatrix2D(
+                ax, bx, cx,
+                ay, by, cy,
+                aw, bw, cw);
+    }
+
+    /**
+     * Replace the matrix with its product with the components of a right-hand matrix
+     *
+     * @param max The <tt>x</tt> component of the left vector of the right-hand matrix
+     * @param mbx The <tt>x</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcx The <tt>x</tt> component of the right-middle vector of the right-hand matrix
+     * @param may The <tt>y</tt> component of the left vector of the right-hand matrix
+     * @param mby The <tt>y</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcy The <tt>y</tt> component of the right-middle vector of the right-hand matrix
+     * @param maw The <tt>w</tt> component of the left vector of the right-hand matrix
+     * @param mbw The <tt>w</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcw The <tt>w</tt> component of the right-middle vector of the right-hand matrix
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix2D multiply(float max, float mbx, float mcx,
+                                     float may, float mby, float mcy,
+                                     float maw, float mbw, float mcw) {
+
+        float rax = ax * max + bx * may + cx * maw;
+        float ray = ay * max + by * may + cy * maw;
+        float raw = aw * max + bw * may + cw * maw;
+
+        float rbx = ax * mbx + bx * mby + cx * mbw;
+        float rby = ay * mbx + by * mby + cy * mbw;
+        float rbw = aw * mbx + bw * mby + cw * mbw;
+
+        float rcx = ax * mcx + bx * mcy + cx * mcw;
+        float rcy = ay * mcx + by * mcy + cy * mcw;
+        float rcw = aw * mcx + bw * mcy + cw * mcw;
+
+        return set(
+                rax, rbx, rcx,
+                ray, rby, rcy,
+                raw, rbw, rcw);
+    }
+}
@@ -0,0 +1,1325 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.matrix;
+
+import android.support.annotation.NonNull;
+
+import java.nio.FloatBuffer;
+
+import net.tclemens.calcium.math.FastMath;
+import net.tclemens.calcium.math.Geometry;
+import net.tclemens.calcium.math.quaternion.Quaternion;
+import net.tclemens.calcium.math.vector.MutableVector3D;
+import net.tclemens.calcium.math.vector.Vector3D;
+
+/**
+ * This class represents a mutable three-dimensional transformation matrix in homogeneous coordinates
+ *
+ * <p>Like {@link Matrix3D}, the matrix records whether it is known to be general, affine or rigid, and uses the
+ * cheapest routine for its type.</p>
+ *
+ * <p>Every operation writes its result into the matrix and returns it, so a matrix owned by the caller can compose
+ * transformations each frame without allocating. A mutable matrix is not safe to share between threads.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class MutableMatrix3D {
+
+    /** The <tt>x</tt> component of the left vector */
+    private float ax;
+
+    /** The <tt>y</tt> component of the left vector */
+    private float ay;
+
+    /** The <tt>z</tt> component of the left vector */
+    private float az;
+
+    /** The <tt>w</tt> component of the left vector */
+    private float aw;
+
+    /** The <tt>x</tt> component of the left-middle vector */
+    private float bx;
+
+    /** The <tt>y</tt> component of the left-middle vector */
+    private float by;
+
+    /** The <tt>z</tt> component of the left-middle vector */
+    private float bz;
+
+    /** The <tt>w</tt> component of the left-middle vector */
+    private float bw;
+
+    /** The <tt>x</tt> component of the right-middle vector */
+    private float cx;
+
+    /** The <tt>y</tt> component of the right-middle vector */
+    private float cy;
+
+    /** The <tt>z</tt> component of the right-middle vector */
+    private float cz;
+
+    /** The <tt>w</tt> component of the right-middle vector */
+    private float cw;
+
+    /** The <tt>x</tt> component of the right vector */
+    private float dx;
+
+    /** The <tt>y</tt> component of the right vector */
+    private float dy;
+
+    /** The <tt>z</tt> component of the right vector */
+    private float dz;
+
+    /** The <tt>w</tt> component of the right vector */
+    private float dw;
+
+    /** The type of the matrix, which selects the routines used by each operation */
+    private int type;
+
+    /**
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param dx The <tt>x</tt> component of the right vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param dy The <tt>y</tt> component of the right vector
+     * @param az The <tt>z</tt> component of the left vector
+     * @param bz The <tt>z</tt> component of the left-middle vector
+     * @param cz The <tt>z</tt> component of the right-middle vector
+     * @param dz The <tt>z</tt> component of the right vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     * @param dw The <tt>w</tt> component of the right vector
+     * @param type The type of the matrix
+     */
+    MutableMatrix3D(float ax, float bx, float cx, float dx,
+                    float ay, float by, float cy, float dy,
+                    float az, float bz, float cz, float dz,
+                    float aw, float bw, float cw, float dw,
+                    int type) {
+
+        this.ax = ax;
+        this.ay = ay;
+        this.az = az;
+        this.aw = aw;
+
+        this.bx = bx;
+        this.by = by;
+        this.bz = bz;
+        this.bw = bw;
+
+        this.cx = cx;
+        this.cy = cy;
+        this.cz = cz;
+        this.cw = cw;
+
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.dw = dw;
+
+        this.type = type;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the left vector
+     *
+     * @return The <tt>x</tt> component of the left vector
+     */
+    public final float getAX() {
+
+        return ax;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the left vector
+     *
+     * @return The <tt>y</tt> component of the left vector
+     */
+    public final float getAY() {
+
+        return ay;
+    }
+
+    /**
+     * Get the <tt>z</tt> component of the left vector
+     *
+     * @return The <tt>z</tt> component of the left vector
+     */
+    public final float getAZ() {
+
+        return az;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the left vector
+     *
+     * @return The <tt>w</tt> component of the left vector
+     */
+    public final float getAW() {
+
+        return aw;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the left-middle vector
+     *
+     * @return The <tt>x</tt> component of the left-middle vector
+     */
+    public final float getBX() {
+
+        return bx;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the left-middle vector
+     *
+     * @return The <tt>y</tt> component of the left-middle vector
+     */
+    public final float getBY() {
+
+        return by;
+    }
+
+    /**
+     * Get the <tt>z</tt> component of the left-middle vector
+     *
+     * @return The <tt>z</tt> component of the left-middle vector
+     */
+    public final float getBZ() {
+
+        return bz;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the left-middle vector
+     *
+     * @return The <tt>w</tt> component of the left-middle vector
+     */
+    public final float getBW() {
+
+        return bw;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the right-middle vector
+     *
+     * @return The <tt>x</tt> component of the right-middle vector
+     */
+    public final float getCX() {
+
+        return cx;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the right-middle vector
+     *
+     * @return The <tt>y</tt> component of the right-middle vector
+     */
+    public final float getCY() {
+
+        return cy;
+    }
+
+    /**
+     * Get the <tt>z</tt> component of the right-middle vector
+     *
+     * @return The <tt>z</tt> component of the right-middle vector
+     */
+    public final float getCZ() {
+
+        return cz;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the right-middle vector
+     *
+     * @return The <tt>w</tt> component of the right-middle vector
+     */
+    public final float getCW() {
+
+        return cw;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the right vector
+     *
+     * @return The <tt>x</tt> component of the right vector
+     */
+    public final float getDX() {
+
+        return dx;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the right vector
+     *
+     * @return The <tt>y</tt> component of the right vector
+     */
+    public final float getDY() {
+
+        return dy;
+    }
+
+    /**
+     * Get the <tt>z</tt> component of the right vector
+     *
+     * @return The <tt>z</tt> component of the right vector
+     */
+    public final float getDZ() {
+
+        return dz;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the right vector
+     *
+     * @return The <tt>w</tt> component of the right vector
+     */
+    public final float getDW() {
+
+        return dw;
+    }
+
+    /**
+     * Check if the matrix is known to be affine, with a bottom row of <tt>(0, 0, 0, 1)</tt>
+     *
+     * @return <tt>true</tt> if the matrix is affine, <tt>false</tt> otherwise
+     */
+    public final boolean isAffine() {
+
+        return type != Matrix3D.GENERAL;
+    }
+
+    /**
+     * Check if the matrix is known to be rigid, combining only rotations and translations
+     *
+     * @return <tt>true</tt> if the matrix is rigid, <tt>false</tt> otherwise
+     */
+    public final boolean isRigid() {
+
+        return type == Matrix3D.RIGID;
+    }
+
+    /**
+     * Set every component of the matrix
+     *
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param dx The <tt>x</tt> component of the right vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param dy The <tt>y</tt> component of the right vector
+     * @param az The <tt>z</tt> component of the left vector
+     * @param bz The <tt>z</tt> component of the left-middle vector
+     * @param cz The <tt>z</tt> component of the right-middle vector
+     * @param dz The <tt>z</tt> component of the right vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     * @param dw The <tt>w</tt> component of the right vector
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D set(float ax, float bx, float cx, float dx,
+                                     float ay, float by, float cy, float dy,
+                                     float az, float bz, float cz, float dz,
+                                     float aw, float bw, float cw, float dw) {
+
+        return set(
+                ax, bx, cx, dx,
+                ay, by, cy, dy,
+                az, bz, cz, dz,
+                aw, bw, cw, dw,
+                MatrixFactory.classify3D(aw, bw, cw, dw));
+    }
+
+    /**
+     * Copy the components of an immutable matrix
+     *
+     * @param matrix The matrix to copy
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D set(@NonNull Matrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null matrix");
+        }
+
+        return set(
+                matrix.getAX(), matrix.getBX(), matrix.getCX(), matrix.getDX(),
+                matrix.getAY(), matrix.getBY(), matrix.getCY(), matrix.getDY(),
+                matrix.getAZ(), matrix.getBZ(), matrix.getCZ(), matrix.getDZ(),
+                matrix.getAW(), matrix.getBW(), matrix.getCW(), matrix.getDW(),
+                matrix.getType());
+    }
+
+    /**
+     * Copy the components of a mutable matrix
+     *
+     * @param matrix The matrix to copy
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D set(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null matrix");
+        }
+
+        return set(
+                matrix.ax, matrix.bx, matrix.cx, matrix.dx,
+                matrix.ay, matrix.by, matrix.cy, matrix.dy,
+                matrix.az, matrix.bz, matrix.cz, matrix.dz,
+                matrix.aw, matrix.bw, matrix.cw, matrix.dw,
+                matrix.type);
+    }
+
+    /**
+     * Replace the matrix with the identity matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D setIdentity() {
+
+        return set(
+                1f, 0f, 0f, 0f,
+                0f, 1f, 0f, 0f,
+                0f, 0f, 1f, 0f,
+                0f, 0f, 0f, 1f,
+                Matrix3D.RIGID);
+    }
+
+    /**
+     * Replace the matrix with a view matrix
+     *
+     * @param eye The position the camera
+     * @param center The focal point of the camera
+     * @param up The upward orientation from the origin of the camera
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D setView(@NonNull Vector3D eye, @NonNull Vector3D center, @NonNull Vector3D up) {
+
+        if (eye == null) {
+
+            throw new IllegalArgumentException("Unable to set a view matrix with a null eye vector");
+        }
+
+        if (center == null) {
+
+            throw new IllegalArgumentException("Unable to set a view matrix with a null center vector");
+        }
+
+        if (up == null) {
+
+            throw new IllegalArgumentException("Unable to set a view matrix with a null up vector");
+        }
+
+        return setView(
+                eye.getX(), eye.getY(), eye.getZ(),
+                center.getX(), center.getY(), center.getZ(),
+                up.getX(), up.getY(), up.getZ());
+    }
+
+    /**
+     * Replace the matrix with the view matrix of a camera transformed by the matrix
+     *
+     * <p>This is equivalent to replacing the matrix with a view matrix of the products of the matrix and each
+     * vector, without allocating the intermediate vectors.</p>
+     *
+     * @param eye The position the camera before the transformation
+     * @param center The focal point of the camera before the transformation
+     * @param up The upward orientation from the origin of the camera before the transformation
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D transformView(@NonNull Vector3D eye, @NonNull Vector3D center, @NonNull Vector3D up) {
+
+        if (eye == null) {
+
+            throw new IllegalArgumentException("Unable to transform a view matrix with a null eye vector");
+        }
+
+        if (center == null) {
+
+            throw new IllegalArgumentException("Unable to transform a view matrix with a null center vector");
+        }
+
+        if (up == null) {
+
+            throw new IllegalArgumentException("Unable to transform a view matrix with a null up vector");
+        }
+
+        float ex = ax * eye.getX() + bx * eye.getY() + cx * eye.getZ() + dx * eye.getW();
+        float ey = ay * eye.getX() + by * eye.getY() + cy * eye.getZ() + dy * eye.getW();
+        float ez = az * eye.getX() + bz * eye.getY() + cz * eye.getZ() + dz * eye.getW();
+
+        float cex = ax * center.getX() + bx * center.getY() + cx * center.getZ() + dx * center.getW();
+        float cey = ay * center.getX() + by * center.getY() + cy * center.getZ() + dy * center.getW();
+        float cez = az * center.getX() + bz * center.getY() + cz * center.getZ() + dz * center.getW();
+
+        float ux = ax * up.getX() + bx * up.getY() + cx * up.getZ() + dx * up.getW();
+        float uy = ay * up.getX() + by * up.getY() + cy * up.getZ() + dy * up.getW();
+        float uz = az * up.getX() + bz * up.getY() + cz * up.getZ() + dz * up.getW();
+
+        return setView(ex, ey, ez, cex, cey, cez, ux, uy, uz);
+    }
+
+    /**
+     * Calculate the determinant of the matrix
+     *
+     * @return The determinant of the matrix
+     */
+    public final float determinant() {
+
+        if (type != Matrix3D.GENERAL) {
+
+            return ax * (by * cz - cy * bz) + bx * (cy * az - ay * cz) + cx * (ay * bz - by * az);
+        }
+
+        float azbw = az * bw;
+        float azcw = az * cw;
+        float azdw = az * dw;
+
+        float bzaw = bz * aw;
+        float bzcw = bz * cw;
+        float bzdw = bz * dw;
+
+        float czaw = cz * aw;
+        float czbw = cz * bw;
+        float czdw = cz * dw;
+
+        float dzaw = dz * aw;
+        float dzbw = dz * bw;
+        float dzcw = dz * cw;
+
+        float cax = by * (czdw - dzcw) + cy * (dzbw - bzdw) + dy * (bzcw - czbw);
+        float cbx = ay * (dzcw - czdw) + cy * (azdw - dzaw) + dy * (czaw - azcw);
+        float ccx = ay * (bzdw - dzbw) + by * (dzaw - azdw) + dy * (azbw - bzaw);
+        float cdx = ay * (czbw - bzcw) + by * (azcw - czaw) + cy * (bzaw - azbw);
+
+        return ax * cax + bx * cbx + cx * ccx + dx * cdx;
+    }
+
+    /**
+     * Write the product of the matrix and a vector into a mutable vector
+     *
+     * @param vector The right-hand vector
+     * @param dest The vector to write the product into
+     *
+     * @return The product of the matrix and the vector
+     */
+    @NonNull
+    public final MutableVector3D multiplyInto(@NonNull Vector3D vector, @NonNull MutableVector3D dest) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null vector");
+        }
+
+        if (dest == null) {
+
+            throw new IllegalArgumentException("Unable to write a product into a null vector");
+        }
+
+        return multiplyInto(vector.getX(), vector.getY(), vector.getZ(), vector.getW(), dest);
+    }
+
+    /**
+     * Write the product of the matrix and a mutable vector into a mutable vector, which may be the same vector
+     *
+     * @param vector The right-hand vector
+     * @param dest The vector to write the product into
+     *
+     * @return The product of the matrix and the vector
+     */
+    @NonNull
+    public final MutableVector3D multiplyInto(@NonNull MutableVector3D vector, @NonNull MutableVector3D dest) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null vector");
+        }
+
+        if (dest == null) {
+
+            throw new IllegalArgumentException("Unable to write a product into a null vector");
+        }
+
+        return multiplyInto(vector.getX(), vector.getY(), vector.getZ(), vector.getW(), dest);
+    }
+
+    /**
+     * Replace the matrix with the product of the two matrices
+     *
+     * @param matrix The right-hand matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D multiply(@NonNull Matrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
+        }
+
+        return multiply(
+                matrix.getAX(), matrix.getBX(), matrix.getCX(), matrix.getDX(),
+                matrix.getAY(), matrix.getBY(), matrix.getCY(), matrix.getDY(),
+                matrix.getAZ(), matrix.getBZ(), matrix.getCZ(), matrix.getDZ(),
+                matrix.getAW(), matrix.getBW(), matrix.getCW(), matrix.getDW(),
+                matrix.getType());
+    }
+
+    /**
+     * Replace the matrix with the product of the two matrices, which may be the same matrix
+     *
+     * @param matrix The right-hand matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D multiply(@NonNull MutableMatrix3D matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null matrix");
+        }
+
+        return multiply(
+                matrix.ax, matrix.bx, matrix.cx, matrix.dx,
+                matrix.ay, matrix.by, matrix.cy, matrix.dy,
+                matrix.az, matrix.bz, matrix.cz, matrix.dz,
+                matrix.aw, matrix.bw, matrix.cw, matrix.dw,
+                matrix.type);
+    }
+
+    /**
+     * Replace the matrix with its scalar product
+     *
+     * @param factor The scale factor
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D multiply(float factor) {
+
+        return set(
+                ax * factor, bx * factor, cx * factor, dx * factor,
+                ay * factor, by * factor, cy * factor, dy * factor,
+                az * factor, bz * factor, cz * factor, dz * factor,
+                aw * factor, bw * factor, cw * factor, dw * factor);
+    }
+
+    /**
+     * Invert the matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D invert() {
+
+        if (type == Matrix3D.RIGID) {
+
+            float idx = -(ax * dx + ay * dy + az * dz);
+            float idy = -(bx * dx + by * dy + bz * dz);
+            float idz = -(cx * dx + cy * dy + cz * dz);
+
+            return set(
+                    ax, ay, az, idx,
+                    bx, by, bz, idy,
+                    cx, cy, cz, idz,
+                    0f, 0f, 0f, 1f,
+                    Matrix3D.RIGID);
+        }
+
+        if (type == Matrix3D.AFFINE) {
+
+            return invertAffine();
+        }
+
+        float azbw = az * bw;
+        float azcw = az * cw;
+        float azdw = az * dw;
+
+        float bzaw = bz * aw;
+        float bzcw = bz * cw;
+        float bzdw = bz * dw;
+
+        float czaw = cz * aw;
+        float czbw = cz * bw;
+        float czdw = cz * dw;
+
+        float dzaw = dz * aw;
+        float dzbw = dz * bw;
+        float dzcw = dz * cw;
+
+        float cax = by * (czdw - dzcw) + cy * (dzbw - bzdw) + dy * (bzcw - czbw);
+        float cbx = ay * (dzcw - czdw) + cy * (azdw - dzaw) + dy * (czaw - azcw);
+        float ccx = ay * (bzdw - dzbw) + by * (dzaw - azdw) + dy * (azbw - bzaw);
+        float cdx = ay * (czbw - bzcw) + by * (azcw - czaw) + cy * (bzaw - azbw);
+
+        float d = ax * cax + bx * cbx + cx * ccx + dx * cdx;
+
+        if (d == 0f) {
+
+            throw new IllegalStateException("Unable to invert a matrix with a zero determinant");
+        }
+
+        float axby = ax * by;
+        float axcy = ax * cy;
+        float axdy = ax * dy;
+
+        float bxay = bx * ay;
+        float bxcy = bx * cy;
+        float bxdy = bx * dy;
+
+        float cxay = cx * ay;
+        float cxby = cx * by;
+        float cxdy = cx * dy;
+
+        float dxay = dx * ay;
+        float dxby = dx * by;
+        float dxcy = dx * cy;
+
+        float cay = bx * (dzcw - czdw) + cx * (bzdw - dzbw) + dx * (czbw - bzcw);
+        float cby = ax * (czdw - dzcw) + cx * (dzaw - azdw) + dx * (azcw - czaw);
+        float ccy = ax * (dzbw - bzdw) + bx * (azdw - dzaw) + dx * (bzaw - azbw);
+        float cdy = ax * (bzcw - czbw) + bx * (czaw - azcw) + cx * (azbw - bzaw);
+
+        float caz = bw * (cxdy - dxcy) + cw * (dxby - bxdy) + dw * (bxcy - cxby);
+        float cbz = aw * (dxcy - cxdy) + cw * (axdy - dxay) + dw * (cxay - axcy);
+        float ccz = aw * (bxdy - dxby) + bw * (dxay - axdy) + dw * (axby - bxay);
+        float cdz = aw * (cxby - bxcy) + bw * (axcy - cxay) + cw * (bxay - axby);
+
+        float caw = bz * (dxcy - cxdy) + cz * (bxdy - dxby) + dz * (cxby - bxcy);
+        float cbw = az * (cxdy - dxcy) + cz * (dxay - axdy) + dz * (axcy - cxay);
+        float ccw = az * (dxby - bxdy) + bz * (axdy - dxay) + dz * (bxay - axby);
+        float cdw = az * (bxcy - cxby) + bz * (cxay - axcy) + cz * (axby - bxay);
+
+        float id = 1f / d;
+
+        return set(
+                cax * id, cay * id, caz * id, caw * id,
+                cbx * id, cby * id, cbz * id, cbw * id,
+                ccx * id, ccy * id, ccz * id, ccw * id,
+                cdx * id, cdy * id, cdz * id, cdw * id);
+    }
+
+    /**
+     * Transpose the matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D transpose() {
+
+        return set(
+                ax, ay, az, aw,
+                bx, by, bz, bw,
+                cx, cy, cz, cw,
+                dx, dy, dz, dw);
+    }
+
+    /**
+     * Normalize the matrix
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D normalize() {
+
+        float d = determinant();
+
+        if (d == 0f) {
+
+            throw new IllegalStateException("Unable to normalize a matrix with a zero determinant");
+        }
+
+        return multiply(1f / d);
+    }
+
+    /**
+     * Rotate the matrix
+     *
+     * <p>The rotation matches {@link MatrixFactory#createRotate3D(float, float, float)}, including its corrected
+     * <tt>x</tt> angle terms.</p>
+     *
+     * @param x The <tt>x</tt> rotation factor in degrees
+     * @param y The <tt>y</tt> rotation factor in degrees
+     * @param z The <tt>z</tt> rotation factor in degrees
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D rotate(float x, float y, float z) {
+
+        float a = (float) Math.PI / 180f;
+
+        float xa = x * a;
+        float ya = y * a;
+        float za = z * a;
+
+        return rotate(
+                (float) Math.cos(xa), (float) Math.cos(ya), (float) Math.cos(za),
+                (float) Math.sin(xa), (float) Math.sin(ya), (float) Math.sin(za));
+    }
+
+    /**
+     * Rotate the matrix with {@link FastMath#sin(float)} and {@link FastMath#cos(float)}, trading precision for
+     * speed
+     *
+     * @param x The <tt>x</tt> rotation factor in degrees
+     * @param y The <tt>y</tt> rotation factor in degrees
+     * @param z The <tt>z</tt> rotation factor in degrees
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D fastRotate(float x, float y, float z) {
+
+        float a = (float) Math.PI / 180f;
+
+        float xa = x * a;
+        float ya = y * a;
+        float za = z * a;
+
+        return rotate(
+                FastMath.cos(xa), FastMath.cos(ya), FastMath.cos(za),
+                FastMath.sin(xa), FastMath.sin(ya), FastMath.sin(za));
+    }
+
+    /**
+     * Rotate the matrix by the cosines and sines of the <tt>x</tt>, <tt>y</tt> and <tt>z</tt> rotation angles
+     *
+     * @param cxa The cosine of the <tt>x</tt> rotation angle
+     * @param cya The cosine of the <tt>y</tt> rotation angle
+     * @param cza The cosine of the <tt>z</tt> rotation angle
+     * @param sxa The sine of the <tt>x</tt> rotation angle
+     * @param sya The sine of the <tt>y</tt> rotation angle
+     * @param sza The sine of the <tt>z</tt> rotation angle
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix3D rotate(float cxa, float cya, float cza, float sxa, float sya, float sza) {
+
+        float rax = cya * cza;
+        float ray = -cya * sza;
+        float raz = sya;
+
+        float rbx = sxa * sya * cza + cxa * sza;
+        float rby = -sxa * sya * sza + cxa * cza;
+        float rbz = -sxa * cya;
+
+        float rcx = -cxa * sya * cza + sxa * sza;
+        float rcy = cxa * sya * sza + sxa * cza;
+        float rcz = cxa * cya;
+
+        return multiply(
+                rax, rbx, rcx, 0f,
+                ray, rby, rcy, 0f,
+                raz, rbz, rcz, 0f,
+                0f,  0f,  0f,  1f,
+                Matrix3D.RIGID);
+    }
+
+    /**
+     * Rotate the matrix by a normalized quaternion
+     *
+     * @param quaternion The rotation quaternion
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D rotate(@NonNull Quaternion quaternion) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to rotate a matrix with a null quaternion");
+        }
+
+        return rotate(quaternion.getX(), quaternion.getY(), quaternion.getZ(), quaternion.getW());
+    }
+
+    /**
+     * Rotate the matrix counter-clockwise about an axis
+     *
+     * <p>This is equivalent to rotating by a quaternion from
+     * {@link net.tclemens.calcium.math.quaternion.QuaternionFactory#createRotation(float, float, float, float)}
+     * without allocating the quaternion.</p>
+     *
+     * @param angle The rotation angle in degrees
+     * @param x The <tt>x</tt> component of the axis
+     * @param y The <tt>y</tt> component of the axis
+     * @param z The <tt>z</tt> component of the axis
+     *
+     * @return The updated matrix
+     *
+     * @throws IllegalArgumentException If the axis has a zero length
+     */
+    @NonNull
+    public final MutableMatrix3D rotateAxis(float angle, float x, float y, float z) {
+
+        float l = Geometry.distance3D(x, y, z);
+
+        if (l == 0f) {
+
+            throw new IllegalArgumentException("Unable to rotate a matrix about a zero length axis");
+        }
+
+        double a = Math.toRadians(angle) * 0.5d;
+        float s = (float) Math.sin(a) / l;
+
+        return rotate(x * s, y * s, z * s, (float) Math.cos(a));
+    }
+
+    /**
+     * Rotate the matrix counter-clockwise about an axis with {@link FastMath#sin(float)} and
+     * {@link FastMath#cos(float)}, trading precision for speed
+     *
+     * @param angle The rotation angle in degrees
+     * @param x The <tt>x</tt> component of the axis
+     * @param y The <tt>y</tt> component of the axis
+     * @param z The <tt>z</tt> component of the axis
+     *
+     * @return The updated matrix
+     *
+     * @throws IllegalArgumentException If the axis has a zero length
+     */
+    @NonNull
+    public final MutableMatrix3D fastRotateAxis(float angle, float x, float y, float z) {
+
+        float l = Geometry.distance3D(x, y, z);
+
+        if (l == 0f) {
+
+            throw new IllegalArgumentException("Unable to rotate a matrix about a zero length axis");
+        }
+
+        float a = (float) Math.toRadians(angle) * 0.5f;
+        float s = FastMath.sin(a) / l;
+
+        return rotate(x * s, y * s, z * s, FastMath.cos(a));
+    }
+
+    /**
+     * Scale the matrix
+     *
+     * @param x The <tt>x</tt> scale factor
+     * @param y The <tt>y</tt> scale factor
+     * @param z The <tt>z</tt> scale factor
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D scale(float x, float y, float z) {
+
+        ax *= x;
+        ay *= x;
+        az *= x;
+        aw *= x;
+
+        bx *= y;
+        by *= y;
+        bz *= y;
+        bw *= y;
+
+        cx *= z;
+        cy *= z;
+        cz *= z;
+        cw *= z;
+
+        type = Math.min(type, Matrix3D.AFFINE);
+
+        return this;
+    }
+
+    /**
+     * Translate the matrix
+     *
+     * @param x The <tt>x</tt> translation offset
+     * @param y The <tt>y</tt> translation offset
+     * @param z The <tt>z</tt> translation offset
+     *
+     * @return The updated matrix
+     */
+    @NonNull
+    public final MutableMatrix3D translate(float x, float y, float z) {
+
+        dx += ax * x + bx * y + cx * z;
+        dy += ay * x + by * y + cy * z;
+        dz += az * x + bz * y + cz * z;
+        dw += aw * x + bw * y + cw * z;
+
+        return this;
+    }
+
+    /**
+     * Put the components of the matrix into a buffer at its current position in column-major order
+     *
+     * @param buffer The buffer to put the matrix into
+     */
+    public final void pack(@NonNull FloatBuffer buffer) {
+
+        if (buffer == null) {
+
+            throw new IllegalArgumentException("Unable to pack a matrix into a null buffer");
+        }
+
+        buffer.put(ax);
+        buffer.put(ay);
+        buffer.put(az);
+        buffer.put(aw);
+
+        buffer.put(bx);
+        buffer.put(by);
+        buffer.put(bz);
+        buffer.put(bw);
+
+        buffer.put(cx);
+        buffer.put(cy);
+        buffer.put(cz);
+        buffer.put(cw);
+
+        buffer.put(dx);
+        buffer.put(dy);
+        buffer.put(dz);
+        buffer.put(dw);
+    }
+
+    /**
+     * Create an immutable copy of the matrix
+     *
+     * @return The new matrix
+     */
+    @NonNull
+    public final Matrix3D toMatrix3D() {
+
+        return MatrixFactory.buildMatrix3D(
+                ax, bx, cx, dx,
+                ay, by, cy, dy,
+                az, bz, cz, dz,
+                aw, bw, cw, dw,
+                type);
+    }
+
+    /**
+     * Write the product of the matrix and the components of a vector into a mutable vector
+     *
+     * @param x The <tt>x</tt> component of the vector
+     * @param y The <tt>y</tt> component of the vector
+     * @param z The <tt>z</tt> component of the vector
+     * @param w The <tt>w</tt> component of the vector
+     * @param dest The vector to write the product into
+     *
+     * @return The product of the matrix and the vector
+     */
+    private MutableVector3D multiplyInto(float x, float y, float z, float w, MutableVector3D dest) {
+
+        float rx = ax * x + bx * y + cx * z + dx * w;
+        float ry = ay * x + by * y + cy * z + dy * w;
+        float rz = az * x + bz * y + cz * z + dz * w;
+        float rw = type != Matrix3D.GENERAL ? w : aw * x + bw * y + cw * z + dw * w;
+
+        return dest.set(rx, ry, rz, rw);
+    }
+
+    /**
+     * Replace the matrix with its product with the components of a right-hand matrix
+     *
+     * @param max The <tt>x</tt> component of the left vector of the right-hand matrix
+     * @param mbx The <tt>x</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcx The <tt>x</tt> component of the right-middle vector of the right-hand matrix
+     * @param mdx The <tt>x</tt> component of the right vector of the right-hand matrix
+     * @param may The <tt>y</tt> component of the left vector of the right-hand matrix
+     * @param mby The <tt>y</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcy The <tt>y</tt> component of the right-middle vector of the right-hand matrix
+     * @param mdy The <tt>y</tt> component of the right vector of the right-hand matrix
+     * @param maz The <tt>z</tt> component of the left vector of the right-hand matrix
+     * @param mbz The <tt>z</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcz The <tt>z</tt> component of the right-middle vector of the right-hand matrix
+     * @param mdz The <tt>z</tt> component of the right vector of the right-hand matrix
+     * @param maw The <tt>w</tt> component of the left vector of the right-hand matrix
+     * @param mbw The <tt>w</tt> component of the left-middle vector of the right-hand matrix
+     * @param mcw The <tt>w</tt> component of the right-middle vector of the right-hand matrix
+     * @param mdw The <tt>w</tt> component of the right vector of the right-hand matrix
+     * @param mtype The type of the right-hand matrix
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix3D multiply(float max, float mbx, float mcx, float mdx,
+                                     float may, float mby, float mcy, float mdy,
+                                     float maz, float mbz, float mcz, float mdz,
+                                     float maw, float mbw, float mcw, float mdw,
+                                     int mtype) {
+
+        if (type != Matrix3D.GENERAL && mtype != Matrix3D.GENERAL) {
+
+            float rax = ax * max + bx * may + cx * maz;
+            float ray = ay * max + by * may + cy * maz;
+            float raz = az * max + bz * may + cz * maz;
+
+            float rbx = ax * mbx + bx * mby + cx * mbz;
+            float rby = ay * mbx + by * mby + cy * mbz;
+            float rbz = az * mbx + bz * mby + cz * mbz;
+
+            float rcx = ax * mcx + bx * mcy + cx * mcz;
+            float rcy = ay * mcx + by * mcy + cy * mcz;
+            float rcz = az * mcx + bz * mcy + cz * mcz;
+
+            float rdx = ax * mdx + bx * mdy + cx * mdz + dx;
+            float rdy = ay * mdx + by * mdy + cy * mdz + dy;
+            float rdz = az * mdx + bz * mdy + cz * mdz + dz;
+
+            return set(
+                    rax, rbx, rcx, rdx,
+                    ray, rby, rcy, rdy,
+                    raz, rbz, rcz, rdz,
+                    0f,  0f,  0f,  1f,
+                    Math.min(type, mtype));
+        }
+
+        float rax = ax * max + bx * may + cx * maz + dx * maw;
+        float ray = ay * max + by * may + cy * maz + dy * maw;
+        float raz = az * max + bz * may + cz * maz + dz * maw;
+        float raw = aw * max + bw * may + cw * maz + dw * maw;
+
+        float rbx = ax * mbx + bx * mby + cx * mbz + dx * mbw;
+        float rby = ay * mbx + by * mby + cy * mbz + dy * mbw;
+        float rbz = az * mbx + bz * mby + cz * mbz + dz * mbw;
+        float rbw = aw * mbx + bw * mby + cw * mbz + dw * mbw;
+
+        float rcx = ax * mcx + bx * mcy + cx * mcz + dx * mcw;
+        float rcy = ay * mcx + by * mcy + cy * mcz + dy * mcw;
+        float rcz = az * mcx + bz * mcy + cz * mcz + dz * mcw;
+        float rcw = aw * mcx + bw * mcy + cw * mcz + dw * mcw;
+
+        float rdx = ax * mdx + bx * mdy + cx * mdz + dx * mdw;
+        float rdy = ay * mdx + by * mdy + cy * mdz + dy * mdw;
+        float rdz = az * mdx + bz * mdy + cz * mdz + dz * mdw;
+        float rdw = aw * mdx + bw * mdy + cw * mdz + dw * mdw;
+
+        return set(
+                rax, rbx, rcx, rdx,
+                ray, rby, rcy, rdy,
+                raz, rbz, rcz, rdz,
+                raw, rbw, rcw, rdw,
+                MatrixFactory.classify3D(raw, rbw, rcw, rdw));
+    }
+
+    /**
+     * Replace the matrix with a view matrix
+     *
+     * @param ex The <tt>x</tt> component of the position of the camera
+     * @param ey The <tt>y</tt> component of the position of the camera
+     * @param ez The <tt>z</tt> component of the position of the camera
+     * @param cex The <tt>x</tt> component of the focal point of the camera
+     * @param cey The <tt>y</tt> component of the focal point of the camera
+     * @param cez The <tt>z</tt> component of the focal point of the camera
+     * @param ux The <tt>x</tt> component of the upward orientation of the camera
+     * @param uy The <tt>y</tt> component of the upward orientation of the camera
+     * @param uz The <tt>z</tt> component of the upward orientation of the camera
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix3D setView(float ex, float ey, float ez,
+                                    float cex, float cey, float cez,
+                                    float ux, float uy, float uz) {
+
+        float fx = cex - ex;
+        float fy = cey - ey;
+        float fz = cez - ez;
+
+        float fl = 1f / Geometry.distance3D(fx, fy, fz);
+
+        fx *= fl;
+        fy *= fl;
+        fz *= fl;
+
+        float sx = fy * uz - fz * uy;
+        float sy = fz * ux - fx * uz;
+        float sz = fx * uy - fy * ux;
+
+        float sl = 1f / Geometry.distance3D(sx, sy, sz);
+
+        sx *= sl;
+        sy *= sl;
+        sz *= sl;
+
+        float vx = sy * fz - sz * fy;
+        float vy = sz * fx - sx * fz;
+        float vz = sx * fy - sy * fx;
+
+        float rdx = -(sx * ex + sy * ey + sz * ez);
+        float rdy = -(vx * ex + vy * ey + vz * ez);
+        float rdz = fx * ex + fy * ey + fz * ez;
+
+        return set(
+                 sx,  sy,  sz, rdx,
+                 vx,  vy,  vz, rdy,
+                -fx, -fy, -fz, rdz,
+                 0f,  0f,  0f,  1f,
+                Matrix3D.RIGID);
+    }
+
+    /**
+     * Set every component of the matrix and its type
+     *
+     * @param ax The <tt>x</tt> component of the left vector
+     * @param bx The <tt>x</tt> component of the left-middle vector
+     * @param cx The <tt>x</tt> component of the right-middle vector
+     * @param dx The <tt>x</tt> component of the right vector
+     * @param ay The <tt>y</tt> component of the left vector
+     * @param by The <tt>y</tt> component of the left-middle vector
+     * @param cy The <tt>y</tt> component of the right-middle vector
+     * @param dy The <tt>y</tt> component of the right vector
+     * @param az The <tt>z</tt> component of the left vector
+     * @param bz The <tt>z</tt> component of the left-middle vector
+     * @param cz The <tt>z</tt> component of the right-middle vector
+     * @param dz The <tt>z</tt> component of the right vector
+     * @param aw The <tt>w</tt> component of the left vector
+     * @param bw The <tt>w</tt> component of the left-middle vector
+     * @param cw The <tt>w</tt> component of the right-middle vector
+     * @param dw The <tt>w</tt> component of the right vector
+     * @param type The type of the matrix
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix3D set(float ax, float bx, float cx, float dx,
+                                float ay, float by, float cy, float dy,
+                                float az, float bz, float cz, float dz,
+                                float aw, float bw, float cw, float dw,
+                                int type) {
+
+        this.ax = ax;
+        this.ay = ay;
+        this.az = az;
+        this.aw = aw;
+
+        this.bx = bx;
+        this.by = by;
+        this.bz = bz;
+        this.bw = bw;
+
+        this.cx = cx;
+        this.cy = cy;
+        this.cz = cz;
+        this.cw = cw;
+
+        this.dx = dx;
+        this.dy = dy;
+        this.dz = dz;
+        this.dw = dw;
+
+        this.type = type;
+
+        return this;
+    }
+
+    /**
+     * Invert an affine matrix from the inverse of its upper-left block and its negated translation
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix3D invertAffine() {
+
+        float cax = by * cz - cy * bz;
+        float cay = cy * az - ay * cz;
+        float caz = ay * bz - by * az;
+
+        float d = ax * cax + bx * cay + cx * caz;
+
+        if (d == 0f) {
+
+            throw new IllegalStateException("Unable to invert a matrix with a zero determinant");
+        }
+
+        float id = 1f / d;
+
+        float iax = cax * id;
+        float iay = cay * id;
+        float iaz = caz * id;
+
+        float ibx = (cx * bz - bx * cz) * id;
+        float iby = (ax * cz - cx * az) * id;
+        float ibz = (bx * az - ax * bz) * id;
+
+        float icx = (bx * cy - cx * by) * id;
+        float icy = (cx * ay - ax * cy) * id;
+        float icz = (ax * by - bx * ay) * id;
+
+        float idx = -(iax * dx + ibx * dy + icx * dz);
+        float idy = -(iay * dx + iby * dy + icy * dz);
+        float idz = -(iaz * dx + ibz * dy + icz * dz);
+
+        return set(
+                iax, ibx, icx, idx,
+                iay, iby, icy, idy,
+                iaz, ibz, icz, idz,
+                0f,  0f,  0f,  1f,
+                Matrix3D.AFFINE);
+    }
+
+    /**
+     * Rotate the matrix by the components of a normalized quaternion
+     *
+     * @param x The <tt>x</tt> component of the vector part of the quaternion
+     * @param y The <tt>y</tt> component of the vector part of the quaternion
+     * @param z The <tt>z</tt> component of the vector part of the quaternion
+     * @param w The scalar part of the quaternion
+     *
+     * @return The updated matrix
+     */
+    private MutableMatrix3D rotate(float x, float y, float z, float w) {
+
+        float xx = x * x;
+        float yy = y * y;
+        float zz = z * z;
+
+        float xy = x * y;
+        float xz = x * z;
+        float yz = y * z;
+
+        float xw = x * w;
+        float yw = y * w;
+        float zw = z * w;
+
+        return multiply(
+                1f - 2f * (yy + zz), 2f * (xy - zw),      2f * (xz + yw),      0f,
+                2f * (xy + zw),      1f - 2f * (xx + zz), 2f * (yz - xw),      0f,
+                2f * (xz - yw),      2f * (yz + xw),      1f - 2f * (xx + yy), 0f,
+                0f,                  0f,                  0f,                  1f,
+                Matrix3D.RIGID);
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.quaternion;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.math.FastMath;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+/**
+ * This class represents a quaternion, which describes a rotation when normalized
+ *
+ * @author Tim Clemens
+ */
+public final class Quaternion {
+
+    /** The dot product above which a spherical interpolation falls back to a normalized linear interpolation */
+    private static final float THRESHOLD = 0.9995f;
+
+    /** The <tt>x</tt> component of the vector part of the quaternion */
+    private final float x;
+
+    /** The <tt>y</tt> component of the vector part of the quaternion */
+    private final float y;
+
+    /** The <tt>z</tt> component of the vector part of the quaternion */
+    private final float z;
+
+    /** The scalar part of the quaternion */
+    private final float w;
+
+    /**
+     * @param x The <tt>x</tt> component of the vector part of the quaternion
+     * @param y The <tt>y</tt> component of the vector part of the quaternion
+     * @param z The <tt>z</tt> component of the vector part of the quaternion
+     * @param w The scalar part of the quaternion
+     */
+    Quaternion(float x, float y, float z, float w) {
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the vector part of the quaternion
+     *
+     * @return The <tt>x</tt> component of the vector part of the quaternion
+     */
+    public final float getX() {
+
+        return x;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the vector part of the quaternion
+     *
+     * @return The <tt>y</tt> component of the vector part of the quaternion
+     */
+    public final float getY() {
+
+        return y;
+    }
+
+    /**
+     * Get the <tt>z</tt> component of the vector part of the quaternion
+     *
+     * @return The <tt>z</tt> component of the vector part of the quaternion
+     */
+    public final float getZ() {
+
+        return z;
+    }
+
+    /**
+     * Get the scalar part of the quaternion
+     *
+     * @return The scalar part of the quaternion
+     */
+    public final float getW() {
+
+        return w;
+    }
+
+    /**
+     * Get the angle of the rotation described by the normalized quaternion
+     *
+     * @return The angle of the rotation in degrees, between zero and 360
+     */
+    public final float getAngle() {
+
+        float w = Math.max(-1f, Math.min(1f, this.w));
+
+        return (float) Math.toDegrees(2d * Math.acos(w));
+    }
+
+    /**
+     * Get the length of the quaternion
+     *
+     * @return The length of the quaternion
+     */
+    public final float length() {
+
+        return (float) Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+    /**
+     * Calculate the dot product of two quaternions
+     *
+     * @param quaternion The right-hand quaternion
+     *
+     * @return The dot product of the quaternions
+     */
+    public final float dot(@NonNull Quaternion quaternion) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a dot product with a null quaternion");
+        }
+
+        return x * quaternion.x + y * quaternion.y + z * quaternion.z + w * quaternion.w;
+    }
+
+    /**
+     * Calculate the product of two quaternions, which composes the right-hand rotation before this rotation
+     *
+     * @param quaternion The right-hand quaternion
+     *
+     * @return The product of the quaternions
+     */
+    @NonNull
+    public final Quaternion multiply(@NonNull Quaternion quaternion) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a product with a null quaternion");
+        }
+
+        float rx = w * quaternion.x + x * quaternion.w + y * quaternion.z - z * quaternion.y;
+        float ry = w * quaternion.y - x * quaternion.z + y * quaternion.w + z * quaternion.x;
+        float rz = w * quaternion.z + x * quaternion.y - y * quaternion.x + z * quaternion.w;
+        float rw = w * quaternion.w - x * quaternion.x - y * quaternion.y - z * quaternion.z;
+
+        return QuaternionFactory.buildQuaternion(rx, ry, rz, rw);
+    }
+
+    /**
+     * Rotate a vector by the normalized quaternion
+     *
+     * @param vector The vector to rotate
+     *
+     * @return The rotated vector
+     */
+    @NonNull
+    public final Vector3D multiply(@NonNull Vector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to rotate a null vector");
+        }
+
+        float vx = vector.getX();
+        float vy = vector.getY();
+        float vz = vector.getZ();
+
+        float tx = 2f * (y * vz - z * vy);
+        float ty = 2f * (z * vx - x * vz);
+        float tz = 2f * (x * vy - y * vx);
+
+        float rx = vx + w * tx + y * tz - z * ty;
+        float ry = vy + w * ty + z * tx - x * tz;
+        float rz = vz + w * tz + x * ty - y * tx;
+
+        return VectorFactory.createVector3D(rx, ry, rz, vector.getW());
+    }
+
+    /**
+     * Calculate the conjugate of the quaternion, which is the inverse rotation of a normalized quaternion
+     *
+     * @return The conjugate of the quaternion
+     */
+    @NonNull
+    public final Quaternion conjugate() {
+
+        return QuaternionFactory.buildQuaternion(-x, -y, -z, w);
+    }
+
+    /**
+     * Invert the quaternion
+     *
+     * @return The inverted quaternion
+     */
+    @NonNull
+    public final Quaternion invert() {
+
+        float l = x * x + y * y + z * z + w * w;
+
+        if (l == 0f) {
+
+            throw new IllegalStateException("Unable to invert a quaternion with a zero length");
+        }
+
+        float il = 1f / l;
+
+        return QuaternionFactory.buildQuaternion(-x * il, -y * il, -z * il, w * il);
+    }
+
+    /**
+     * Normalize the quaternion
+     *
+     * @return The normalized quaternion
+     */
+    @NonNull
+    public final Quaternion normalize() {
+
+        float l = length();
+
+        if (l == 0f) {
+
+            throw new IllegalStateException("Unable to normalize a quaternion with a zero length");
+        }
+
+        float il = 1f / l;
+
+        return QuaternionFactory.buildQuaternion(x * il, y * il, z * il, w * il);
+    }
+
+    /**
+     * Interpolate linearly between two normalized quaternions along the shortest path and normalize the result
+     *
+     * <p>This is cheaper than a spherical interpolation, but the angular speed is not constant.</p>
+     *
+     * @param quaternion The quaternion at the end of the interpolation
+     * @param t The interpolation factor, where zero is this quaternion and one is the end quaternion
+     *
+     * @return The interpolated quaternion
+     */
+    @NonNull
+    public final Quaternion nlerp(@NonNull Quaternion quaternion, float t) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to interpolate with a null quaternion");
+        }
+
+        float b = dot(quaternion) < 0f ? -t : t;
+        float a = 1f - t;
+
+        float rx = x * a + quaternion.x * b;
+        float ry = y * a + quaternion.y * b;
+        float rz = z * a + quaternion.z * b;
+        float rw = w * a + quaternion.w * b;
+
+        float il = 1f / (float) Math.sqrt(rx * rx + ry * ry + rz * rz + rw * rw);
+
+        return QuaternionFactory.buildQuaternion(rx * il, ry * il, rz * il, rw * il);
+    }
+
+    /**
+     * Interpolate linearly between two normalized quaternions along the shortest path and normalize the result with
+     * {@link FastMath#invSqrt(float)}, trading precision for speed
+     *
+     * @param quaternion The quaternion at the end of the interpolation
+     * @param t The interpolation factor, where zero is this quaternion and one is the end quaternion
+     *
+     * @return The interpolated quaternion
+     */
+    @NonNull
+    public final Quaternion fastNlerp(@NonNull Quaternion quaternion, float t) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to interpolate with a null quaternion");
+        }
+
+        float b = dot(quaternion) < 0f ? -t : t;
+        float a = 1f - t;
+
+        float rx = x * a + quaternion.x * b;
+        float ry = y * a + quaternion.y * b;
+        float rz = z * a + quaternion.z * b;
+        float rw = w * a + quaternion.w * b;
+
+        float il = FastMath.invSqrt(rx * rx + ry * ry + rz * rz + rw * rw);
+
+        return QuaternionFactory.buildQuaternion(rx * il, ry * il, rz * il, rw * il);
+    }
+
+    /**
+     * Interpolate spherically between two normalized quaternions along the shortest path
+     *
+     * <p>The rotation turns at a constant angular speed. Quaternions which are nearly parallel are interpolated
+     * with {@link #nlerp(Quaternion, float)} to avoid dividing by a vanishing sine.</p>
+     *
+     * @param quaternion The quaternion at the end of the interpolation
+     * @param t The interpolation factor, where zero is this quaternion and one is the end quaternion
+     *
+     * @return The interpolated quaternion
+     */
+    @NonNull
+    public final Quaternion slerp(@NonNull Quaternion quaternion, float t) {
+
+        if (quaternion == null) {
+
+            throw new IllegalArgumentException("Unable to interpolate with a null quaternion");
+        }
+
+        float d = dot(quaternion);
+        float sign = 1f;
+
+        if (d < 0f) {
+
+            d = -d;
+            sign = -1f;
+        }
+
+        if (d > THRESHOLD) {
+
+            return nlerp(quaternion, t);
+        }
+
+        double theta = Math.acos(d);
+        double is = 1d / Math.sin(theta);
+
+        float a = (float) (Math.sin((1d - t) * theta) * is);
+        float b = (float) (Math.sin(t * theta) * is) * sign;
+
+        float rx = x * a + quaternion.x * b;
+        float ry = y * a + quaternion.y * b;
+        float rz = z * a + quaternion.z * b;
+        float rw = w * a + quaternion.w * b;
+
+        return QuaternionFactory.buildQuaternion(rx, ry, rz, rw);
+    }
+}
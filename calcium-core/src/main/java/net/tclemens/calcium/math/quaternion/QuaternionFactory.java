@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.quaternion;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.math.FastMath;
+import net.tclemens.calcium.math.Geometry;
+
+/**
+ * This class is responsible for creating and initializing quaternions
+ *
+ * @author Tim Clemens
+ */
+public final class QuaternionFactory {
+
+    /** The quaternion which describes no rotation */
+    private static final Quaternion IDENTITY = buildQuaternion(0f, 0f, 0f, 1f);
+
+    private QuaternionFactory() {
+    }
+
+    /**
+     * Create a quaternion which describes no rotation
+     *
+     * @return The new quaternion
+     */
+    @NonNull
+    public static Quaternion createIdentity() {
+
+        return IDENTITY;
+    }
+
+    /**
+     * Create a quaternion from its components
+     *
+     * @param x The <tt>x</tt> component of the vector part of the quaternion
+     * @param y The <tt>y</tt> component of the vector part of the quaternion
+     * @param z The <tt>z</tt> component of the vector part of the quaternion
+     * @param w The scalar part of the quaternion
+     *
+     * @return The new quaternion
+     */
+    @NonNull
+    public static Quaternion createQuaternion(float x, float y, float z, float w) {
+
+        return buildQuaternion(x, y, z, w);
+    }
+
+    /**
+     * Create a normalized quaternion which rotates counter-clockwise about an axis
+     *
+     * @param angle The rotation angle in degrees
+     * @param x The <tt>x</tt> component of the axis
+     * @param y The <tt>y</tt> component of the axis
+     * @param z The <tt>z</tt> component of the axis
+     *
+     * @return The new quaternion
+     *
+     * @throws IllegalArgumentException If the axis has a zero length
+     */
+    @NonNull
+    public static Quaternion createRotation(float angle, float x, float y, float z) {
+
+        float l = Geometry.distance3D(x, y, z);
+
+        if (l == 0f) {
+
+            throw new IllegalArgumentException("Unable to create a rotation with a zero length axis");
+        }
+
+        double a = Math.toRadians(angle) * 0.5d;
+        float s = (float) Math.sin(a) / l;
+
+        return buildQuaternion(x * s, y * s, z * s, (float) Math.cos(a));
+    }
+
+    /**
+     * Create a normalized quaternion which rotates counter-clockwise about an axis with {@link FastMath#sin(float)}
+     * and {@link FastMath#cos(float)}, trading precision for speed
+     *
+     * @param angle The rotation angle in degrees
+     * @param x The <tt>x</tt> component of the axis
+     * @param y The <tt>y</tt> component of the axis
+     * @param z The <tt>z</tt> component of the axis
+     *
+     * @return The new quaternion
+     *
+     * @throws IllegalArgumentException If the axis has a zero length
+     */
+    @NonNull
+    public static Quaternion createFastRotation(float angle, float x, float y, float z) {
+
+        float l = Geometry.distance3D(x, y, z);
+
+        if (l == 0f) {
+
+            throw new IllegalArgumentException("Unable to create a rotation with a zero length axis");
+        }
+
+        float a = (float) Math.toRadians(angle) * 0.5f;
+        float s = FastMath.sin(a) / l;
+
+        return buildQuaternion(x * s, y * s, z * s, FastMath.cos(a));
+    }
+
+    /**
+     * Create a normalized quaternion from rotation angles, which describes the same rotation as
+     * {@link net.tclemens.calcium.math.matrix.MatrixFactory#createRotate3D(float, float, float)}
+     *
+     * @param x The <tt>x</tt> rotation angle in degrees
+     * @param y The <tt>y</tt> rotation angle in degrees
+     * @param z The <tt>z</tt> rotation angle in degrees
+     *
+     * @return The new quaternion
+     */
+    @NonNull
+    public static Quaternion createEuler(float x, float y, float z) {
+
+        double a = Math.PI / 360d;
+
+        return buildEuler(
+                (float) Math.cos(x * a), (float) Math.cos(y * a), (float) Math.cos(z * a),
+                (float) -Math.sin(x * a), (float) -Math.sin(y * a), (float) -Math.sin(z * a));
+    }
+
+    /**
+     * Create a normalized quaternion from rotation angles with {@link FastMath#sin(float)} and
+     * {@link FastMath#cos(float)}, trading precision for speed
+     *
+     * @param x The <tt>x</tt> rotation angle in degrees
+     * @param y The <tt>y</tt> rotation angle in degrees
+     * @param z The <tt>z</tt> rotation angle in degrees
+     *
+     * @return The new quaternion
+     */
+    @NonNull
+    public static Quaternion createFastEuler(float x, float y, float z) {
+
+        float a = (float) (Math.PI / 360d);
+
+        return buildEuler(
+                FastMath.cos(x * a), FastMath.cos(y * a), FastMath.cos(z * a),
+                -FastMath.sin(x * a), -FastMath.sin(y * a), -FastMath.sin(z * a));
+    }
+
+    /**
+     * Create a normalized quaternion from the cosines and negated sines of half the rotation angles
+     *
+     * @param cx The cosine of half the <tt>x</tt> rotation angle
+     * @param cy The cosine of half the <tt>y</tt> rotation angle
+     * @param cz The cosine of half the <tt>z</tt> rotation angle
+     * @param sx The negated sine of half the <tt>x</tt> rotation angle
+     * @param sy The negated sine of half the <tt>y</tt> rotation angle
+     * @param sz The negated sine of half the <tt>z</tt> rotation angle
+     *
+     * @return The new quaternion
+     */
+    private static Quaternion buildEuler(float cx, float cy, float cz, float sx, float sy, float sz) {
+
+        float rx = cz * cy * sx - sz * sy * cx;
+        float ry = cz * sy * cx + sz * cy * sx;
+        float rz = sz * cy * cx - cz * sy * sx;
+        float rw = cz * cy * cx + sz * sy * sx;
+
+        return buildQuaternion(rx, ry, rz, rw);
+    }
+
+    /**
+     * Create a quaternion from its components
+     *
+     * @param x The <tt>x</tt> component of the vector part of the quaternion
+     * @param y The <tt>y</tt> component of the vector part of the quaternion
+     * @param z The <tt>z</tt> component of the vector part of the quaternion
+     * @param w The scalar part of the quaternion
+     *
+     * @return The new quaternion
+     */
+    static Quaternion buildQuaternion(float x, float y, float z, float w) {
+
+        return new Quaternion(x, y, z, w);
+    }
+}
@@ -0,0 +1,1049 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.spatial;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import net.tclemens.calcium.math.Geometry;
+
+/**
+ * This class represents a dynamic bounding volume hierarchy of elements with three-dimensional axis-aligned bounds
+ *
+ * <p>Each element is a leaf of a balanced binary tree whose nodes bound their children. Leaves are fattened by a
+ * margin, so an element which moves a little every tick only updates its bounds, and an element which leaves its
+ * fattened bounds is removed and reinserted beside the sibling which least increases the surface area of the tree.
+ * Nodes are stored in primitive arrays indexed by handle, so the tree can be updated every tick without
+ * allocating.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <E> The type of the elements
+ *
+ * @author Tim Clemens
+ */
+public final class BoundingTree3D<E> {
+
+    /** The index used for a missing node */
+    private static final int NONE = -1;
+
+    /** The height of a free node */
+    private static final int FREE = -1;
+
+    /** The initial capacity of each array */
+    private static final int CAPACITY = 16;
+
+    /** The number of bounds stored for each node */
+    private static final int STRIDE = 6;
+
+    /** The distance each leaf is fattened by in every direction */
+    private final float margin;
+
+    /** The fattened left, right, bottom, top, near and far bounds of each node */
+    private float[] boxes = new float[CAPACITY * STRIDE];
+
+    /** The exact left, right, bottom, top, near and far bounds of each leaf */
+    private float[] tight = new float[CAPACITY * STRIDE];
+
+    /** The parent of each node, which also links free nodes */
+    private int[] parents = new int[CAPACITY];
+
+    /** The first child of each node, or {@link #NONE} for a leaf */
+    private int[] firsts = new int[CAPACITY];
+
+    /** The second child of each node, or {@link #NONE} for a leaf */
+    private int[] seconds = new int[CAPACITY];
+
+    /** The height of each node, which is zero for a leaf */
+    private int[] heights = new int[CAPACITY];
+
+    /** The element of each leaf */
+    private Object[] elements = new Object[CAPACITY];
+
+    /** The stack of nodes pending in a query */
+    private int[] stack = new int[CAPACITY];
+
+    /** The number of nodes which have been allocated */
+    private int nodes;
+
+    /** The first free node */
+    private int free = NONE;
+
+    /** The root node */
+    private int root = NONE;
+
+    /** The number of elements */
+    private int size;
+
+    /**
+     * @param margin The distance each leaf is fattened by in every direction
+     */
+    BoundingTree3D(float margin) {
+
+        this.margin = margin;
+    }
+
+    /**
+     * Get the distance each leaf is fattened by in every direction
+     *
+     * @return The distance each leaf is fattened by
+     */
+    public final float getMargin() {
+
+        return margin;
+    }
+
+    /**
+     * Get the number of elements
+     *
+     * @return The number of elements
+     */
+    public final int size() {
+
+        return size;
+    }
+
+    /**
+     * Get the height of the tree
+     *
+     * @return The height of the tree, which is zero for a single element or an empty tree
+     */
+    public final int getHeight() {
+
+        return root == NONE ? 0 : heights[root];
+    }
+
+    /**
+     * Get the element of a handle
+     *
+     * @param handle The handle of the element
+     *
+     * @return The element
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public final E get(int handle) {
+
+        checkHandle(handle);
+
+        return (E) elements[handle];
+    }
+
+    /**
+     * Get the exact bounds of an element
+     *
+     * @param handle The handle of the element
+     * @param result The array to store the left, right, bottom, top, near and far bounds in
+     * @param offset The index of the left bound in the result
+     *
+     * @throws IllegalArgumentException If the handle is unknown or the result is null or too small
+     */
+    public final void getBounds(int handle, @NonNull float[] result, int offset) {
+
+        checkHandle(handle);
+
+        if (result == null || offset < 0 || offset > result.length - STRIDE) {
+
+            throw new IllegalArgumentException("Unable to get bounds with a null or small result array");
+        }
+
+        System.arraycopy(tight, handle * STRIDE, result, offset, STRIDE);
+    }
+
+    /**
+     * Add an element to the tree
+     *
+     * @param element The element to add
+     * @param left The lower bound for x coordinate of the element
+     * @param right The upper bound for x coordinate of the element
+     * @param bottom The lower bound for y coordinate of the element
+     * @param top The upper bound for y coordinate of the element
+     * @param near The lower bound for z coordinate of the element
+     * @param far The upper bound for z coordinate of the element
+     *
+     * @return The handle of the element, which is valid until the element is removed
+     *
+     * @throws IllegalArgumentException If the element or its bounds are invalid
+     */
+    public final int insert(@NonNull E element, float left, float right, float bottom, float top, float near, float far) {
+
+        if (element == null) {
+
+            throw new IllegalArgumentException("Unable to insert a null element");
+        }
+
+        checkBounds(left, right, bottom, top, near, far);
+
+        int leaf = allocateNode();
+
+        elements[leaf] = element;
+        heights[leaf] = 0;
+
+        setTight(leaf, left, right, bottom, top, near, far);
+        setFat(leaf);
+        insertLeaf(leaf);
+
+        size++;
+
+        return leaf;
+    }
+
+    /**
+     * Remove an element from the tree
+     *
+     * @param handle The handle of the element
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    public final void remove(int handle) {
+
+        checkHandle(handle);
+
+        removeLeaf(handle);
+        freeNode(handle);
+
+        size--;
+    }
+
+    /**
+     * Update the bounds of an element, which only changes the tree if the element leaves its fattened bounds
+     *
+     * @param handle The handle of the element
+     * @param left The lower bound for x coordinate of the element
+     * @param right The upper bound for x coordinate of the element
+     * @param bottom The lower bound for y coordinate of the element
+     * @param top The upper bound for y coordinate of the element
+     * @param near The lower bound for z coordinate of the element
+     * @param far The upper bound for z coordinate of the element
+     *
+     * @return <tt>true</tt> if the element was reinserted, <tt>false</tt> if only its bounds changed
+     *
+     * @throws IllegalArgumentException If the handle or bounds are invalid
+     */
+    public final boolean move(int handle, float left, float right, float bottom, float top, float near, float far) {
+
+        checkHandle(handle);
+        checkBounds(left, right, bottom, top, near, far);
+
+        setTight(handle, left, right, bottom, top, near, far);
+
+        int offset = handle * STRIDE;
+
+        if (left >= boxes[offset] &&
+            right <= boxes[offset + 1] &&
+            bottom >= boxes[offset + 2] &&
+            top <= boxes[offset + 3] &&
+            near >= boxes[offset + 4] &&
+            far <= boxes[offset + 5]) {
+
+            return false;
+        }
+
+        removeLeaf(handle);
+        setFat(handle);
+        insertLeaf(handle);
+
+        return true;
+    }
+
+    /**
+     * Remove every element from the tree
+     */
+    public final void clear() {
+
+        Arrays.fill(elements, null);
+
+        nodes = 0;
+        free = NONE;
+        root = NONE;
+        size = 0;
+    }
+
+    /**
+     * Find the elements whose bounds overlap an axis-aligned volume
+     *
+     * @param left The lower bound for x coordinate of the volume
+     * @param right The upper bound for x coordinate of the volume
+     * @param bottom The lower bound for y coordinate of the volume
+     * @param top The upper bound for y coordinate of the volume
+     * @param near The lower bound for z coordinate of the volume
+     * @param far The upper bound for z coordinate of the volume
+     * @param result The collection to add each overlapping element to
+     *
+     * @return The number of overlapping elements
+     *
+     * @throws IllegalArgumentException If the volume or collection is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public final int queryVolume(float left, float right,
+                                 float bottom, float top,
+                                 float near, float far,
+                                 @NonNull Collection<? super E> result) {
+
+        checkBounds(left, right, bottom, top, near, far);
+        checkResult(result);
+
+        int found = 0;
+        int depth = push(0, root);
+
+        while (depth > 0) {
+
+            int node = stack[--depth];
+
+            if (node == NONE || !overlaps(boxes, node, left, right, bottom, top, near, far)) {
+
+                continue;
+            }
+
+            if (firsts[node] != NONE) {
+
+                depth = push(depth, firsts[node]);
+                depth = push(depth, seconds[node]);
+            }
+            else if (overlaps(tight, node, left, right, bottom, top, near, far)) {
+
+                result.add((E) elements[node]);
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the elements whose bounds contain a point
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param z The z coordinate of the point
+     * @param result The collection to add each intersected element to
+     *
+     * @return The number of intersected elements
+     *
+     * @throws IllegalArgumentException If the point or collection is invalid
+     */
+    public final int queryPosition(float x, float y, float z, @NonNull Collection<? super E> result) {
+
+        return queryVolume(x, x, y, y, z, z, result);
+    }
+
+    /**
+     * Find the elements whose bounds intersect the line segment AB
+     *
+     * @param ax The x coordinate of point A
+     * @param ay The y coordinate of point A
+     * @param az The z coordinate of point A
+     * @param bx The x coordinate of point B
+     * @param by The y coordinate of point B
+     * @param bz The z coordinate of point B
+     * @param result The collection to add each intersected element to
+     *
+     * @return The number of intersected elements
+     *
+     * @throws IllegalArgumentException If the collection is null
+     */
+    @SuppressWarnings("unchecked")
+    public final int queryLine(float ax, float ay, float az,
+                               float bx, float by, float bz,
+                               @NonNull Collection<? super E> result) {
+
+        checkResult(result);
+
+        // Find the inverse of the direction of AB once for every node
+        float dx = bx - ax;
+        float dy = by - ay;
+        float dz = bz - az;
+
+        float ix = 1f / dx;
+        float iy = 1f / dy;
+        float iz = 1f / dz;
+
+        int found = 0;
+        int depth = push(0, root);
+
+        while (depth > 0) {
+
+            int node = stack[--depth];
+
+            if (node == NONE || !crosses(boxes, node, ax, ay, az, dx, dy, dz, ix, iy, iz)) {
+
+                continue;
+            }
+
+            if (firsts[node] != NONE) {
+
+                depth = push(depth, firsts[node]);
+                depth = push(depth, seconds[node]);
+            }
+            else if (crosses(tight, node, ax, ay, az, dx, dy, dz, ix, iy, iz)) {
+
+                result.add((E) elements[node]);
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the element whose bounds are nearest to a point, skipping every node farther than the nearest element
+     * found so far
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param z The z coordinate of the point
+     *
+     * @return The nearest element, or null if the tree is empty
+     */
+    @SuppressWarnings("unchecked")
+    public final E findNearest(float x, float y, float z) {
+
+        int nearest = NONE;
+        float best = Float.POSITIVE_INFINITY;
+
+        int depth = push(0, root);
+
+        while (depth > 0) {
+
+            int node = stack[--depth];
+
+            if (node == NONE || distanceSquared(boxes, node, x, y, z) >= best) {
+
+                continue;
+            }
+
+            int first = firsts[node];
+            int second = seconds[node];
+
+            if (first == NONE) {
+
+                float distance = distanceSquared(tight, node, x, y, z);
+
+                if (distance < best) {
+
+                    best = distance;
+                    nearest = node;
+                }
+
+                continue;
+            }
+
+            // Push the nearer child last so it is searched first
+            if (distanceSquared(boxes, first, x, y, z) < distanceSquared(boxes, second, x, y, z)) {
+
+                depth = push(depth, second);
+                depth = push(depth, first);
+            }
+            else {
+
+                depth = push(depth, first);
+                depth = push(depth, second);
+            }
+        }
+
+        return nearest == NONE ? null : (E) elements[nearest];
+    }
+
+    /**
+     * Ensure a handle refers to an element in the tree
+     *
+     * @param handle The handle
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    private void checkHandle(int handle) {
+
+        if (handle < 0 || handle >= nodes || heights[handle] != 0 || elements[handle] == null) {
+
+            throw new IllegalArgumentException("Unable to find an element with an unknown handle");
+        }
+    }
+
+    /**
+     * Ensure bounds are ordered
+     *
+     * @param left The lower bound for x coordinate
+     * @param right The upper bound for x coordinate
+     * @param bottom The lower bound for y coordinate
+     * @param top The upper bound for y coordinate
+     * @param near The lower bound for z coordinate
+     * @param far The upper bound for z coordinate
+     *
+     * @throws IllegalArgumentException If the bounds are inverted or not numbers
+     */
+    private static void checkBounds(float left, float right, float bottom, float top, float near, float far) {
+
+        if (!(left <= right && bottom <= top && near <= far)) {
+
+            throw new IllegalArgumentException("Unable to use inverted bounds");
+        }
+    }
+
+    /**
+     * Ensure a query has a collection to add results to
+     *
+     * @param result The collection of results
+     *
+     * @throws IllegalArgumentException If the collection is null
+     */
+    private static void checkResult(Collection<?> result) {
+
+        if (result == null) {
+
+            throw new IllegalArgumentException("Unable to query elements with a null result collection");
+        }
+    }
+
+    /**
+     * Check if the bounds of a node overlap a volume
+     *
+     * @param bounds The array of node bounds
+     * @param node The node
+     * @param left The lower bound for x coordinate of the volume
+     * @param right The upper bound for x coordinate of the volume
+     * @param bottom The lower bound for y coordinate of the volume
+     * @param top The upper bound for y coordinate of the volume
+     * @param near The lower bound for z coordinate of the volume
+     * @param far The upper bound for z coordinate of the volume
+     *
+     * @return True if the bounds overlap the volume
+     */
+    private static boolean overlaps(float[] bounds, int node,
+                                    float left, float right,
+                                    float bottom, float top,
+                                    float near, float far) {
+
+        int offset = node * STRIDE;
+
+        return Geometry.overlapVolume3D(bounds[offset], bounds[offset + 1], bounds[offset + 2],
+                                        bounds[offset + 3], bounds[offset + 4], bounds[offset + 5],
+                                        left, right, bottom, top, near, far);
+    }
+
+    /**
+     * Check if the bounds of a node intersect a line segment, clipping the segment to each pair of planes
+     *
+     * @param bounds The array of node bounds
+     * @param node The node
+     * @param ax The x coordinate of the start of the segment
+     * @param ay The y coordinate of the start of the segment
+     * @param az The z coordinate of the start of the segment
+     * @param dx The x component of the direction of the segment
+     * @param dy The y component of the direction of the segment
+     * @param dz The z component of the direction of the segment
+     * @param ix The inverse of the x component of the direction
+     * @param iy The inverse of the y component of the direction
+     * @param iz The inverse of the z component of the direction
+     *
+     * @return True if the bounds intersect the segment
+     */
+    private static boolean crosses(float[] bounds, int node,
+                                   float ax, float ay, float az,
+                                   float dx, float dy, float dz,
+                                   float ix, float iy, float iz) {
+
+        int offset = node * STRIDE;
+
+        float start = 0f;
+        float end = 1f;
+
+        if (dx != 0f) {
+
+            float tl = (bounds[offset] - ax) * ix;
+            float tr = (bounds[offset + 1] - ax) * ix;
+
+            start = Math.max(start, Math.min(tl, tr));
+            end = Math.min(end, Math.max(tl, tr));
+        }
+        else if (ax < bounds[offset] || ax > bounds[offset + 1]) {
+
+            return false;
+        }
+
+        if (dy != 0f) {
+
+            float tb = (bounds[offset + 2] - ay) * iy;
+            float tt = (bounds[offset + 3] - ay) * iy;
+
+            start = Math.max(start, Math.min(tb, tt));
+            end = Math.min(end, Math.max(tb, tt));
+        }
+        else if (ay < bounds[offset + 2] || ay > bounds[offset + 3]) {
+
+            return false;
+        }
+
+        if (dz != 0f) {
+
+            float tn = (bounds[offset + 4] - az) * iz;
+            float tf = (bounds[offset + 5] - az) * iz;
+
+            start = Math.max(start, Math.min(tn, tf));
+            end = Math.min(end, Math.max(tn, tf));
+        }
+        else if (az < bounds[offset + 4] || az > bounds[offset + 5]) {
+
+            return false;
+        }
+
+        return start <= end;
+    }
+
+    /**
+     * Find the squared distance between the bounds of a node and a point
+     *
+     * @param bounds The array of node bounds
+     * @param node The node
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param z The z coordinate of the point
+     *
+     * @return The squared distance, which is zero if the bounds contain the point
+     */
+    private static float distanceSquared(float[] bounds, int node, float x, float y, float z) {
+
+        int offset = node * STRIDE;
+
+        float dx = Math.max(0f, Math.max(bounds[offset] - x, x - bounds[offset + 1]));
+        float dy = Math.max(0f, Math.max(bounds[offset + 2] - y, y - bounds[offset + 3]));
+        float dz = Math.max(0f, Math.max(bounds[offset + 4] - z, z - bounds[offset + 5]));
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Find half the surface area of the union of the bounds of two nodes
+     *
+     * @param a The first node
+     * @param b The second node
+     *
+     * @return Half the surface area of the union
+     */
+    private float unionArea(int a, int b) {
+
+        int ao = a * STRIDE;
+        int bo = b * STRIDE;
+
+        float width = Math.max(boxes[ao + 1], boxes[bo + 1]) - Math.min(boxes[ao], boxes[bo]);
+        float height = Math.max(boxes[ao + 3], boxes[bo + 3]) - Math.min(boxes[ao + 2], boxes[bo + 2]);
+        float depth = Math.max(boxes[ao + 5], boxes[bo + 5]) - Math.min(boxes[ao + 4], boxes[bo + 4]);
+
+        return width * height + height * depth + depth * width;
+    }
+
+    /**
+     * Find half the surface area of the bounds of a node
+     *
+     * @param node The node
+     *
+     * @return Half the surface area of the node
+     */
+    private float area(int node) {
+
+        return unionArea(node, node);
+    }
+
+    /**
+     * Set the bounds of a node to the union of the bounds of two other nodes
+     *
+     * @param node The node to update
+     * @param a The first node
+     * @param b The second node
+     */
+    private void union(int node, int a, int b) {
+
+        int offset = node * STRIDE;
+        int ao = a * STRIDE;
+        int bo = b * STRIDE;
+
+        boxes[offset] = Math.min(boxes[ao], boxes[bo]);
+        boxes[offset + 1] = Math.max(boxes[ao + 1], boxes[bo + 1]);
+        boxes[offset + 2] = Math.min(boxes[ao + 2], boxes[bo + 2]);
+        boxes[offset + 3] = Math.max(boxes[ao + 3], boxes[bo + 3]);
+        boxes[offset + 4] = Math.min(boxes[ao + 4], boxes[bo + 4]);
+        boxes[offset + 5] = Math.max(boxes[ao + 5], boxes[bo + 5]);
+    }
+
+    /**
+     * Store the exact bounds of a leaf
+     *
+     * @param leaf The leaf
+     * @param left The lower bound for x coordinate of the leaf
+     * @param right The upper bound for x coordinate of the leaf
+     * @param bottom The lower bound for y coordinate of the leaf
+     * @param top The upper bound for y coordinate of the leaf
+     * @param near The lower bound for z coordinate of the leaf
+     * @param far The upper bound for z coordinate of the leaf
+     */
+    private void setTight(int leaf, float left, float right, float bottom, float top, float near, float far) {
+
+        int offset = leaf * STRIDE;
+
+        tight[offset] = left;
+        tight[offset + 1] = right;
+        tight[offset + 2] = bottom;
+        tight[offset + 3] = top;
+        tight[offset + 4] = near;
+        tight[offset + 5] = far;
+    }
+
+    /**
+     * Set the bounds of a leaf to its exact bounds fattened by the margin
+     *
+     * @param leaf The leaf
+     */
+    private void setFat(int leaf) {
+
+        int offset = leaf * STRIDE;
+
+        for (int bound = 0; bound < STRIDE; bound += 2) {
+
+            boxes[offset + bound] = tight[offset + bound] - margin;
+            boxes[offset + bound + 1] = tight[offset + bound + 1] + margin;
+        }
+    }
+
+    /**
+     * Push a node onto the query stack, growing the stack if needed
+     *
+     * @param depth The number of nodes on the stack
+     * @param node The node to push
+     *
+     * @return The number of nodes on the stack
+     */
+    private int push(int depth, int node) {
+
+        if (depth == stack.length) {
+
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+
+        stack[depth] = node;
+
+        return depth + 1;
+    }
+
+    /**
+     * Allocate a node, growing the node arrays if needed
+     *
+     * @return The node
+     */
+    private int allocateNode() {
+
+        int node;
+
+        if (free != NONE) {
+
+            node = free;
+            free = parents[node];
+        }
+        else {
+
+            if (nodes == parents.length) {
+
+                int capacity = nodes * 2;
+
+                boxes = Arrays.copyOf(boxes, capacity * STRIDE);
+                tight = Arrays.copyOf(tight, capacity * STRIDE);
+                parents = Arrays.copyOf(parents, capacity);
+                firsts = Arrays.copyOf(firsts, capacity);
+                seconds = Arrays.copyOf(seconds, capacity);
+                heights = Arrays.copyOf(heights, capacity);
+                elements = Arrays.copyOf(elements, capacity);
+            }
+
+            node = nodes++;
+        }
+
+        parents[node] = NONE;
+        firsts[node] = NONE;
+        seconds[node] = NONE;
+        heights[node] = 0;
+
+        return node;
+    }
+
+    /**
+     * Release a node to be allocated again
+     *
+     * @param node The node
+     */
+    private void freeNode(int node) {
+
+        parents[node] = free;
+        heights[node] = FREE;
+        elements[node] = null;
+        free = node;
+    }
+
+    /**
+     * Insert a leaf beside the sibling which least increases the surface area of the tree
+     *
+     * @param leaf The leaf
+     */
+    private void insertLeaf(int leaf) {
+
+        if (root == NONE) {
+
+            root = leaf;
+            parents[leaf] = NONE;
+
+            return;
+        }
+
+        int index = root;
+
+        while (firsts[index] != NONE) {
+
+            int first = firsts[index];
+            int second = seconds[index];
+
+            float area = area(index);
+            float combined = unionArea(index, leaf);
+
+            // The cost of pairing the leaf with this node, and the cost every descendant inherits from enlarging it
+            float cost = 2f * combined;
+            float inheritance = 2f * (combined - area);
+
+            float firstCost = descentCost(first, leaf) + inheritance;
+            float secondCost = descentCost(second, leaf) + inheritance;
+
+            if (cost < firstCost && cost < secondCost) {
+
+                break;
+            }
+
+            index = firstCost < secondCost ? first : second;
+        }
+
+        int sibling = index;
+        int previous = parents[sibling];
+        int parent = allocateNode();
+
+        parents[parent] = previous;
+        heights[parent] = heights[sibling] + 1;
+
+        union(parent, sibling, leaf);
+
+        if (previous == NONE) {
+
+            root = parent;
+        }
+        else if (firsts[previous] == sibling) {
+
+            firsts[previous] = parent;
+        }
+        else {
+
+            seconds[previous] = parent;
+        }
+
+        firsts[parent] = sibling;
+        seconds[parent] = leaf;
+        parents[sibling] = parent;
+        parents[leaf] = parent;
+
+        refit(parent);
+    }
+
+    /**
+     * Find the cost of descending into a child to insert a leaf
+     *
+     * @param child The child
+     * @param leaf The leaf
+     *
+     * @return The increase in surface area from adding the leaf to the child
+     */
+    private float descentCost(int child, int leaf) {
+
+        float combined = unionArea(child, leaf);
+
+        return firsts[child] == NONE ? combined : combined - area(child);
+    }
+
+    /**
+     * Remove a leaf from the tree, replacing its parent with its sibling
+     *
+     * @param leaf The leaf
+     */
+    private void removeLeaf(int leaf) {
+
+        if (leaf == root) {
+
+            root = NONE;
+
+            return;
+        }
+
+        int parent = parents[leaf];
+        int grandparent = parents[parent];
+        int sibling = firsts[parent] == leaf ? seconds[parent] : firsts[parent];
+
+        freeNode(parent);
+
+        if (grandparent == NONE) {
+
+            root = sibling;
+            parents[sibling] = NONE;
+
+            return;
+        }
+
+        if (firsts[grandparent] == parent) {
+
+            firsts[grandparent] = sibling;
+        }
+        else {
+
+            seconds[grandparent] = sibling;
+        }
+
+        parents[sibling] = grandparent;
+
+        refit(grandparent);
+    }
+
+    /**
+     * Balance and update the bounds and height of a node and each of its ancestors
+     *
+     * @param node The first node to update
+     */
+    private void refit(int node) {
+
+        int index = node;
+
+        while (index != NONE) {
+
+            index = balance(index);
+
+            int first = firsts[index];
+            int second = seconds[index];
+
+            heights[index] = 1 + Math.max(heights[first], heights[second]);
+
+            union(index, first, second);
+
+            index = parents[index];
+        }
+    }
+
+    /**
+     * Rotate the taller child of a node above it if the heights of its children differ by more than one
+     *
+     * @param a The node
+     *
+     * @return The node which replaced the original node in the tree
+     */
+    private int balance(int a) {
+
+        if (firsts[a] == NONE || heights[a] < 2) {
+
+            return a;
+        }
+
+        int b = firsts[a];
+        int c = seconds[a];
+
+        int difference = heights[c] - heights[b];
+
+        if (difference > 1) {
+
+            int f = firsts[c];
+            int g = seconds[c];
+
+            replace(a, c);
+
+            firsts[c] = a;
+
+            // Keep the taller grandchild under the rotated node
+            int kept = heights[f] > heights[g] ? f : g;
+            int moved = kept == f ? g : f;
+
+            seconds[c] = kept;
+            seconds[a] = moved;
+            parents[moved] = a;
+
+            union(a, b, moved);
+            union(c, a, kept);
+
+            heights[a] = 1 + Math.max(heights[b], heights[moved]);
+            heights[c] = 1 + Math.max(heights[a], heights[kept]);
+
+            return c;
+        }
+
+        if (difference < -1) {
+
+            int d = firsts[b];
+            int e = seconds[b];
+
+            replace(a, b);
+
+            firsts[b] = a;
+
+            // Keep the taller grandchild under the rotated node
+            int kept = heights[d] > heights[e] ? d : e;
+            int moved = kept == d ? e : d;
+
+            seconds[b] = kept;
+            firsts[a] = moved;
+            parents[moved] = a;
+
+            union(a, c, moved);
+            union(b, a, kept);
+
+            heights[a] = 1 + Math.max(heights[c], heights[moved]);
+            heights[b] = 1 + Math.max(heights[a], heights[kept]);
+
+            return b;
+        }
+
+        return a;
+    }
+
+    /**
+     * Move a child into the place of its parent, making the parent a child of the child
+     *
+     * @param parent The parent
+     * @param child The child
+     */
+    private void replace(int parent, int child) {
+
+        int above = parents[parent];
+
+        parents[child] = above;
+        parents[parent] = child;
+
+        if (above == NONE) {
+
+            root = child;
+        }
+        else if (firsts[above] == parent) {
+
+            firsts[above] = child;
+        }
+        else {
+
+            seconds[above] = child;
+        }
+    }
+}
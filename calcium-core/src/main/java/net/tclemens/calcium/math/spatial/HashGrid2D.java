@@ -0,0 +1,928 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.spatial;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import net.tclemens.calcium.math.Geometry;
+
+/**
+ * This class represents a uniform hash grid of elements with two-dimensional axis-aligned bounds
+ *
+ * <p>Each element is listed in every square cell its bounds touch, and only the cells which hold elements are stored
+ * in an open-addressed hash table, so the grid is unbounded. Elements, cells and cell entries are stored in primitive
+ * arrays indexed by handle, so moving an element every tick never allocates, and an element which stays within the
+ * same cells only updates its bounds. Queries which would visit more cells than the grid holds scan every element
+ * instead. Elements much larger than a cell are listed in many cells, so the cell size should suit the typical
+ * element.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param <E> The type of the elements
+ *
+ * @author Tim Clemens
+ */
+public final class HashGrid2D<E> {
+
+    /** The index used for a missing handle, entry or slot */
+    private static final int NONE = -1;
+
+    /** The head of a hash table slot which holds no cell */
+    private static final int VACANT = -2;
+
+    /** The initial capacity of each array */
+    private static final int CAPACITY = 16;
+
+    /** The multiplier used to mix cell keys */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    /** The width and height of each cell */
+    private final float cellSize;
+
+    /** The inverse of the width and height of each cell */
+    private final float inverse;
+
+    /** The element of each handle, or null for a free handle */
+    private Object[] elements = new Object[CAPACITY];
+
+    /** The left, right, bottom and top bounds of each handle */
+    private float[] bounds = new float[CAPACITY * 4];
+
+    /** The left, right, bottom and top cells of each handle, where the first links free handles */
+    private int[] ranges = new int[CAPACITY * 4];
+
+    /** The stamp of the last query which visited each handle */
+    private int[] marks = new int[CAPACITY];
+
+    /** The number of handles which have been allocated */
+    private int handles;
+
+    /** The first free handle */
+    private int free = NONE;
+
+    /** The number of elements */
+    private int size;
+
+    /** The key of each cell in the hash table */
+    private long[] keys = new long[CAPACITY];
+
+    /** The first entry of each cell in the hash table */
+    private int[] heads = vacant(CAPACITY);
+
+    /** The number of slots holding a cell */
+    private int occupied;
+
+    /** The handle of each entry */
+    private int[] entryHandles = new int[CAPACITY];
+
+    /** The next entry in the same cell as each entry, which also links free entries */
+    private int[] entryNexts = new int[CAPACITY];
+
+    /** The number of entries which have been allocated */
+    private int entries;
+
+    /** The first free entry */
+    private int freeEntry = NONE;
+
+    /** The stamp of the current query */
+    private int stamp;
+
+    /**
+     * @param cellSize The width and height of each cell
+     */
+    HashGrid2D(float cellSize) {
+
+        this.cellSize = cellSize;
+        this.inverse = 1f / cellSize;
+    }
+
+    /**
+     * Get the width and height of each cell
+     *
+     * @return The width and height of each cell
+     */
+    public final float getCellSize() {
+
+        return cellSize;
+    }
+
+    /**
+     * Get the number of elements
+     *
+     * @return The number of elements
+     */
+    public final int size() {
+
+        return size;
+    }
+
+    /**
+     * Get the element of a handle
+     *
+     * @param handle The handle of the element
+     *
+     * @return The element
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public final E get(int handle) {
+
+        checkHandle(handle);
+
+        return (E) elements[handle];
+    }
+
+    /**
+     * Add an element to the grid
+     *
+     * @param element The element to add
+     * @param left The lower bound for x coordinate of the element
+     * @param right The upper bound for x coordinate of the element
+     * @param bottom The lower bound for y coordinate of the element
+     * @param top The upper bound for y coordinate of the element
+     *
+     * @return The handle of the element, which is valid until the element is removed
+     *
+     * @throws IllegalArgumentException If the element or its bounds are invalid
+     */
+    public final int insert(@NonNull E element, float left, float right, float bottom, float top) {
+
+        if (element == null) {
+
+            throw new IllegalArgumentException("Unable to insert a null element");
+        }
+
+        checkBounds(left, right, bottom, top);
+
+        int handle = allocateHandle();
+
+        elements[handle] = element;
+
+        setBounds(handle, left, right, bottom, top);
+        addCells(handle);
+
+        size++;
+
+        return handle;
+    }
+
+    /**
+     * Remove an element from the grid
+     *
+     * @param handle The handle of the element
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    public final void remove(int handle) {
+
+        checkHandle(handle);
+
+        removeCells(handle);
+
+        elements[handle] = null;
+        ranges[handle * 4] = free;
+        free = handle;
+
+        size--;
+    }
+
+    /**
+     * Update the bounds of an element, which only changes the cells listing the element if it moves to a new cell
+     *
+     * @param handle The handle of the element
+     * @param left The lower bound for x coordinate of the element
+     * @param right The upper bound for x coordinate of the element
+     * @param bottom The lower bound for y coordinate of the element
+     * @param top The upper bound for y coordinate of the element
+     *
+     * @throws IllegalArgumentException If the handle or bounds are invalid
+     */
+    public final void move(int handle, float left, float right, float bottom, float top) {
+
+        checkHandle(handle);
+        checkBounds(left, right, bottom, top);
+
+        int offset = handle * 4;
+
+        if (ranges[offset] == cell(left) &&
+            ranges[offset + 1] == cell(right) &&
+            ranges[offset + 2] == cell(bottom) &&
+            ranges[offset + 3] == cell(top)) {
+
+            bounds[offset] = left;
+            bounds[offset + 1] = right;
+            bounds[offset + 2] = bottom;
+            bounds[offset + 3] = top;
+
+            return;
+        }
+
+        removeCells(handle);
+        setBounds(handle, left, right, bottom, top);
+        addCells(handle);
+    }
+
+    /**
+     * Remove every element from the grid
+     */
+    public final void clear() {
+
+        Arrays.fill(elements, null);
+
+        handles = 0;
+        free = NONE;
+        size = 0;
+
+        keys = new long[CAPACITY];
+        heads = vacant(CAPACITY);
+        occupied = 0;
+
+        entries = 0;
+        freeEntry = NONE;
+    }
+
+    /**
+     * Find the elements whose bounds overlap an axis-aligned area
+     *
+     * @param left The lower bound for x coordinate of the area
+     * @param right The upper bound for x coordinate of the area
+     * @param bottom The lower bound for y coordinate of the area
+     * @param top The upper bound for y coordinate of the area
+     * @param result The collection to add each overlapping element to
+     *
+     * @return The number of overlapping elements
+     *
+     * @throws IllegalArgumentException If the area or collection is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public final int queryArea(float left, float right, float bottom, float top, @NonNull Collection<? super E> result) {
+
+        checkBounds(left, right, bottom, top);
+        checkResult(result);
+
+        int cl = cell(left);
+        int cr = cell(right);
+        int cb = cell(bottom);
+        int ct = cell(top);
+
+        int found = 0;
+
+        if ((long) (cr - cl + 1) * (ct - cb + 1) > occupied) {
+
+            for (int handle = 0; handle < handles; handle++) {
+
+                if (elements[handle] != null && overlaps(handle, left, right, bottom, top)) {
+
+                    result.add((E) elements[handle]);
+                    found++;
+                }
+            }
+
+            return found;
+        }
+
+        int stamp = nextStamp();
+
+        for (int cx = cl; cx <= cr; cx++) {
+
+            for (int cy = cb; cy <= ct; cy++) {
+
+                int slot = findSlot(key(cx, cy), false);
+
+                for (int entry = slot == NONE ? NONE : heads[slot]; entry != NONE; entry = entryNexts[entry]) {
+
+                    int handle = entryHandles[entry];
+
+                    if (marks[handle] != stamp) {
+
+                        marks[handle] = stamp;
+
+                        if (overlaps(handle, left, right, bottom, top)) {
+
+                            result.add((E) elements[handle]);
+                            found++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the elements whose bounds contain a point
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param result The collection to add each intersected element to
+     *
+     * @return The number of intersected elements
+     *
+     * @throws IllegalArgumentException If the collection is null
+     */
+    @SuppressWarnings("unchecked")
+    public final int queryPosition(float x, float y, @NonNull Collection<? super E> result) {
+
+        checkResult(result);
+
+        int slot = findSlot(key(cell(x), cell(y)), false);
+        int found = 0;
+
+        for (int entry = slot == NONE ? NONE : heads[slot]; entry != NONE; entry = entryNexts[entry]) {
+
+            int handle = entryHandles[entry];
+            int offset = handle * 4;
+
+            if (Geometry.intersectArea2D(x, y, bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3])) {
+
+                result.add((E) elements[handle]);
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the elements whose bounds intersect the line segment AB, visiting only the cells along the segment
+     *
+     * @param ax The x coordinate of point A
+     * @param ay The y coordinate of point A
+     * @param bx The x coordinate of point B
+     * @param by The y coordinate of point B
+     * @param result The collection to add each intersected element to
+     *
+     * @return The number of intersected elements
+     *
+     * @throws IllegalArgumentException If the collection is null
+     */
+    @SuppressWarnings("unchecked")
+    public final int queryLine(float ax, float ay, float bx, float by, @NonNull Collection<? super E> result) {
+
+        checkResult(result);
+
+        int cx = cell(ax);
+        int cy = cell(ay);
+        int ex = cell(bx);
+        int ey = cell(by);
+
+        long steps = (long) Math.abs(ex - cx) + Math.abs(ey - cy) + 1;
+        int found = 0;
+
+        if (steps > occupied) {
+
+            for (int handle = 0; handle < handles; handle++) {
+
+                if (elements[handle] != null && crosses(handle, ax, ay, bx, by)) {
+
+                    result.add((E) elements[handle]);
+                    found++;
+                }
+            }
+
+            return found;
+        }
+
+        float dx = bx - ax;
+        float dy = by - ay;
+
+        int stepX = ex > cx ? 1 : -1;
+        int stepY = ey > cy ? 1 : -1;
+
+        // Find the fraction of AB at which it next crosses a vertical and a horizontal cell boundary
+        float deltaX = dx == 0f ? Float.POSITIVE_INFINITY : Math.abs(cellSize / dx);
+        float deltaY = dy == 0f ? Float.POSITIVE_INFINITY : Math.abs(cellSize / dy);
+        float nextX = dx == 0f ? Float.POSITIVE_INFINITY : ((cx + (stepX > 0 ? 1 : 0)) * cellSize - ax) / dx;
+        float nextY = dy == 0f ? Float.POSITIVE_INFINITY : ((cy + (stepY > 0 ? 1 : 0)) * cellSize - ay) / dy;
+
+        int stamp = nextStamp();
+
+        for (long step = 0; step < steps; step++) {
+
+            int slot = findSlot(key(cx, cy), false);
+
+            for (int entry = slot == NONE ? NONE : heads[slot]; entry != NONE; entry = entryNexts[entry]) {
+
+                int handle = entryHandles[entry];
+
+                if (marks[handle] != stamp) {
+
+                    marks[handle] = stamp;
+
+                    if (crosses(handle, ax, ay, bx, by)) {
+
+                        result.add((E) elements[handle]);
+                        found++;
+                    }
+                }
+            }
+
+            // Step into the next cell, always moving towards the cell of B so rounding never overshoots it
+            if (cy == ey || (cx != ex && nextX < nextY)) {
+
+                cx += stepX;
+                nextX += deltaX;
+            }
+            else {
+
+                cy += stepY;
+                nextY += deltaY;
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Find the element whose bounds are nearest to a point, searching outwards one ring of cells at a time
+     *
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     *
+     * @return The nearest element, or null if the grid is empty
+     */
+    @SuppressWarnings("unchecked")
+    public final E findNearest(float x, float y) {
+
+        if (size == 0) {
+
+            return null;
+        }
+
+        int cx = cell(x);
+        int cy = cell(y);
+        int stamp = nextStamp();
+
+        int nearest = NONE;
+        float best = Float.POSITIVE_INFINITY;
+        long visited = 0;
+
+        for (int ring = 0; ; ring++) {
+
+            // Scan every element once the rings visit more cells than the grid holds
+            if (visited > occupied) {
+
+                for (int handle = 0; handle < handles; handle++) {
+
+                    if (elements[handle] != null) {
+
+                        float distance = distanceSquared(handle, x, y);
+
+                        if (distance < best) {
+
+                            best = distance;
+                            nearest = handle;
+                        }
+                    }
+                }
+
+                break;
+            }
+
+            for (int dx = -ring; dx <= ring; dx++) {
+
+                // Only the first and last columns of the ring visit every row
+                int step = Math.abs(dx) == ring ? 1 : 2 * ring;
+
+                for (int dy = -ring; dy <= ring; dy += step) {
+
+                    visited++;
+
+                    int slot = findSlot(key(cx + dx, cy + dy), false);
+
+                    for (int entry = slot == NONE ? NONE : heads[slot]; entry != NONE; entry = entryNexts[entry]) {
+
+                        int handle = entryHandles[entry];
+
+                        if (marks[handle] != stamp) {
+
+                            marks[handle] = stamp;
+
+                            float distance = distanceSquared(handle, x, y);
+
+                            if (distance < best) {
+
+                                best = distance;
+                                nearest = handle;
+                            }
+                        }
+                    }
+                }
+            }
+
+            // Every cell outside the rings searched so far is at least this far from the point
+            float reach = ring * cellSize;
+
+            if (nearest != NONE && best <= reach * reach) {
+
+                break;
+            }
+        }
+
+        return (E) elements[nearest];
+    }
+
+    /**
+     * Create the heads of a hash table with every slot vacant
+     *
+     * @param capacity The number of slots
+     *
+     * @return The heads of the hash table
+     */
+    private static int[] vacant(int capacity) {
+
+        int[] heads = new int[capacity];
+
+        Arrays.fill(heads, VACANT);
+
+        return heads;
+    }
+
+    /**
+     * Find the key of a cell
+     *
+     * @param cx The column of the cell
+     * @param cy The row of the cell
+     *
+     * @return The key of the cell
+     */
+    private static long key(int cx, int cy) {
+
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /**
+     * Find the column or row of the cell containing a coordinate
+     *
+     * @param value The coordinate
+     *
+     * @return The column or row of the cell
+     */
+    private int cell(float value) {
+
+        return (int) Math.floor(value * inverse);
+    }
+
+    /**
+     * Ensure a handle refers to an element in the grid
+     *
+     * @param handle The handle
+     *
+     * @throws IllegalArgumentException If the handle is unknown
+     */
+    private void checkHandle(int handle) {
+
+        if (handle < 0 || handle >= handles || elements[handle] == null) {
+
+            throw new IllegalArgumentException("Unable to find an element with an unknown handle");
+        }
+    }
+
+    /**
+     * Ensure bounds are ordered and finite
+     *
+     * @param left The lower bound for x coordinate
+     * @param right The upper bound for x coordinate
+     * @param bottom The lower bound for y coordinate
+     * @param top The upper bound for y coordinate
+     *
+     * @throws IllegalArgumentException If the bounds are inverted or not finite
+     */
+    private static void checkBounds(float left, float right, float bottom, float top) {
+
+        if (!(left <= right && bottom <= top) || Float.isInfinite(right - left) || Float.isInfinite(top - bottom)) {
+
+            throw new IllegalArgumentException("Unable to use inverted or infinite bounds");
+        }
+    }
+
+    /**
+     * Ensure a query has a collection to add results to
+     *
+     * @param result The collection of results
+     *
+     * @throws IllegalArgumentException If the collection is null
+     */
+    private static void checkResult(Collection<?> result) {
+
+        if (result == null) {
+
+            throw new IllegalArgumentException("Unable to query elements with a null result collection");
+        }
+    }
+
+    /**
+     * Check if the bounds of an element overlap an area
+     *
+     * @param handle The handle of the element
+     * @param left The lower bound for x coordinate of the area
+     * @param right The upper bound for x coordinate of the area
+     * @param bottom The lower bound for y coordinate of the area
+     * @param top The upper bound for y coordinate of the area
+     *
+     * @return True if the bounds overlap the area
+     */
+    private boolean overlaps(int handle, float left, float right, float bottom, float top) {
+
+        int offset = handle * 4;
+
+        return Geometry.overlapArea2D(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+                                      left, right, bottom, top);
+    }
+
+    /**
+     * Check if the bounds of an element intersect the line segment AB
+     *
+     * @param handle The handle of the element
+     * @param ax The x coordinate of point A
+     * @param ay The y coordinate of point A
+     * @param bx The x coordinate of point B
+     * @param by The y coordinate of point B
+     *
+     * @return True if the bounds intersect AB
+     */
+    private boolean crosses(int handle, float ax, float ay, float bx, float by) {
+
+        int offset = handle * 4;
+
+        return Geometry.intersectArea2D(ax, ay, bx, by, bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+    }
+
+    /**
+     * Find the squared distance between the bounds of an element and a point
+     *
+     * @param handle The handle of the element
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     *
+     * @return The squared distance, which is zero if the bounds contain the point
+     */
+    private float distanceSquared(int handle, float x, float y) {
+
+        int offset = handle * 4;
+
+        float dx = Math.max(0f, Math.max(bounds[offset] - x, x - bounds[offset + 1]));
+        float dy = Math.max(0f, Math.max(bounds[offset + 2] - y, y - bounds[offset + 3]));
+
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Start a new query which visits each handle at most once
+     *
+     * @return The stamp of the query
+     */
+    private int nextStamp() {
+
+        if (++stamp == 0) {
+
+            Arrays.fill(marks, 0);
+
+            stamp = 1;
+        }
+
+        return stamp;
+    }
+
+    /**
+     * Allocate a handle, growing the handle arrays if needed
+     *
+     * @return The handle
+     */
+    private int allocateHandle() {
+
+        if (free != NONE) {
+
+            int handle = free;
+
+            free = ranges[handle * 4];
+
+            return handle;
+        }
+
+        if (handles == elements.length) {
+
+            int capacity = elements.length * 2;
+
+            elements = Arrays.copyOf(elements, capacity);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            ranges = Arrays.copyOf(ranges, capacity * 4);
+            marks = Arrays.copyOf(marks, capacity);
+        }
+
+        return handles++;
+    }
+
+    /**
+     * Store the bounds of an element and the cells they touch
+     *
+     * @param handle The handle of the element
+     * @param left The lower bound for x coordinate of the element
+     * @param right The upper bound for x coordinate of the element
+     * @param bottom The lower bound for y coordinate of the element
+     * @param top The upper bound for y coordinate of the element
+     */
+    private void setBounds(int handle, float left, float right, float bottom, float top) {
+
+        int offset = handle * 4;
+
+        bounds[offset] = left;
+        bounds[offset + 1] = right;
+        bounds[offset + 2] = bottom;
+        bounds[offset + 3] = top;
+
+        ranges[offset] = cell(left);
+        ranges[offset + 1] = cell(right);
+        ranges[offset + 2] = cell(bottom);
+        ranges[offset + 3] = cell(top);
+    }
+
+    /**
+     * List an element in every cell its bounds touch
+     *
+     * @param handle The handle of the element
+     */
+    private void addCells(int handle) {
+
+        int offset = handle * 4;
+
+        for (int cx = ranges[offset]; cx <= ranges[offset + 1]; cx++) {
+
+            for (int cy = ranges[offset + 2]; cy <= ranges[offset + 3]; cy++) {
+
+                int slot = findSlot(key(cx, cy), true);
+                int entry = allocateEntry();
+
+                entryHandles[entry] = handle;
+                entryNexts[entry] = heads[slot];
+                heads[slot] = entry;
+            }
+        }
+    }
+
+    /**
+     * Remove an element from every cell its bounds touch
+     *
+     * @param handle The handle of the element
+     */
+    private void removeCells(int handle) {
+
+        int offset = handle * 4;
+
+        for (int cx = ranges[offset]; cx <= ranges[offset + 1]; cx++) {
+
+            for (int cy = ranges[offset + 2]; cy <= ranges[offset + 3]; cy++) {
+
+                int slot = findSlot(key(cx, cy), false);
+                int previous = NONE;
+
+                for (int entry = heads[slot]; entry != NONE; entry = entryNexts[entry]) {
+
+                    if (entryHandles[entry] == handle) {
+
+                        if (previous == NONE) {
+
+                            heads[slot] = entryNexts[entry];
+                        }
+                        else {
+
+                            entryNexts[previous] = entryNexts[entry];
+                        }
+
+                        entryNexts[entry] = freeEntry;
+                        freeEntry = entry;
+
+                        break;
+                    }
+
+                    previous = entry;
+                }
+            }
+        }
+    }
+
+    /**
+     * Allocate a cell entry, growing the entry arrays if needed
+     *
+     * @return The entry
+     */
+    private int allocateEntry() {
+
+        if (freeEntry != NONE) {
+
+            int entry = freeEntry;
+
+            freeEntry = entryNexts[entry];
+
+            return entry;
+        }
+
+        if (entries == entryHandles.length) {
+
+            entryHandles = Arrays.copyOf(entryHandles, entries * 2);
+            entryNexts = Arrays.copyOf(entryNexts, entries * 2);
+        }
+
+        return entries++;
+    }
+
+    /**
+     * Find the slot of a cell in the hash table
+     *
+     * @param key The key of the cell
+     * @param create Whether a missing cell is added to the hash table
+     *
+     * @return The slot of the cell, or {@link #NONE} if the cell is missing and was not added
+     */
+    private int findSlot(long key, boolean create) {
+
+        if (create && (occupied + 1) * 2 > keys.length) {
+
+            rehash();
+        }
+
+        int mask = keys.length - 1;
+        int slot = (int) ((key * MIX) >>> 32) & mask;
+
+        while (heads[slot] != VACANT) {
+
+            if (keys[slot] == key) {
+
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (!create) {
+
+            return NONE;
+        }
+
+        keys[slot] = key;
+        heads[slot] = NONE;
+
+        occupied++;
+
+        return slot;
+    }
+
+    /**
+     * Rebuild the hash table with room for the cells which hold elements, dropping every empty cell
+     */
+    private void rehash() {
+
+        long[] keys = this.keys;
+        int[] heads = this.heads;
+
+        int live = 0;
+
+        for (int head : heads) {
+
+            if (head >= 0) {
+
+                live++;
+            }
+        }
+
+        int capacity = CAPACITY;
+
+        while (capacity < (live + 1) * 4) {
+
+            capacity *= 2;
+        }
+
+        this.keys = new long[capacity];
+        this.heads = vacant(capacity);
+        this.occupied = 0;
+
+        for (int slot = 0; slot < heads.length; slot++) {
+
+            if (heads[slot] >= 0) {
+
+                this.heads[findSlot(keys[slot], true)] = heads[slot];
+            }
+        }
+    }
+}
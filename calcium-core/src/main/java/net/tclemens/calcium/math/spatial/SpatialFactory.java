@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.spatial;
+
+import android.support.annotation.NonNull;
+
+/**
+ * This class is responsible for creating and initializing spatial indices
+ *
+ * @author Tim Clemens
+ */
+public final class SpatialFactory {
+
+    private SpatialFactory() {
+    }
+
+    /**
+     * Create an empty uniform hash grid for elements with two-dimensional bounds
+     *
+     * @param cellSize The width and height of each cell, which should be close to the size of a typical element
+     * @param <E> The type of the elements
+     *
+     * @return The new grid
+     *
+     * @throws IllegalArgumentException If the cell size is not positive and finite
+     */
+    @NonNull
+    public static <E> HashGrid2D<E> createGrid2D(float cellSize) {
+
+        if (!(cellSize > 0f) || Float.isInfinite(cellSize)) {
+
+            throw new IllegalArgumentException("Unable to create a grid with a cell size which is not positive and finite");
+        }
+
+        return buildGrid2D(cellSize);
+    }
+
+    /**
+     * Create an empty bounding volume hierarchy for elements with three-dimensional bounds
+     *
+     * @param margin The distance each element is fattened by, which should be close to how far a typical element
+     *               moves between rebuilds
+     * @param <E> The type of the elements
+     *
+     * @return The new tree
+     *
+     * @throws IllegalArgumentException If the margin is negative or not finite
+     */
+    @NonNull
+    public static <E> BoundingTree3D<E> createTree3D(float margin) {
+
+        if (!(margin >= 0f) || Float.isInfinite(margin)) {
+
+            throw new IllegalArgumentException("Unable to create a tree with a margin which is negative or not finite");
+        }
+
+        return buildTree3D(margin);
+    }
+
+    /**
+     * Create an empty uniform hash grid for elements with two-dimensional bounds
+     *
+     * @param cellSize The width and height of each cell
+     * @param <E> The type of the elements
+     *
+     * @return The new grid
+     */
+    static <E> HashGrid2D<E> buildGrid2D(float cellSize) {
+
+        return new HashGrid2D<>(cellSize);
+    }
+
+    /**
+     * Create an empty bounding volume hierarchy for elements with three-dimensional bounds
+     *
+     * @param margin The distance each element is fattened by
+     * @param <E> The type of the elements
+     *
+     * @return The new tree
+     */
+    static <E> BoundingTree3D<E> buildTree3D(float margin) {
+
+        return new BoundingTree3D<>(margin);
+    }
+}
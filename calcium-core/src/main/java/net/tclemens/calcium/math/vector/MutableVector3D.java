@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.vector;
+
+import android.support.annotation.NonNull;
+
+import net.tclemens.calcium.math.FastMath;
+import net.tclemens.calcium.math.Geometry;
+
+/**
+ * This class represents a mutable affine three-dimensional vector
+ *
+ * <p>Every operation writes its result into the vector and returns it, so a vector owned by the caller can be reused
+ * across frames without allocating. A mutable vector is not safe to share between threads.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class MutableVector3D {
+
+    /** The <tt>x</tt> component of the vector */
+    private float x;
+
+    /** The <tt>y</tt> component of the vector */
+    private float y;
+
+    /** The <tt>z</tt> component of the vector */
+    private float z;
+
+    /** The <tt>w</tt> component of the vector */
+    private float w;
+
+    /**
+     * @param x The <tt>x</tt> component of the vector
+     * @param y The <tt>y</tt> component of the vector
+     * @param z The <tt>z</tt> component of the vector
+     * @param w The <tt>w</tt> component of the vector
+     */
+    MutableVector3D(float x, float y, float z, float w) {
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of the vector
+     *
+     * @return The <tt>x</tt> component of the vector
+     */
+    public final float getX() {
+
+        return x;
+    }
+
+    /**
+     * Get the <tt>y</tt> component of the vector
+     *
+     * @return The <tt>y</tt> component of the vector
+     */
+    public final float getY() {
+
+        return y;
+    }
+
+    /**
+     * Get the <tt>z</tt> component of the vector
+     *
+     * @return The <tt>z</tt> component of the vector
+     */
+    public final float getZ() {
+
+        return z;
+    }
+
+    /**
+     * Get the <tt>w</tt> component of the vector
+     *
+     * @return The <tt>w</tt> component of the vector
+     */
+    public final float getW() {
+
+        return w;
+    }
+
+    /**
+     * Set every component of the vector
+     *
+     * @param x The <tt>x</tt> component of the vector
+     * @param y The <tt>y</tt> component of the vector
+     * @param z The <tt>z</tt> component of the vector
+     * @param w The <tt>w</tt> component of the vector
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D set(float x, float y, float z, float w) {
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+
+        return this;
+    }
+
+    /**
+     * Copy the components of an immutable vector
+     *
+     * @param vector The vector to copy
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D set(@NonNull Vector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null vector");
+        }
+
+        return set(vector.getX(), vector.getY(), vector.getZ(), vector.getW());
+    }
+
+    /**
+     * Copy the components of a mutable vector
+     *
+     * @param vector The vector to copy
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D set(@NonNull MutableVector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to copy a null vector");
+        }
+
+        return set(vector.x, vector.y, vector.z, vector.w);
+    }
+
+    /**
+     * Get the length of the vector
+     *
+     * @return The length of the vector
+     */
+    public final float length() {
+
+        return Geometry.distance3D(x, y, z);
+    }
+
+    /**
+     * Calculate the dot product of two vectors
+     *
+     * @param vector The right-hand vector
+     *
+     * @return The dot product of the vectors
+     */
+    public final float dot(@NonNull MutableVector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a dot product with a null vector");
+        }
+
+        return x * vector.x + y * vector.y + z * vector.z;
+    }
+
+    /**
+     * Replace the vector with the cross product of the two vectors
+     *
+     * @param vector The right-hand vector
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D cross(@NonNull MutableVector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a cross product with a null vector");
+        }
+
+        float rx = this.y * vector.z - this.z * vector.y;
+        float ry = this.z * vector.x - this.x * vector.z;
+        float rz = this.x * vector.y - this.y * vector.x;
+
+        return set(rx, ry, rz, w);
+    }
+
+    /**
+     * Replace the vector with its scalar product
+     *
+     * @param factor The scale factor
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D multiply(float factor) {
+
+        return set(x * factor, y * factor, z * factor, w);
+    }
+
+    /**
+     * Replace the vector with the sum of the two vectors
+     *
+     * @param vector The right-hand vector
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D add(@NonNull MutableVector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a sum with a null vector");
+        }
+
+        return set(x + vector.x, y + vector.y, z + vector.z, w);
+    }
+
+    /**
+     * Replace the vector with the difference of the two vectors
+     *
+     * @param vector The right-hand vector
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D subtract(@NonNull MutableVector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to calculate a difference with a null vector");
+        }
+
+        return set(x - vector.x, y - vector.y, z - vector.z, w);
+    }
+
+    /**
+     * Normalize the vector
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D normalize() {
+
+        float il = 1f / Geometry.distance3D(x, y, z);
+
+        return set(x * il, y * il, z * il, w);
+    }
+
+    /**
+     * Normalize the vector with {@link FastMath#invSqrt(float)}, trading precision for speed
+     *
+     * @return The updated vector
+     */
+    @NonNull
+    public final MutableVector3D fastNormalize() {
+
+        float il = FastMath.invSqrt(x * x + y * y + z * z);
+
+        return set(x * il, y * il, z * il, w);
+    }
+
+    /**
+     * Create an immutable copy of the vector
+     *
+     * @return The new vector
+     */
+    @NonNull
+    public final Vector3D toVector3D() {
+
+        return VectorFactory.buildVector3D(x, y, z, w);
+    }
+}
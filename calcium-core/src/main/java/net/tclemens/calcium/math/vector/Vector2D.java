@@ -20,6 +20,7 @@ package net.tclemens.calcium.math.vector;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.math.FastMath;
 import net.tclemens.calcium.math.Geometry;
 
 /**
@@ -165,6 +166,18 @@ public final class Vector2D {
         return VectorFactory.buildVector2D(x * il, y * il, w);
     }
 
+    /**
+     * Normalize the vector with {@link FastMath#invSqrt(float)}, trading precision for speed
+     *
+     * @return The normalized vector
+     */
+    public final Vector2D fastNormalize() {
+
+        float il = FastMath.invSqrt(x * x + y * y);
+
+        return VectorFactory.buildVector2D(x * il, y * il, w);
+    }
+
     /**
      * Rotate the vector
      *
@@ -20,6 +20,7 @@ package net.tclemens.calcium.math.vector;
 
 import android.support.annotation.NonNull;
 
+import net.tclemens.calcium.math.FastMath;
 import net.tclemens.calcium.math.Geometry;
 
 /**
@@ -201,9 +202,25 @@ public final class Vector3D {
         return VectorFactory.buildVector3D(x * il, y * il, z * il, w);
     }
 
+    /**
+     * Normalize the vector with {@link FastMath#invSqrt(float)}, trading precision for speed
+     *
+     * @return The normalized vector
+     */
+    public final Vector3D fastNormalize() {
+
+        float il = FastMath.invSqrt(x * x + y * y + z * z);
+
+        return VectorFactory.buildVector3D(x * il, y * il, z * il, w);
+    }
+
     /**
      * Rotate the vector
      *
+     * <p>The rotation matches {@link net.tclemens.calcium.math.matrix.MatrixFactory#createRotate3D(float, float,
+     * float)}, including its corrected <tt>x</tt> angle terms, so a non-zero <tt>x</tt> angle gives a different
+     * vector than versions before the rigid matrix type.</p>
+     *
      * @param x The <tt>x</tt> rotation angle in degrees
      * @param y The <tt>y</tt> rotation angle in degrees
      * @param z The <tt>z</tt> rotation angle in degrees
@@ -230,12 +247,12 @@ public final class Vector3D {
         float ay = -cya * sza;
         float az = sya;
 
-        float bx = cxa * sya * cza + cxa * sza;
-        float by = -cxa * sya * sza + cxa * cza;
+        float bx = sxa * sya * cza + cxa * sza;
+        float by = -sxa * sya * sza + cxa * cza;
         float bz = -sxa * cya;
 
-        float cx = -sxa * sya * cza + sxa * sza;
-        float cy = sxa * sya * sza + sxa * cza;
+        float cx = -cxa * sya * cza + sxa * sza;
+        float cy = cxa * sya * sza + sxa * cza;
         float cz = cxa * cya;
 
         float rx = ax * this.x + bx * this.y + cx * this.z;
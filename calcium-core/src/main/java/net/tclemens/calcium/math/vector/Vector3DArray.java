@@ -0,0 +1,482 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.vector;
+
+import android.support.annotation.NonNull;
+
+import java.nio.FloatBuffer;
+
+import net.tclemens.calcium.math.FastMath;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+
+/**
+ * This class represents a fixed number of mutable affine three-dimensional vectors
+ *
+ * <p>Each component is stored in its own primitive array, so the bulk operations are simple counted loops over
+ * contiguous memory which never allocate. Every bulk operation writes into a destination array of at least the same
+ * size, which may be this array itself.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Vector3DArray {
+
+    /** The <tt>x</tt> component of each vector */
+    private final float[] x;
+
+    /** The <tt>y</tt> component of each vector */
+    private final float[] y;
+
+    /** The <tt>z</tt> component of each vector */
+    private final float[] z;
+
+    /** The <tt>w</tt> component of each vector */
+    private final float[] w;
+
+    /** The number of vectors */
+    private final int size;
+
+    /**
+     * @param size The number of vectors
+     */
+    Vector3DArray(int size) {
+
+        this.x = new float[size];
+        this.y = new float[size];
+        this.z = new float[size];
+        this.w = new float[size];
+        this.size = size;
+    }
+
+    /**
+     * Get the number of vectors
+     *
+     * @return The number of vectors
+     */
+    public final int size() {
+
+        return size;
+    }
+
+    /**
+     * Get the <tt>x</tt> component of a vector
+     *
+     * @param index The index of the vector
+     *
+     * @return The <tt>x</tt> component of the vector
+     */
+    public final float getX(int index) {
+
+        return x[index];
+    }
+
+    /**
+     * Get the <tt>y</tt> component of a vector
+     *
+     * @param index The index of the vector
+     *
+     * @return The <tt>y</tt> component of the vector
+     */
+    public final float getY(int index) {
+
+        return y[index];
+    }
+
+    /**
+     * Get the <tt>z</tt> component of a vector
+     *
+     * @param index The index of the vector
+     *
+     * @return The <tt>z</tt> component of the vector
+     */
+    public final float getZ(int index) {
+
+        return z[index];
+    }
+
+    /**
+     * Get the <tt>w</tt> component of a vector
+     *
+     * @param index The index of the vector
+     *
+     * @return The <tt>w</tt> component of the vector
+     */
+    public final float getW(int index) {
+
+        return w[index];
+    }
+
+    /**
+     * Create an immutable copy of a vector
+     *
+     * @param index The index of the vector
+     *
+     * @return The new vector
+     */
+    @NonNull
+    public final Vector3D get(int index) {
+
+        return VectorFactory.buildVector3D(x[index], y[index], z[index], w[index]);
+    }
+
+    /**
+     * Set the components of a vector
+     *
+     * @param index The index of the vector
+     * @param x The <tt>x</tt> component of the vector
+     * @param y The <tt>y</tt> component of the vector
+     * @param z The <tt>z</tt> component of the vector
+     * @param w The <tt>w</tt> component of the vector
+     *
+     * @return The updated array
+     */
+    @NonNull
+    public final Vector3DArray set(int index, float x, float y, float z, float w) {
+
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+        this.w[index] = w;
+
+        return this;
+    }
+
+    /**
+     * Set the components of a vector from an immutable vector
+     *
+     * @param index The index of the vector
+     * @param vector The vector to copy
+     *
+     * @return The updated array
+     */
+    @NonNull
+    public final Vector3DArray set(int index, @NonNull Vector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to set a vector with a null vector");
+        }
+
+        return set(index, vector.getX(), vector.getY(), vector.getZ(), vector.getW());
+    }
+
+    /**
+     * Calculate the product of a matrix and each vector
+     *
+     * @param matrix The left-hand matrix
+     * @param dest The array to store the products in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray transform(@NonNull Matrix3D matrix, @NonNull Vector3DArray dest) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException("Unable to transform vectors with a null matrix");
+        }
+
+        checkDestination(dest);
+
+        float ax = matrix.getAX();
+        float ay = matrix.getAY();
+        float az = matrix.getAZ();
+        float bx = matrix.getBX();
+        float by = matrix.getBY();
+        float bz = matrix.getBZ();
+        float cx = matrix.getCX();
+        float cy = matrix.getCY();
+        float cz = matrix.getCZ();
+        float dx = matrix.getDX();
+        float dy = matrix.getDY();
+        float dz = matrix.getDZ();
+
+        if (matrix.isAffine()) {
+
+            for (int index = 0; index < size; index++) {
+
+                float vx = x[index];
+                float vy = y[index];
+                float vz = z[index];
+                float vw = w[index];
+
+                dest.x[index] = ax * vx + bx * vy + cx * vz + dx * vw;
+                dest.y[index] = ay * vx + by * vy + cy * vz + dy * vw;
+                dest.z[index] = az * vx + bz * vy + cz * vz + dz * vw;
+                dest.w[index] = vw;
+            }
+
+            return dest;
+        }
+
+        float aw = matrix.getAW();
+        float bw = matrix.getBW();
+        float cw = matrix.getCW();
+        float dw = matrix.getDW();
+
+        for (int index = 0; index < size; index++) {
+
+            float vx = x[index];
+            float vy = y[index];
+            float vz = z[index];
+            float vw = w[index];
+
+            dest.x[index] = ax * vx + bx * vy + cx * vz + dx * vw;
+            dest.y[index] = ay * vx + by * vy + cy * vz + dy * vw;
+            dest.z[index] = az * vx + bz * vy + cz * vz + dz * vw;
+            dest.w[index] = aw * vx + bw * vy + cw * vz + dw * vw;
+        }
+
+        return dest;
+    }
+
+    /**
+     * Calculate the sum of each vector and the corresponding vector of another array
+     *
+     * @param vectors The right-hand vectors, of which there are at least as many as this array
+     * @param dest The array to store the sums in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray add(@NonNull Vector3DArray vectors, @NonNull Vector3DArray dest) {
+
+        if (vectors == null || vectors.size < size) {
+
+            throw new IllegalArgumentException("Unable to add vectors with a null or smaller array");
+        }
+
+        checkDestination(dest);
+
+        for (int index = 0; index < size; index++) {
+
+            dest.x[index] = x[index] + vectors.x[index];
+            dest.y[index] = y[index] + vectors.y[index];
+            dest.z[index] = z[index] + vectors.z[index];
+            dest.w[index] = w[index];
+        }
+
+        return dest;
+    }
+
+    /**
+     * Calculate the product of each vector and a scalar
+     *
+     * @param factor The scalar factor
+     * @param dest The array to store the products in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray multiply(float factor, @NonNull Vector3DArray dest) {
+
+        return scale(factor, factor, factor, dest);
+    }
+
+    /**
+     * Scale each vector
+     *
+     * @param x The <tt>x</tt> scaling factor
+     * @param y The <tt>y</tt> scaling factor
+     * @param z The <tt>z</tt> scaling factor
+     * @param dest The array to store the scaled vectors in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray scale(float x, float y, float z, @NonNull Vector3DArray dest) {
+
+        checkDestination(dest);
+
+        for (int index = 0; index < size; index++) {
+
+            dest.x[index] = this.x[index] * x;
+            dest.y[index] = this.y[index] * y;
+            dest.z[index] = this.z[index] * z;
+            dest.w[index] = this.w[index];
+        }
+
+        return dest;
+    }
+
+    /**
+     * Translate each vector
+     *
+     * @param x The <tt>x</tt> translation
+     * @param y The <tt>y</tt> translation
+     * @param z The <tt>z</tt> translation
+     * @param dest The array to store the translated vectors in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray translate(float x, float y, float z, @NonNull Vector3DArray dest) {
+
+        checkDestination(dest);
+
+        for (int index = 0; index < size; index++) {
+
+            dest.x[index] = this.x[index] + x;
+            dest.y[index] = this.y[index] + y;
+            dest.z[index] = this.z[index] + z;
+            dest.w[index] = this.w[index];
+        }
+
+        return dest;
+    }
+
+    /**
+     * Normalize each vector
+     *
+     * @param dest The array to store the normalized vectors in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray normalize(@NonNull Vector3DArray dest) {
+
+        checkDestination(dest);
+
+        for (int index = 0; index < size; index++) {
+
+            float vx = x[index];
+            float vy = y[index];
+            float vz = z[index];
+
+            float il = 1f / (float) Math.sqrt(vx * vx + vy * vy + vz * vz);
+
+            dest.x[index] = vx * il;
+            dest.y[index] = vy * il;
+            dest.z[index] = vz * il;
+            dest.w[index] = w[index];
+        }
+
+        return dest;
+    }
+
+    /**
+     * Normalize each vector with {@link FastMath#invSqrt(float)}, trading precision for speed
+     *
+     * @param dest The array to store the normalized vectors in
+     *
+     * @return The destination array
+     */
+    @NonNull
+    public final Vector3DArray fastNormalize(@NonNull Vector3DArray dest) {
+
+        checkDestination(dest);
+
+        for (int index = 0; index < size; index++) {
+
+            float vx = x[index];
+            float vy = y[index];
+            float vz = z[index];
+
+            float il = FastMath.invSqrt(vx * vx + vy * vy + vz * vz);
+
+            dest.x[index] = vx * il;
+            dest.y[index] = vy * il;
+            dest.z[index] = vz * il;
+            dest.w[index] = w[index];
+        }
+
+        return dest;
+    }
+
+    /**
+     * Find the axis-aligned bounding box of every vector
+     *
+     * @param result The array to store the minimum <tt>x</tt>, <tt>y</tt> and <tt>z</tt> components in, followed by
+     *               the maximum <tt>x</tt>, <tt>y</tt> and <tt>z</tt> components
+     * @param offset The index of the minimum <tt>x</tt> component in the result
+     *
+     * @throws IllegalArgumentException If the result is null or too small
+     * @throws IllegalStateException If the array is empty
+     */
+    public final void bounds(@NonNull float[] result, int offset) {
+
+        if (result == null || offset < 0 || offset > result.length - 6) {
+
+            throw new IllegalArgumentException("Unable to find bounds with a null or small result array");
+        }
+
+        if (size == 0) {
+
+            throw new IllegalStateException("Unable to find the bounds of an empty array");
+        }
+
+        float minX = x[0];
+        float minY = y[0];
+        float minZ = z[0];
+        float maxX = minX;
+        float maxY = minY;
+        float maxZ = minZ;
+
+        for (int index = 1; index < size; index++) {
+
+            minX = Math.min(minX, x[index]);
+            minY = Math.min(minY, y[index]);
+            minZ = Math.min(minZ, z[index]);
+            maxX = Math.max(maxX, x[index]);
+            maxY = Math.max(maxY, y[index]);
+            maxZ = Math.max(maxZ, z[index]);
+        }
+
+        result[offset] = minX;
+        result[offset + 1] = minY;
+        result[offset + 2] = minZ;
+        result[offset + 3] = maxX;
+        result[offset + 4] = maxY;
+        result[offset + 5] = maxZ;
+    }
+
+    /**
+     * Pack the <tt>x</tt>, <tt>y</tt> and <tt>z</tt> components of each vector into a buffer at its current
+     * position
+     *
+     * @param buffer The buffer to pack the vectors into
+     */
+    public final void pack(@NonNull FloatBuffer buffer) {
+
+        if (buffer == null) {
+
+            throw new IllegalArgumentException("Unable to pack vectors into a null buffer");
+        }
+
+        for (int index = 0; index < size; index++) {
+
+            buffer.put(x[index]);
+            buffer.put(y[index]);
+            buffer.put(z[index]);
+        }
+    }
+
+    /**
+     * Ensure a destination array can store the result of a bulk operation
+     *
+     * @param dest The destination array
+     *
+     * @throws IllegalArgumentException If the destination array is null or smaller than this array
+     */
+    private void checkDestination(Vector3DArray dest) {
+
+        if (dest == null || dest.size < size) {
+
+            throw new IllegalArgumentException("Unable to store vectors in a null or smaller array");
+        }
+    }
+}
@@ -16,6 +16,10 @@
 
 package net.tclemens.calcium.math.vector;
 
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
 /**
  * This class is responsible for creating and initializing vectors
  *
@@ -109,6 +113,141 @@ public final class VectorFactory {
         return buildVector3D(x, y, z, w);
     }
 
+    /**
+     * Create a mutable affine three-dimensional vector with every component zero
+     *
+     * @return The new vector
+     */
+    @NonNull
+    public static MutableVector3D createMutable3D() {
+
+        return buildMutable3D(0f, 0f, 0f, 0f);
+    }
+
+    /**
+     * Create a mutable affine three-dimensional vector from the components of an immutable vector
+     *
+     * @param vector The vector to copy
+     *
+     * @return The new vector
+     */
+    @NonNull
+    public static MutableVector3D createMutable3D(@NonNull Vector3D vector) {
+
+        if (vector == null) {
+
+            throw new IllegalArgumentException("Unable to create a mutable vector with a null vector");
+        }
+
+        return buildMutable3D(vector.getX(), vector.getY(), vector.getZ(), vector.getW());
+    }
+
+    /**
+     * Create an array of two-dimensional vectors with every component zero
+     *
+     * @param size The number of vectors
+     *
+     * @return The new array
+     *
+     * @throws IllegalArgumentException If the number of vectors is negative
+     */
+    @NonNull
+    public static Vector2DArray createArray2D(int size) {
+
+        if (size < 0) {
+
+            throw new IllegalArgumentException("Unable to create an array with a negative size");
+        }
+
+        return buildArray2D(size);
+    }
+
+    /**
+     * Create an array of two-dimensional vectors from a collection of immutable vectors
+     *
+     * @param vectors The vectors to copy
+     *
+     * @return The new array
+     *
+     * @throws IllegalArgumentException If the vectors are invalid
+     */
+    @NonNull
+    public static Vector2DArray createArray2D(@NonNull Collection<Vector2D> vectors) {
+
+        if (vectors == null) {
+
+            throw new IllegalArgumentException("Unable to create an array with a null vector collection");
+        }
+
+        if (vectors.contains(null)) {
+
+            throw new IllegalArgumentException("Unable to create an array with null vectors");
+        }
+
+        Vector2DArray array = buildArray2D(vectors.size());
+        int index = 0;
+
+        for (Vector2D vector : vectors) {
+
+            array.set(index++, vector);
+        }
+
+        return array;
+    }
+
+    /**
+     * Create an array of three-dimensional vectors with every component zero
+     *
+     * @param size The number of vectors
+     *
+     * @return The new array
+     *
+     * @throws IllegalArgumentException If the number of vectors is negative
+     */
+    @NonNull
+    public static Vector3DArray createArray3D(int size) {
+
+        if (size < 0) {
+
+            throw new IllegalArgumentException("Unable to create an array with a negative size");
+        }
+
+        return buildArray3D(size);
+    }
+
+    /**
+     * Create an array of three-dimensional vectors from a collection of immutable vectors
+     *
+     * @param vectors The vectors to copy
+     *
+     * @return The new array
+     *
+     * @throws IllegalArgumentException If the vectors are invalid
+     */
+    @NonNull
+    public static Vector3DArray createArray3D(@NonNull Collection<Vector3D> vectors) {
+
+        if (vectors == null) {
+
+            throw new IllegalArgumentException("Unable to create an array with a null vector collection");
+        }
+
+        if (vectors.contains(null)) {
+
+            throw new IllegalArgumentException("Unable to create an array with null vectors");
+        }
+
+        Vector3DArray array = buildArray3D(vectors.size());
+        int index = 0;
+
+        for (Vector3D vector : vectors) {
+
+            array.set(index++, vector);
+        }
+
+        return array;
+    }
+
     /**
      * Create an affine two-dimensional vector with the specified <tt>w</tt> component
      *
@@ -137,4 +276,43 @@ public final class VectorFactory {
 
         return new Vector3D(x, y, z, w);
     }
+
+    /**
+     * Create a mutable affine three-dimensional vector with the specified <tt>w</tt> component
+     *
+     * @param x The <tt>x</tt> component of the vector
+     * @param y The <tt>y</tt> component of the vector
+     * @param z The <tt>z</tt> component of the vector
+     * @param w The <tt>w</tt> component of the vector
+     *
+     * @return The new vector
+     */
+    static MutableVector3D buildMutable3D(float x, float y, float z, float w) {
+
+        return new MutableVector3D(x, y, z, w);
+    }
+
+    /**
+     * Create an array of two-dimensional vectors with every component zero
+     *
+     * @param size The number of vectors
+     *
+     * @return The new array
+     */
+    static Vector2DArray buildArray2D(int size) {
+
+        return new Vector2DArray(size);
+    }
+
+    /**
+     * Create an array of three-dimensional vectors with every component zero
+     *
+     * @param size The number of vectors
+     *
+     * @return The new array
+     */
+    static Vector3DArray buildArray3D(int size) {
+
+        return new Vector3DArray(size);
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that a builder grows as elements are added and that a built list never changes afterwards
+ *
+ * @author Tim Clemens
+ */
+public final class ArrayBuilderTest {
+
+    @Test
+    public void builderGrowsFromEveryInitialCapacity() {
+
+        for (int capacity = 0; capacity <= 20; capacity++) {
+
+            ArrayBuilder<Integer> builder = ArrayFactory.createBuilder(capacity, true);
+            List<Integer> expected = new ArrayList<>();
+
+            for (int index = 0; index < 100; index++) {
+
+                builder.add(index);
+                expected.add(index);
+
+                assertEquals(expected.size(), builder.size());
+            }
+
+            assertEquals(expected, builder.build());
+        }
+    }
+
+    @Test
+    public void addAllGrowsTheBuilder() {
+
+        ArrayBuilder<Integer> builder = ArrayFactory.createBuilder(2, true);
+
+        builder.add(0);
+        builder.addAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9));
+        builder.addAll(Collections.<Integer>emptyList());
+        builder.add(10);
+
+        assertEquals(11, builder.size());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10), builder.build());
+    }
+
+    @Test
+    public void buildDetachesLaterWrites() {
+
+        ArrayBuilder<String> builder = ArrayFactory.createBuilder();
+
+        builder.add("a").add("b");
+
+        ArrayView<String> first = builder.build();
+
+        assertEquals(0, builder.size());
+
+        builder.add("c");
+
+        ArrayView<String> second = builder.build();
+
+        for (int index = 0; index < 20; index++) {
+
+            builder.add("d");
+        }
+
+        assertEquals(Arrays.asList("a", "b"), first);
+        assertEquals(Collections.singletonList("c"), second);
+        assertEquals(20, builder.build().size());
+        assertTrue(builder.build().isEmpty());
+    }
+
+    @Test
+    public void builtListRejectsWrites() {
+
+        ArrayView<String> view = ArrayFactory.<String>createBuilder().add("a").build();
+
+        try {
+
+            view.add("b");
+
+            fail();
+        }
+        catch (UnsupportedOperationException ignored) {
+        }
+
+        try {
+
+            view.set(0, "b");
+
+            fail();
+        }
+        catch (UnsupportedOperationException ignored) {
+        }
+
+        try {
+
+            view.remove(0);
+
+            fail();
+        }
+        catch (UnsupportedOperationException ignored) {
+        }
+
+        assertEquals(Collections.singletonList("a"), view);
+    }
+
+    @Test
+    public void validatedBuilderRejectsNullElements() {
+
+        ArrayBuilder<String> builder = ArrayFactory.createBuilder();
+
+        assertTrue(builder.isValidated());
+
+        try {
+
+            builder.add(null);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            builder.addAll(null);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            builder.addAll(Arrays.asList("a", null));
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            ArrayFactory.createBuilder(-1, true);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void unvalidatedBuilderAcceptsNullElements() {
+
+        ArrayBuilder<String> builder = ArrayFactory.createBuilder(0, false);
+
+        assertFalse(builder.isValidated());
+
+        ArrayView<String> view = builder.add(null).add("a").build();
+
+        assertEquals(2, view.size());
+        assertNull(view.get(0));
+        assertTrue(view.contains(null));
+    }
+}
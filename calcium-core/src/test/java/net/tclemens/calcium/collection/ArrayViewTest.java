@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that an array view only exposes the elements it was built with
+ *
+ * @author Tim Clemens
+ */
+public final class ArrayViewTest {
+
+    @Test
+    public void outOfRangeAccessIsRejected() {
+
+        ArrayView<String> view = ArrayFactory.<String>createBuilder(16, true).add("a").add("b").build();
+
+        assertEquals("a", view.get(0));
+        assertEquals("b", view.get(1));
+
+        for (int index : new int[] {-1, 2, 15, 16, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+
+            try {
+
+                view.get(index);
+
+                fail("get(" + index + ")");
+            }
+            catch (IndexOutOfBoundsException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void emptyViewRejectsEveryIndex() {
+
+        ArrayView<String> view = ArrayFactory.<String>createBuilder().build();
+
+        assertTrue(view.isEmpty());
+
+        try {
+
+            view.get(0);
+
+            fail();
+        }
+        catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    @Test
+    public void iterationStopsAtTheSize() {
+
+        ArrayView<String> view = ArrayFactory.<String>createBuilder(16, true).add("a").add("b").build();
+        Iterator<String> iterator = view.iterator();
+
+        assertEquals("a", iterator.next());
+        assertEquals("b", iterator.next());
+        assertFalse(iterator.hasNext());
+
+        try {
+
+            iterator.next();
+
+            fail();
+        }
+        catch (NoSuchElementException ignored) {
+        }
+
+        assertEquals(Arrays.asList("a", "b"), view);
+        assertEquals(Arrays.asList("a", "b").hashCode(), view.hashCode());
+        assertEquals(Arrays.asList("b"), view.subList(1, 2));
+    }
+
+    @Test
+    public void checkedViewNeverContainsNull() {
+
+        ArrayView<String> view = ArrayFactory.<String>createBuilder().add("a").build();
+
+        assertTrue(view.contains("a"));
+        assertFalse(view.contains("b"));
+        assertFalse(view.contains(null));
+        assertEquals(-1, view.indexOf(null));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that only the immutable collections of the library are recognised as immutable
+ *
+ * @author Tim Clemens
+ */
+public final class ImmutablesTest {
+
+    @Test
+    public void libraryCollectionsAreImmutable() {
+
+        assertTrue(Immutables.isImmutable(ArrayFactory.createBuilder().build()));
+        assertTrue(Immutables.isImmutable(ArrayFactory.<String>createBuilder().add("a").build()));
+        assertTrue(Immutables.isImmutable(PersistentFactory.createVector()));
+        assertTrue(Immutables.isImmutable(PersistentFactory.<String>createVector().plus("a")));
+        assertTrue(Immutables.isImmutable(PersistentFactory.createMap()));
+        assertTrue(Immutables.isImmutable(PersistentFactory.<String, String>createMap().plus("a", "b")));
+    }
+
+    @Test
+    public void otherCollectionsAreNotImmutable() {
+
+        assertFalse(Immutables.isImmutable(null));
+        assertFalse(Immutables.isImmutable(new ArrayList<String>()));
+        assertFalse(Immutables.isImmutable(new HashMap<String, String>()));
+        assertFalse(Immutables.isImmutable(Collections.unmodifiableList(new ArrayList<String>())));
+        assertFalse(Immutables.isImmutable(ArrayFactory.<String>createBuilder().add("a").build().subList(0, 1)));
+        assertFalse(Immutables.isImmutable(ArrayFactory.createBuilder()));
+    }
+}
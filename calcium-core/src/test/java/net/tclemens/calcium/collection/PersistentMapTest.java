@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that a persistent map behaves like a hash map under random operations, including keys with
+ * colliding hashes, and that every older version of a map is left unchanged
+ *
+ * @author Tim Clemens
+ */
+public final class PersistentMapTest {
+
+    /**
+     * This class represents a key with a chosen hash, so keys can be made to collide
+     */
+    private static final class Key {
+
+        /** The identity of the key */
+        private final int id;
+
+        /** The hash of the key */
+        private final int hash;
+
+        /**
+         * @param id The identity of the key
+         * @param hash The hash of the key
+         */
+        private Key(int id, int hash) {
+
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+
+            return object instanceof Key && ((Key) object).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+
+            return "Key(" + id + ", " + hash + ")";
+        }
+    }
+
+    /** The number of random operations in each test */
+    private static final int OPERATIONS = 100000;
+
+    /** The number of operations between each kept version */
+    private static final int PERIOD = 1000;
+
+    @Test
+    public void randomOperationsMatchAHashMap() {
+
+        assertRandomOperations(new Random(5), 5000, 1, -1);
+    }
+
+    @Test
+    public void randomOperationsWithFullHashCollisionsMatchAHashMap() {
+
+        assertRandomOperations(new Random(6), 400, 1, 15);
+    }
+
+    @Test
+    public void randomOperationsWithSharedHashPrefixesMatchAHashMap() {
+
+        assertRandomOperations(new Random(7), 2000, 1 << 20, -1);
+    }
+
+    @Test
+    public void randomOperationsWithMixedHashesMatchAHashMap() {
+
+        assertRandomOperations(new Random(8), 3000, 31, 0x3ff);
+    }
+
+    @Test
+    public void unchangedMapsAreReused() {
+
+        Key key = new Key(1, 1);
+        PersistentMap<Key, String> map = PersistentFactory.<Key, String>createMap().plus(key, "a");
+
+        assertSame(map, map.minus(new Key(2, 1)));
+        assertSame(map, map.minus(new Key(3, 3)));
+        assertSame(map, map.minus(null));
+        assertSame(PersistentFactory.createMap(), map.minus(new Key(1, 1)));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(new Key(2, 1)));
+
+        try {
+
+            map.plus(null, "b");
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            map.plus(key, null);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Apply random additions, replacements and removals to a persistent map and a hash map, asserting that they
+     * always match and that every kept version is left unchanged
+     *
+     * @param random The source of the operations
+     * @param keys The number of distinct keys
+     * @param factor The factor of the identity of a key used for its hash
+     * @param mask The mask of the hash of a key
+     */
+    private static void assertRandomOperations(Random random, int keys, int factor, int mask) {
+
+        PersistentMap<Key, Integer> map = PersistentFactory.createMap();
+        Map<Key, Integer> expected = new HashMap<>();
+        List<PersistentMap<Key, Integer>> versions = new ArrayList<>();
+        List<Map<Key, Integer>> copies = new ArrayList<>();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+
+            int id = random.nextInt(keys);
+            Key key = new Key(id, id * factor & mask);
+
+            if (random.nextInt(3) < 2) {
+
+                Integer value = random.nextInt(100);
+
+                map = map.plus(key, value);
+                expected.put(key, value);
+            }
+            else {
+
+                map = map.minus(key);
+                expected.remove(key);
+            }
+
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+
+            id = random.nextInt(keys);
+            key = new Key(id, id * factor & mask);
+
+            assertEquals(expected.get(key), map.get(key));
+
+            if (operation % PERIOD == 0) {
+
+                assertMap(expected, map);
+
+                versions.add(map);
+                copies.add(new HashMap<>(expected));
+            }
+        }
+
+        for (Key key : new ArrayList<>(expected.keySet())) {
+
+            map = map.minus(key);
+            expected.remove(key);
+
+            assertEquals(expected.size(), map.size());
+            assertNull(map.get(key));
+        }
+
+        assertSame(PersistentFactory.createMap(), map);
+
+        for (int index = 0; index < versions.size(); index++) {
+
+            assertMap(copies.get(index), versions.get(index));
+        }
+    }
+
+    /**
+     * Assert that a persistent map contains the same entries as a map, by lookup and by iteration
+     *
+     * @param expected The map
+     * @param map The persistent map
+     */
+    private static void assertMap(Map<Key, Integer> expected, PersistentMap<Key, Integer> map) {
+
+        assertEquals(expected.size(), map.size());
+
+        for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        Map<Key, Integer> iterated = new HashMap<>();
+        Iterator<Map.Entry<Key, Integer>> iterator = map.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+
+            Map.Entry<Key, Integer> entry = iterator.next();
+
+            assertNull(iterated.put(entry.getKey(), entry.getValue()));
+        }
+
+        try {
+
+            iterator.next();
+
+            fail();
+        }
+        catch (NoSuchElementException ignored) {
+        }
+
+        assertEquals(expected, iterated);
+        assertEquals(expected, map);
+        assertTrue(map.equals(expected));
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that a persistent vector behaves like an array list under random operations, and that every
+ * older version of a vector is left unchanged
+ *
+ * @author Tim Clemens
+ */
+public final class PersistentVectorTest {
+
+    /** The number of random operations in each test */
+    private static final int OPERATIONS = 200000;
+
+    /** The number of operations between each kept version */
+    private static final int PERIOD = 1000;
+
+    @Test
+    public void randomOperationsMatchAnArrayList() {
+
+        Random random = new Random(3);
+        PersistentVector<Integer> vector = PersistentFactory.createVector();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> copies = new ArrayList<>();
+
+        for (int operation = 0; operation < OPERATIONS; operation++) {
+
+            int choice = random.nextInt(10);
+
+            if (choice < 5 || expected.isEmpty()) {
+
+                Integer element = random.nextInt();
+
+                vector = vector.plus(element);
+                expected.add(element);
+            }
+            else if (choice < 8) {
+
+                vector = vector.pop();
+                expected.remove(expected.size() - 1);
+            }
+            else {
+
+                int index = random.nextInt(expected.size());
+                Integer element = random.nextInt();
+
+                vector = vector.with(index, element);
+                expected.set(index, element);
+            }
+
+            assertEquals(expected.size(), vector.size());
+
+            if (!expected.isEmpty()) {
+
+                int index = random.nextInt(expected.size());
+
+                assertEquals(expected.get(index), vector.get(index));
+                assertEquals(expected.get(expected.size() - 1), vector.get(expected.size() - 1));
+            }
+
+            if (operation % PERIOD == 0) {
+
+                assertVector(expected, vector);
+
+                versions.add(vector);
+                copies.add(new ArrayList<>(expected));
+            }
+        }
+
+        for (int index = 0; index < versions.size(); index++) {
+
+            assertVector(copies.get(index), versions.get(index));
+        }
+    }
+
+    @Test
+    public void growingAndShrinkingAcrossLevelsMatchesAnArrayList() {
+
+        PersistentVector<Integer> vector = PersistentFactory.createVector();
+        List<Integer> expected = new ArrayList<>();
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+
+        for (int index = 0; index < 40000; index++) {
+
+            vector = vector.plus(index);
+            expected.add(index);
+            versions.add(vector);
+        }
+
+        assertVector(expected, vector);
+
+        while (!expected.isEmpty()) {
+
+            vector = vector.pop();
+            expected.remove(expected.size() - 1);
+
+            assertEquals(expected.size(), vector.size());
+
+            if (expected.size() % 997 == 0) {
+
+                assertVector(expected, vector);
+            }
+        }
+
+        assertSame(PersistentFactory.createVector(), vector);
+
+        for (int index = 0; index < versions.size(); index += 1021) {
+
+            assertEquals(index + 1, versions.get(index).size());
+            assertEquals(Integer.valueOf(index), versions.get(index).get(index));
+            assertEquals(Integer.valueOf(index / 2), versions.get(index).get(index / 2));
+        }
+    }
+
+    @Test
+    public void builtVectorsMatchAnArrayList() {
+
+        List<Integer> expected = new ArrayList<>();
+
+        for (int size = 0; size <= 2100; size++) {
+
+            PersistentVector<Integer> vector = PersistentFactory.createVector(expected);
+
+            assertVector(expected, vector);
+            assertVector(expected, vector.plus(size).pop());
+
+            expected.add(size);
+        }
+    }
+
+    @Test
+    public void invalidOperationsAreRejected() {
+
+        PersistentVector<Integer> vector = PersistentFactory.<Integer>createVector().plus(1);
+
+        try {
+
+            vector.get(1);
+
+            fail();
+        }
+        catch (IndexOutOfBoundsException ignored) {
+        }
+
+        try {
+
+            vector.with(-1, 2);
+
+            fail();
+        }
+        catch (IndexOutOfBoundsException ignored) {
+        }
+
+        try {
+
+            vector.plus(null);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            vector.pop().pop();
+
+            fail();
+        }
+        catch (IllegalStateException ignored) {
+        }
+
+        assertFalse(vector.contains(null));
+    }
+
+    /**
+     * Assert that a vector contains the same elements as a list, by index and by iteration
+     *
+     * @param expected The list
+     * @param vector The vector
+     */
+    private static void assertVector(List<Integer> expected, PersistentVector<Integer> vector) {
+
+        assertEquals(expected.size(), vector.size());
+
+        for (int index = 0; index < expected.size(); index++) {
+
+            assertEquals(expected.get(index), vector.get(index));
+        }
+
+        Iterator<Integer> iterator = vector.iterator();
+
+        for (Integer element : expected) {
+
+            assertTrue(iterator.hasNext());
+            assertEquals(element, iterator.next());
+        }
+
+        assertFalse(iterator.hasNext());
+
+        try {
+
+            iterator.next();
+
+            fail();
+        }
+        catch (NoSuchElementException ignored) {
+        }
+
+        assertEquals(expected, vector);
+        assertEquals(expected.hashCode(), vector.hashCode());
+    }
+}
@@ -0,0 +1,568 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.collision;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import net.tclemens.calcium.engine.workers.Workers;
+import net.tclemens.calcium.math.Geometry;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that a collision world finds the same contacts as a brute force test of every pair, and finds
+ * them in the same order whether it sweeps serially or in parallel
+ *
+ * @author Tim Clemens
+ */
+public final class CollisionWorld2DTest {
+
+    /**
+     * This class represents the shape and filter of an element as seen by the brute force test
+     */
+    private static final class Shape {
+
+        /** The left, right, bottom and top bounds of the shape */
+        private final float[] bounds = new float[4];
+
+        /** The x coordinate, y coordinate and radius of a circle */
+        private final float[] circle = new float[3];
+
+        /** Whether the shape is a circle */
+        private boolean isCircle;
+
+        /** The category bits of the element */
+        private int category = -1;
+
+        /** The categories the element may touch */
+        private int mask = -1;
+
+        private Shape() {
+        }
+    }
+
+    /**
+     * This class represents a listener which records every notification
+     */
+    private static final class RecordingListener implements ContactListener {
+
+        /** The pairs which began, in notification order */
+        private final List<Long> begun = new ArrayList<>();
+
+        /** The pairs which ended, in notification order */
+        private final List<Long> ended = new ArrayList<>();
+
+        /** Whether a contact began before a contact ended */
+        private boolean isOutOfOrder;
+
+        private RecordingListener() {
+        }
+
+        @Override
+        public void begin(int first, int second) {
+
+            begun.add(toKey(first, second));
+        }
+
+        @Override
+        public void end(int first, int second) {
+
+            isOutOfOrder |= !begun.isEmpty();
+            ended.add(toKey(first, second));
+        }
+    }
+
+    /** The number of elements in each world */
+    private static final int COUNT = 1500;
+
+    /** The number of updates in each test */
+    private static final int STEPS = 12;
+
+    /** The width of the area the elements are placed in */
+    private static final float EXTENT = 200f;
+
+    /** The threshold of the workers before each test */
+    private final int threshold = Workers.getThreshold();
+
+    /** The shape of each live handle */
+    private final Map<Integer, Shape> shapes = new HashMap<>();
+
+    /** The source of random values */
+    private final Random random = new Random(42);
+
+    @After
+    public void restoreThreshold() {
+
+        Workers.setThreshold(threshold);
+    }
+
+    @Test
+    public void contactsMatchBruteForce() {
+
+        CollisionWorld2D<Integer> world = CollisionFactory.createWorld2D();
+
+        for (int element = 0; element < COUNT; element++) {
+
+            insert(world, element);
+        }
+
+        Set<Long> previous = new HashSet<>();
+
+        for (int step = 0; step < STEPS; step++) {
+
+            Set<Long> removedPairs = new HashSet<>();
+
+            if (step > 0) {
+
+                change(world, previous, removedPairs);
+            }
+
+            RecordingListener listener = new RecordingListener();
+            int count = world.update(listener);
+            Set<Long> expected = findContacts();
+
+            Set<Long> actual = new HashSet<>();
+            Set<Long> begun = new HashSet<>();
+
+            for (int index = 0; index < count; index++) {
+
+                int first = world.getFirst(index);
+                int second = world.getSecond(index);
+
+                assertTrue(first < second);
+                assertTrue(actual.add(toKey(first, second)));
+
+                if (world.isBegun(index)) {
+
+                    begun.add(toKey(first, second));
+                }
+            }
+
+            Set<Long> ended = new HashSet<>();
+
+            for (int index = 0; index < world.getEndedCount(); index++) {
+
+                assertTrue(ended.add(toKey(world.getEndedFirst(index), world.getEndedSecond(index))));
+            }
+
+            Set<Long> expectedBegun = new HashSet<>(expected);
+            Set<Long> expectedEnded = new HashSet<>(previous);
+
+            expectedBegun.removeAll(previous);
+            expectedEnded.removeAll(expected);
+
+            assertEquals(expected, actual);
+            assertEquals(expectedBegun, begun);
+            assertEquals(expectedEnded, ended);
+            assertTrue(ended.containsAll(removedPairs));
+
+            assertEquals(begun, new HashSet<>(listener.begun));
+            assertEquals(ended, new HashSet<>(listener.ended));
+            assertEquals(begun.size(), listener.begun.size());
+            assertEquals(ended.size(), listener.ended.size());
+            assertTrue(!listener.isOutOfOrder);
+
+            previous = expected;
+        }
+
+        assertTrue(previous.size() > 100);
+    }
+
+    @Test
+    public void parallelSweepMatchesSerialSweep() {
+
+        Workers.setThreshold(1);
+
+        CollisionWorld2D<Integer> serial = CollisionFactory.createWorld2D();
+        CollisionWorld2D<Integer> parallel = CollisionFactory.createWorld2D();
+
+        serial.setParallel(false);
+        parallel.setParallel(true);
+
+        for (int element = 0; element < COUNT; element++) {
+
+            float x = random.nextFloat() * EXTENT;
+            float y = random.nextFloat() * EXTENT;
+            float size = random.nextFloat() * 6f;
+
+            if (element % 2 == 0) {
+
+                serial.insertCircle(element, x, y, size);
+                parallel.insertCircle(element, x, y, size);
+            }
+            else {
+
+                serial.insertBox(element, x, x + size, y, y + size);
+                parallel.insertBox(element, x, x + size, y, y + size);
+            }
+        }
+
+        for (int step = 0; step < STEPS; step++) {
+
+            for (int handle = 0; handle < COUNT; handle++) {
+
+                float x = random.nextFloat() * EXTENT;
+                float y = random.nextFloat() * EXTENT;
+                float size = random.nextFloat() * 6f;
+
+                if (random.nextInt(3) == 0) {
+
+                    serial.moveCircle(handle, x, y, size);
+                    parallel.moveCircle(handle, x, y, size);
+                }
+            }
+
+            assertEquals(serial.update(), parallel.update());
+            assertArrayEquals(getContacts(serial), getContacts(parallel));
+            assertArrayEquals(getEnded(serial), getEnded(parallel));
+        }
+
+        assertTrue(serial.getContactCount() > 100);
+    }
+
+    @Test
+    public void filtersExcludePairs() {
+
+        CollisionWorld2D<Integer> world = CollisionFactory.createWorld2D();
+
+        int a = world.insertBox(0, 0f, 2f, 0f, 2f);
+        int b = world.insertBox(1, 1f, 3f, 1f, 3f);
+        int c = world.insertCircle(2, 2f, 2f, 1f);
+
+        assertEquals(3, world.update());
+
+        world.setFilter(c, 1, 0);
+
+        assertEquals(1, world.update());
+        assertEquals(2, world.getEndedCount());
+
+        world.setFilter(a, 2, -1);
+        world.setFilter(b, 4, ~2);
+
+        assertEquals(0, world.update());
+        assertEquals(1, world.getEndedCount());
+        assertEquals(a, world.getEndedFirst(0));
+        assertEquals(b, world.getEndedSecond(0));
+    }
+
+    @Test
+    public void circlesTouchOnlyWithinTheirRadius() {
+
+        CollisionWorld2D<Integer> world = CollisionFactory.createWorld2D();
+
+        int box = world.insertBox(0, 0f, 2f, 0f, 2f);
+        int corner = world.insertCircle(1, 3f, 3f, 1.2f);
+
+        assertEquals(0, world.update());
+
+        world.moveCircle(corner, 2.8f, 2.8f, 1.2f);
+
+        assertEquals(1, world.update());
+        assertEquals(box, world.getFirst(0));
+        assertTrue(world.isBegun(0));
+    }
+
+    /**
+     * Move, remove, insert and filter random elements, recording the pairs of removed elements
+     *
+     * @param world The world
+     * @param previous The pairs touching in the previous update
+     * @param removedPairs The set to add each pair of a removed element to
+     */
+    private void change(CollisionWorld2D<Integer> world, Set<Long> previous, Set<Long> removedPairs) {
+
+        List<Integer> handles = new ArrayList<>(shapes.keySet());
+        int removed = 0;
+
+        for (int handle : handles) {
+
+            int action = random.nextInt(20);
+
+            if (action == 0) {
+
+                world.remove(handle);
+                shapes.remove(handle);
+                removed++;
+
+                for (long key : previous) {
+
+                    if ((int) (key >>> 32) == handle || (int) key == handle) {
+
+                        removedPairs.add(key);
+                    }
+                }
+            }
+            else if (action == 1) {
+
+                Shape shape = shapes.get(handle);
+
+                shape.category = 1 << random.nextInt(3);
+                shape.mask = random.nextInt(8);
+
+                world.setFilter(handle, shape.category, shape.mask);
+            }
+            else if (action < 12) {
+
+                Shape shape = shapes.get(handle);
+                float dx = random.nextFloat() - 0.5f;
+                float dy = random.nextFloat() - 0.5f;
+
+                if (shape.isCircle) {
+
+                    setCircle(shape, shape.circle[0] + dx, shape.circle[1] + dy, shape.circle[2]);
+                    world.moveCircle(handle, shape.circle[0], shape.circle[1], shape.circle[2]);
+                }
+                else {
+
+                    setBox(shape, shape.bounds[0] + dx, shape.bounds[1] + dx, shape.bounds[2] + dy, shape.bounds[3] + dy);
+                    world.moveBox(handle, shape.bounds[0], shape.bounds[1], shape.bounds[2], shape.bounds[3]);
+                }
+            }
+        }
+
+        for (int element = 0; element < removed; element++) {
+
+            insert(world, COUNT + element);
+        }
+    }
+
+    /**
+     * Insert a random box or circle into the world and record its shape
+     *
+     * @param world The world
+     * @param element The element
+     */
+    private void insert(CollisionWorld2D<Integer> world, int element) {
+
+        Shape shape = new Shape();
+        float x = random.nextFloat() * EXTENT;
+        float y = random.nextFloat() * EXTENT;
+        int handle;
+
+        if (random.nextBoolean()) {
+
+            setCircle(shape, x, y, random.nextFloat() * 4f);
+
+            handle = world.insertCircle(element, shape.circle[0], shape.circle[1], shape.circle[2]);
+        }
+        else {
+
+            setBox(shape, x, x + random.nextFloat() * 8f, y, y + random.nextFloat() * 8f);
+
+            handle = world.insertBox(element, shape.bounds[0], shape.bounds[1], shape.bounds[2], shape.bounds[3]);
+        }
+
+        shapes.put(handle, shape);
+    }
+
+    /**
+     * Find every touching pair by testing each pair of live elements
+     *
+     * @return The key of each touching pair
+     */
+    private Set<Long> findContacts() {
+
+        List<Integer> handles = new ArrayList<>(shapes.keySet());
+        Set<Long> contacts = new HashSet<>();
+
+        for (int first = 0; first < handles.size(); first++) {
+
+            for (int second = first + 1; second < handles.size(); second++) {
+
+                Shape a = shapes.get(handles.get(first));
+                Shape b = shapes.get(handles.get(second));
+
+                if ((a.category & b.mask) == 0 || (b.category & a.mask) == 0) {
+
+                    continue;
+                }
+
+                if (!Geometry.overlapArea2D(a.bounds[0], a.bounds[1], a.bounds[2], a.bounds[3],
+                        b.bounds[0], b.bounds[1], b.bounds[2], b.bounds[3])) {
+
+                    continue;
+                }
+
+                if (touches(a, b)) {
+
+                    contacts.add(toKey(handles.get(first), handles.get(second)));
+                }
+            }
+        }
+
+        return contacts;
+    }
+
+    /**
+     * Check if two shapes with overlapping bounds touch
+     *
+     * @param a The first shape
+     * @param b The second shape
+     *
+     * @return True if the shapes touch
+     */
+    private static boolean touches(Shape a, Shape b) {
+
+        if (a.isCircle && b.isCircle) {
+
+            return Geometry.distance2D(a.circle[0], a.circle[1], b.circle[0], b.circle[1]) <= a.circle[2] + b.circle[2];
+        }
+
+        if (a.isCircle) {
+
+            return touchesBox(a, b);
+        }
+
+        return !b.isCircle || touchesBox(b, a);
+    }
+
+    /**
+     * Check if a circle touches a box
+     *
+     * @param circle The circle
+     * @param box The box
+     *
+     * @return True if the circle touches the box
+     */
+    private static boolean touchesBox(Shape circle, Shape box) {
+
+        float x = circle.circle[0];
+        float y = circle.circle[1];
+
+        float nx = Math.max(box.bounds[0], Math.min(box.bounds[1], x));
+        float ny = Math.max(box.bounds[2], Math.min(box.bounds[3], y));
+
+        return Geometry.distance2D(x, y, nx, ny) <= circle.circle[2];
+    }
+
+    /**
+     * Store a circle in a shape, along with its bounds
+     *
+     * @param shape The shape
+     * @param x The x coordinate of the center
+     * @param y The y coordinate of the center
+     * @param radius The radius
+     */
+    private static void setCircle(Shape shape, float x, float y, float radius) {
+
+        shape.isCircle = true;
+        shape.circle[0] = x;
+        shape.circle[1] = y;
+        shape.circle[2] = radius;
+
+        setBounds(shape, x - radius, x + radius, y - radius, y + radius);
+    }
+
+    /**
+     * Store a box in a shape
+     *
+     * @param shape The shape
+     * @param left The lower bound for x coordinate
+     * @param right The upper bound for x coordinate
+     * @param bottom The lower bound for y coordinate
+     * @param top The upper bound for y coordinate
+     */
+    private static void setBox(Shape shape, float left, float right, float bottom, float top) {
+
+        shape.isCircle = false;
+
+        setBounds(shape, left, right, bottom, top);
+    }
+
+    /**
+     * Store the bounds of a shape
+     *
+     * @param shape The shape
+     * @param left The lower bound for x coordinate
+     * @param right The upper bound for x coordinate
+     * @param bottom The lower bound for y coordinate
+     * @param top The upper bound for y coordinate
+     */
+    private static void setBounds(Shape shape, float left, float right, float bottom, float top) {
+
+        shape.bounds[0] = left;
+        shape.bounds[1] = right;
+        shape.bounds[2] = bottom;
+        shape.bounds[3] = top;
+    }
+
+    /**
+     * Get the handles and begun flag of every contact in the latest update, in order
+     *
+     * @param world The world
+     *
+     * @return The lower handle, higher handle and begun flag of each contact
+     */
+    private static int[] getContacts(CollisionWorld2D<Integer> world) {
+
+        int[] contacts = new int[world.getContactCount() * 3];
+
+        for (int index = 0; index < world.getContactCount(); index++) {
+
+            contacts[index * 3] = world.getFirst(index);
+            contacts[index * 3 + 1] = world.getSecond(index);
+            contacts[index * 3 + 2] = world.isBegun(index) ? 1 : 0;
+        }
+
+        return contacts;
+    }
+
+    /**
+     * Get the handles of every contact which ended in the latest update, in order
+     *
+     * @param world The world
+     *
+     * @return The lower and higher handle of each ended contact
+     */
+    private static int[] getEnded(CollisionWorld2D<Integer> world) {
+
+        int[] ended = new int[world.getEndedCount() * 2];
+
+        for (int index = 0; index < world.getEndedCount(); index++) {
+
+            ended[index * 2] = world.getEndedFirst(index);
+            ended[index * 2 + 1] = world.getEndedSecond(index);
+        }
+
+        return ended;
+    }
+
+    /**
+     * Pack a pair of handles into a key which does not depend on their order
+     *
+     * @param first The first handle
+     * @param second The second handle
+     *
+     * @return The key of the pair
+     */
+    private static long toKey(int first, int second) {
+
+        return ((long) Math.min(first, second) << 32) | Math.max(first, second);
+    }
+}
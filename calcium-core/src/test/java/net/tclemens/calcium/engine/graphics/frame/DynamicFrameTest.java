@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.frame;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.engine.graphics.animation.Animation;
+import net.tclemens.calcium.engine.graphics.animation.AnimationFactory;
+import net.tclemens.calcium.engine.graphics.animation.interpolation.InterpolationFactory;
+import net.tclemens.calcium.engine.graphics.animation.transformation.TransformationFactory;
+import net.tclemens.calcium.engine.graphics.batch.Batch;
+import net.tclemens.calcium.engine.graphics.batch.BatchFactory;
+import net.tclemens.calcium.engine.graphics.camera.CameraFactory;
+import net.tclemens.calcium.engine.graphics.color.ColorFactory;
+import net.tclemens.calcium.engine.graphics.material.Material;
+import net.tclemens.calcium.engine.graphics.material.MaterialFactory;
+import net.tclemens.calcium.engine.graphics.material.program.ProgramFactory;
+import net.tclemens.calcium.engine.graphics.material.property.Property;
+import net.tclemens.calcium.engine.graphics.material.shader.ShaderFactory;
+import net.tclemens.calcium.engine.graphics.mesh.Mesh;
+import net.tclemens.calcium.engine.graphics.mesh.MeshFactory;
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.model.ModelFactory;
+import net.tclemens.calcium.engine.graphics.scene.Scene;
+import net.tclemens.calcium.engine.graphics.scene.SceneFactory;
+import net.tclemens.calcium.engine.workers.Workers;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector3D;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests that dynamic frames are updated identically whether their scenes, batches and models are updated
+ * serially or in parallel
+ *
+ * @author Tim Clemens
+ */
+public final class DynamicFrameTest {
+
+    /** The threshold of the workers before each test */
+    private final int threshold = Workers.getThreshold();
+
+    @After
+    public void restoreThreshold() {
+
+        Workers.setThreshold(threshold);
+    }
+
+    @Test
+    public void parallelUpdateMatchesSerialUpdate() {
+
+        Frame frame = createFrame(new Random(3));
+
+        for (long time = 0; time <= 1000; time += 125) {
+
+            Workers.setThreshold(Integer.MAX_VALUE);
+
+            Frame serial = frame.update(time);
+
+            Workers.setThreshold(1);
+
+            Frame parallel = frame.update(time);
+
+            assertEquals(serial.isDynamic(), parallel.isDynamic());
+            assertEquals(serial.getScenes().size(), parallel.getScenes().size());
+            assertArrayEquals(flatten(serial), flatten(parallel), 0f);
+
+            frame = parallel;
+        }
+    }
+
+    /**
+     * Flatten the matrix of each model in a frame into a single array, in scene, batch and model order
+     *
+     * @param frame The frame to flatten
+     *
+     * @return The components of each model matrix
+     */
+    private static float[] flatten(Frame frame) {
+
+        List<Float> values = new ArrayList<>();
+
+        for (Scene scene : frame.getScenes()) {
+
+            for (Batch batch : scene.getBatches()) {
+
+                values.add(batch.isDynamic() ? 1f : 0f);
+
+                for (Model model : batch.getModels()) {
+
+                    Matrix3D matrix = model.getMatrix();
+
+                    values.add(matrix.getAX());
+                    values.add(matrix.getAY());
+                    values.add(matrix.getAZ());
+                    values.add(matrix.getBX());
+                    values.add(matrix.getBY());
+                    values.add(matrix.getBZ());
+                    values.add(matrix.getCX());
+                    values.add(matrix.getCY());
+                    values.add(matrix.getCZ());
+                    values.add(matrix.getDX());
+                    values.add(matrix.getDY());
+                    values.add(matrix.getDZ());
+                }
+            }
+        }
+
+        float[] result = new float[values.size()];
+
+        for (int index = 0; index < result.length; index++) {
+
+            result[index] = values.get(index);
+        }
+
+        return result;
+    }
+
+    /**
+     * Create a dynamic frame with enough animated models to be updated in parallel
+     *
+     * @param random The source of the animations
+     *
+     * @return The new frame
+     */
+    private static Frame createFrame(Random random) {
+
+        Mesh mesh = MeshFactory.createMesh(new ArrayList<Vector3D>(), new ArrayList<Vector2D>(), new ArrayList<Integer>());
+
+        Material material = MaterialFactory.createMaterial(
+                ProgramFactory.createProgram(ShaderFactory.createVertex("void main() {}"), ShaderFactory.createFragment("void main() {}")),
+                new ArrayList<Property>());
+
+        Collection<Scene> scenes = new ArrayList<>();
+
+        for (int sceneIndex = 0; sceneIndex < 4; sceneIndex++) {
+
+            Collection<Batch> batches = new ArrayList<>();
+
+            for (int batchIndex = 0; batchIndex < 3; batchIndex++) {
+
+                Collection<Model> models = new ArrayList<>();
+
+                for (int modelIndex = 0; modelIndex < 200; modelIndex++) {
+
+                    models.add(ModelFactory.createDynamic(mesh, createAnimation(random)));
+                }
+
+                batches.add(BatchFactory.createDynamic(material, models));
+            }
+
+            scenes.add(SceneFactory.createDynamic(
+                    CameraFactory.createStatic(MatrixFactory.createIdentity3D(), MatrixFactory.createIdentity3D()),
+                    batches));
+        }
+
+        return FrameFactory.createDynamic(scenes, ColorFactory.createColor(0, 0, 0, 255), 640, 480, 16);
+    }
+
+    /**
+     * Create an animation which translates and rotates a model over a random duration
+     *
+     * @param random The source of the animation
+     *
+     * @return The new animation
+     */
+    private static Animation createAnimation(Random random) {
+
+        long duration = 200 + random.nextInt(800);
+
+        Collection<Animation> animations = new ArrayList<>();
+
+        animations.add(AnimationFactory.createDynamic(TransformationFactory.createTranslate(
+                random.nextFloat() * 10f, random.nextFloat() * 10f, random.nextFloat() * 10f,
+                InterpolationFactory.createLinear(0, duration))));
+
+        animations.add(AnimationFactory.createDynamic(TransformationFactory.createRotate(
+                random.nextFloat() * 90f, random.nextFloat() * 90f, 0f,
+                InterpolationFactory.createLinear(0, duration))));
+
+        return AnimationFactory.createComposite(animations);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.material.property;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.engine.graphics.camera.Camera;
+import net.tclemens.calcium.engine.graphics.camera.CameraFactory;
+import net.tclemens.calcium.engine.graphics.mesh.Mesh;
+import net.tclemens.calcium.engine.graphics.mesh.MeshFactory;
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.model.ModelFactory;
+import net.tclemens.calcium.math.matrix.Matrix2D;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests that the two-dimensional model-view-projection matrices project points in the plane where
+ * <tt>z</tt> is zero exactly as the three-dimensional matrices do, for both two-dimensional and three-dimensional
+ * cameras and models
+ *
+ * @author Tim Clemens
+ */
+public final class Matrix2DPackerTest {
+
+    /** The maximum difference between matching projected components */
+    private static final float TOLERANCE = 1e-4f;
+
+    /** The number of models in each batch, enough to pack in parallel ranges */
+    private static final int COUNT = 3000;
+
+    /** The number of points projected through each model */
+    private static final int POINTS = 4;
+
+    /** The mesh shared by every model */
+    private static final Mesh MESH = createMesh();
+
+    @Test
+    public void twoDimensionalCameraAndModels() {
+
+        Random random = new Random(1);
+
+        assertProjected(createCamera2D(), createModels2D(random), random);
+    }
+
+    @Test
+    public void twoDimensionalCameraAndThreeDimensionalModels() {
+
+        Random random = new Random(2);
+
+        assertProjected(createCamera2D(), createModels3D(random), random);
+    }
+
+    @Test
+    public void threeDimensionalCameraAndTwoDimensionalModels() {
+
+        Random random = new Random(3);
+
+        assertProjected(createCamera3D(), createModels2D(random), random);
+    }
+
+    @Test
+    public void threeDimensionalCameraAndModels() {
+
+        Random random = new Random(4);
+
+        assertProjected(createCamera3D(), createModels3D(random), random);
+    }
+
+    @Test
+    public void twoDimensionalCameraMatchesItsThreeDimensionalMatrices() {
+
+        Matrix2D projection = MatrixFactory.createOrthographic2D(0f, 640f, 480f, 0f);
+        Matrix2D view = MatrixFactory.createTranslate2D(-40f, 25f).rotate(15f);
+
+        Camera camera = CameraFactory.createStatic2D(projection, view);
+        Matrix2DPacker packer = new Matrix2DPacker();
+
+        camera.getViewProjection(packer.getMatrix());
+
+        Matrix2D expected = projection.multiply(view);
+
+        assertEquals(expected.getAX(), packer.getMatrix().getAX(), TOLERANCE);
+        assertEquals(expected.getBY(), packer.getMatrix().getBY(), TOLERANCE);
+        assertEquals(expected.getCX(), packer.getMatrix().getCX(), TOLERANCE);
+        assertEquals(expected.getCY(), packer.getMatrix().getCY(), TOLERANCE);
+
+        Matrix3D plane = camera.getProjection().multiply(camera.getView());
+
+        assertEquals(plane.getAX(), expected.getAX(), TOLERANCE);
+        assertEquals(plane.getBX(), expected.getBX(), TOLERANCE);
+        assertEquals(plane.getDX(), expected.getCX(), TOLERANCE);
+        assertEquals(plane.getAY(), expected.getAY(), TOLERANCE);
+        assertEquals(plane.getBY(), expected.getBY(), TOLERANCE);
+        assertEquals(plane.getDY(), expected.getCY(), TOLERANCE);
+    }
+
+    /**
+     * Check that the packed two-dimensional matrix of each model projects random points in the plane where
+     * <tt>z</tt> is zero to the same <tt>x</tt>, <tt>y</tt> and <tt>w</tt> components as the three-dimensional path
+     *
+     * @param camera The camera
+     * @param models The models
+     * @param random The source of points
+     */
+    private static void assertProjected(Camera camera, List<Model> models, Random random) {
+
+        Matrix2DPacker packer = new Matrix2DPacker();
+
+        camera.getViewProjection(packer.getMatrix());
+
+        FloatBuffer buffer = packer.pack(models);
+        Matrix3D viewProjection = camera.getProjection().multiply(camera.getView());
+
+        assertEquals(models.size() * 9, buffer.remaining());
+
+        for (Model model : models) {
+
+            float[] m = new float[9];
+
+            buffer.get(m);
+
+            Matrix3D expected = viewProjection.multiply(model.getMatrix());
+
+            for (int point = 0; point < POINTS; point++) {
+
+                float x = random.nextFloat() * 20f - 10f;
+                float y = random.nextFloat() * 20f - 10f;
+
+                Vector3D vector = expected.multiply(VectorFactory.createPosition3D(x, y, 0f));
+
+                assertEquals(vector.getX(), m[0] * x + m[3] * y + m[6], TOLERANCE);
+                assertEquals(vector.getY(), m[1] * x + m[4] * y + m[7], TOLERANCE);
+                assertEquals(vector.getW(), m[2] * x + m[5] * y + m[8], TOLERANCE);
+            }
+        }
+    }
+
+    /**
+     * Create a two-dimensional camera with an orthographic projection and a view which pans and rotates
+     *
+     * @return The new camera
+     */
+    private static Camera createCamera2D() {
+
+        return CameraFactory.createStatic2D(
+                MatrixFactory.createOrthographic2D(-16f, 16f, -12f, 12f),
+                MatrixFactory.createRotate2D(-20f).translate(3f, -2f));
+    }
+
+    /**
+     * Create a three-dimensional camera with an orthographic projection and a view which keeps the plane where
+     * <tt>z</tt> is zero in place
+     *
+     * @return The new camera
+     */
+    private static Camera createCamera3D() {
+
+        return CameraFactory.createStatic(
+                MatrixFactory.createOrthographic3D(-16f, 16f, -12f, 12f, -10f, 10f),
+                MatrixFactory.createTranslate3D(-3f, 2f, 0f).rotate(0f, 0f, 35f));
+    }
+
+    /**
+     * Create two-dimensional models which translate, rotate and scale
+     *
+     * @param random The source of transformations
+     *
+     * @return The new models
+     */
+    private static List<Model> createModels2D(Random random) {
+
+        List<Model> models = new ArrayList<>(COUNT);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            Matrix2D matrix = MatrixFactory.createTranslate2D(random.nextFloat() * 10f, random.nextFloat() * 10f)
+                    .rotate(random.nextFloat() * 360f)
+                    .scale(random.nextFloat() + 0.5f, random.nextFloat() + 0.5f);
+
+            models.add(ModelFactory.createStatic2D(MESH, matrix));
+        }
+
+        return models;
+    }
+
+    /**
+     * Create three-dimensional models which translate, rotate about the <tt>z</tt> axis, scale and sit on different
+     * layers
+     *
+     * @param random The source of transformations
+     *
+     * @return The new models
+     */
+    private static List<Model> createModels3D(Random random) {
+
+        List<Model> models = new ArrayList<>(COUNT);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            Matrix3D matrix = MatrixFactory.createTranslate3D(random.nextFloat() * 10f, random.nextFloat() * 10f,
+                    random.nextFloat() * 4f - 2f)
+                    .rotate(0f, 0f, random.nextFloat() * 360f)
+                    .scale(random.nextFloat() + 0.5f, random.nextFloat() + 0.5f, 1f);
+
+            models.add(ModelFactory.createStatic(MESH, matrix));
+        }
+
+        return models;
+    }
+
+    /**
+     * Create a unit square mesh
+     *
+     * @return The new mesh
+     */
+    private static Mesh createMesh() {
+
+        List<Vector3D> positions = new ArrayList<>(4);
+        List<Vector2D> coordinates = new ArrayList<>(4);
+
+        for (int corner = 0; corner < 4; corner++) {
+
+            positions.add(VectorFactory.createPosition3D(corner & 1, corner >> 1, 0f));
+            coordinates.add(VectorFactory.createPosition2D(corner & 1, corner >> 1));
+        }
+
+        return MeshFactory.createMesh(positions, coordinates, new ArrayList<Integer>());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.material.property;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.engine.graphics.mesh.MeshFactory;
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.model.ModelFactory;
+import net.tclemens.calcium.engine.workers.Workers;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that batches are packed identically whether they are packed serially or in parallel ranges
+ *
+ * @author Tim Clemens
+ */
+public final class PackerTest {
+
+    /**
+     * This class packs the index of each model followed by the x component of each of its vertex positions
+     */
+    private static final class IndexPacker extends Packer {
+
+        private IndexPacker() {
+        }
+
+        @Override
+        int count(Model model) {
+
+            return model.getMesh().getPositions().size() + 1;
+        }
+
+        @Override
+        void pack(Model model, int index, int range, FloatBuffer buffer) {
+
+            assertTrue(range >= 0 && range < Workers.getParallelism());
+
+            buffer.put(index);
+
+            for (Vector3D position : model.getMesh().getPositions()) {
+
+                buffer.put(position.getX());
+            }
+        }
+    }
+
+    @Test
+    public void packSmallBatchInOrder() {
+
+        assertPacked(createModels(10, 8, new Random(1)));
+    }
+
+    @Test
+    public void packLargeBatchInOrder() {
+
+        List<Model> models = createModels(4000, 24, new Random(2));
+
+        assertTrue(countValues(models) >= Packer.THRESHOLD);
+
+        assertPacked(models);
+    }
+
+    @Test
+    public void packEmptyBatch() {
+
+        FloatBuffer buffer = new IndexPacker().pack(new ArrayList<Model>());
+
+        assertEquals(0, buffer.remaining());
+    }
+
+    /**
+     * Check that a batch is packed as if each model was packed in order
+     *
+     * @param models The models to pack
+     */
+    private static void assertPacked(List<Model> models) {
+
+        FloatBuffer buffer = new IndexPacker().pack(models);
+
+        assertEquals(0, buffer.position());
+        assertEquals(countValues(models), buffer.remaining());
+
+        for (int index = 0; index < models.size(); index++) {
+
+            assertEquals(index, buffer.get(), 0f);
+
+            for (Vector3D position : models.get(index).getMesh().getPositions()) {
+
+                assertEquals(position.getX(), buffer.get(), 0f);
+            }
+        }
+    }
+
+    /**
+     * Count the values packed for a batch
+     *
+     * @param models The models of the batch
+     *
+     * @return The number of packed values
+     */
+    private static int countValues(List<Model> models) {
+
+        int count = 0;
+
+        for (Model model : models) {
+
+            count += model.getMesh().getPositions().size() + 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Create models with a random number of vertices
+     *
+     * @param count The number of models
+     * @param vertices The maximum number of vertices of each model
+     * @param random The source of vertex counts and positions
+     *
+     * @return The new models
+     */
+    private static List<Model> createModels(int count, int vertices, Random random) {
+
+        List<Model> models = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+
+            int size = random.nextInt(vertices) + 1;
+
+            List<Vector3D> positions = new ArrayList<>(size);
+            List<Vector2D> coordinates = new ArrayList<>(size);
+
+            for (int vertex = 0; vertex < size; vertex++) {
+
+                positions.add(VectorFactory.createPosition3D(random.nextFloat(), 0f, 0f));
+                coordinates.add(VectorFactory.createPosition2D(0f, 0f));
+            }
+
+            models.add(ModelFactory.createStatic(
+                    MeshFactory.createMesh(positions, coordinates, new ArrayList<Integer>()),
+                    MatrixFactory.createIdentity3D()));
+        }
+
+        return models;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.graphics.picker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.engine.graphics.batch.Batch;
+import net.tclemens.calcium.engine.graphics.batch.BatchFactory;
+import net.tclemens.calcium.engine.graphics.camera.Camera;
+import net.tclemens.calcium.engine.graphics.camera.CameraFactory;
+import net.tclemens.calcium.engine.graphics.color.ColorFactory;
+import net.tclemens.calcium.engine.graphics.frame.Frame;
+import net.tclemens.calcium.engine.graphics.frame.FrameFactory;
+import net.tclemens.calcium.engine.graphics.material.Material;
+import net.tclemens.calcium.engine.graphics.material.MaterialFactory;
+import net.tclemens.calcium.engine.graphics.material.program.ProgramFactory;
+import net.tclemens.calcium.engine.graphics.material.property.Property;
+import net.tclemens.calcium.engine.graphics.material.shader.ShaderFactory;
+import net.tclemens.calcium.engine.graphics.mesh.Mesh;
+import net.tclemens.calcium.engine.graphics.mesh.MeshFactory;
+import net.tclemens.calcium.engine.graphics.model.Model;
+import net.tclemens.calcium.engine.graphics.model.ModelFactory;
+import net.tclemens.calcium.engine.graphics.scene.Scene;
+import net.tclemens.calcium.engine.graphics.scene.SceneFactory;
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.vector.MutableVector3D;
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that a picker orders hits from front to back and unprojects screen positions through each camera
+ *
+ * @author Tim Clemens
+ */
+public final class PickerTest {
+
+    /** The width of the view in pixels */
+    private static final int WIDTH = 640;
+
+    /** The height of the view in pixels */
+    private static final int HEIGHT = 480;
+
+    /** The maximum difference between world positions */
+    private static final float TOLERANCE = 1e-3f;
+
+    /** The projection matrix of every camera */
+    private static final Matrix3D PROJECTION = MatrixFactory.createPerspective3D(60f, (float) WIDTH / HEIGHT, 1f, 100f);
+
+    /** The view matrix of every camera, which looks down the negative <tt>z</tt> axis from <tt>z = 10</tt> */
+    private static final Matrix3D VIEW = MatrixFactory.createView3D(
+            VectorFactory.createPosition3D(0f, 0f, 10f),
+            VectorFactory.createPosition3D(0f, 0f, 0f),
+            VectorFactory.createDirection3D(0f, 1f, 0f));
+
+    /** A cube from <tt>-1</tt> to <tt>1</tt> on each axis */
+    private static final Mesh CUBE = createCube();
+
+    /** The material of every batch */
+    private static final Material MATERIAL = MaterialFactory.createMaterial(
+            ProgramFactory.createProgram(ShaderFactory.createVertex("void main() {}"),
+                    ShaderFactory.createFragment("void main() {}")),
+            new ArrayList<Property>());
+
+    /** The picker under test */
+    private Picker picker;
+
+    @Before
+    public void createPicker() {
+
+        picker = PickerFactory.createPicker();
+    }
+
+    @Test
+    public void hitsAreOrderedFromFrontToBack() {
+
+        Model far = createModel(0f, 0f, -10f);
+        Model middle = createModel(0f, 0f, -5f);
+        Model near = createModel(0f, 0f, 0f);
+
+        picker.update(createFrame(createScene(far, near, middle)));
+
+        List<Hit> hits = picker.pick(WIDTH / 2f, HEIGHT / 2f);
+
+        assertEquals(3, hits.size());
+        assertSame(near, hits.get(0).getModel());
+        assertSame(middle, hits.get(1).getModel());
+        assertSame(far, hits.get(2).getModel());
+        assertTrue(hits.get(0).getDepth() < hits.get(1).getDepth());
+        assertTrue(hits.get(1).getDepth() < hits.get(2).getDepth());
+    }
+
+    @Test
+    public void hitsAreOrderedAcrossScenes() {
+
+        Model far = createModel(0f, 0f, -10f);
+        Model near = createModel(0f, 0f, 0f);
+
+        Scene back = createScene(far);
+        Scene front = createScene(near);
+
+        picker.update(createFrame(back, front));
+
+        List<Hit> hits = picker.pick(WIDTH / 2f, HEIGHT / 2f);
+
+        assertEquals(2, picker.getSceneCount());
+        assertEquals(2, hits.size());
+        assertSame(near, hits.get(0).getModel());
+        assertSame(front, hits.get(0).getScene());
+        assertSame(far, hits.get(1).getModel());
+        assertSame(back, hits.get(1).getScene());
+    }
+
+    @Test
+    public void hitIsWhereTheRayEntersTheModel() {
+
+        Model model = createModel(0f, 0f, 0f);
+
+        picker.update(createFrame(createScene(model)));
+
+        Hit hit = picker.pick(WIDTH / 2f, HEIGHT / 2f).get(0);
+
+        assertEquals(0f, hit.getX(), TOLERANCE);
+        assertEquals(0f, hit.getY(), TOLERANCE);
+        assertEquals(1f, hit.getZ(), TOLERANCE);
+        assertEquals(project(0f, 0f, 1f)[2], hit.getDepth(), TOLERANCE);
+    }
+
+    @Test
+    public void onlyModelsUnderThePointAreHit() {
+
+        Model left = createModel(-3f, 0f, 0f);
+        Model right = createModel(3f, 0f, 0f);
+
+        picker.update(createFrame(createScene(left, right)));
+
+        float[] screen = project(3f, 0.5f, 0f);
+        List<Hit> hits = picker.pick(screen[0], screen[1]);
+
+        assertEquals(1, hits.size());
+        assertSame(right, hits.get(0).getModel());
+        assertTrue(picker.pick(0f, 0f).isEmpty());
+    }
+
+    @Test
+    public void changedScenesUpdateTheModels() {
+
+        Model kept = createModel(0f, 0f, -5f);
+        Model removed = createModel(0f, 0f, 0f);
+        Model added = createModel(0f, 0f, -10f);
+
+        picker.update(createFrame(createScene(kept, removed)));
+
+        assertEquals(2, picker.pick(WIDTH / 2f, HEIGHT / 2f).size());
+
+        picker.update(createFrame(createScene(kept, added)));
+
+        List<Hit> hits = picker.pick(WIDTH / 2f, HEIGHT / 2f);
+
+        assertEquals(2, hits.size());
+        assertSame(kept, hits.get(0).getModel());
+        assertSame(added, hits.get(1).getModel());
+    }
+
+    @Test
+    public void unprojectInvertsTheProjection() {
+
+        picker.update(createFrame(createScene(createModel(0f, 0f, 0f))));
+
+        Random random = new Random(42);
+        MutableVector3D dest = VectorFactory.createMutable3D();
+
+        for (int index = 0; index < 1000; index++) {
+
+            float x = random.nextFloat() * 8f - 4f;
+            float y = random.nextFloat() * 8f - 4f;
+            float z = random.nextFloat() * 20f - 15f;
+
+            float[] screen = project(x, y, z);
+
+            picker.unproject(0, screen[0], screen[1], screen[2], dest);
+
+            float tolerance = TOLERANCE * (10f - z);
+
+            assertEquals(x, dest.getX(), tolerance);
+            assertEquals(y, dest.getY(), tolerance);
+            assertEquals(z, dest.getZ(), tolerance);
+            assertEquals(1f, dest.getW(), 0f);
+        }
+    }
+
+    @Test
+    public void unprojectedRaySpansTheClippingPlanes() {
+
+        picker.update(createFrame(createScene(createModel(0f, 0f, 0f))));
+
+        float[] ray = new float[7];
+
+        picker.unproject(0, 100f, 50f, ray, 1);
+
+        float[] near = project(ray[1], ray[2], ray[3]);
+        float[] far = project(ray[4], ray[5], ray[6]);
+
+        assertEquals(100f, near[0], 0.01f);
+        assertEquals(50f, near[1], 0.01f);
+        assertEquals(-1f, near[2], TOLERANCE);
+        assertEquals(100f, far[0], 0.01f);
+        assertEquals(50f, far[1], 0.01f);
+        assertEquals(1f, far[2], TOLERANCE);
+        assertEquals(9f, ray[3], TOLERANCE);
+        assertEquals(-90f, ray[6], 0.01f);
+    }
+
+    @Test
+    public void pickingBeforeAnUpdateIsRejected() {
+
+        try {
+
+            picker.pick(0f, 0f);
+
+            fail();
+        }
+        catch (IllegalStateException ignored) {
+        }
+    }
+
+    /**
+     * Project a world position onto the screen with the camera of every scene
+     *
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param z The z coordinate of the position
+     *
+     * @return The horizontal and vertical distance from the top left of the view in pixels, followed by the
+     *         normalized device depth
+     */
+    private static float[] project(float x, float y, float z) {
+
+        Vector3D clip = PROJECTION.multiply(VIEW).multiply(VectorFactory.createPosition3D(x, y, z));
+
+        float w = clip.getW();
+
+        return new float[] {
+                (clip.getX() / w + 1f) * 0.5f * WIDTH,
+                (1f - clip.getY() / w) * 0.5f * HEIGHT,
+                clip.getZ() / w};
+    }
+
+    /**
+     * Create a static cube model at a position
+     *
+     * @param x The x coordinate of the center
+     * @param y The y coordinate of the center
+     * @param z The z coordinate of the center
+     *
+     * @return The new model
+     */
+    private static Model createModel(float x, float y, float z) {
+
+        return ModelFactory.createStatic(CUBE, MatrixFactory.createTranslate3D(x, y, z));
+    }
+
+    /**
+     * Create a static scene of models seen by the camera
+     *
+     * @param models The models of the scene
+     *
+     * @return The new scene
+     */
+    private static Scene createScene(Model... models) {
+
+        Camera camera = CameraFactory.createStatic(PROJECTION, VIEW);
+        Collection<Batch> batches = new ArrayList<>();
+
+        batches.add(BatchFactory.createStatic(MATERIAL, Arrays.asList(models)));
+
+        return SceneFactory.createStatic(camera, batches);
+    }
+
+    /**
+     * Create a static frame of scenes
+     *
+     * @param scenes The scenes of the frame
+     *
+     * @return The new frame
+     */
+    private static Frame createFrame(Scene... scenes) {
+
+        return FrameFactory.createStatic(Arrays.asList(scenes), ColorFactory.createColor(0, 0, 0, 255), WIDTH, HEIGHT);
+    }
+
+    /**
+     * Create a cube mesh from <tt>-1</tt> to <tt>1</tt> on each axis
+     *
+     * @return The new mesh
+     */
+    private static Mesh createCube() {
+
+        List<Vector3D> positions = new ArrayList<>();
+        List<Vector2D> coordinates = new ArrayList<>();
+
+        for (int corner = 0; corner < 8; corner++) {
+
+            positions.add(VectorFactory.createPosition3D(
+                    (corner & 1) == 0 ? -1f : 1f,
+                    (corner & 2) == 0 ? -1f : 1f,
+                    (corner & 4) == 0 ? -1f : 1f));
+
+            coordinates.add(VectorFactory.createPosition2D(0f, 0f));
+        }
+
+        return MeshFactory.createMesh(positions, coordinates, new ArrayList<Integer>());
+    }
+}
@@ -0,0 +1,484 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.journal;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import net.tclemens.calcium.engine.saves.base.Writable;
+import net.tclemens.calcium.engine.saves.snapshot.SnapshotWriter;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
+import net.tclemens.calcium.engine.updates.base.Updatable;
+import net.tclemens.calcium.engine.updates.event.ActionEvent;
+import net.tclemens.calcium.engine.updates.event.Event;
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that a journal replays every intact record and stops cleanly at a torn or corrupt record
+ *
+ * @author Tim Clemens
+ */
+public final class JournalTest {
+
+    /**
+     * This class represents an immutable state which lists the names of the actions applied to it
+     */
+    private static final class State implements Updatable {
+
+        /** The names of the applied actions, in order */
+        private final List<String> names;
+
+        /**
+         * @param names The names of the applied actions, in order
+         */
+        private State(List<String> names) {
+
+            this.names = names;
+        }
+
+        @Override
+        public Updatable update(Context context, Event event) {
+
+            List<String> names = new ArrayList<>(this.names);
+
+            names.add(((ActionEvent) event).getName());
+
+            return new State(names);
+        }
+    }
+
+    /**
+     * This class represents an immutable state which lists the names of the actions applied to it and can be
+     * snapshotted
+     */
+    private static final class WritableState implements Updatable, Writable {
+
+        /** The names of the applied actions, in order */
+        private final List<String> names;
+
+        /**
+         * @param names The names of the applied actions, in order
+         */
+        private WritableState(List<String> names) {
+
+            this.names = names;
+        }
+
+        @Override
+        public Updatable update(Context context, Event event) {
+
+            List<String> names = new ArrayList<>(this.names);
+
+            names.add(((ActionEvent) event).getName());
+
+            return new WritableState(names);
+        }
+
+        @Override
+        public void write(SnapshotWriter writer) {
+
+            writer.writeInt(names.size());
+
+            for (String name : names) {
+
+                writer.writeString(name);
+            }
+        }
+    }
+
+    /** The maximum time to wait for a journal to stop in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /** The application context */
+    private Context context;
+
+    /** The scheduler of the modules */
+    private Scheduler scheduler;
+
+    @Before
+    public void createContext() {
+
+        final File directory = folder.getRoot();
+
+        context = new ContextWrapper(null) {
+
+            @Override
+            public File getFilesDir() {
+
+                return directory;
+            }
+        };
+
+        scheduler = SchedulerFactory.createScheduler(2);
+    }
+
+    @After
+    public void stopScheduler() {
+
+        scheduler.stop();
+    }
+
+    @Test
+    public void intactLogIsReplayedInOrder() throws Exception {
+
+        record("a", "b", "c", "d", "e");
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), replay().names);
+    }
+
+    @Test
+    public void tornRecordIsDiscardedOnReplay() throws Exception {
+
+        record("a", "b", "c", "d", "e");
+
+        File log = getLog();
+
+        truncate(log, log.length() - 3);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), replay().names);
+    }
+
+    @Test
+    public void tornHeaderIsDiscardedOnReplay() throws Exception {
+
+        record("a", "b", "c");
+
+        List<Long> offsets = getOffsets(getLog());
+
+        truncate(getLog(), offsets.get(2) + JournalCodec.HEADER_SIZE - 1);
+
+        assertEquals(Arrays.asList("a", "b"), replay().names);
+    }
+
+    @Test
+    public void corruptRecordStopsReplay() throws Exception {
+
+        record("a", "b", "c", "d", "e");
+
+        File log = getLog();
+        long offset = getOffsets(log).get(2) + JournalCodec.HEADER_SIZE + 8;
+        RandomAccessFile stream = new RandomAccessFile(log, "rw");
+
+        try {
+
+            stream.seek(offset);
+
+            int value = stream.read();
+
+            stream.seek(offset);
+            stream.write(value ^ 0xff);
+        }
+        finally {
+
+            stream.close();
+        }
+
+        assertEquals(Arrays.asList("a", "b"), replay().names);
+    }
+
+    @Test
+    public void recordingAfterReplayReplacesTornTail() throws Exception {
+
+        record("a", "b", "c");
+
+        File log = getLog();
+
+        truncate(log, log.length() - 3);
+
+        Journal journal = JournalFactory.createModule(context, scheduler);
+        State state = replay(journal);
+
+        assertEquals(Arrays.asList("a", "b"), state.names);
+
+        record(journal, state, "d");
+
+        assertEquals(Arrays.asList("a", "b", "d"), replay().names);
+    }
+
+    @Test
+    public void recordsContainedInTheStartingStateAreSkipped() throws Exception {
+
+        record("a", "b", "c", "d");
+
+        Journal journal = JournalFactory.createModule(context, scheduler);
+        State state = (State) journal.replay(new State(Arrays.asList("a", "b")), context, 2);
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), state.names);
+    }
+
+    @Test
+    public void sizeCheckpointTruncatesTheLogOfAWritableState() throws Exception {
+
+        Journal journal = JournalFactory.createModule(context, scheduler);
+
+        journal.setCommitInterval(0);
+        journal.setCheckpoint(60000, 1);
+        journal.start(new WritableState(Collections.<String>emptyList()));
+
+        Updatable state = new WritableState(Collections.<String>emptyList());
+
+        for (int index = 0; index < 3; index++) {
+
+            state = recordAndCommit(journal, state, index);
+        }
+
+        stop(journal);
+
+        assertEquals(1 + 3, journal.getCheckpointCount());
+        assertEquals(0, new File(folder.getRoot(), "calcium.journal").length());
+    }
+
+    @Test
+    public void sizeCheckpointIsSkippedForAStateWhichIsNotWritable() throws Exception {
+
+        Journal journal = JournalFactory.createModule(context, scheduler);
+
+        journal.setCommitInterval(0);
+        journal.setCheckpoint(1, 1);
+        journal.start(new State(Collections.<String>emptyList()));
+
+        Updatable state = new State(Collections.<String>emptyList());
+
+        for (int index = 0; index < 3; index++) {
+
+            state = recordAndCommit(journal, state, index);
+        }
+
+        stop(journal);
+
+        assertEquals(0, journal.getCheckpointCount());
+        assertEquals(3, getOffsets(getLog()).size());
+        assertEquals(Arrays.asList("0", "1", "2"), replay().names);
+    }
+
+    /**
+     * Replay the log from the initial state into a new journal
+     *
+     * @return The replayed state
+     */
+    private State replay() throws IOException {
+
+        return replay(JournalFactory.createModule(context, scheduler));
+    }
+
+    /**
+     * Replay the log from the initial state into a journal
+     *
+     * @param journal The journal
+     *
+     * @return The replayed state
+     */
+    private State replay(Journal journal) throws IOException {
+
+        return (State) journal.replay(new State(Collections.<String>emptyList()), context, 0);
+    }
+
+    /**
+     * Record an update for each action into a new journal replayed from the initial state, then stop the journal
+     *
+     * @param names The names of the actions, one per update
+     */
+    private void record(String... names) throws Exception {
+
+        Journal journal = JournalFactory.createModule(context, scheduler);
+
+        record(journal, replay(journal), names);
+    }
+
+    /**
+     * Start a replayed journal, record an update for each action and wait for the journal to stop
+     *
+     * @param journal The replayed journal
+     * @param state The replayed state
+     * @param names The names of the actions, one per update
+     */
+    private static void record(Journal journal, State state, String... names) throws InterruptedException {
+
+        journal.start(state);
+
+        Updatable current = state;
+
+        for (int index = 0; index < names.length; index++) {
+
+            Event event = EventFactory.createAction(index, names[index]);
+
+            current = current.update(null, event);
+
+            journal.record(Collections.singletonList(event), current);
+        }
+
+        stop(journal);
+    }
+
+    /**
+     * Record an update for an action and wait for the journal to commit it
+     *
+     * @param journal The started journal
+     * @param state The current state
+     * @param index The index of the action, which is also its name
+     *
+     * @return The state produced by the update
+     */
+    private static Updatable recordAndCommit(Journal journal, Updatable state, int index) throws InterruptedException {
+
+        Event event = EventFactory.createAction(index, String.valueOf(index));
+        long committed = journal.getCommittedCount();
+
+        state = state.update(null, event);
+
+        journal.record(Collections.singletonList(event), state);
+
+        long end = System.currentTimeMillis() + TIMEOUT;
+
+        while (journal.getCommittedCount() == committed) {
+
+            if (System.currentTimeMillis() >= end) {
+
+                throw new AssertionError("The journal did not commit the update");
+            }
+
+            Thread.sleep(1);
+        }
+
+        return state;
+    }
+
+    /**
+     * Stop a journal and wait for it to shutdown
+     *
+     * @param journal The journal
+     */
+    private static void stop(Journal journal) throws InterruptedException {
+
+        journal.stop();
+
+        long end = System.currentTimeMillis() + TIMEOUT;
+
+        try {
+
+            while (System.currentTimeMillis() < end) {
+
+                journal.getLane().execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+                    }
+                });
+
+                Thread.sleep(10);
+            }
+        }
+        catch (RejectedExecutionException ignored) {
+
+            return;
+        }
+
+        throw new AssertionError("The journal did not stop");
+    }
+
+    /**
+     * Get the log file of the journal
+     *
+     * @return The log file
+     */
+    private File getLog() {
+
+        File log = new File(folder.getRoot(), "calcium.journal");
+
+        assertTrue(log.length() > 0);
+
+        return log;
+    }
+
+    /**
+     * Get the offset of each complete record in a log
+     *
+     * @param log The log file
+     *
+     * @return The offset of each record, in order
+     */
+    private static List<Long> getOffsets(File log) throws IOException {
+
+        RandomAccessFile stream = new RandomAccessFile(log, "r");
+        List<Long> offsets = new ArrayList<>();
+
+        try {
+
+            ByteBuffer header = ByteBuffer.allocate(JournalCodec.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            long offset = 0;
+
+            while (offset + JournalCodec.HEADER_SIZE <= stream.length()) {
+
+                header.clear();
+                stream.getChannel().read(header, offset);
+                offsets.add(offset);
+                offset += JournalCodec.HEADER_SIZE + header.getInt(0);
+            }
+        }
+        finally {
+
+            stream.close();
+        }
+
+        return offsets;
+    }
+
+    /**
+     * Truncate a file to simulate a write torn by a crash
+     *
+     * @param file The file
+     * @param length The length to keep in bytes
+     */
+    private static void truncate(File file, long length) throws IOException {
+
+        RandomAccessFile stream = new RandomAccessFile(file, "rw");
+
+        try {
+
+            stream.setLength(length);
+        }
+        finally {
+
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.saves;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.tclemens.calcium.engine.saves.base.Savable;
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
+import net.tclemens.calcium.engine.updates.base.Updatable;
+import net.tclemens.calcium.engine.updates.event.Event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that saves are debounced and always save the newest state
+ *
+ * @author Tim Clemens
+ */
+public final class SavesTest {
+
+    /**
+     * This class represents a state which records when it is saved
+     */
+    private static final class State implements Updatable, Savable {
+
+        /** The states saved by the module, in order */
+        private final BlockingQueue<State> saved;
+
+        /** The number of saves which fail before a save succeeds */
+        private final AtomicInteger failures;
+
+        /**
+         * @param saved The states saved by the module, in order
+         */
+        private State(BlockingQueue<State> saved) {
+
+            this(saved, 0);
+        }
+
+        /**
+         * @param saved The states saved by the module, in order
+         * @param failures The number of saves which fail before a save succeeds
+         */
+        private State(BlockingQueue<State> saved, int failures) {
+
+            this.saved = saved;
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public Updatable update(Context context, Event event) {
+
+            return this;
+        }
+
+        @Override
+        public void save(Context context) {
+
+            if (failures.getAndDecrement() > 0) {
+
+                throw new IllegalStateException("Unable to save the state");
+            }
+
+            saved.add(this);
+        }
+    }
+
+    /** The maximum time to wait for a save in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /** The states saved by the module, in order */
+    private final BlockingQueue<State> saved = new LinkedBlockingQueue<>();
+
+    /** The scheduler of the module */
+    private Scheduler scheduler;
+
+    /** The module under test */
+    private Saves saves;
+
+    @Before
+    public void createModule() {
+
+        final File directory = folder.getRoot();
+
+        Context context = new ContextWrapper(null) {
+
+            @Override
+            public File getFilesDir() {
+
+                return directory;
+            }
+        };
+
+        scheduler = SchedulerFactory.createScheduler(2);
+        saves = SavesFactory.createModule(context, scheduler);
+    }
+
+    @After
+    public void stopScheduler() {
+
+        scheduler.stop();
+    }
+
+    @Test
+    public void burstOfStatesIsSavedOnce() throws InterruptedException {
+
+        saves.setDebounce(100, 5000);
+
+        State last = null;
+
+        for (int index = 0; index < 10; index++) {
+
+            last = new State(saved);
+
+            notifyOnLane(last);
+        }
+
+        assertSame(last, saved.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNull(saved.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(10, saves.getRequestedCount());
+        assertEquals(9, saves.getCoalescedCount());
+        assertEquals(1, saves.getSavedCount());
+    }
+
+    @Test
+    public void steadyStatesAreSavedByTheMaximumDelay() throws InterruptedException {
+
+        saves.setDebounce(100, 200);
+
+        long end = System.currentTimeMillis() + 700;
+
+        while (System.currentTimeMillis() < end) {
+
+            notifyOnLane(new State(saved));
+
+            Thread.sleep(20);
+        }
+
+        assertTrue(saved.size() >= 2);
+
+        State last = new State(saved);
+
+        notifyOnLane(last);
+
+        State state;
+
+        do {
+
+            state = saved.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        while (state != null && state != last);
+
+        assertSame(last, state);
+    }
+
+    @Test
+    public void stopSavesTheFinalStateWithoutWaiting() throws InterruptedException {
+
+        saves.setDebounce(10000, 60000);
+
+        notifyOnLane(new State(saved));
+
+        State last = new State(saved);
+
+        long start = System.nanoTime();
+
+        saves.stop(last);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+        assertSame(last, saved.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNull(saved.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void failedSaveIsRetriedAfterTheInterval() throws InterruptedException {
+
+        saves.setDebounce(100, 5000);
+
+        State state = new State(saved, 2);
+
+        long start = System.nanoTime();
+
+        notifyOnLane(state);
+
+        assertSame(state, saved.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+        assertNull(saved.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, saves.getSavedCount());
+        assertEquals(-1, state.failures.get());
+    }
+
+    @Test
+    public void newerStateReplacesAFailedSave() throws InterruptedException {
+
+        saves.setDebounce(100, 5000);
+
+        State failed = new State(saved, Integer.MAX_VALUE);
+
+        notifyOnLane(failed);
+
+        Thread.sleep(150);
+
+        State last = new State(saved);
+
+        notifyOnLane(last);
+
+        assertSame(last, saved.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNull(saved.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, saves.getSavedCount());
+    }
+
+    /**
+     * Notify the module about a state on its lane and wait for the notification to be handled
+     *
+     * @param state The state to notify the module about
+     */
+    private void notifyOnLane(final State state) throws InterruptedException {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        saves.getLane().execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                saves.notify(state);
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+}
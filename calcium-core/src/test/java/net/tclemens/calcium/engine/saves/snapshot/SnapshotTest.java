@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.saves.snapshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that snapshots are restored exactly as they were written
+ *
+ * @author Tim Clemens
+ */
+public final class SnapshotTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void uncompressedSnapshotRoundTrips() throws IOException {
+
+        assertRoundTrip(false);
+    }
+
+    @Test
+    public void compressedSnapshotRoundTrips() throws IOException {
+
+        assertRoundTrip(true);
+    }
+
+    @Test
+    public void writerIsReusableAfterReset() throws IOException {
+
+        File file = folder.newFile();
+        SnapshotWriter writer = SnapshotFactory.createWriter(false);
+
+        writer.writeString("discarded");
+        writer.reset();
+        writer.writeString("kept");
+        writer.commit(file);
+
+        SnapshotReader reader = SnapshotFactory.createReader(file);
+
+        assertEquals("kept", reader.readString());
+        assertEquals(0, reader.remaining());
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedSnapshotIsRejected() throws IOException {
+
+        File file = folder.newFile();
+        SnapshotWriter writer = SnapshotFactory.createWriter(false);
+
+        writer.writeLongs(new long[64]);
+        writer.commit(file);
+
+        RandomAccessFile stream = new RandomAccessFile(file, "rw");
+
+        try {
+
+            stream.setLength(stream.length() - 8);
+        }
+        finally {
+
+            stream.close();
+        }
+
+        SnapshotFactory.createReader(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void otherFileIsRejected() throws IOException {
+
+        File file = folder.newFile();
+        RandomAccessFile stream = new RandomAccessFile(file, "rw");
+
+        try {
+
+            stream.write(new byte[64]);
+        }
+        finally {
+
+            stream.close();
+        }
+
+        SnapshotFactory.createReader(file);
+    }
+
+    /**
+     * Write a snapshot with every type of value, then check that it is read back in the same order
+     *
+     * @param isCompressed Whether the snapshot is compressed
+     */
+    private void assertRoundTrip(boolean isCompressed) throws IOException {
+
+        File file = folder.newFile();
+        SnapshotWriter writer = SnapshotFactory.createWriter(isCompressed);
+
+        writer.writeBoolean(true);
+        writer.writeBoolean(false);
+        writer.writeByte((byte) -7);
+        writer.writeInt(Integer.MIN_VALUE);
+        writer.writeLong(Long.MAX_VALUE);
+        writer.writeFloat(-0.5f);
+        writer.writeDouble(Math.PI);
+        writer.writeString("player");
+        writer.writeString("caf\u00e9 \u2603");
+        writer.writeString("player");
+        writer.writeString("");
+        writer.writeBytes(new byte[] {1, 2, 3});
+        writer.writeInts(new int[] {4, -5, 6});
+        writer.writeFloats(new float[] {7.5f, Float.NaN});
+        writer.writeLongs(new long[0]);
+        writer.commit(file, 42);
+
+        assertEquals(isCompressed, writer.isCompressed());
+
+        SnapshotReader reader = SnapshotFactory.createReader(file);
+
+        assertEquals(42, reader.getSequence());
+        assertTrue(reader.readBoolean());
+        assertFalse(reader.readBoolean());
+        assertEquals(-7, reader.readByte());
+        assertEquals(Integer.MIN_VALUE, reader.readInt());
+        assertEquals(Long.MAX_VALUE, reader.readLong());
+        assertEquals(-0.5f, reader.readFloat(), 0f);
+        assertEquals(Math.PI, reader.readDouble(), 0d);
+        assertEquals("player", reader.readString());
+        assertEquals("caf\u00e9 \u2603", reader.readString());
+        assertEquals("player", reader.readString());
+        assertEquals("", reader.readString());
+        assertArrayEquals(new byte[] {1, 2, 3}, reader.readBytes());
+        assertArrayEquals(new int[] {4, -5, 6}, reader.readInts());
+        assertArrayEquals(new float[] {7.5f, Float.NaN}, reader.readFloats(), 0f);
+        assertArrayEquals(new long[0], reader.readLongs());
+        assertEquals(0, reader.remaining());
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.scheduler;
+
+import android.os.Process;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the tasks of a lane run serially and in order, that a busy lane yields its thread, and that
+ * a shutdown lane discards its queued tasks
+ *
+ * @author Tim Clemens
+ */
+public final class LaneTest {
+
+    /** The maximum time to wait for the tasks of a lane in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    /** The scheduler of the lanes */
+    private Scheduler scheduler;
+
+    @After
+    public void stopScheduler() {
+
+        scheduler.stop();
+    }
+
+    @Test
+    public void tasksOfEachLaneRunSeriallyInOrder() throws InterruptedException {
+
+        scheduler = SchedulerFactory.createScheduler(4);
+
+        int lanes = 8;
+        int count = 2000;
+
+        final CountDownLatch done = new CountDownLatch(lanes * count);
+        final AtomicInteger overlaps = new AtomicInteger();
+        List<List<Integer>> orders = new ArrayList<>();
+        List<AtomicInteger> actives = new ArrayList<>();
+        List<Lane> queues = new ArrayList<>();
+
+        for (int index = 0; index < lanes; index++) {
+
+            orders.add(Collections.synchronizedList(new ArrayList<Integer>()));
+            actives.add(new AtomicInteger());
+            queues.add(SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT));
+        }
+
+        for (int task = 0; task < count; task++) {
+
+            for (int index = 0; index < lanes; index++) {
+
+                final List<Integer> order = orders.get(index);
+                final AtomicInteger active = actives.get(index);
+                final int value = task;
+
+                queues.get(index).execute(new Runnable() {
+
+                    @Override
+                    public void run() {
+
+                        if (active.incrementAndGet() != 1) {
+
+                            overlaps.incrementAndGet();
+                        }
+
+                        order.add(value);
+                        active.decrementAndGet();
+                        done.countDown();
+                    }
+                });
+            }
+        }
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(0, overlaps.get());
+
+        for (List<Integer> order : orders) {
+
+            assertEquals(count, order.size());
+
+            for (int task = 0; task < count; task++) {
+
+                assertEquals(Integer.valueOf(task), order.get(task));
+            }
+        }
+    }
+
+    @Test
+    public void busyLaneYieldsAfterTheLimit() throws InterruptedException {
+
+        scheduler = SchedulerFactory.createScheduler(1);
+
+        Lane gate = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        Lane busy = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        Lane other = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        CountDownLatch release = block(gate);
+
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        int count = Lane.LIMIT * 3;
+        final CountDownLatch done = new CountDownLatch(count + 1);
+
+        for (int index = 0; index < count; index++) {
+
+            busy.execute(record(order, "busy", done));
+        }
+
+        other.execute(record(order, "other", done));
+
+        release.countDown();
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(count + 1, order.size());
+        assertEquals(Lane.LIMIT, order.indexOf("other"));
+    }
+
+    @Test
+    public void shutdownDiscardsQueuedTasks() throws InterruptedException {
+
+        scheduler = SchedulerFactory.createScheduler(1);
+
+        Lane gate = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        Lane lane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        CountDownLatch release = block(gate);
+
+        final AtomicInteger runs = new AtomicInteger();
+
+        for (int index = 0; index < 10; index++) {
+
+            lane.execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    runs.incrementAndGet();
+                }
+            });
+        }
+
+        lane.shutdown();
+        release.countDown();
+
+        awaitScheduler();
+
+        assertEquals(0, runs.get());
+
+        try {
+
+            lane.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                }
+            });
+
+            fail();
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    @Test
+    public void shutdownDiscardsDelayedTasks() throws InterruptedException {
+
+        scheduler = SchedulerFactory.createScheduler(1);
+
+        Lane lane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        final AtomicInteger runs = new AtomicInteger();
+
+        lane.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+
+                runs.incrementAndGet();
+            }
+        }, 50, TimeUnit.MILLISECONDS);
+
+        lane.shutdown();
+
+        Thread.sleep(200);
+
+        awaitScheduler();
+
+        assertEquals(0, runs.get());
+
+        try {
+
+            lane.schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                }
+            }, 0, TimeUnit.MILLISECONDS);
+
+            fail();
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    @Test
+    public void failingTaskDoesNotStopTheLane() throws InterruptedException {
+
+        scheduler = SchedulerFactory.createScheduler(1);
+
+        Lane lane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        lane.execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                throw new IllegalStateException("Unable to run the task");
+            }
+        });
+
+        lane.execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Occupy the only thread of the scheduler until the returned latch is released
+     *
+     * @param gate The lane used to occupy the thread
+     *
+     * @return The latch which releases the thread
+     */
+    private static CountDownLatch block(Lane gate) throws InterruptedException {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        gate.execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                started.countDown();
+
+                try {
+
+                    release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+                }
+                catch (InterruptedException ignored) {
+                }
+            }
+        });
+
+        assertTrue(started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        return release;
+    }
+
+    /**
+     * Create a task which records a name once it runs
+     *
+     * @param order The names of the tasks, in the order they ran
+     * @param name The name of the task
+     * @param done The latch counted down once the task runs
+     *
+     * @return The new task
+     */
+    private static Runnable record(final List<String> order, final String name, final CountDownLatch done) {
+
+        return new Runnable() {
+
+            @Override
+            public void run() {
+
+                order.add(name);
+                done.countDown();
+            }
+        };
+    }
+
+    /**
+     * Wait for every task already submitted to the single thread of the scheduler to run
+     */
+    private void awaitScheduler() throws InterruptedException {
+
+        final CountDownLatch done = new CountDownLatch(1);
+
+        SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT).execute(new Runnable() {
+
+            @Override
+            public void run() {
+
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+}
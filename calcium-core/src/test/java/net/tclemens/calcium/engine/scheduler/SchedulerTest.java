@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.scheduler;
+
+import android.os.Process;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests the threads of a scheduler and the lanes created for it
+ *
+ * @author Tim Clemens
+ */
+public final class SchedulerTest {
+
+    /** The maximum time to wait for a task in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    @Test
+    public void schedulerThreadsAreResponsiveDaemonThreads() throws InterruptedException {
+
+        Scheduler scheduler = SchedulerFactory.createScheduler(2);
+        final AtomicBoolean isResponsive = new AtomicBoolean();
+        final AtomicBoolean isDaemon = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        try {
+
+            SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT).execute(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    isResponsive.set(Scheduler.isResponsive());
+                    isDaemon.set(Thread.currentThread().isDaemon());
+                    done.countDown();
+                }
+            });
+
+            assertTrue(done.await(TIMEOUT, TimeUnit.MILLISECONDS));
+            assertTrue(isResponsive.get());
+            assertTrue(isDaemon.get());
+            assertEquals(2, scheduler.getThreads());
+        }
+        finally {
+
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    public void delayedTaskRunsAfterTheDelay() throws InterruptedException {
+
+        Scheduler scheduler = SchedulerFactory.createScheduler(1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        try {
+
+            long start = System.nanoTime();
+
+            SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT).schedule(new Runnable() {
+
+                @Override
+                public void run() {
+
+                    done.countDown();
+                }
+            }, 100, TimeUnit.MILLISECONDS);
+
+            assertTrue(done.await(TIMEOUT, TimeUnit.MILLISECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        }
+        finally {
+
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    public void stoppedSchedulerRejectsTasks() {
+
+        Scheduler scheduler = SchedulerFactory.createScheduler(1);
+        Lane lane = SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT);
+        Runnable task = new Runnable() {
+
+            @Override
+            public void run() {
+            }
+        };
+
+        scheduler.stop();
+
+        try {
+
+            lane.execute(task);
+
+            fail();
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+
+        try {
+
+            lane.execute(task);
+
+            fail();
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+
+        try {
+
+            lane.schedule(task, 10, TimeUnit.MILLISECONDS);
+
+            fail();
+        }
+        catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    @Test
+    public void invalidArgumentsAreRejected() {
+
+        assertFalse(Scheduler.isResponsive());
+
+        try {
+
+            SchedulerFactory.createScheduler(0);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            SchedulerFactory.createLane(null, Process.THREAD_PRIORITY_DEFAULT);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        Scheduler scheduler = SchedulerFactory.createScheduler(1);
+
+        try {
+
+            SchedulerFactory.createLane(scheduler, 20);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT).execute(null);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+        finally {
+
+            scheduler.stop();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.schedules.action;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.engine.schedules.policy.Missed;
+import net.tclemens.calcium.engine.updates.event.ActionEvent;
+import net.tclemens.calcium.engine.updates.event.Event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that the queue of pending actions keeps its actions ordered by deadline
+ *
+ * @author Tim Clemens
+ */
+public final class ActionQueueTest {
+
+    /** The number of actions in the randomized tests */
+    private static final int COUNT = 2000;
+
+    @Test
+    public void emptyQueueHasNoDeadline() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(Long.MAX_VALUE, queue.getDeadline());
+        assertEquals(0, queue.poll(Long.MAX_VALUE - 1, events));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void actionsArePolledInDeadlineOrder() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        Random random = new Random(1);
+        long[] deadlines = new long[COUNT];
+
+        for (int index = 0; index < COUNT; index++) {
+
+            deadlines[index] = random.nextInt(100000);
+
+            queue.schedule(ActionFactory.createDelayed("action" + index, deadlines[index]), 0);
+        }
+
+        assertEquals(COUNT, queue.size());
+
+        long[] sorted = deadlines.clone();
+
+        Arrays.sort(sorted);
+
+        long previous = -1;
+        int polled = 0;
+
+        while (!queue.isEmpty()) {
+
+            long deadline = queue.getDeadline();
+            List<Event> events = new ArrayList<>();
+
+            assertEquals(sorted[polled], deadline);
+            assertTrue(deadline >= previous);
+            assertEquals(0, queue.poll(deadline - 1, events));
+
+            polled += queue.poll(deadline, events);
+
+            for (Event event : events) {
+
+                int index = Integer.parseInt(((ActionEvent) event).getName().substring(6));
+
+                assertEquals(deadline, deadlines[index]);
+            }
+
+            previous = deadline;
+        }
+
+        assertEquals(COUNT, polled);
+    }
+
+    @Test
+    public void actionsDueTogetherArePolledInScheduledOrder() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        for (int index = 0; index < 100; index++) {
+
+            queue.schedule(ActionFactory.createDelayed("action" + index, 50), 0);
+        }
+
+        assertEquals(100, queue.poll(50, events));
+
+        for (int index = 0; index < 100; index++) {
+
+            assertEquals("action" + index, ((ActionEvent) events.get(index)).getName());
+            assertEquals(50, events.get(index).getTime());
+        }
+    }
+
+    @Test
+    public void schedulingAnActionWithAPendingNameReplacesIt() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createDelayed("first", 10), 0);
+        queue.schedule(ActionFactory.createDelayed("second", 20), 0);
+        queue.schedule(ActionFactory.createDelayed("first", 30), 0);
+
+        assertEquals(2, queue.size());
+        assertEquals(20, queue.getDeadline());
+        assertEquals(1, queue.poll(29, events));
+        assertEquals("second", ((ActionEvent) events.get(0)).getName());
+        assertEquals(30, queue.getDeadline());
+    }
+
+    @Test
+    public void cancelRemovesOnlyTheNamedAction() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        Random random = new Random(2);
+        List<Integer> cancelled = new ArrayList<>();
+
+        for (int index = 0; index < COUNT; index++) {
+
+            queue.schedule(ActionFactory.createDelayed("action" + index, random.nextInt(100000)), 0);
+        }
+
+        for (int index = 0; index < COUNT; index += 3) {
+
+            cancelled.add(index);
+        }
+
+        Collections.shuffle(cancelled, random);
+
+        for (int index : cancelled) {
+
+            queue.schedule(ActionFactory.createCancel("action" + index), 0);
+        }
+
+        queue.schedule(ActionFactory.createCancel("missing"), 0);
+
+        assertEquals(COUNT - cancelled.size(), queue.size());
+
+        List<Event> events = new ArrayList<>();
+        long previous = -1;
+
+        while (!queue.isEmpty()) {
+
+            long deadline = queue.getDeadline();
+
+            assertTrue(deadline >= previous);
+
+            queue.poll(deadline, events);
+
+            previous = deadline;
+        }
+
+        assertEquals(COUNT - cancelled.size(), events.size());
+
+        for (Event event : events) {
+
+            int index = Integer.parseInt(((ActionEvent) event).getName().substring(6));
+
+            assertTrue(index % 3 != 0);
+        }
+    }
+
+    @Test
+    public void immediateActionsAreDueAtTheScheduledTime() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createDelayed("later", 200), 100);
+        queue.schedule(ActionFactory.createImmediate("now"), 100);
+
+        assertEquals(100, queue.getDeadline());
+        assertEquals(1, queue.poll(100, events));
+        assertEquals("now", ((ActionEvent) events.get(0)).getName());
+    }
+
+    @Test
+    public void repeatingActionsStayOnTheirFixedRate() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createRepeating("tick", 100, 16), 0);
+
+        for (int tick = 0; tick < 50; tick++) {
+
+            long deadline = queue.getDeadline();
+
+            assertEquals(100 + tick * 16, deadline);
+            assertEquals(1, queue.poll(deadline + 5, events));
+        }
+
+        assertEquals(50, events.size());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void repeatingActionStartedInThePastWaitsForTheNextOccurrence() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+
+        queue.schedule(ActionFactory.createFixedRate("tick", 100, 16, Missed.CATCH_UP), 150);
+
+        assertEquals(164, queue.getDeadline());
+    }
+
+    @Test
+    public void missedOccurrencesAreCoalesced() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createFixedRate("tick", 0, 10, Missed.COALESCE), 0);
+
+        assertEquals(1, queue.poll(45, events));
+        assertEquals(1, events.size());
+        assertEquals(5, ((ActionEvent) events.get(0)).getCount());
+        assertEquals(40, events.get(0).getTime());
+        assertEquals(50, queue.getDeadline());
+    }
+
+    @Test
+    public void missedOccurrencesAreSkipped() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createFixedRate("tick", 0, 10, Missed.SKIP), 0);
+
+        assertEquals(1, queue.poll(45, events));
+        assertEquals(1, events.size());
+        assertEquals(1, ((ActionEvent) events.get(0)).getCount());
+        assertEquals(40, events.get(0).getTime());
+        assertEquals(50, queue.getDeadline());
+    }
+
+    @Test
+    public void missedOccurrencesAreCaughtUp() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createFixedRate("tick", 0, 10, Missed.CATCH_UP), 0);
+
+        assertEquals(1, queue.poll(45, events));
+        assertEquals(5, events.size());
+
+        for (int tick = 0; tick < 5; tick++) {
+
+            assertEquals(tick * 10, events.get(tick).getTime());
+            assertEquals(1, ((ActionEvent) events.get(tick)).getCount());
+        }
+
+        assertEquals(50, queue.getDeadline());
+    }
+
+    @Test
+    public void catchUpBeyondTheLimitIsCoalesced() {
+
+        ActionQueue queue = ActionFactory.createQueue();
+        List<Event> events = new ArrayList<>();
+
+        queue.schedule(ActionFactory.createFixedRate("tick", 0, 16, Missed.CATCH_UP), 0);
+
+        assertEquals(1, queue.poll(16 * (ActionQueue.CATCH_UP_LIMIT - 1), events));
+        assertEquals(ActionQueue.CATCH_UP_LIMIT, events.size());
+
+        events.clear();
+
+        long hour = 60 * 60 * 1000;
+        long due = (hour - queue.getDeadline()) / 16 + 1;
+
+        assertEquals(1, queue.poll(hour, events));
+        assertEquals(1, events.size());
+        assertEquals(due, ((ActionEvent) events.get(0)).getCount());
+        assertEquals(hour, events.get(0).getTime());
+        assertEquals(hour + 16, queue.getDeadline());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.updates;
+
+import android.content.Context;
+import android.os.Process;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
+import net.tclemens.calcium.engine.updates.base.Notifiable;
+import net.tclemens.calcium.engine.updates.base.Updatable;
+import net.tclemens.calcium.engine.updates.event.Event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests that channels notify a busy module about only the newest state
+ *
+ * @author Tim Clemens
+ */
+public final class ChannelTest {
+
+    /**
+     * This class represents a state identified only by its instance
+     */
+    private static final class State implements Updatable {
+
+        private State() {
+        }
+
+        @Override
+        public Updatable update(Context context, Event event) {
+
+            return this;
+        }
+    }
+
+    /**
+     * This class represents a module which records each state and holds its lane on the first state until released
+     */
+    private static final class SlowModule implements Notifiable {
+
+        /** The states the module was notified about, in order */
+        private final BlockingQueue<Updatable> states = new LinkedBlockingQueue<>();
+
+        /** The latch which releases the lane of the module */
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private SlowModule() {
+        }
+
+        @Override
+        public void notify(Updatable state) {
+
+            states.add(state);
+
+            try {
+
+                gate.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException ignored) {
+
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** The maximum time to wait for a notification in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    /** The scheduler of the channel */
+    private Scheduler scheduler;
+
+    @Before
+    public void createScheduler() {
+
+        scheduler = SchedulerFactory.createScheduler(2);
+    }
+
+    @After
+    public void stopScheduler() {
+
+        scheduler.stop();
+    }
+
+    @Test
+    public void busyModuleIsNotifiedAboutNewestStateOnly() throws InterruptedException {
+
+        SlowModule module = new SlowModule();
+        Channel channel = new Channel(module, SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT), true);
+
+        State first = new State();
+
+        channel.publish(first);
+
+        assertSame(first, module.states.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+
+        State latest = null;
+
+        for (int index = 0; index < 100; index++) {
+
+            latest = new State();
+
+            channel.publish(latest);
+        }
+
+        module.gate.countDown();
+
+        assertSame(latest, module.states.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertNull(module.states.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(99, channel.getSkipped());
+
+        channel.stop();
+    }
+
+    @Test
+    public void idleModuleIsNotifiedAboutEveryState() throws InterruptedException {
+
+        SlowModule module = new SlowModule();
+        Channel channel = new Channel(module, SchedulerFactory.createLane(scheduler, Process.THREAD_PRIORITY_DEFAULT), true);
+
+        module.gate.countDown();
+
+        for (int index = 0; index < 10; index++) {
+
+            State state = new State();
+
+            channel.publish(state);
+
+            assertSame(state, module.states.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+        }
+
+        assertEquals(0, channel.getSkipped());
+
+        channel.stop();
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.updates;
+
+import android.content.Context;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.tclemens.calcium.engine.scheduler.Scheduler;
+import net.tclemens.calcium.engine.scheduler.SchedulerFactory;
+import net.tclemens.calcium.engine.updates.base.Batchable;
+import net.tclemens.calcium.engine.updates.base.Updatable;
+import net.tclemens.calcium.engine.updates.event.ActionEvent;
+import net.tclemens.calcium.engine.updates.event.AnimationEvent;
+import net.tclemens.calcium.engine.updates.event.Event;
+import net.tclemens.calcium.engine.updates.event.EventFactory;
+import net.tclemens.calcium.engine.updates.event.KeyEvent;
+import net.tclemens.calcium.engine.updates.event.TouchEvent;
+import net.tclemens.calcium.engine.updates.event.ViewEvent;
+import net.tclemens.calcium.engine.updates.input.Key;
+import net.tclemens.calcium.engine.updates.input.Touch;
+import net.tclemens.calcium.engine.updates.policy.Policy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests how the updates module queues, coalesces and delivers events
+ *
+ * @author Tim Clemens
+ */
+public final class UpdatesTest {
+
+    /**
+     * This class represents a state which records each batch of events and holds the update lane until released
+     */
+    private static final class RecordingState implements Batchable {
+
+        /** The events of each update, in delivery order */
+        private final BlockingQueue<List<Event>> batches = new LinkedBlockingQueue<>();
+
+        /** The latch which releases the update lane */
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private RecordingState() {
+        }
+
+        @Override
+        public Updatable update(Context context, List<Event> events) {
+
+            batches.add(new ArrayList<>(events));
+
+            try {
+
+                gate.await(TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException ignored) {
+
+                Thread.currentThread().interrupt();
+            }
+
+            return this;
+        }
+
+        @Override
+        public Updatable update(Context context, Event event) {
+
+            return update(context, Collections.singletonList(event));
+        }
+
+        /**
+         * Wait for the next batch of events
+         *
+         * @return The events of the next update
+         */
+        private List<Event> next() throws InterruptedException {
+
+            List<Event> batch = batches.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+
+            assertNotNull(batch);
+
+            return batch;
+        }
+    }
+
+    /** The maximum time to wait for an update in milliseconds */
+    private static final long TIMEOUT = 5000;
+
+    /** The capacity of the event queue */
+    private static final int CAPACITY = 256;
+
+    /** The scheduler of the module */
+    private Scheduler scheduler;
+
+    /** The state of the module */
+    private RecordingState state;
+
+    /** The module under test */
+    private Updates updates;
+
+    @Before
+    public void createModule() {
+
+        scheduler = SchedulerFactory.createScheduler(2);
+        state = new RecordingState();
+        updates = UpdatesFactory.buildModule(null, state, scheduler);
+    }
+
+    @After
+    public void stopModule() {
+
+        state.gate.countDown();
+
+        updates.stop();
+        scheduler.stop();
+    }
+
+    @Test
+    public void queuedMovesAreCoalescedIntoOneBatch() throws InterruptedException {
+
+        hold();
+
+        publishGesture();
+
+        state.gate.countDown();
+
+        List<Event> batch = state.next();
+
+        assertEquals(3, batch.size());
+        assertEquals(Touch.DOWN, ((TouchEvent) batch.get(0)).getInput());
+        assertEquals(Touch.MOVE, ((TouchEvent) batch.get(1)).getInput());
+        assertEquals(Touch.UP, ((TouchEvent) batch.get(2)).getInput());
+
+        TouchEvent move = (TouchEvent) batch.get(1);
+
+        assertEquals(10, move.getTime());
+        assertEquals(10f, move.getX(), 0f);
+        assertEquals(20f, move.getY(), 0f);
+        assertEquals(0, move.getHistorySize());
+        assertEquals(9, updates.getCoalescedCount());
+    }
+
+    @Test
+    public void historicalCoalescingKeepsEarlierPositions() throws InterruptedException {
+
+        updates.setHistorical(true);
+
+        hold();
+
+        publishGesture();
+
+        state.gate.countDown();
+
+        TouchEvent move = (TouchEvent) state.next().get(1);
+
+        assertEquals(9, move.getHistorySize());
+
+        for (int index = 0; index < move.getHistorySize(); index++) {
+
+            assertEquals(index + 1, move.getHistoricalTime(index));
+            assertEquals(index + 1, move.getHistoricalX(index), 0f);
+            assertEquals(2 * (index + 1), move.getHistoricalY(index), 0f);
+        }
+    }
+
+    @Test
+    public void onlyConsecutiveMovesAreCoalesced() {
+
+        Event down = EventFactory.createTouch(0, 0f, 0f, Touch.DOWN);
+        Event move = EventFactory.createTouch(1, 1f, 1f, Touch.MOVE);
+        Event up = EventFactory.createTouch(2, 1f, 1f, Touch.UP);
+
+        assertNull(EventFactory.createCoalesced(down, move, true));
+        assertNull(EventFactory.createCoalesced(move, up, true));
+        assertSame(TouchEvent.class, EventFactory.createCoalesced(move, move, true).getClass());
+    }
+
+    @Test
+    public void batchIsDeliveredInPublishedOrder() throws InterruptedException {
+
+        hold();
+
+        Event view = EventFactory.createView(1500000000000L, 640, 480);
+        Event touch = EventFactory.createTouch(1000, 0f, 0f, Touch.DOWN);
+        Event action = EventFactory.createAction(1500000000001L, "action");
+
+        updates.handle(view);
+        updates.handle(touch);
+        updates.handle(action);
+
+        state.gate.countDown();
+
+        List<Event> batch = state.next();
+
+        assertEquals(3, batch.size());
+        assertSame(view, batch.get(0));
+        assertSame(touch, batch.get(1));
+        assertSame(action, batch.get(2));
+    }
+
+    @Test
+    public void fullQueueRejectsEventsByDefault() throws InterruptedException {
+
+        hold();
+
+        assertEquals(CAPACITY, publishKeys(CAPACITY + 1));
+        assertEquals(1, updates.getRejectedCount());
+        assertEquals(0, updates.getDroppedCount());
+
+        state.gate.countDown();
+
+        List<Event> batch = state.next();
+
+        assertEquals(CAPACITY, batch.size());
+        assertEquals(0, batch.get(0).getTime());
+    }
+
+    @Test
+    public void fullQueueDropsOldestEventsWhenRequested() throws InterruptedException {
+
+        updates.setPolicy(KeyEvent.class, Policy.DROP_OLDEST);
+
+        hold();
+
+        assertEquals(CAPACITY + 2, publishKeys(CAPACITY + 2));
+        assertEquals(2, updates.getDroppedCount());
+
+        state.gate.countDown();
+
+        List<Event> batch = state.next();
+
+        assertEquals(CAPACITY, batch.size());
+        assertEquals(2, batch.get(0).getTime());
+    }
+
+    @Test
+    public void blockingPolicyWaitsForSpaceOnApplicationThreads() throws InterruptedException {
+
+        updates.setPolicy(Policy.BLOCK);
+
+        hold();
+
+        publishKeys(CAPACITY);
+
+        final AtomicBoolean isQueued = new AtomicBoolean();
+
+        Thread publisher = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+
+                isQueued.set(updates.handle(EventFactory.createKey(CAPACITY, 0, Key.DOWN)));
+            }
+        });
+
+        publisher.start();
+        publisher.join(100);
+
+        assertTrue(publisher.isAlive());
+
+        state.gate.countDown();
+        publisher.join(TIMEOUT);
+
+        assertTrue(isQueued.get());
+        assertEquals(0, updates.getRejectedCount());
+    }
+
+    @Test
+    public void blockingPolicyRejectsOnResponsiveThreads() throws InterruptedException {
+
+        updates.setPolicy(Policy.BLOCK);
+
+        hold();
+
+        publishKeys(CAPACITY);
+
+        final AtomicBoolean isQueued = new AtomicBoolean(true);
+
+        Thread publisher = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+
+                Scheduler.markResponsive();
+
+                isQueued.set(updates.handle(EventFactory.createKey(CAPACITY, 0, Key.DOWN)));
+            }
+        });
+
+        publisher.start();
+        publisher.join(TIMEOUT);
+
+        assertFalse(publisher.isAlive());
+        assertFalse(isQueued.get());
+        assertEquals(1, updates.getRejectedCount());
+    }
+
+    @Test
+    public void engineEventsAreNeverRejected() throws InterruptedException {
+
+        hold();
+
+        assertEquals(CAPACITY, publishKeys(CAPACITY));
+
+        List<Event> actions = new ArrayList<>();
+
+        for (int index = 0; index < 3 * CAPACITY; index++) {
+
+            actions.add(EventFactory.createAction(index, "action"));
+        }
+
+        assertEquals(3 * CAPACITY, updates.handle(actions));
+        assertTrue(updates.handle(EventFactory.createAnimation(1)));
+        assertTrue(updates.handle(EventFactory.createView(2, 640, 480)));
+        assertFalse(updates.handle(EventFactory.createKey(CAPACITY, 0, Key.UP)));
+
+        assertEquals(4 * CAPACITY + 2, updates.getDepth());
+        assertEquals(1, updates.getRejectedCount());
+
+        state.gate.countDown();
+
+        List<Event> batch = state.next();
+
+        assertEquals(4 * CAPACITY + 2, batch.size());
+
+        for (int index = 0; index < CAPACITY; index++) {
+
+            assertSame(KeyEvent.class, batch.get(index).getClass());
+            assertSame(actions.get(index), batch.get(CAPACITY + index));
+        }
+
+        assertSame(AnimationEvent.class, batch.get(4 * CAPACITY).getClass());
+        assertSame(ViewEvent.class, batch.get(4 * CAPACITY + 1).getClass());
+    }
+
+    @Test
+    public void engineEventsKeepTheirOrderAmongCoalescedInput() throws InterruptedException {
+
+        hold();
+
+        Event first = EventFactory.createTouch(1, 1f, 1f, Touch.MOVE);
+        Event action = EventFactory.createAction(2, "action");
+
+        updates.handle(first);
+        updates.handle(action);
+        updates.handle(EventFactory.createTouch(3, 3f, 3f, Touch.MOVE));
+
+        state.gate.countDown();
+
+        List<Event> batch = state.next();
+
+        assertEquals(3, batch.size());
+        assertSame(first, batch.get(0));
+        assertSame(action, batch.get(1));
+        assertEquals(3, batch.get(2).getTime());
+        assertEquals(0, updates.getCoalescedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void engineEventsCannotHaveAPolicy() {
+
+        updates.setPolicy(ActionEvent.class, Policy.DROP_OLDEST);
+    }
+
+    /**
+     * Publish an event and wait for the update lane to be held by its update
+     */
+    private void hold() throws InterruptedException {
+
+        updates.handle(EventFactory.createAction(0, "hold"));
+
+        assertEquals(1, state.next().size());
+    }
+
+    /**
+     * Publish key events timed from zero
+     *
+     * @param count The number of events to publish
+     *
+     * @return The number of events queued
+     */
+    private int publishKeys(int count) {
+
+        int queued = 0;
+
+        for (int index = 0; index < count; index++) {
+
+            if (updates.handle(EventFactory.createKey(index, 0, Key.DOWN))) {
+
+                queued++;
+            }
+        }
+
+        return queued;
+    }
+
+    /**
+     * Publish a touch which starts, moves ten times and ends
+     */
+    private void publishGesture() {
+
+        updates.handle(EventFactory.createTouch(0, 0f, 0f, Touch.DOWN));
+
+        for (int index = 1; index <= 10; index++) {
+
+            updates.handle(EventFactory.createTouch(index, index, 2 * index, Touch.MOVE));
+        }
+
+        updates.handle(EventFactory.createTouch(11, 10f, 20f, Touch.UP));
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.updates.event;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.tclemens.calcium.engine.updates.input.Touch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests that pointer events are reused from their pool and coalesce every sample as history
+ *
+ * @author Tim Clemens
+ */
+public final class PointerEventTest {
+
+    /** The maximum number of recycled events kept for reuse */
+    private static final int POOL_SIZE = 16;
+
+    @Test
+    public void recycledEventIsReused() {
+
+        Event first = createMove(10, new int[] {3}, 1f);
+
+        EventFactory.recycle(first);
+
+        assertNull(((PointerEvent) first).getInput());
+
+        PointerEvent second = (PointerEvent) createMove(20, new int[] {4, 5, 6}, 2f);
+
+        assertSame(first, second);
+        assertEquals(20, second.getTime());
+        assertEquals(Touch.MOVE, second.getInput());
+        assertEquals(3, second.getPointerCount());
+        assertEquals(0, second.getHistorySize());
+
+        for (int index = 0; index < 3; index++) {
+
+            assertEquals(4 + index, second.getPointerId(index));
+            assertEquals(2f * (index + 1), second.getX(index), 0f);
+            assertEquals(-2f * (index + 1), second.getY(index), 0f);
+        }
+
+        EventFactory.recycle(second);
+
+        PointerEvent third = (PointerEvent) createMove(30, new int[] {7}, 3f);
+
+        assertSame(first, third);
+        assertEquals(1, third.getPointerCount());
+        assertEquals(7, third.getPointerId(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void reusedEventHidesEarlierPointers() {
+
+        EventFactory.recycle(createMove(10, new int[] {1, 2, 3}, 1f));
+
+        ((PointerEvent) createMove(20, new int[] {1}, 1f)).getX(1);
+    }
+
+    @Test
+    public void poolKeepsALimitedNumberOfEvents() {
+
+        for (int index = 0; index < POOL_SIZE; index++) {
+
+            PointerEvent.obtain();
+        }
+
+        Map<Event, Boolean> recycled = new IdentityHashMap<>();
+
+        for (int index = 0; index < POOL_SIZE + 4; index++) {
+
+            recycled.put(createMove(index, new int[] {0}, 1f), true);
+        }
+
+        for (Event event : recycled.keySet()) {
+
+            EventFactory.recycle(event);
+        }
+
+        int reused = 0;
+
+        for (int index = 0; index < POOL_SIZE + 4; index++) {
+
+            if (recycled.containsKey(PointerEvent.obtain())) {
+
+                reused++;
+            }
+        }
+
+        assertEquals(POOL_SIZE, reused);
+    }
+
+    @Test
+    public void otherEventsAreNotPooled() {
+
+        Event touch = EventFactory.createTouch(0, 0f, 0f, Touch.DOWN);
+
+        EventFactory.recycle(touch);
+
+        assertNotSame(touch, createMove(0, new int[] {0}, 0f));
+    }
+
+    @Test
+    public void coalescedMovesKeepEverySampleAsHistory() {
+
+        int[] ids = {2, 9};
+
+        Event first = EventFactory.createPointer(100, Touch.MOVE, 0, ids,
+                new float[] {1f, 2f}, new float[] {3f, 4f},
+                new long[] {90, 95},
+                new float[] {10f, 20f, 11f, 21f}, new float[] {30f, 40f, 31f, 41f});
+
+        Event second = EventFactory.createPointer(110, Touch.MOVE, 0, ids,
+                new float[] {5f, 6f}, new float[] {7f, 8f},
+                new long[] {105},
+                new float[] {12f, 22f}, new float[] {32f, 42f});
+
+        PointerEvent merged = (PointerEvent) EventFactory.createCoalesced(first, second, false);
+
+        assertSame(first, merged);
+        assertEquals(110, merged.getTime());
+        assertEquals(5f, merged.getX(0), 0f);
+        assertEquals(6f, merged.getX(1), 0f);
+        assertEquals(7f, merged.getY(0), 0f);
+        assertEquals(8f, merged.getY(1), 0f);
+
+        long[] times = {90, 95, 100, 105};
+        float[] xs = {10f, 20f, 11f, 21f, 1f, 2f, 12f, 22f};
+        float[] ys = {30f, 40f, 31f, 41f, 3f, 4f, 32f, 42f};
+
+        assertEquals(times.length, merged.getHistorySize());
+
+        for (int sample = 0; sample < times.length; sample++) {
+
+            assertEquals(times[sample], merged.getHistoricalTime(sample));
+
+            for (int index = 0; index < 2; index++) {
+
+                assertEquals(xs[sample * 2 + index], merged.getHistoricalX(sample, index), 0f);
+                assertEquals(ys[sample * 2 + index], merged.getHistoricalY(sample, index), 0f);
+            }
+        }
+
+        assertNull(((PointerEvent) second).getInput());
+        assertSame(second, PointerEvent.obtain());
+    }
+
+    @Test
+    public void repeatedCoalescingGrowsTheHistory() {
+
+        Event merged = createMove(0, new int[] {1, 2, 3}, 0f);
+
+        for (int index = 1; index <= 100; index++) {
+
+            assertSame(merged, EventFactory.createCoalesced(merged, createMove(index, new int[] {1, 2, 3}, index), true));
+        }
+
+        PointerEvent pointer = (PointerEvent) merged;
+
+        assertEquals(100, pointer.getTime());
+        assertEquals(100, pointer.getHistorySize());
+
+        for (int sample = 0; sample < 100; sample++) {
+
+            assertEquals(sample, pointer.getHistoricalTime(sample));
+            assertEquals(3f * sample, pointer.getHistoricalX(sample, 2), 0f);
+        }
+    }
+
+    @Test
+    public void onlyMovesOfTheSamePointersAreCoalesced() {
+
+        List<Event> events = new ArrayList<>();
+
+        Event move = createMove(0, new int[] {1, 2}, 1f);
+
+        events.add(createMove(1, new int[] {1}, 1f));
+        events.add(createMove(1, new int[] {1, 3}, 1f));
+        events.add(EventFactory.createPointer(1, Touch.UP, 1, new int[] {1, 2}, new float[2], new float[2],
+                new long[0], new float[0], new float[0]));
+        events.add(EventFactory.createTouch(1, 0f, 0f, Touch.MOVE));
+
+        for (Event event : events) {
+
+            assertNull(EventFactory.createCoalesced(move, event, true));
+        }
+
+        assertEquals(0, ((PointerEvent) move).getHistorySize());
+        assertEquals(0, move.getTime());
+    }
+
+    /**
+     * Create a pointer movement without historical samples
+     *
+     * @param time The time of the movement in milliseconds
+     * @param ids The identifier of each pointer
+     * @param scale The factor applied to the position of each pointer
+     *
+     * @return The new event
+     */
+    private static Event createMove(long time, int[] ids, float scale) {
+
+        float[] xs = new float[ids.length];
+        float[] ys = new float[ids.length];
+
+        for (int index = 0; index < ids.length; index++) {
+
+            xs[index] = scale * (index + 1);
+            ys[index] = -scale * (index + 1);
+        }
+
+        return EventFactory.createPointer(time, Touch.MOVE, 0, ids, xs, ys, new long[0], new float[0], new float[0]);
+    }
+}
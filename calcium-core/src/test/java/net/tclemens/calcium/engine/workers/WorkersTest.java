@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.engine.workers;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests the parallel jobs performed by the workers
+ *
+ * @author Tim Clemens
+ */
+public final class WorkersTest {
+
+    @Test
+    public void executeRunsEachPartOnce() {
+
+        final AtomicIntegerArray runs = new AtomicIntegerArray(1000);
+
+        Workers.execute(runs.length(), new Job() {
+
+            @Override
+            public void run(int index) {
+
+                runs.incrementAndGet(index);
+            }
+        });
+
+        for (int index = 0; index < runs.length(); index++) {
+
+            assertEquals(1, runs.get(index));
+        }
+    }
+
+    @Test
+    public void executeCompletesNestedJobs() {
+
+        final AtomicInteger total = new AtomicInteger();
+
+        Workers.execute(16, new Job() {
+
+            @Override
+            public void run(int outer) {
+
+                Workers.execute(16, new Job() {
+
+                    @Override
+                    public void run(int inner) {
+
+                        total.incrementAndGet();
+                    }
+                });
+            }
+        });
+
+        assertEquals(256, total.get());
+    }
+
+    @Test
+    public void executeRethrowsFailure() {
+
+        try {
+
+            Workers.execute(64, new Job() {
+
+                @Override
+                public void run(int index) {
+
+                    if (index == 7) {
+
+                        throw new IllegalStateException("part " + index);
+                    }
+                }
+            });
+
+            fail();
+        }
+        catch (IllegalStateException e) {
+
+            assertEquals("part 7", e.getMessage());
+        }
+    }
+
+    @Test
+    public void executeOnlyUsesDaemonThreads() {
+
+        final AtomicInteger nonDaemon = new AtomicInteger();
+
+        Workers.execute(256, new Job() {
+
+            @Override
+            public void run(int index) {
+
+                Thread thread = Thread.currentThread();
+
+                if (thread.getName().startsWith("Workers-") && !thread.isDaemon()) {
+
+                    nonDaemon.incrementAndGet();
+                }
+
+                Thread.yield();
+            }
+        });
+
+        assertEquals(0, nonDaemon.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void executeRejectsNegativeCount() {
+
+        Workers.execute(-1, new Job() {
+
+            @Override
+            public void run(int index) {
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setThresholdRejectsZero() {
+
+        Workers.setThreshold(0);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math;
+
+import java.util.Locale;
+
+/**
+ * This class compares the time taken by the fast approximations and the matching {@link Math} functions
+ *
+ * <p>This is a plain timing loop rather than a unit test. Run its main method on a desktop JVM or a device; the
+ * results are only comparable between runs on the same machine.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class FastMathBenchmark {
+
+    /** The number of operations in each round */
+    private static final int OPERATIONS = 1000000;
+
+    /** The number of rounds run before timing */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** The number of timed rounds */
+    private static final int ROUNDS = 10;
+
+    /** The sine function of the fast approximations */
+    private static final int FAST_SIN = 0;
+
+    /** The sine function of {@link Math} */
+    private static final int MATH_SIN = 1;
+
+    /** The inverse square root of the fast approximations */
+    private static final int FAST_INV_SQRT = 2;
+
+    /** The inverse square root using {@link Math} */
+    private static final int MATH_INV_SQRT = 3;
+
+    /** The name of each function */
+    private static final String[] NAMES = {"FastMath.sin", "Math.sin", "FastMath.invSqrt", "1 / Math.sqrt"};
+
+    /** The sum of the results, which keeps the timed work from being eliminated */
+    private static float sink;
+
+    private FastMathBenchmark() {
+    }
+
+    /**
+     * Run the benchmark
+     *
+     * @param args The command line arguments, which are ignored
+     */
+    public static void main(String[] args) {
+
+        float[] inputs = new float[OPERATIONS];
+
+        for (int index = 0; index < OPERATIONS; index++) {
+
+            inputs[index] = 0.001f + index * (100f / OPERATIONS);
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+
+            for (int function = 0; function < NAMES.length; function++) {
+
+                run(function, inputs);
+            }
+        }
+
+        for (int function = 0; function < NAMES.length; function++) {
+
+            long best = Long.MAX_VALUE;
+
+            for (int round = 0; round < ROUNDS; round++) {
+
+                best = Math.min(best, run(function, inputs));
+            }
+
+            System.out.println(String.format(Locale.US, "%-16s %.2f ns/op", NAMES[function],
+                    (double) best / OPERATIONS));
+        }
+
+        System.out.println("sink " + sink);
+    }
+
+    /**
+     * Apply a function to every input once
+     *
+     * @param function The function
+     * @param inputs The inputs
+     *
+     * @return The time taken in nanoseconds
+     */
+    private static long run(int function, float[] inputs) {
+
+        long start = System.nanoTime();
+        float sum = 0f;
+
+        switch (function) {
+
+            case FAST_SIN:
+
+                for (float input : inputs) {
+
+                    sum += FastMath.sin(input);
+                }
+
+                break;
+
+            case MATH_SIN:
+
+                for (float input : inputs) {
+
+                    sum += (float) Math.sin(input);
+                }
+
+                break;
+
+            case FAST_INV_SQRT:
+
+                for (float input : inputs) {
+
+                    sum += FastMath.invSqrt(input);
+                }
+
+                break;
+
+            default:
+
+                for (float input : inputs) {
+
+                    sum += 1f / (float) Math.sqrt(input);
+                }
+
+                break;
+        }
+
+        long time = System.nanoTime() - start;
+
+        sink += sum;
+
+        return time;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+import net.tclemens.calcium.math.quaternion.Quaternion;
+import net.tclemens.calcium.math.quaternion.QuaternionFactory;
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector2DArray;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.Vector3DArray;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the fast approximations stay within their documented error bounds
+ *
+ * @author Tim Clemens
+ */
+public final class FastMathTest {
+
+    /** The documented absolute error bound of the sine and cosine */
+    private static final double SIN_BOUND = 5e-7d;
+
+    /** The documented relative error bound of the inverse square root */
+    private static final double INV_SQRT_BOUND = 5e-7d;
+
+    /** The maximum difference between a component of a fast variant and the exact variant */
+    private static final float VARIANT_BOUND = 5e-6f;
+
+    /** The number of random samples in each test */
+    private static final int SAMPLES = 1000000;
+
+    @Test
+    public void sinAndCosAreWithinBoundOverSeveralTurns() {
+
+        for (int index = 0; index <= SAMPLES; index++) {
+
+            float a = (float) (-4d * Math.PI + 8d * Math.PI * index / SAMPLES);
+
+            assertSinCos(a);
+        }
+    }
+
+    @Test
+    public void sinAndCosAreWithinBoundUpToTheLimit() {
+
+        Random random = new Random(42);
+
+        for (int index = 0; index < SAMPLES; index++) {
+
+            assertSinCos((float) ((random.nextDouble() * 2d - 1d) * Math.pow(10d, random.nextInt(7))));
+        }
+
+        assertSinCos(1e6f);
+        assertSinCos(-1e6f);
+    }
+
+    @Test
+    public void sinAndCosBeyondTheLimitMatchMath() {
+
+        for (float a : new float[] {2e6f, -3.5e7f, Float.MAX_VALUE}) {
+
+            assertEquals((float) Math.sin(a), FastMath.sin(a), 0f);
+            assertEquals((float) Math.cos(a), FastMath.cos(a), 0f);
+        }
+
+        assertTrue(Float.isNaN(FastMath.sin(Float.NaN)));
+        assertTrue(Float.isNaN(FastMath.cos(Float.POSITIVE_INFINITY)));
+    }
+
+    @Test
+    public void sinCosMatchesSinAndCos() {
+
+        Random random = new Random(7);
+        float[] result = new float[3];
+
+        for (int index = 0; index < SAMPLES; index++) {
+
+            float a = (random.nextFloat() * 2f - 1f) * 1000f;
+
+            FastMath.sinCos(a, result, 1);
+
+            assertEquals(FastMath.sin(a), result[1], 0f);
+            assertEquals(FastMath.cos(a), result[2], 0f);
+        }
+    }
+
+    @Test
+    public void sinCosRejectsSmallArrays() {
+
+        try {
+
+            FastMath.sinCos(1f, new float[2], 1);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+
+        try {
+
+            FastMath.sinCos(1f, null, 0);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void invSqrtIsWithinBoundForNormalValues() {
+
+        Random random = new Random(11);
+
+        for (int index = 0; index < SAMPLES; index++) {
+
+            int exponent = 1 + random.nextInt(254);
+            float x = Float.intBitsToFloat(exponent << 23 | random.nextInt(1 << 23));
+
+            assertInvSqrt(x);
+        }
+
+        assertInvSqrt(Float.MIN_NORMAL);
+        assertInvSqrt(Float.MAX_VALUE);
+        assertInvSqrt(1f);
+        assertInvSqrt(4f);
+    }
+
+    @Test
+    public void invSqrtIsWithinBoundForSubnormalValues() {
+
+        assertInvSqrt(Float.MIN_VALUE);
+        assertInvSqrt(Float.MIN_NORMAL / 2f);
+        assertInvSqrt(Float.intBitsToFloat(Float.floatToIntBits(Float.MIN_NORMAL) - 1));
+    }
+
+    @Test
+    public void invSqrtOfSpecialValuesMatchesMath() {
+
+        assertEquals(Float.POSITIVE_INFINITY, FastMath.invSqrt(0f), 0f);
+        assertEquals(0f, FastMath.invSqrt(Float.POSITIVE_INFINITY), 0f);
+        assertTrue(Float.isNaN(FastMath.invSqrt(-1f)));
+        assertTrue(Float.isNaN(FastMath.invSqrt(-Float.MIN_VALUE)));
+        assertTrue(Float.isNaN(FastMath.invSqrt(Float.NEGATIVE_INFINITY)));
+        assertTrue(Float.isNaN(FastMath.invSqrt(Float.NaN)));
+    }
+
+    @Test
+    public void defaultVariantsUseMath() {
+
+        Random random = new Random(6);
+
+        for (int sample = 0; sample < 1000; sample++) {
+
+            float x = random.nextFloat() * 20f - 10f;
+            float y = random.nextFloat() * 20f - 10f;
+            float z = random.nextFloat() * 20f - 10f;
+
+            float il = 1f / (float) Math.sqrt(x * x + y * y + z * z);
+            Vector3D normal = VectorFactory.createDirection3D(x, y, z).normalize();
+
+            assertEquals(x * il, normal.getX(), 0f);
+            assertEquals(y * il, normal.getY(), 0f);
+            assertEquals(z * il, normal.getZ(), 0f);
+
+            double a = Math.toRadians(x * 36f) * 0.5d;
+            Quaternion rotation = QuaternionFactory.createRotation(x * 36f, 0f, 0f, 1f);
+
+            assertEquals((float) Math.sin(a), rotation.getZ(), 0f);
+            assertEquals((float) Math.cos(a), rotation.getW(), 0f);
+        }
+    }
+
+    @Test
+    public void fastVariantsStayCloseToExactVariants() {
+
+        Random random = new Random(7);
+
+        for (int sample = 0; sample < 1000; sample++) {
+
+            float x = random.nextFloat() * 20f - 10f;
+            float y = random.nextFloat() * 20f - 10f;
+            float z = random.nextFloat() * 20f - 10f;
+            float angle = random.nextFloat() * 720f - 360f;
+
+            Vector3D vector = VectorFactory.createDirection3D(x, y, z);
+            Vector2D vector2D = VectorFactory.createDirection2D(x, y);
+
+            assertVector(vector.normalize(), vector.fastNormalize());
+            assertVector(vector.normalize(), VectorFactory.createMutable3D(vector).fastNormalize().toVector3D());
+            assertEquals(vector2D.normalize().getX(), vector2D.fastNormalize().getX(), VARIANT_BOUND);
+            assertEquals(vector2D.normalize().getY(), vector2D.fastNormalize().getY(), VARIANT_BOUND);
+
+            Quaternion first = QuaternionFactory.createRotation(angle, x, y, z);
+            Quaternion second = QuaternionFactory.createEuler(y * 36f, z * 36f, x * 36f);
+
+            assertQuaternion(first, QuaternionFactory.createFastRotation(angle, x, y, z));
+            assertQuaternion(second, QuaternionFactory.createFastEuler(y * 36f, z * 36f, x * 36f));
+            assertQuaternion(first.nlerp(second, 0.3f), first.fastNlerp(second, 0.3f));
+
+            Vector3D point = VectorFactory.createPosition3D(z, x, y);
+
+            assertVector(MatrixFactory.createMutable3D().rotate(x * 36f, y * 36f, z * 36f).toMatrix3D().multiply(point),
+                    MatrixFactory.createMutable3D().fastRotate(x * 36f, y * 36f, z * 36f).toMatrix3D().multiply(point));
+            assertVector(MatrixFactory.createMutable3D().rotateAxis(angle, x, y, z).toMatrix3D().multiply(point),
+                    MatrixFactory.createMutable3D().fastRotateAxis(angle, x, y, z).toMatrix3D().multiply(point));
+        }
+    }
+
+    @Test
+    public void fastArrayNormalizeStaysCloseToExactNormalize() {
+
+        Random random = new Random(8);
+        Vector3DArray vectors = VectorFactory.createArray3D(1000);
+        Vector2DArray vectors2D = VectorFactory.createArray2D(1000);
+
+        for (int index = 0; index < 1000; index++) {
+
+            vectors.set(index, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, 0f);
+            vectors2D.set(index, random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, 0f);
+        }
+
+        Vector3DArray exact = vectors.normalize(VectorFactory.createArray3D(1000));
+        Vector3DArray fast = vectors.fastNormalize(VectorFactory.createArray3D(1000));
+        Vector2DArray exact2D = vectors2D.normalize(VectorFactory.createArray2D(1000));
+        Vector2DArray fast2D = vectors2D.fastNormalize(VectorFactory.createArray2D(1000));
+
+        for (int index = 0; index < 1000; index++) {
+
+            assertVector(exact.get(index), fast.get(index));
+            assertEquals(exact2D.get(index).getX(), fast2D.get(index).getX(), VARIANT_BOUND);
+            assertEquals(exact2D.get(index).getY(), fast2D.get(index).getY(), VARIANT_BOUND);
+        }
+    }
+
+    /**
+     * Assert that the sine and cosine of an angle are within the documented bound
+     *
+     * @param a The angle in radians
+     */
+    private static void assertSinCos(float a) {
+
+        assertEquals("sin(" + a + ")", Math.sin(a), FastMath.sin(a), SIN_BOUND);
+        assertEquals("cos(" + a + ")", Math.cos(a), FastMath.cos(a), SIN_BOUND);
+    }
+
+    /**
+     * Assert that the inverse square root of a value is within the documented bound
+     *
+     * @param x The value
+     */
+    private static void assertInvSqrt(float x) {
+
+        double expected = 1d / Math.sqrt(x);
+
+        assertEquals("invSqrt(" + x + ")", expected, FastMath.invSqrt(x), expected * INV_SQRT_BOUND);
+    }
+
+    /**
+     * Assert that the vector of a fast variant is close to the vector of the exact variant
+     *
+     * @param expected The vector of the exact variant
+     * @param actual The vector of the fast variant
+     */
+    private static void assertVector(Vector3D expected, Vector3D actual) {
+
+        assertEquals(expected.getX(), actual.getX(), VARIANT_BOUND * 20f);
+        assertEquals(expected.getY(), actual.getY(), VARIANT_BOUND * 20f);
+        assertEquals(expected.getZ(), actual.getZ(), VARIANT_BOUND * 20f);
+    }
+
+    /**
+     * Assert that the quaternion of a fast variant is close to the quaternion of the exact variant
+     *
+     * @param expected The quaternion of the exact variant
+     * @param actual The quaternion of the fast variant
+     */
+    private static void assertQuaternion(Quaternion expected, Quaternion actual) {
+
+        assertEquals(expected.getX(), actual.getX(), VARIANT_BOUND);
+        assertEquals(expected.getY(), actual.getY(), VARIANT_BOUND);
+        assertEquals(expected.getZ(), actual.getZ(), VARIANT_BOUND);
+        assertEquals(expected.getW(), actual.getW(), VARIANT_BOUND);
+    }
+}
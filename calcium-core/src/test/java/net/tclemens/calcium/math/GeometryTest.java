@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the batched geometry queries find the same shapes as the scalar queries
+ *
+ * <p>Half of the coordinates are whole numbers on a small grid, so touching, collinear, vertical and horizontal
+ * cases are common.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class GeometryTest {
+
+    /** The number of shapes in each batch */
+    private static final int COUNT = 500;
+
+    /** The number of queries in each test */
+    private static final int QUERIES = 500;
+
+    /** The source of random coordinates */
+    private final Random random = new Random(42);
+
+    /** The first coordinate of each shape along each axis */
+    private final float[][] lows = new float[3][COUNT];
+
+    /** The second coordinate of each shape along each axis, never below the first */
+    private final float[][] highs = new float[3][COUNT];
+
+    /** The hits of the batch query */
+    private final int[] hits = new int[COUNT];
+
+    /** The hits of the scalar query */
+    private final int[] expected = new int[COUNT];
+
+    @Test
+    public void pointsInAreasMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float x = createCoordinate();
+            float y = createCoordinate();
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.intersectArea2D(x, y, lows[0][index], highs[0][index], lows[1][index], highs[1][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.intersectAreas2D(x, y, lows[0], highs[0], lows[1], highs[1], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void segmentsThroughAreasMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float ax = createCoordinate();
+            float ay = createCoordinate();
+            float bx = query % 5 == 0 ? ax : createCoordinate();
+            float by = query % 7 == 0 ? ay : createCoordinate();
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.intersectArea2D(ax, ay, bx, by,
+                        lows[0][index], highs[0][index], lows[1][index], highs[1][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.intersectAreas2D(ax, ay, bx, by,
+                    lows[0], highs[0], lows[1], highs[1], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void overlappingAreasMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float left = createCoordinate();
+            float right = left + createCoordinate() / 2f;
+            float bottom = createCoordinate();
+            float top = bottom + createCoordinate() / 2f;
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.overlapArea2D(left, right, bottom, top,
+                        lows[0][index], highs[0][index], lows[1][index], highs[1][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.overlapAreas2D(left, right, bottom, top,
+                    lows[0], highs[0], lows[1], highs[1], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void pointsInVolumesMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float x = createCoordinate();
+            float y = createCoordinate();
+            float z = createCoordinate();
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.intersectVolume3D(x, y, z, lows[0][index], highs[0][index],
+                        lows[1][index], highs[1][index], lows[2][index], highs[2][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.intersectVolumes3D(x, y, z,
+                    lows[0], highs[0], lows[1], highs[1], lows[2], highs[2], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void segmentsThroughVolumesMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float ax = createCoordinate();
+            float ay = createCoordinate();
+            float az = createCoordinate();
+            float bx = query % 5 == 0 ? ax : createCoordinate();
+            float by = query % 7 == 0 ? ay : createCoordinate();
+            float bz = query % 3 == 0 ? az : createCoordinate();
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.intersectVolume3D(ax, ay, az, bx, by, bz, lows[0][index], highs[0][index],
+                        lows[1][index], highs[1][index], lows[2][index], highs[2][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.intersectVolumes3D(ax, ay, az, bx, by, bz,
+                    lows[0], highs[0], lows[1], highs[1], lows[2], highs[2], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void overlappingVolumesMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float left = createCoordinate();
+            float right = left + createCoordinate() / 2f;
+            float bottom = createCoordinate();
+            float top = bottom + createCoordinate() / 2f;
+            float near = createCoordinate();
+            float far = near + createCoordinate() / 2f;
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.overlapVolume3D(left, right, bottom, top, near, far, lows[0][index], highs[0][index],
+                        lows[1][index], highs[1][index], lows[2][index], highs[2][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.overlapVolumes3D(left, right, bottom, top, near, far,
+                    lows[0], highs[0], lows[1], highs[1], lows[2], highs[2], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void pointsWithinDistanceMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float cx = createCoordinate();
+            float cy = createCoordinate();
+            float cz = createCoordinate();
+            float distance = createCoordinate() / 2f;
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.distance2D(cx, cy, lows[0][index], lows[1][index]) <= distance) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.withinDistance2D(cx, cy, distance, lows[0], lows[1], COUNT, hits));
+
+            count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.distance3D(cx, cy, cz, lows[0][index], lows[1][index], lows[2][index]) <= distance) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.withinDistance3D(cx, cy, cz, distance,
+                    lows[0], lows[1], lows[2], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void crossingSegmentsMatchScalar() {
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            createShapes();
+
+            float ax = createCoordinate();
+            float ay = createCoordinate();
+            float bx = query % 5 == 0 ? ax : createCoordinate();
+            float by = query % 7 == 0 ? ay : createCoordinate();
+            int count = 0;
+
+            for (int index = 0; index < COUNT; index++) {
+
+                if (Geometry.intersectLine2D(ax, ay, bx, by,
+                        lows[0][index], lows[1][index], highs[0][index], highs[1][index])) {
+
+                    expected[count++] = index;
+                }
+            }
+
+            assertHits(count, Geometry.intersectLines2D(ax, ay, bx, by,
+                    lows[0], lows[1], highs[0], highs[1], COUNT, hits));
+        }
+    }
+
+    @Test
+    public void verticalSegmentsIntersect() {
+
+        assertTrue(Geometry.intersectLine2D(1f, 0f, 1f, 2f, 0f, 1f, 2f, 1f));
+        assertTrue(Geometry.intersectLine2D(1f, 0f, 1f, 2f, 1f, 1f, 1f, 3f));
+        assertFalse(Geometry.intersectLine2D(1f, 0f, 1f, 2f, 2f, 0f, 2f, 2f));
+        assertTrue(Geometry.intersectArea2D(1f, -1f, 1f, 3f, 0f, 2f, 0f, 2f));
+        assertFalse(Geometry.intersectArea2D(3f, -1f, 3f, 3f, 0f, 2f, 0f, 2f));
+    }
+
+    @Test
+    public void emptyBatchesFindNothing() {
+
+        assertEquals(0, Geometry.intersectAreas2D(0f, 0f, new float[0], new float[0], new float[0], new float[0],
+                0, new int[0]));
+    }
+
+    @Test
+    public void smallHitArraysAreRejected() {
+
+        try {
+
+            Geometry.withinDistance2D(0f, 0f, 1f, lows[0], lows[1], COUNT, new int[COUNT - 1]);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Fill the shape arrays with random shapes
+     */
+    private void createShapes() {
+
+        for (int axis = 0; axis < 3; axis++) {
+
+            for (int index = 0; index < COUNT; index++) {
+
+                float a = createCoordinate();
+                float b = index % 11 == 0 ? a : createCoordinate();
+
+                lows[axis][index] = Math.min(a, b);
+                highs[axis][index] = Math.max(a, b);
+            }
+        }
+    }
+
+    /**
+     * Create a random coordinate, which is a whole number half of the time
+     *
+     * @return The new coordinate
+     */
+    private float createCoordinate() {
+
+        return random.nextBoolean() ? random.nextInt(11) : random.nextFloat() * 10f;
+    }
+
+    /**
+     * Assert that a batch query found the same shapes as the scalar query
+     *
+     * @param count The number of shapes found by the scalar query
+     * @param found The number of shapes found by the batch query
+     */
+    private void assertHits(int count, int found) {
+
+        assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(hits, found));
+    }
+}
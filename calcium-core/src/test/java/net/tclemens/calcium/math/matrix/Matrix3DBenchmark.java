@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.matrix;
+
+import java.util.Locale;
+
+/**
+ * This class compares the time taken by the general, affine and rigid matrix routines
+ *
+ * <p>This is a plain timing loop rather than a unit test. Run its main method on a desktop JVM or a device; the
+ * results are only comparable between runs on the same machine.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class Matrix3DBenchmark {
+
+    /** The number of operations in each round */
+    private static final int OPERATIONS = 1000000;
+
+    /** The number of rounds run before timing */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /** The number of timed rounds */
+    private static final int ROUNDS = 10;
+
+    /** The sum of the results, which keeps the timed work from being eliminated */
+    private static float sink;
+
+    private Matrix3DBenchmark() {
+    }
+
+    /**
+     * Run the benchmark
+     *
+     * @param args The command line arguments, which are ignored
+     */
+    public static void main(String[] args) {
+
+        Matrix3D rigid = MatrixFactory.createTranslate3D(1f, -2f, 3f).rotate(10f, 20f, 30f);
+        Matrix3D affine = rigid.scale(2f, 0.5f, 3f);
+        Matrix3D general = MatrixFactory.buildMatrix3D(
+                affine.getAX(), affine.getBX(), affine.getCX(), affine.getDX(),
+                affine.getAY(), affine.getBY(), affine.getCY(), affine.getDY(),
+                affine.getAZ(), affine.getBZ(), affine.getCZ(), affine.getDZ(),
+                affine.getAW(), affine.getBW(), affine.getCW(), affine.getDW(),
+                Matrix3D.GENERAL);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+
+            run(general);
+            run(affine);
+            run(rigid);
+        }
+
+        report("general", general);
+        report("affine", affine);
+        report("rigid", rigid);
+
+        System.out.println("sink " + sink);
+    }
+
+    /**
+     * Time the routines of a matrix and print the fastest round
+     *
+     * @param name The name of the matrix type
+     * @param matrix The matrix
+     */
+    private static void report(String name, Matrix3D matrix) {
+
+        long best = Long.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+
+            best = Math.min(best, run(matrix));
+        }
+
+        System.out.println(String.format(Locale.US, "%-8s multiply + invert: %.1f ns/op", name,
+                (double) best / OPERATIONS));
+    }
+
+    /**
+     * Multiply a matrix by itself and invert the product once for each operation in a round
+     *
+     * @param matrix The matrix
+     *
+     * @return The time taken in nanoseconds
+     */
+    private static long run(Matrix3D matrix) {
+
+        long start = System.nanoTime();
+        float sum = 0f;
+
+        for (int index = 0; index < OPERATIONS; index++) {
+
+            sum += matrix.multiply(matrix).invert().getDX();
+        }
+
+        long time = System.nanoTime() - start;
+
+        sink += sum;
+
+        return time;
+    }
+}
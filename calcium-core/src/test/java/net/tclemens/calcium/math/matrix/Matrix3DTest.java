@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.matrix;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import net.tclemens.calcium.math.quaternion.QuaternionFactory;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that the affine and rigid routines of a matrix match the general routines
+ *
+ * @author Tim Clemens
+ */
+public final class Matrix3DTest {
+
+    /** The maximum relative difference between matching components */
+    private static final float TOLERANCE = 1e-4f;
+
+    /** The number of random matrices of each type */
+    private static final int COUNT = 1000;
+
+    @Test
+    public void rigidRoutinesMatchGeneral() {
+
+        Random random = new Random(42);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            Matrix3D left = createRigid(random);
+            Matrix3D right = createRigid(random);
+
+            assertTrue(left.isRigid());
+            assertRoutines(left, right, random);
+        }
+    }
+
+    @Test
+    public void affineRoutinesMatchGeneral() {
+
+        Random random = new Random(7);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            Matrix3D left = createRigid(random).scale(createScale(random), createScale(random), createScale(random));
+            Matrix3D right = createRigid(random).scale(createScale(random), createScale(random), createScale(random));
+
+            assertTrue(left.isAffine());
+            assertFalse(left.isRigid());
+            assertRoutines(left, right, random);
+        }
+    }
+
+    @Test
+    public void mixedProductsMatchGeneral() {
+
+        Random random = new Random(11);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            Matrix3D rigid = createRigid(random);
+            Matrix3D affine = createRigid(random).scale(createScale(random), 1f, createScale(random));
+
+            assertTrue(rigid.multiply(affine).isAffine());
+            assertFalse(rigid.multiply(affine).isRigid());
+            assertMatrix(toGeneral(rigid).multiply(toGeneral(affine)), rigid.multiply(affine));
+            assertMatrix(toGeneral(affine).multiply(toGeneral(rigid)), affine.multiply(rigid));
+        }
+    }
+
+    @Test
+    public void rotationsAreOrthonormal() {
+
+        Random random = new Random(3);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            Matrix3D rotation = MatrixFactory.createRotate3D(createAngle(random), createAngle(random),
+                    createAngle(random));
+
+            assertMatrix(MatrixFactory.createIdentity3D(), rotation.multiply(rotation.transpose()));
+            assertEquals(1f, rotation.determinant(), TOLERANCE);
+        }
+    }
+
+    @Test
+    public void rotationsMatchEulerQuaternions() {
+
+        Random random = new Random(5);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            float x = createAngle(random);
+            float y = createAngle(random);
+            float z = createAngle(random);
+
+            assertMatrix(MatrixFactory.createRotate3D(QuaternionFactory.createEuler(x, y, z)),
+                    MatrixFactory.createRotate3D(x, y, z));
+        }
+    }
+
+    @Test
+    public void rotatingVectorsMatchesRotationMatrices() {
+
+        Random random = new Random(9);
+
+        for (int index = 0; index < COUNT; index++) {
+
+            float x = createAngle(random);
+            float y = createAngle(random);
+            float z = createAngle(random);
+
+            Vector3D vector = createVector(random, 1f);
+
+            assertVector(MatrixFactory.createRotate3D(x, y, z).multiply(vector), vector.rotate(x, y, z));
+        }
+    }
+
+    @Test
+    public void typesAreClassified() {
+
+        assertTrue(MatrixFactory.createIdentity3D().isRigid());
+        assertTrue(MatrixFactory.createTranslate3D(1f, 2f, 3f).isRigid());
+        assertTrue(MatrixFactory.createRotate3D(10f, 20f, 30f).translate(1f, 2f, 3f).isRigid());
+        assertFalse(MatrixFactory.createScale3D(1f, 2f, 3f).isRigid());
+        assertTrue(MatrixFactory.createScale3D(1f, 2f, 3f).isAffine());
+        assertFalse(MatrixFactory.createPerspective3D(60f, 1.5f, 1f, 100f).isAffine());
+        assertTrue(MatrixFactory.createMatrix3D(
+                1f, 2f, 3f, 4f,
+                5f, 6f, 7f, 8f,
+                9f, 1f, 2f, 3f,
+                0f, 0f, 0f, 1f).isAffine());
+        assertFalse(MatrixFactory.createMatrix3D(
+                1f, 2f, 3f, 4f,
+                5f, 6f, 7f, 8f,
+                9f, 1f, 2f, 3f,
+                0f, 0f, 0.5f, 1f).isAffine());
+    }
+
+    /**
+     * Assert that every routine of two matrices matches the general routine for the same components
+     *
+     * @param left The left-hand matrix
+     * @param right The right-hand matrix
+     * @param random The source of random vectors
+     */
+    private static void assertRoutines(Matrix3D left, Matrix3D right, Random random) {
+
+        Matrix3D generalLeft = toGeneral(left);
+        Matrix3D generalRight = toGeneral(right);
+
+        assertFalse(generalLeft.isAffine());
+        assertMatrix(generalLeft.multiply(generalRight), left.multiply(right));
+        assertMatrix(generalLeft.invert(), left.invert());
+        assertEquals(generalLeft.determinant(), left.determinant(), TOLERANCE * Math.max(1f,
+                Math.abs(generalLeft.determinant())));
+
+        Vector3D position = createVector(random, 1f);
+        Vector3D direction = createVector(random, 0f);
+
+        assertVector(generalLeft.multiply(position), left.multiply(position));
+        assertVector(generalLeft.multiply(direction), left.multiply(direction));
+    }
+
+    /**
+     * Create a random rigid matrix
+     *
+     * @param random The source of random values
+     *
+     * @return The new matrix
+     */
+    private static Matrix3D createRigid(Random random) {
+
+        return MatrixFactory.createTranslate3D(createOffset(random), createOffset(random), createOffset(random))
+                .rotate(createAngle(random), createAngle(random), createAngle(random));
+    }
+
+    /**
+     * Create a random vector
+     *
+     * @param random The source of random values
+     * @param w The <tt>w</tt> component of the vector
+     *
+     * @return The new vector
+     */
+    private static Vector3D createVector(Random random, float w) {
+
+        return VectorFactory.createVector3D(createOffset(random), createOffset(random), createOffset(random), w);
+    }
+
+    /**
+     * Create a random angle in degrees
+     *
+     * @param random The source of random values
+     *
+     * @return The new angle
+     */
+    private static float createAngle(Random random) {
+
+        return random.nextFloat() * 720f - 360f;
+    }
+
+    /**
+     * Create a random offset
+     *
+     * @param random The source of random values
+     *
+     * @return The new offset
+     */
+    private static float createOffset(Random random) {
+
+        return random.nextFloat() * 200f - 100f;
+    }
+
+    /**
+     * Create a random non-zero scale factor
+     *
+     * @param random The source of random values
+     *
+     * @return The new scale factor
+     */
+    private static float createScale(Random random) {
+
+        float scale = random.nextFloat() * 3.9f + 0.1f;
+
+        return random.nextBoolean() ? scale : -scale;
+    }
+
+    /**
+     * Copy a matrix as a general matrix, which always uses the general routines
+     *
+     * @param matrix The matrix
+     *
+     * @return The general matrix
+     */
+    private static Matrix3D toGeneral(Matrix3D matrix) {
+
+        return MatrixFactory.buildMatrix3D(
+                matrix.getAX(), matrix.getBX(), matrix.getCX(), matrix.getDX(),
+                matrix.getAY(), matrix.getBY(), matrix.getCY(), matrix.getDY(),
+                matrix.getAZ(), matrix.getBZ(), matrix.getCZ(), matrix.getDZ(),
+                matrix.getAW(), matrix.getBW(), matrix.getCW(), matrix.getDW(),
+                Matrix3D.GENERAL);
+    }
+
+    /**
+     * Assert that two matrices match within a relative tolerance
+     *
+     * @param expected The expected matrix
+     * @param actual The actual matrix
+     */
+    private static void assertMatrix(Matrix3D expected, Matrix3D actual) {
+
+        assertComponent(expected.getAX(), actual.getAX());
+        assertComponent(expected.getAY(), actual.getAY());
+        assertComponent(expected.getAZ(), actual.getAZ());
+        assertComponent(expected.getAW(), actual.getAW());
+        assertComponent(expected.getBX(), actual.getBX());
+        assertComponent(expected.getBY(), actual.getBY());
+        assertComponent(expected.getBZ(), actual.getBZ());
+        assertComponent(expected.getBW(), actual.getBW());
+        assertComponent(expected.getCX(), actual.getCX());
+        assertComponent(expected.getCY(), actual.getCY());
+        assertComponent(expected.getCZ(), actual.getCZ());
+        assertComponent(expected.getCW(), actual.getCW());
+        assertComponent(expected.getDX(), actual.getDX());
+        assertComponent(expected.getDY(), actual.getDY());
+        assertComponent(expected.getDZ(), actual.getDZ());
+        assertComponent(expected.getDW(), actual.getDW());
+    }
+
+    /**
+     * Assert that two vectors match within a relative tolerance
+     *
+     * @param expected The expected vector
+     * @param actual The actual vector
+     */
+    private static void assertVector(Vector3D expected, Vector3D actual) {
+
+        assertComponent(expected.getX(), actual.getX());
+        assertComponent(expected.getY(), actual.getY());
+        assertComponent(expected.getZ(), actual.getZ());
+        assertComponent(expected.getW(), actual.getW());
+    }
+
+    /**
+     * Assert that two components match within a relative tolerance
+     *
+     * @param expected The expected component
+     * @param actual The actual component
+     */
+    private static void assertComponent(float expected, float actual) {
+
+        assertEquals(expected, actual, TOLERANCE * Math.max(1f, Math.abs(expected)));
+    }
+}
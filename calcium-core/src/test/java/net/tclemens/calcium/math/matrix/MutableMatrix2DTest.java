@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.matrix;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+
+import net.tclemens.calcium.math.vector.Vector2D;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * This class tests that every operation of a mutable two-dimensional matrix matches the same operation of an
+ * immutable matrix, and that the plane operations match the three-dimensional matrices they are taken from
+ *
+ * @author Tim Clemens
+ */
+public final class MutableMatrix2DTest {
+
+    /** The maximum difference between matching components */
+    private static final float TOLERANCE = 1e-4f;
+
+    /** A general matrix with no special structure */
+    private static final Matrix2D GENERAL = MatrixFactory.createMatrix2D(
+            2f, 0.5f, -1f,
+            0.25f, 1.5f, 0.75f,
+            0.1f, -0.2f, 1.5f);
+
+    /** An affine matrix which translates, rotates and scales */
+    private static final Matrix2D AFFINE = MatrixFactory.createTranslate2D(1f, -2f).rotate(30f).scale(2f, 0.5f);
+
+    /** An orthographic projection */
+    private static final Matrix2D PROJECTION = MatrixFactory.createOrthographic2D(-4f, 6f, -3f, 2f);
+
+    /** A three-dimensional matrix which keeps the plane where z is zero in place */
+    private static final Matrix3D PLANAR = MatrixFactory.createTranslate3D(3f, -1f, 0f).rotate(0f, 0f, 40f)
+            .scale(1.5f, 2.5f, 1f);
+
+    /** A three-dimensional matrix which moves points out of the plane where z is zero */
+    private static final Matrix3D TILTED = MatrixFactory.createTranslate3D(-2f, 4f, 5f).rotate(20f, -35f, 10f)
+            .scale(2f, 3f, 4f);
+
+    @Test
+    public void copiesMatchImmutable() {
+
+        MutableMatrix2D copy = MatrixFactory.createMutable2D(AFFINE);
+
+        assertMatrix(AFFINE, copy);
+        assertMatrix(AFFINE, MatrixFactory.createMutable2D().set(copy));
+        assertMatrix(AFFINE, copy.toMatrix2D());
+        assertMatrix(MatrixFactory.createIdentity2D(), MatrixFactory.createMutable2D());
+        assertMatrix(MatrixFactory.createIdentity2D(), copy.setIdentity());
+    }
+
+    @Test
+    public void productsMatchImmutable() {
+
+        Matrix2D[] matrices = {GENERAL, AFFINE, PROJECTION};
+
+        for (Matrix2D left : matrices) {
+
+            for (Matrix2D right : matrices) {
+
+                Matrix2D expected = left.multiply(right);
+
+                assertMatrix(expected, MatrixFactory.createMutable2D(left).multiply(right));
+                assertMatrix(expected, MatrixFactory.createMutable2D(left).multiply(MatrixFactory.createMutable2D(right)));
+            }
+
+            MutableMatrix2D square = MatrixFactory.createMutable2D(left);
+
+            assertMatrix(left.multiply(left), square.multiply(square));
+        }
+    }
+
+    @Test
+    public void operationsReturnTheSameMatrix() {
+
+        MutableMatrix2D matrix = MatrixFactory.createMutable2D();
+
+        assertSame(matrix, matrix.set(AFFINE));
+        assertSame(matrix, matrix.set(matrix));
+        assertSame(matrix, matrix.multiply(GENERAL));
+        assertSame(matrix, matrix.multiply(matrix));
+        assertSame(matrix, matrix.setPlane(PLANAR));
+        assertSame(matrix, matrix.multiplyPlane(PLANAR));
+        assertSame(matrix, matrix.setIdentity());
+    }
+
+    @Test
+    public void planeRoundTripsThroughThreeDimensions() {
+
+        for (Matrix2D matrix : new Matrix2D[] {GENERAL, AFFINE, PROJECTION}) {
+
+            Matrix3D plane = MatrixFactory.createPlane3D(matrix);
+
+            assertMatrix(matrix, MatrixFactory.createMutable2D().setPlane(plane));
+            assertMatrix(AFFINE.multiply(matrix), MatrixFactory.createMutable2D(AFFINE).multiplyPlane(plane));
+
+            for (int point = 0; point < 20; point++) {
+
+                float x = point * 0.7f - 5f;
+                float y = 3f - point * 0.45f;
+
+                Vector2D expected = matrix.multiply(VectorFactory.createPosition2D(x, y));
+                Vector3D actual = plane.multiply(VectorFactory.createPosition3D(x, y, 0f));
+
+                assertEquals(expected.getX(), actual.getX(), TOLERANCE);
+                assertEquals(expected.getY(), actual.getY(), TOLERANCE);
+                assertEquals(0f, actual.getZ(), 0f);
+                assertEquals(expected.getW(), actual.getW(), TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void planeMatchesThreeDimensionalTransform() {
+
+        for (Matrix3D matrix : new Matrix3D[] {PLANAR, TILTED, PLANAR.multiply(TILTED)}) {
+
+            MutableMatrix2D plane = MatrixFactory.createMutable2D().setPlane(matrix);
+            MutableMatrix2D product = MatrixFactory.createMutable2D(PROJECTION).multiplyPlane(matrix);
+            Matrix3D expected = MatrixFactory.createPlane3D(PROJECTION).multiply(matrix);
+
+            for (int point = 0; point < 20; point++) {
+
+                float x = point * 0.3f - 2f;
+                float y = point * -0.9f + 7f;
+
+                assertTransform(matrix, plane, x, y);
+                assertTransform(expected, product, x, y);
+            }
+        }
+    }
+
+    @Test
+    public void planarProductsCompose() {
+
+        Matrix3D other = MatrixFactory.createTranslate3D(-5f, 2f, 0f).rotate(0f, 0f, -75f).scale(0.5f, 4f, 1f);
+
+        MutableMatrix2D expected = MatrixFactory.createMutable2D().setPlane(PLANAR.multiply(other));
+        MutableMatrix2D actual = MatrixFactory.createMutable2D().setPlane(PLANAR).multiplyPlane(other);
+
+        assertMatrix(expected.toMatrix2D(), actual);
+    }
+
+    @Test
+    public void packWritesColumnMajorOrder() {
+
+        FloatBuffer buffer = FloatBuffer.allocate(11);
+
+        buffer.put(-1f);
+
+        MatrixFactory.createMutable2D(GENERAL).pack(buffer);
+
+        assertEquals(10, buffer.position());
+
+        float[] expected = {
+                GENERAL.getAX(), GENERAL.getAY(), GENERAL.getAW(),
+                GENERAL.getBX(), GENERAL.getBY(), GENERAL.getBW(),
+                GENERAL.getCX(), GENERAL.getCY(), GENERAL.getCW()};
+
+        for (int index = 0; index < expected.length; index++) {
+
+            assertEquals(expected[index], buffer.get(index + 1), 0f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setRejectsNull() {
+
+        MatrixFactory.createMutable2D().set((Matrix2D) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void multiplyPlaneRejectsNull() {
+
+        MatrixFactory.createMutable2D().multiplyPlane(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void packRejectsNull() {
+
+        MatrixFactory.createMutable2D().pack(null);
+    }
+
+    /**
+     * Check that a two-dimensional matrix transforms a point in the plane where z is zero to the same <tt>x</tt>,
+     * <tt>y</tt> and <tt>w</tt> components as a three-dimensional matrix
+     *
+     * @param expected The three-dimensional matrix
+     * @param actual The two-dimensional matrix
+     * @param x The <tt>x</tt> component of the point
+     * @param y The <tt>y</tt> component of the point
+     */
+    private static void assertTransform(Matrix3D expected, MutableMatrix2D actual, float x, float y) {
+
+        Vector3D vector = expected.multiply(VectorFactory.createPosition3D(x, y, 0f));
+
+        assertEquals(vector.getX(), actual.getAX() * x + actual.getBX() * y + actual.getCX(), TOLERANCE);
+        assertEquals(vector.getY(), actual.getAY() * x + actual.getBY() * y + actual.getCY(), TOLERANCE);
+        assertEquals(vector.getW(), actual.getAW() * x + actual.getBW() * y + actual.getCW(), TOLERANCE);
+    }
+
+    /**
+     * Check that every component of a mutable matrix matches an immutable matrix
+     *
+     * @param expected The immutable matrix
+     * @param actual The mutable matrix
+     */
+    private static void assertMatrix(Matrix2D expected, MutableMatrix2D actual) {
+
+        assertEquals(expected.getAX(), actual.getAX(), TOLERANCE);
+        assertEquals(expected.getAY(), actual.getAY(), TOLERANCE);
+        assertEquals(expected.getAW(), actual.getAW(), TOLERANCE);
+
+        assertEquals(expected.getBX(), actual.getBX(), TOLERANCE);
+        assertEquals(expected.getBY(), actual.getBY(), TOLERANCE);
+        assertEquals(expected.getBW(), actual.getBW(), TOLERANCE);
+
+        assertEquals(expected.getCX(), actual.getCX(), TOLERANCE);
+        assertEquals(expected.getCY(), actual.getCY(), TOLERANCE);
+        assertEquals(expected.getCW(), actual.getCW(), TOLERANCE);
+    }
+
+    /**
+     * Check that every component of two immutable matrices match
+     *
+     * @param expected The expected matrix
+     * @param actual The actual matrix
+     */
+    private static void assertMatrix(Matrix2D expected, Matrix2D actual) {
+
+        assertMatrix(expected, MatrixFactory.createMutable2D(actual));
+    }
+}
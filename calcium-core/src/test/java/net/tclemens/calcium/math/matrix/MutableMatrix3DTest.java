@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.matrix;
+
+import org.junit.Test;
+
+import net.tclemens.calcium.math.quaternion.QuaternionFactory;
+import net.tclemens.calcium.math.vector.MutableVector3D;
+import net.tclemens.calcium.math.vector.Vector3D;
+import net.tclemens.calcium.math.vector.VectorFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that every operation of a mutable matrix matches the same operation of an immutable matrix
+ *
+ * @author Tim Clemens
+ */
+public final class MutableMatrix3DTest {
+
+    /** The maximum difference between matching components */
+    private static final float TOLERANCE = 1e-4f;
+
+    /** A general matrix with no special structure */
+    private static final Matrix3D GENERAL = MatrixFactory.createMatrix3D(
+            2f, 0.5f, -1f, 3f,
+            0.25f, 1.5f, 0.75f, -2f,
+            -0.5f, 1f, 3f, 1f,
+            0.1f, -0.2f, 0.3f, 1.5f);
+
+    /** An affine matrix which scales, rotates and translates */
+    private static final Matrix3D AFFINE = MatrixFactory.createTranslate3D(1f, -2f, 3f).rotate(10f, 20f, 30f)
+            .scale(2f, 0.5f, 3f);
+
+    /** A rigid matrix which rotates and translates */
+    private static final Matrix3D RIGID = MatrixFactory.createTranslate3D(-4f, 5f, 6f).rotate(-35f, 70f, 15f);
+
+    @Test
+    public void chainedTransformsMatchImmutable() {
+
+        Matrix3D expected = MatrixFactory.createIdentity3D().translate(1f, 2f, 3f).rotate(10f, 20f, 30f)
+                .scale(2f, 3f, 4f).rotate(QuaternionFactory.createRotation(40f, 1f, 2f, 3f));
+
+        MutableMatrix3D actual = MatrixFactory.createMutable3D().translate(1f, 2f, 3f).rotate(10f, 20f, 30f)
+                .scale(2f, 3f, 4f).rotate(QuaternionFactory.createRotation(40f, 1f, 2f, 3f));
+
+        assertMatrix(expected, actual);
+    }
+
+    @Test
+    public void rotateAxisMatchesQuaternion() {
+
+        Matrix3D expected = AFFINE.rotate(QuaternionFactory.createRotation(75f, -1f, 2f, 0.5f));
+        MutableMatrix3D actual = MatrixFactory.createMutable3D(AFFINE).rotateAxis(75f, -1f, 2f, 0.5f);
+
+        assertMatrix(expected, actual);
+    }
+
+    @Test
+    public void productsMatchImmutable() {
+
+        Matrix3D[] matrices = {GENERAL, AFFINE, RIGID};
+
+        for (Matrix3D left : matrices) {
+
+            for (Matrix3D right : matrices) {
+
+                assertMatrix(left.multiply(right), MatrixFactory.createMutable3D(left).multiply(right));
+                assertMatrix(left.multiply(right),
+                        MatrixFactory.createMutable3D(left).multiply(MatrixFactory.createMutable3D(right)));
+                assertMatrix(left.multiply(right), left.multiplyInto(right, MatrixFactory.createMutable3D()));
+            }
+        }
+    }
+
+    @Test
+    public void productWithItselfMatchesImmutable() {
+
+        MutableMatrix3D actual = MatrixFactory.createMutable3D(GENERAL);
+
+        assertMatrix(GENERAL.multiply(GENERAL), actual.multiply(actual));
+    }
+
+    @Test
+    public void inversesMatchImmutable() {
+
+        for (Matrix3D matrix : new Matrix3D[] {GENERAL, AFFINE, RIGID}) {
+
+            assertMatrix(matrix.invert(), MatrixFactory.createMutable3D(matrix).invert());
+        }
+    }
+
+    @Test
+    public void scalarOperationsMatchImmutable() {
+
+        assertEquals(GENERAL.determinant(), MatrixFactory.createMutable3D(GENERAL).determinant(), TOLERANCE);
+        assertMatrix(GENERAL.multiply(2.5f), MatrixFactory.createMutable3D(GENERAL).multiply(2.5f));
+        assertMatrix(GENERAL.transpose(), MatrixFactory.createMutable3D(GENERAL).transpose());
+        assertMatrix(GENERAL.normalize(), MatrixFactory.createMutable3D(GENERAL).normalize());
+    }
+
+    @Test
+    public void vectorProductsMatchImmutable() {
+
+        Vector3D vector = VectorFactory.createVector3D(1f, -2f, 3f, 0.5f);
+
+        for (Matrix3D matrix : new Matrix3D[] {GENERAL, AFFINE, RIGID}) {
+
+            Vector3D expected = matrix.multiply(vector);
+
+            assertVector(expected, matrix.multiplyInto(vector, VectorFactory.createMutable3D()));
+            assertVector(expected, MatrixFactory.createMutable3D(matrix).multiplyInto(vector,
+                    VectorFactory.createMutable3D()));
+
+            MutableVector3D aliased = VectorFactory.createMutable3D(vector);
+
+            assertVector(expected, MatrixFactory.createMutable3D(matrix).multiplyInto(aliased, aliased));
+        }
+    }
+
+    @Test
+    public void viewsMatchImmutable() {
+
+        Vector3D eye = VectorFactory.createPosition3D(1f, 2f, 10f);
+        Vector3D center = VectorFactory.createPosition3D(0f, 0f, 0f);
+        Vector3D up = VectorFactory.createDirection3D(0f, 1f, 0f);
+
+        assertMatrix(MatrixFactory.createView3D(eye, center, up),
+                MatrixFactory.createMutable3D(GENERAL).setView(eye, center, up));
+
+        Matrix3D expected = MatrixFactory.createView3D(RIGID.multiply(eye), RIGID.multiply(center),
+                RIGID.multiply(up));
+
+        assertMatrix(expected, MatrixFactory.createMutable3D(RIGID).transformView(eye, center, up));
+    }
+
+    @Test
+    public void typeIsTracked() {
+
+        assertFalse(MatrixFactory.createMutable3D(GENERAL).isAffine());
+        assertTrue(MatrixFactory.createMutable3D(AFFINE).isAffine());
+        assertFalse(MatrixFactory.createMutable3D(AFFINE).isRigid());
+        assertTrue(MatrixFactory.createMutable3D(RIGID).isRigid());
+        assertTrue(MatrixFactory.createMutable3D(RIGID).toMatrix3D().isRigid());
+        assertFalse(MatrixFactory.createMutable3D(RIGID).scale(2f, 2f, 2f).isRigid());
+        assertFalse(MatrixFactory.createMutable3D(RIGID).multiply(GENERAL).isAffine());
+        assertTrue(MatrixFactory.createMutable3D(GENERAL).setIdentity().isRigid());
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+
+        MutableMatrix3D mutable = MatrixFactory.createMutable3D(AFFINE);
+        Matrix3D copy = mutable.toMatrix3D();
+
+        mutable.translate(1f, 1f, 1f);
+
+        assertMatrix(AFFINE, MatrixFactory.createMutable3D(copy));
+    }
+
+    /**
+     * Assert that a mutable matrix matches an immutable matrix
+     *
+     * @param expected The immutable matrix
+     * @param actual The mutable matrix
+     */
+    private static void assertMatrix(Matrix3D expected, MutableMatrix3D actual) {
+
+        Matrix3D matrix = actual.toMatrix3D();
+
+        assertEquals(expected.getAX(), matrix.getAX(), TOLERANCE);
+        assertEquals(expected.getAY(), matrix.getAY(), TOLERANCE);
+        assertEquals(expected.getAZ(), matrix.getAZ(), TOLERANCE);
+        assertEquals(expected.getAW(), matrix.getAW(), TOLERANCE);
+        assertEquals(expected.getBX(), matrix.getBX(), TOLERANCE);
+        assertEquals(expected.getBY(), matrix.getBY(), TOLERANCE);
+        assertEquals(expected.getBZ(), matrix.getBZ(), TOLERANCE);
+        assertEquals(expected.getBW(), matrix.getBW(), TOLERANCE);
+        assertEquals(expected.getCX(), matrix.getCX(), TOLERANCE);
+        assertEquals(expected.getCY(), matrix.getCY(), TOLERANCE);
+        assertEquals(expected.getCZ(), matrix.getCZ(), TOLERANCE);
+        assertEquals(expected.getCW(), matrix.getCW(), TOLERANCE);
+        assertEquals(expected.getDX(), matrix.getDX(), TOLERANCE);
+        assertEquals(expected.getDY(), matrix.getDY(), TOLERANCE);
+        assertEquals(expected.getDZ(), matrix.getDZ(), TOLERANCE);
+        assertEquals(expected.getDW(), matrix.getDW(), TOLERANCE);
+    }
+
+    /**
+     * Assert that a mutable vector matches an immutable vector
+     *
+     * @param expected The immutable vector
+     * @param actual The mutable vector
+     */
+    private static void assertVector(Vector3D expected, MutableVector3D actual) {
+
+        assertEquals(expected.getX(), actual.getX(), TOLERANCE);
+        assertEquals(expected.getY(), actual.getY(), TOLERANCE);
+        assertEquals(expected.getZ(), actual.getZ(), TOLERANCE);
+        assertEquals(expected.getW(), actual.getW(), TOLERANCE);
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.spatial;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.math.Geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests that a bounding volume hierarchy finds the same elements as a brute force scan of every element
+ *
+ * @author Tim Clemens
+ */
+public final class BoundingTree3DTest {
+
+    /** The number of elements */
+    private static final int COUNT = 2000;
+
+    /** The number of queries of each kind */
+    private static final int QUERIES = 500;
+
+    /** The half width of the volume the elements are placed in */
+    private static final float EXTENT = 50f;
+
+    /** The number of bounds of each element */
+    private static final int STRIDE = 6;
+
+    /** The source of random values */
+    private final Random random = new Random(42);
+
+    /** The left, right, bottom, top, near and far bounds of each element */
+    private final float[] bounds = new float[COUNT * STRIDE];
+
+    /** The handle of each element, or -1 if the element is not in the tree */
+    private final int[] handles = new int[COUNT];
+
+    /** The tree under test */
+    private BoundingTree3D<Integer> tree;
+
+    @Before
+    public void createTree() {
+
+        tree = SpatialFactory.createTree3D(0.5f);
+
+        for (int element = 0; element < COUNT; element++) {
+
+            createBounds(element);
+            insert(element);
+        }
+    }
+
+    @Test
+    public void queriesMatchBruteForce() {
+
+        assertQueries();
+    }
+
+    @Test
+    public void queriesMatchBruteForceAfterMovesAndRemovals() {
+
+        for (int element = 0; element < COUNT; element++) {
+
+            int action = random.nextInt(4);
+
+            if (action == 0) {
+
+                tree.remove(handles[element]);
+                handles[element] = -1;
+            }
+            else if (action == 1) {
+
+                createBounds(element);
+                move(element);
+            }
+            else if (action == 2) {
+
+                float dx = random.nextFloat() * 0.1f;
+
+                for (int bound = 0; bound < STRIDE; bound++) {
+
+                    bounds[element * STRIDE + bound] += dx;
+                }
+
+                assertFalse(move(element));
+            }
+        }
+
+        assertQueries();
+
+        for (int element = 0; element < COUNT; element++) {
+
+            if (handles[element] == -1) {
+
+                createBounds(element);
+                insert(element);
+            }
+        }
+
+        assertQueries();
+    }
+
+    @Test
+    public void exactBoundsAreKept() {
+
+        float[] result = new float[STRIDE];
+
+        for (int element = 0; element < COUNT; element++) {
+
+            tree.getBounds(handles[element], result, 0);
+
+            for (int bound = 0; bound < STRIDE; bound++) {
+
+                assertEquals(bounds[element * STRIDE + bound], result[bound], 0f);
+            }
+
+            assertEquals(element, (int) tree.get(handles[element]));
+        }
+    }
+
+    @Test
+    public void treeStaysBalanced() {
+
+        assertEquals(COUNT, tree.size());
+        assertTrue("height " + tree.getHeight(), tree.getHeight() <= 4 * (32 - Integer.numberOfLeadingZeros(COUNT)));
+    }
+
+    @Test
+    public void clearedTreeFindsNothing() {
+
+        tree.clear();
+
+        List<Integer> result = new ArrayList<>();
+
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.queryVolume(-EXTENT, EXTENT, -EXTENT, EXTENT, -EXTENT, EXTENT, result));
+        assertNull(tree.findNearest(0f, 0f, 0f));
+    }
+
+    /**
+     * Assert that volume, position, line and nearest queries match a brute force scan
+     */
+    private void assertQueries() {
+
+        List<Integer> result = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            float left = createCoordinate();
+            float bottom = createCoordinate();
+            float near = createCoordinate();
+            float right = left + random.nextFloat() * 8f;
+            float top = bottom + random.nextFloat() * 8f;
+            float far = near + random.nextFloat() * 8f;
+
+            expected.clear();
+
+            for (int element = 0; element < COUNT; element++) {
+
+                int offset = element * STRIDE;
+
+                if (handles[element] != -1 && Geometry.overlapVolume3D(left, right, bottom, top, near, far,
+                        bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+                        bounds[offset + 4], bounds[offset + 5])) {
+
+                    expected.add(element);
+                }
+            }
+
+            result.clear();
+
+            assertEquals(expected.size(), tree.queryVolume(left, right, bottom, top, near, far, result));
+            assertElements(expected, result);
+
+            expected.clear();
+
+            for (int element = 0; element < COUNT; element++) {
+
+                int offset = element * STRIDE;
+
+                if (handles[element] != -1 && Geometry.intersectVolume3D(left, bottom, near,
+                        bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+                        bounds[offset + 4], bounds[offset + 5])) {
+
+                    expected.add(element);
+                }
+            }
+
+            result.clear();
+
+            assertEquals(expected.size(), tree.queryPosition(left, bottom, near, result));
+            assertElements(expected, result);
+
+            float ax = createCoordinate();
+            float ay = createCoordinate();
+            float az = createCoordinate();
+
+            expected.clear();
+
+            for (int element = 0; element < COUNT; element++) {
+
+                int offset = element * STRIDE;
+
+                if (handles[element] != -1 && Geometry.intersectVolume3D(ax, ay, az, left, bottom, near,
+                        bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+                        bounds[offset + 4], bounds[offset + 5])) {
+
+                    expected.add(element);
+                }
+            }
+
+            result.clear();
+
+            assertEquals(expected.size(), tree.queryLine(ax, ay, az, left, bottom, near, result));
+            assertElements(expected, result);
+
+            float nearest = Float.POSITIVE_INFINITY;
+
+            for (int element = 0; element < COUNT; element++) {
+
+                if (handles[element] != -1) {
+
+                    nearest = Math.min(nearest, distanceSquared(element, left, bottom, near));
+                }
+            }
+
+            assertEquals(nearest, distanceSquared(tree.findNearest(left, bottom, near), left, bottom, near), 0f);
+        }
+    }
+
+    /**
+     * Add an element to the tree with its current bounds
+     *
+     * @param element The element
+     */
+    private void insert(int element) {
+
+        int offset = element * STRIDE;
+
+        handles[element] = tree.insert(element, bounds[offset], bounds[offset + 1], bounds[offset + 2],
+                bounds[offset + 3], bounds[offset + 4], bounds[offset + 5]);
+    }
+
+    /**
+     * Move an element in the tree to its current bounds
+     *
+     * @param element The element
+     *
+     * @return <tt>true</tt> if the element was reinserted, <tt>false</tt> if only its bounds changed
+     */
+    private boolean move(int element) {
+
+        int offset = element * STRIDE;
+
+        return tree.move(handles[element], bounds[offset], bounds[offset + 1], bounds[offset + 2],
+                bounds[offset + 3], bounds[offset + 4], bounds[offset + 5]);
+    }
+
+    /**
+     * Fill the bounds of an element with random bounds, some of which are points and some of which are large
+     *
+     * @param element The element
+     */
+    private void createBounds(int element) {
+
+        int kind = random.nextInt(10);
+
+        for (int axis = 0; axis < 3; axis++) {
+
+            float low = createCoordinate();
+            float size = kind == 0 ? 0f : kind == 1 ? random.nextFloat() * 20f : random.nextFloat() * 2f;
+
+            bounds[element * STRIDE + axis * 2] = low;
+            bounds[element * STRIDE + axis * 2 + 1] = low + size;
+        }
+    }
+
+    /**
+     * Create a random coordinate within the volume
+     *
+     * @return The new coordinate
+     */
+    private float createCoordinate() {
+
+        return (random.nextFloat() * 2f - 1f) * EXTENT;
+    }
+
+    /**
+     * Find the squared distance from the bounds of an element to a point
+     *
+     * @param element The element
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     * @param z The z coordinate of the point
+     *
+     * @return The squared distance, which is zero if the bounds contain the point
+     */
+    private float distanceSquared(int element, float x, float y, float z) {
+
+        int offset = element * STRIDE;
+
+        float dx = Math.max(0f, Math.max(bounds[offset] - x, x - bounds[offset + 1]));
+        float dy = Math.max(0f, Math.max(bounds[offset + 2] - y, y - bounds[offset + 3]));
+        float dz = Math.max(0f, Math.max(bounds[offset + 4] - z, z - bounds[offset + 5]));
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Assert that a query found each expected element exactly once
+     *
+     * @param expected The elements found by the brute force scan, in ascending order
+     * @param actual The elements found by the query
+     */
+    private static void assertElements(List<Integer> expected, List<Integer> actual) {
+
+        Collections.sort(actual);
+
+        assertEquals(expected, actual);
+    }
+}
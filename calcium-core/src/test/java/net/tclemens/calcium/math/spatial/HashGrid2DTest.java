@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.spatial;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.math.Geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that a hash grid finds the same elements as a brute force scan of every element
+ *
+ * @author Tim Clemens
+ */
+public final class HashGrid2DTest {
+
+    /** The number of elements */
+    private static final int COUNT = 2000;
+
+    /** The number of queries of each kind */
+    private static final int QUERIES = 500;
+
+    /** The half width of the area the elements are placed in */
+    private static final float EXTENT = 50f;
+
+    /** The source of random values */
+    private final Random random = new Random(42);
+
+    /** The left, right, bottom and top bounds of each element */
+    private final float[] bounds = new float[COUNT * 4];
+
+    /** The handle of each element, or -1 if the element is not in the grid */
+    private final int[] handles = new int[COUNT];
+
+    /** The grid under test */
+    private HashGrid2D<Integer> grid;
+
+    @Before
+    public void createGrid() {
+
+        grid = SpatialFactory.createGrid2D(2f);
+
+        for (int element = 0; element < COUNT; element++) {
+
+            createBounds(element);
+
+            handles[element] = grid.insert(element, bounds[element * 4], bounds[element * 4 + 1],
+                    bounds[element * 4 + 2], bounds[element * 4 + 3]);
+        }
+    }
+
+    @Test
+    public void queriesMatchBruteForce() {
+
+        assertQueries();
+    }
+
+    @Test
+    public void queriesMatchBruteForceAfterMovesAndRemovals() {
+
+        for (int element = 0; element < COUNT; element++) {
+
+            int action = random.nextInt(4);
+
+            if (action == 0) {
+
+                grid.remove(handles[element]);
+                handles[element] = -1;
+            }
+            else if (action == 1) {
+
+                createBounds(element);
+                grid.move(handles[element], bounds[element * 4], bounds[element * 4 + 1],
+                        bounds[element * 4 + 2], bounds[element * 4 + 3]);
+            }
+            else if (action == 2) {
+
+                float dx = random.nextFloat() * 0.5f;
+                float dy = random.nextFloat() * 0.5f;
+
+                bounds[element * 4] += dx;
+                bounds[element * 4 + 1] += dx;
+                bounds[element * 4 + 2] += dy;
+                bounds[element * 4 + 3] += dy;
+
+                grid.move(handles[element], bounds[element * 4], bounds[element * 4 + 1],
+                        bounds[element * 4 + 2], bounds[element * 4 + 3]);
+            }
+        }
+
+        assertQueries();
+
+        for (int element = 0; element < COUNT; element++) {
+
+            if (handles[element] == -1) {
+
+                createBounds(element);
+
+                handles[element] = grid.insert(element, bounds[element * 4], bounds[element * 4 + 1],
+                        bounds[element * 4 + 2], bounds[element * 4 + 3]);
+            }
+        }
+
+        assertQueries();
+    }
+
+    @Test
+    public void handlesFindTheirElements() {
+
+        for (int element = 0; element < COUNT; element++) {
+
+            assertEquals(element, (int) grid.get(handles[element]));
+        }
+
+        assertEquals(COUNT, grid.size());
+
+        grid.remove(handles[0]);
+
+        try {
+
+            grid.get(handles[0]);
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test
+    public void clearedGridFindsNothing() {
+
+        grid.clear();
+
+        List<Integer> result = new ArrayList<>();
+
+        assertEquals(0, grid.size());
+        assertEquals(0, grid.queryArea(-EXTENT, EXTENT, -EXTENT, EXTENT, result));
+        assertNull(grid.findNearest(0f, 0f));
+    }
+
+    /**
+     * Assert that area, position, line and nearest queries match a brute force scan
+     */
+    private void assertQueries() {
+
+        List<Integer> result = new ArrayList<>();
+
+        for (int query = 0; query < QUERIES; query++) {
+
+            float left = createCoordinate();
+            float bottom = createCoordinate();
+            float size = query % 50 == 0 ? EXTENT * 4f : random.nextFloat() * 8f;
+            float right = left + size;
+            float top = bottom + random.nextFloat() * 8f;
+
+            List<Integer> expected = new ArrayList<>();
+
+            for (int element = 0; element < COUNT; element++) {
+
+                int offset = element * 4;
+
+                if (handles[element] != -1 && Geometry.overlapArea2D(left, right, bottom, top,
+                        bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3])) {
+
+                    expected.add(element);
+                }
+            }
+
+            result.clear();
+
+            assertEquals(expected.size(), grid.queryArea(left, right, bottom, top, result));
+            assertElements(expected, result);
+
+            expected.clear();
+
+            for (int element = 0; element < COUNT; element++) {
+
+                int offset = element * 4;
+
+                if (handles[element] != -1 && Geometry.intersectArea2D(left, bottom,
+                        bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3])) {
+
+                    expected.add(element);
+                }
+            }
+
+            result.clear();
+
+            assertEquals(expected.size(), grid.queryPosition(left, bottom, result));
+            assertElements(expected, result);
+
+            expected.clear();
+
+            for (int element = 0; element < COUNT; element++) {
+
+                int offset = element * 4;
+
+                if (handles[element] != -1 && Geometry.intersectArea2D(left, bottom, right, top,
+                        bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3])) {
+
+                    expected.add(element);
+                }
+            }
+
+            result.clear();
+
+            assertEquals(expected.size(), grid.queryLine(left, bottom, right, top, result));
+            assertElements(expected, result);
+
+            float nearest = Float.POSITIVE_INFINITY;
+
+            for (int element = 0; element < COUNT; element++) {
+
+                if (handles[element] != -1) {
+
+                    nearest = Math.min(nearest, distanceSquared(element, left, bottom));
+                }
+            }
+
+            assertEquals(nearest, distanceSquared(grid.findNearest(left, bottom), left, bottom), 0f);
+        }
+    }
+
+    /**
+     * Fill the bounds of an element with random bounds, some of which are points and some of which span many cells
+     *
+     * @param element The element
+     */
+    private void createBounds(int element) {
+
+        float x = createCoordinate();
+        float y = createCoordinate();
+        int kind = random.nextInt(10);
+        float width = kind == 0 ? 0f : kind == 1 ? random.nextFloat() * 20f : random.nextFloat() * 2f;
+        float height = kind == 0 ? 0f : kind == 1 ? random.nextFloat() * 20f : random.nextFloat() * 2f;
+
+        bounds[element * 4] = x;
+        bounds[element * 4 + 1] = x + width;
+        bounds[element * 4 + 2] = y;
+        bounds[element * 4 + 3] = y + height;
+    }
+
+    /**
+     * Create a random coordinate within the area
+     *
+     * @return The new coordinate
+     */
+    private float createCoordinate() {
+
+        return (random.nextFloat() * 2f - 1f) * EXTENT;
+    }
+
+    /**
+     * Find the squared distance from the bounds of an element to a point
+     *
+     * @param element The element
+     * @param x The x coordinate of the point
+     * @param y The y coordinate of the point
+     *
+     * @return The squared distance, which is zero if the bounds contain the point
+     */
+    private float distanceSquared(int element, float x, float y) {
+
+        int offset = element * 4;
+
+        float dx = Math.max(0f, Math.max(bounds[offset] - x, x - bounds[offset + 1]));
+        float dy = Math.max(0f, Math.max(bounds[offset + 2] - y, y - bounds[offset + 3]));
+
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Assert that a query found each expected element exactly once
+     *
+     * @param expected The elements found by the brute force scan, in ascending order
+     * @param actual The elements found by the query
+     */
+    private static void assertElements(List<Integer> expected, List<Integer> actual) {
+
+        Collections.sort(actual);
+
+        assertEquals(expected, actual);
+    }
+}
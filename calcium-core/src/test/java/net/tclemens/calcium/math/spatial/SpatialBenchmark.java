@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import net.tclemens.calcium.math.Geometry;
+
+/**
+ * This class compares the time taken by area and volume queries of the spatial indexes and a linear scan
+ *
+ * <p>This is a plain timing loop rather than a unit test. Run its main method on a desktop JVM or a device; the
+ * results are only comparable between runs on the same machine. The elements are spread with a constant density, so
+ * each query finds about the same number of elements at every size.</p>
+ *
+ * @author Tim Clemens
+ */
+public final class SpatialBenchmark {
+
+    /** The numbers of elements to compare */
+    private static final int[] SIZES = {1000, 10000, 100000};
+
+    /** The number of queries in each round */
+    private static final int QUERIES = 10000;
+
+    /** The number of rounds run before timing */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /** The number of timed rounds */
+    private static final int ROUNDS = 5;
+
+    /** The width of each element and each query */
+    private static final float SIZE = 2f;
+
+    /** The area or volume given to each element */
+    private static final float DENSITY = 16f;
+
+    /** The sum of the results, which keeps the timed work from being eliminated */
+    private static long sink;
+
+    private SpatialBenchmark() {
+    }
+
+    /**
+     * Run the benchmark
+     *
+     * @param args The command line arguments, which are ignored
+     */
+    public static void main(String[] args) {
+
+        for (int count : SIZES) {
+
+            compareGrid(count);
+            compareTree(count);
+        }
+
+        System.out.println("sink " + sink);
+    }
+
+    /**
+     * Compare area queries of a hash grid with a linear scan
+     *
+     * @param count The number of elements
+     */
+    private static void compareGrid(int count) {
+
+        Random random = new Random(42);
+        float extent = (float) Math.sqrt(count * DENSITY);
+
+        float[][] bounds = createBounds(random, count, 2, extent);
+        float[][] queries = createBounds(random, QUERIES, 2, extent);
+
+        HashGrid2D<Integer> grid = SpatialFactory.createGrid2D(SIZE);
+
+        for (int index = 0; index < count; index++) {
+
+            grid.insert(index, bounds[0][index], bounds[1][index], bounds[2][index], bounds[3][index]);
+        }
+
+        List<Integer> result = new ArrayList<>();
+        int[] hits = new int[count];
+        long indexTime = Long.MAX_VALUE;
+        long scanTime = Long.MAX_VALUE;
+
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+
+            long start = System.nanoTime();
+
+            for (int query = 0; query < QUERIES; query++) {
+
+                result.clear();
+                sink += grid.queryArea(queries[0][query], queries[1][query], queries[2][query], queries[3][query],
+                        result);
+            }
+
+            long middle = System.nanoTime();
+
+            for (int query = 0; query < QUERIES; query++) {
+
+                sink += Geometry.overlapAreas2D(queries[0][query], queries[1][query],
+                        queries[2][query], queries[3][query],
+                        bounds[0], bounds[1], bounds[2], bounds[3], count, hits);
+            }
+
+            long end = System.nanoTime();
+
+            if (round >= WARMUP_ROUNDS) {
+
+                indexTime = Math.min(indexTime, middle - start);
+                scanTime = Math.min(scanTime, end - middle);
+            }
+        }
+
+        report("HashGrid2D", count, indexTime, scanTime);
+    }
+
+    /**
+     * Compare volume queries of a bounding volume hierarchy with a linear scan
+     *
+     * @param count The number of elements
+     */
+    private static void compareTree(int count) {
+
+        Random random = new Random(42);
+        float extent = (float) Math.cbrt(count * DENSITY);
+
+        float[][] bounds = createBounds(random, count, 3, extent);
+        float[][] queries = createBounds(random, QUERIES, 3, extent);
+
+        BoundingTree3D<Integer> tree = SpatialFactory.createTree3D(0.1f);
+
+        for (int index = 0; index < count; index++) {
+
+            tree.insert(index, bounds[0][index], bounds[1][index], bounds[2][index], bounds[3][index],
+                    bounds[4][index], bounds[5][index]);
+        }
+
+        List<Integer> result = new ArrayList<>();
+        int[] hits = new int[count];
+        long indexTime = Long.MAX_VALUE;
+        long scanTime = Long.MAX_VALUE;
+
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+
+            long start = System.nanoTime();
+
+            for (int query = 0; query < QUERIES; query++) {
+
+                result.clear();
+                sink += tree.queryVolume(queries[0][query], queries[1][query], queries[2][query], queries[3][query],
+                        queries[4][query], queries[5][query], result);
+            }
+
+            long middle = System.nanoTime();
+
+            for (int query = 0; query < QUERIES; query++) {
+
+                sink += Geometry.overlapVolumes3D(queries[0][query], queries[1][query],
+                        queries[2][query], queries[3][query], queries[4][query], queries[5][query],
+                        bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5], count, hits);
+            }
+
+            long end = System.nanoTime();
+
+            if (round >= WARMUP_ROUNDS) {
+
+                indexTime = Math.min(indexTime, middle - start);
+                scanTime = Math.min(scanTime, end - middle);
+            }
+        }
+
+        report("BoundingTree3D", count, indexTime, scanTime);
+    }
+
+    /**
+     * Create random square bounds, stored as a lower and upper array for each axis
+     *
+     * @param random The source of random values
+     * @param count The number of bounds
+     * @param axes The number of axes
+     * @param extent The width of the space the bounds are placed in
+     *
+     * @return The lower and upper bounds of each axis
+     */
+    private static float[][] createBounds(Random random, int count, int axes, float extent) {
+
+        float[][] bounds = new float[axes * 2][count];
+
+        for (int index = 0; index < count; index++) {
+
+            for (int axis = 0; axis < axes; axis++) {
+
+                float low = random.nextFloat() * extent;
+
+                bounds[axis * 2][index] = low;
+                bounds[axis * 2 + 1][index] = low + SIZE;
+            }
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Print the time per query of an index and a linear scan
+     *
+     * @param name The name of the index
+     * @param count The number of elements
+     * @param indexTime The time taken by the index in nanoseconds
+     * @param scanTime The time taken by the linear scan in nanoseconds
+     */
+    private static void report(String name, int count, long indexTime, long scanTime) {
+
+        System.out.println(String.format(Locale.US, "%-14s %6d elements: index %.2f us/query, scan %.2f us/query",
+                name, count, indexTime / 1000d / QUERIES, scanTime / 1000d / QUERIES));
+    }
+}
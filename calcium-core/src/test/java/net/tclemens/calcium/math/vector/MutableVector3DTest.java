@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.vector;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class tests that every operation of a mutable vector matches the same operation of an immutable vector
+ *
+ * @author Tim Clemens
+ */
+public final class MutableVector3DTest {
+
+    /** The maximum difference between matching components */
+    private static final float TOLERANCE = 1e-5f;
+
+    /** The left-hand vector */
+    private static final Vector3D LEFT = VectorFactory.createVector3D(1.5f, -2f, 3.25f, 1f);
+
+    /** The right-hand vector */
+    private static final Vector3D RIGHT = VectorFactory.createVector3D(-0.5f, 4f, 2f, 0f);
+
+    @Test
+    public void scalarResultsMatchImmutable() {
+
+        assertEquals(LEFT.length(), VectorFactory.createMutable3D(LEFT).length(), TOLERANCE);
+        assertEquals(LEFT.dot(RIGHT), VectorFactory.createMutable3D(LEFT).dot(VectorFactory.createMutable3D(RIGHT)),
+                TOLERANCE);
+    }
+
+    @Test
+    public void vectorResultsMatchImmutable() {
+
+        MutableVector3D right = VectorFactory.createMutable3D(RIGHT);
+
+        assertVector(LEFT.cross(RIGHT), VectorFactory.createMutable3D(LEFT).cross(right));
+        assertVector(LEFT.add(RIGHT), VectorFactory.createMutable3D(LEFT).add(right));
+        assertVector(LEFT.subtract(RIGHT), VectorFactory.createMutable3D(LEFT).subtract(right));
+        assertVector(LEFT.multiply(-1.75f), VectorFactory.createMutable3D(LEFT).multiply(-1.75f));
+        assertVector(LEFT.normalize(), VectorFactory.createMutable3D(LEFT).normalize());
+    }
+
+    @Test
+    public void operationsWithItselfMatchImmutable() {
+
+        MutableVector3D vector = VectorFactory.createMutable3D(LEFT);
+
+        assertVector(LEFT.cross(LEFT), vector.cross(vector));
+
+        vector.set(LEFT);
+
+        assertVector(LEFT.add(LEFT), vector.add(vector));
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+
+        MutableVector3D vector = VectorFactory.createMutable3D(LEFT);
+        Vector3D copy = vector.toVector3D();
+
+        vector.set(RIGHT);
+
+        assertEquals(LEFT, copy);
+        assertVector(RIGHT, VectorFactory.createMutable3D().set(vector));
+    }
+
+    /**
+     * Assert that a mutable vector matches an immutable vector
+     *
+     * @param expected The immutable vector
+     * @param actual The mutable vector
+     */
+    private static void assertVector(Vector3D expected, MutableVector3D actual) {
+
+        assertEquals(expected.getX(), actual.getX(), TOLERANCE);
+        assertEquals(expected.getY(), actual.getY(), TOLERANCE);
+        assertEquals(expected.getZ(), actual.getZ(), TOLERANCE);
+        assertEquals(expected.getW(), actual.getW(), TOLERANCE);
+    }
+}
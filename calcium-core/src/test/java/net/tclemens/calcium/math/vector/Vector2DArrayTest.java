@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.vector;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.math.matrix.Matrix2D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the bulk kernels of a vector array match the scalar operations of each vector
+ *
+ * @author Tim Clemens
+ */
+public final class Vector2DArrayTest {
+
+    /** The number of vectors in each array */
+    private static final int SIZE = 257;
+
+    /** The source vectors */
+    private final List<Vector2D> vectors = createVectors(new Random(42));
+
+    /** The right-hand vectors */
+    private final List<Vector2D> others = createVectors(new Random(7));
+
+    @Test
+    public void transformsMatchScalarProducts() {
+
+        Matrix2D rigid = MatrixFactory.createTranslate2D(1f, -2f).rotate(30f);
+        Matrix2D affine = rigid.scale(2f, -0.5f);
+        Matrix2D general = MatrixFactory.createMatrix2D(
+                2f, 0.5f, -1f,
+                0.25f, 1.5f, 3f,
+                0.1f, -0.2f, 1.5f);
+
+        for (Matrix2D matrix : new Matrix2D[] {rigid, affine, general}) {
+
+            Vector2DArray source = VectorFactory.createArray2D(vectors);
+            Vector2DArray dest = source.transform(matrix, VectorFactory.createArray2D(SIZE));
+
+            for (int index = 0; index < SIZE; index++) {
+
+                assertEquals(matrix.multiply(vectors.get(index)), dest.get(index));
+            }
+
+            assertSame(source, source.transform(matrix, source));
+            assertVectors(dest, source);
+        }
+    }
+
+    @Test
+    public void elementwiseKernelsMatchScalarOperations() {
+
+        Vector2DArray source = VectorFactory.createArray2D(vectors);
+        Vector2DArray right = VectorFactory.createArray2D(others);
+
+        Vector2DArray sums = source.add(right, VectorFactory.createArray2D(SIZE));
+        Vector2DArray products = source.multiply(-1.5f, VectorFactory.createArray2D(SIZE));
+        Vector2DArray scaled = source.scale(2f, -0.5f, VectorFactory.createArray2D(SIZE));
+        Vector2DArray translated = source.translate(-1f, 4f, VectorFactory.createArray2D(SIZE));
+        Vector2DArray normalized = source.normalize(VectorFactory.createArray2D(SIZE));
+
+        for (int index = 0; index < SIZE; index++) {
+
+            Vector2D vector = vectors.get(index);
+
+            assertEquals(vector.add(others.get(index)), sums.get(index));
+            assertEquals(vector.multiply(-1.5f), products.get(index));
+            assertEquals(vector.scale(2f, -0.5f), scaled.get(index));
+            assertEquals(vector.translate(-1f, 4f), translated.get(index));
+            assertEquals(vector.normalize(), normalized.get(index));
+        }
+    }
+
+    @Test
+    public void kernelsCanWriteInPlace() {
+
+        Vector2DArray expected = VectorFactory.createArray2D(vectors).translate(1f, 2f,
+                VectorFactory.createArray2D(SIZE)).normalize(VectorFactory.createArray2D(SIZE));
+
+        Vector2DArray source = VectorFactory.createArray2D(vectors);
+
+        assertSame(source, source.translate(1f, 2f, source).normalize(source));
+        assertVectors(expected, source);
+    }
+
+    @Test
+    public void boundsMatchEveryVector() {
+
+        float[] result = new float[6];
+
+        VectorFactory.createArray2D(vectors).bounds(result, 1);
+
+        for (int index = 0; index < SIZE; index++) {
+
+            Vector2D vector = vectors.get(index);
+
+            assertEquals(Math.min(result[1], vector.getX()), result[1], 0f);
+            assertEquals(Math.min(result[2], vector.getY()), result[2], 0f);
+            assertEquals(Math.max(result[3], vector.getX()), result[3], 0f);
+            assertEquals(Math.max(result[4], vector.getY()), result[4], 0f);
+        }
+
+        try {
+
+            VectorFactory.createArray2D(0).bounds(result, 0);
+
+            fail();
+        }
+        catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void packWritesEachPosition() {
+
+        FloatBuffer buffer = FloatBuffer.allocate(SIZE * 2 + 1);
+
+        buffer.put(-1f);
+
+        VectorFactory.createArray2D(vectors).pack(buffer);
+
+        assertEquals(SIZE * 2 + 1, buffer.position());
+
+        for (int index = 0; index < SIZE; index++) {
+
+            Vector2D vector = vectors.get(index);
+
+            assertEquals(vector.getX(), buffer.get(index * 2 + 1), 0f);
+            assertEquals(vector.getY(), buffer.get(index * 2 + 2), 0f);
+        }
+    }
+
+    @Test
+    public void smallerDestinationsAreRejected() {
+
+        try {
+
+            VectorFactory.createArray2D(vectors).multiply(2f, VectorFactory.createArray2D(SIZE - 1));
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Create random positions and directions
+     *
+     * @param random The source of random values
+     *
+     * @return The new vectors
+     */
+    private static List<Vector2D> createVectors(Random random) {
+
+        List<Vector2D> vectors = new ArrayList<>(SIZE);
+
+        for (int index = 0; index < SIZE; index++) {
+
+            vectors.add(VectorFactory.createVector2D(random.nextFloat() * 20f - 10f, random.nextFloat() * 20f - 10f,
+                    index % 2));
+        }
+
+        return vectors;
+    }
+
+    /**
+     * Assert that two arrays contain the same vectors
+     *
+     * @param expected The expected vectors
+     * @param actual The actual vectors
+     */
+    private static void assertVectors(Vector2DArray expected, Vector2DArray actual) {
+
+        assertEquals(expected.size(), actual.size());
+
+        for (int index = 0; index < expected.size(); index++) {
+
+            assertEquals(expected.get(index), actual.get(index));
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2017 Tim Clemens
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.tclemens.calcium.math.vector;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import net.tclemens.calcium.math.matrix.Matrix3D;
+import net.tclemens.calcium.math.matrix.MatrixFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests that the bulk kernels of a vector array match the scalar operations of each vector
+ *
+ * @author Tim Clemens
+ */
+public final class Vector3DArrayTest {
+
+    /** The number of vectors in each array */
+    private static final int SIZE = 257;
+
+    /** The source vectors */
+    private final List<Vector3D> vectors = createVectors(new Random(42));
+
+    /** The right-hand vectors */
+    private final List<Vector3D> others = createVectors(new Random(7));
+
+    @Test
+    public void transformsMatchScalarProducts() {
+
+        Matrix3D rigid = MatrixFactory.createTranslate3D(1f, -2f, 3f).rotate(10f, 20f, 30f);
+        Matrix3D affine = rigid.scale(2f, 0.5f, -3f);
+        Matrix3D general = MatrixFactory.createPerspective3D(60f, 1.5f, 1f, 100f).multiply(rigid);
+
+        for (Matrix3D matrix : new Matrix3D[] {rigid, affine, general}) {
+
+            Vector3DArray source = VectorFactory.createArray3D(vectors);
+            Vector3DArray dest = source.transform(matrix, VectorFactory.createArray3D(SIZE));
+
+            for (int index = 0; index < SIZE; index++) {
+
+                assertEquals(matrix.multiply(vectors.get(index)), dest.get(index));
+            }
+
+            assertSame(source, source.transform(matrix, source));
+            assertVectors(dest, source);
+        }
+    }
+
+    @Test
+    public void elementwiseKernelsMatchScalarOperations() {
+
+        Vector3DArray source = VectorFactory.createArray3D(vectors);
+        Vector3DArray right = VectorFactory.createArray3D(others);
+
+        Vector3DArray sums = source.add(right, VectorFactory.createArray3D(SIZE));
+        Vector3DArray products = source.multiply(-1.5f, VectorFactory.createArray3D(SIZE));
+        Vector3DArray scaled = source.scale(2f, -0.5f, 3f, VectorFactory.createArray3D(SIZE));
+        Vector3DArray translated = source.translate(-1f, 4f, 0.25f, VectorFactory.createArray3D(SIZE));
+        Vector3DArray normalized = source.normalize(VectorFactory.createArray3D(SIZE));
+
+        for (int index = 0; index < SIZE; index++) {
+
+            Vector3D vector = vectors.get(index);
+
+            assertEquals(vector.add(others.get(index)), sums.get(index));
+            assertEquals(vector.multiply(-1.5f), products.get(index));
+            assertEquals(vector.scale(2f, -0.5f, 3f), scaled.get(index));
+            assertEquals(vector.translate(-1f, 4f, 0.25f), translated.get(index));
+            assertEquals(vector.normalize(), normalized.get(index));
+        }
+    }
+
+    @Test
+    public void kernelsCanWriteInPlace() {
+
+        Vector3DArray expected = VectorFactory.createArray3D(vectors).translate(1f, 2f, 3f,
+                VectorFactory.createArray3D(SIZE)).normalize(VectorFactory.createArray3D(SIZE));
+
+        Vector3DArray source = VectorFactory.createArray3D(vectors);
+
+        assertSame(source, source.translate(1f, 2f, 3f, source).normalize(source));
+        assertVectors(expected, source);
+    }
+
+    @Test
+    public void boundsMatchEveryVector() {
+
+        float[] result = new float[8];
+
+        VectorFactory.createArray3D(vectors).bounds(result, 1);
+
+        for (int index = 0; index < SIZE; index++) {
+
+            Vector3D vector = vectors.get(index);
+
+            assertEquals(Math.min(result[1], vector.getX()), result[1], 0f);
+            assertEquals(Math.min(result[2], vector.getY()), result[2], 0f);
+            assertEquals(Math.min(result[3], vector.getZ()), result[3], 0f);
+            assertEquals(Math.max(result[4], vector.getX()), result[4], 0f);
+            assertEquals(Math.max(result[5], vector.getY()), result[5], 0f);
+            assertEquals(Math.max(result[6], vector.getZ()), result[6], 0f);
+        }
+
+        try {
+
+            VectorFactory.createArray3D(0).bounds(result, 0);
+
+            fail();
+        }
+        catch (IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void packWritesEachPosition() {
+
+        FloatBuffer buffer = FloatBuffer.allocate(SIZE * 3 + 1);
+
+        buffer.put(-1f);
+
+        VectorFactory.createArray3D(vectors).pack(buffer);
+
+        assertEquals(SIZE * 3 + 1, buffer.position());
+
+        for (int index = 0; index < SIZE; index++) {
+
+            Vector3D vector = vectors.get(index);
+
+            assertEquals(vector.getX(), buffer.get(index * 3 + 1), 0f);
+            assertEquals(vector.getY(), buffer.get(index * 3 + 2), 0f);
+            assertEquals(vector.getZ(), buffer.get(index * 3 + 3), 0f);
+        }
+    }
+
+    @Test
+    public void smallerDestinationsAreRejected() {
+
+        try {
+
+            VectorFactory.createArray3D(vectors).multiply(2f, VectorFactory.createArray3D(SIZE - 1));
+
+            fail();
+        }
+        catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     * Create random positions and directions
+     *
+     * @param random The source of random values
+     *
+     * @return The new vectors
+     */
+    private static List<Vector3D> createVectors(Random random) {
+
+        List<Vector3D> vectors = new ArrayList<>(SIZE);
+
+        for (int index = 0; index < SIZE; index++) {
+
+            vectors.add(VectorFactory.createVector3D(random.nextFloat() * 20f - 10f, random.nextFloat() * 20f - 10f,
+                    random.nextFloat() * 20f - 10f, index % 2));
+        }
+
+        return vectors;
+    }
+
+    /**
+     * Assert that two arrays contain the same vectors
+     *
+     * @param expected The expected vectors
+     * @param actual The actual vectors
+     */
+    private static void assertVectors(Vector3DArray expected, Vector3DArray actual) {
+
+        assertEquals(expected.size(), actual.size());
+
+        for (int index = 0; index < expected.size(); index++) {
+
+            assertEquals(expected.get(index), actual.get(index));
+        }
+    }
+}